@@ -0,0 +1,150 @@
+package com.fizzexual.orderexecution.benchmark;
+
+import com.fizzexual.orderexecution.OrderExecutionApplication;
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.repository.AccountRepository;
+import com.fizzexual.orderexecution.repository.ExecutionLogRepository;
+import com.fizzexual.orderexecution.repository.OrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk inserts through JPA: {@value #ORDERS} orders with one fill log each, saved in one
+ * transaction. {@code sequence} is the current mapping (pooled-lo sequences, JDBC batches of 50);
+ * {@code identity} maps the two ids back to IDENTITY columns via {@code META-INF/identity-orm.xml},
+ * which makes Hibernate insert row by row to read each generated key.
+ * <p>
+ * Databases as in {@link CreateOrderBenchmark}: in-memory H2, and a PostgreSQL stand-in or real
+ * server ({@code -Dbenchmark.postgres.url} through {@code -jvmArgsAppend}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    static final int ORDERS = 500;
+
+    private static final String POSTGRES_URL = "benchmark.postgres.url";
+    private static final String POSTGRES_STAND_IN =
+            "jdbc:h2:mem:benchpg;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+    @Param({"h2", "postgres"})
+    public String database;
+
+    @Param({"identity", "sequence"})
+    public String idGeneration;
+
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private ExecutionLogRepository executionLogRepository;
+    private TransactionTemplate transactionTemplate;
+    private Account account;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(OrderExecutionApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                .run(arguments().toArray(String[]::new));
+        orderRepository = context.getBean(OrderRepository.class);
+        executionLogRepository = context.getBean(ExecutionLogRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        account = context.getBean(AccountRepository.class).findAll().get(0);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTables() {
+        executionLogRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public int insertOrdersWithFills() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Order> orders = new ArrayList<>(ORDERS);
+            List<ExecutionLog> fills = new ArrayList<>(ORDERS);
+            for (int i = 0; i < ORDERS; i++) {
+                Order order = Order.builder()
+                        .orderNumber("BULK-" + System.nanoTime() + "-" + i)
+                        .account(account)
+                        .symbol("AAPL")
+                        .type(Order.OrderType.LIMIT)
+                        .side(Order.OrderSide.BUY)
+                        .quantity(10)
+                        .limitPrice(new BigDecimal("100.00"))
+                        .status(Order.OrderStatus.EXECUTED)
+                        .executedPrice(new BigDecimal("100.00"))
+                        .executedQuantity(10)
+                        .build();
+                orders.add(order);
+                fills.add(ExecutionLog.builder()
+                        .order(order)
+                        .quantity(10)
+                        .price(new BigDecimal("100.00"))
+                        .totalAmount(new BigDecimal("1000.00"))
+                        .status(ExecutionLog.ExecutionStatus.SUCCESS)
+                        .message("Order executed successfully")
+                        .executedAt(now)
+                        .build());
+            }
+            orderRepository.saveAll(orders);
+            executionLogRepository.saveAll(fills);
+            return orders.size();
+        });
+    }
+
+    private List<String> arguments() {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                "--spring.h2.console.enabled=false"));
+        if ("identity".equals(idGeneration)) {
+            arguments.add("--spring.jpa.mapping-resources=META-INF/identity-orm.xml");
+        }
+        if (!"postgres".equals(database)) {
+            arguments.add("--spring.datasource.url=jdbc:h2:mem:bulk");
+        } else if (System.getProperty(POSTGRES_URL) != null) {
+            arguments.add("--spring.datasource.url=" + System.getProperty(POSTGRES_URL));
+            arguments.add("--spring.datasource.driver-class-name=org.postgresql.Driver");
+            arguments.add("--spring.datasource.username=" + System.getProperty("benchmark.postgres.username", "postgres"));
+            arguments.add("--spring.datasource.password=" + System.getProperty("benchmark.postgres.password", "postgres"));
+            arguments.add("--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect");
+        } else {
+            arguments.add("--spring.datasource.url=" + POSTGRES_STAND_IN);
+        }
+        return arguments;
+    }
+}
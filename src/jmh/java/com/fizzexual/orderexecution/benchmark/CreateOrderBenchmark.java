@@ -0,0 +1,117 @@
+package com.fizzexual.orderexecution.benchmark;
+
+import com.fizzexual.orderexecution.OrderExecutionApplication;
+import com.fizzexual.orderexecution.dto.OrderRequest;
+import com.fizzexual.orderexecution.dto.OrderResponse;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link OrderService#createOrder} end to end inside the application context: validation,
+ * sequencer hand-off, execution and the write-behind hand-off. The database only shows up once
+ * the write-behind queue fills and {@code createOrder} has to wait for flushes, so iterations
+ * are long enough to reach that steady state.
+ * <p>
+ * {@code h2} is the in-memory database the dev profile uses. {@code postgres} runs H2 in
+ * PostgreSQL compatibility mode as a local stand-in, or a real server when
+ * {@code -Dbenchmark.postgres.url} (and optionally {@code .username} / {@code .password}) is
+ * passed through {@code -jvmArgsAppend}; its schema is recreated for the run.
+ * <p>
+ * Orders are placed by the seeded accounts 1 and 2 trading with each other at one price, as in
+ * {@link ExecuteOrderBenchmark}, so balances and the book stay flat however long it runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CreateOrderBenchmark {
+
+    private static final String POSTGRES_URL = "benchmark.postgres.url";
+    private static final String POSTGRES_STAND_IN =
+            "jdbc:h2:mem:benchpg;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+    @Param({"h2", "postgres"})
+    public String database;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(OrderExecutionApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("dev")
+                .run(arguments().toArray(String[]::new));
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Cycles through: account 1 buys (rests), account 2 sells into it, account 2 buys (rests),
+     * account 1 sells into it. Under several threads the steps interleave, so fewer orders fill,
+     * but every resting order is eventually met by a sell of the same size.
+     */
+    @Benchmark
+    public OrderResponse createOrder() {
+        long step = sequence.getAndIncrement() & 3;
+        boolean buy = (step & 1) == 0;
+        return orderService.createOrder(OrderRequest.builder()
+                .accountId(step == 0 || step == 3 ? 1L : 2L)
+                .symbol("AAPL")
+                .type(Order.OrderType.LIMIT)
+                .side(buy ? Order.OrderSide.BUY : Order.OrderSide.SELL)
+                .quantity(1)
+                .limitPrice(new BigDecimal("100.00"))
+                .build());
+    }
+
+    private List<String> arguments() {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                "--spring.h2.console.enabled=false",
+                "--execution.risk.max-orders-per-second=" + Integer.MAX_VALUE));
+        if (!"postgres".equals(database)) {
+            arguments.add("--spring.datasource.url=jdbc:h2:mem:bench");
+        } else if (System.getProperty(POSTGRES_URL) != null) {
+            arguments.add("--spring.datasource.url=" + System.getProperty(POSTGRES_URL));
+            arguments.add("--spring.datasource.driver-class-name=org.postgresql.Driver");
+            arguments.add("--spring.datasource.username=" + System.getProperty("benchmark.postgres.username", "postgres"));
+            arguments.add("--spring.datasource.password=" + System.getProperty("benchmark.postgres.password", "postgres"));
+            arguments.add("--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect");
+        } else {
+            arguments.add("--spring.datasource.url=" + POSTGRES_STAND_IN);
+        }
+        return arguments;
+    }
+}
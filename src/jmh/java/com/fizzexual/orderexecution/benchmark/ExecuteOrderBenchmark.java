@@ -0,0 +1,135 @@
+package com.fizzexual.orderexecution.benchmark;
+
+import com.fizzexual.orderexecution.config.BarProperties;
+import com.fizzexual.orderexecution.config.PositionProperties;
+import com.fizzexual.orderexecution.config.RiskProperties;
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.ledger.AccountLedger;
+import com.fizzexual.orderexecution.marketdata.BarAggregator;
+import com.fizzexual.orderexecution.marketdata.MarketDataCache;
+import com.fizzexual.orderexecution.marketdata.Quote;
+import com.fizzexual.orderexecution.matching.MatchingEngine;
+import com.fizzexual.orderexecution.matching.Prices;
+import com.fizzexual.orderexecution.metrics.OrderMetrics;
+import com.fizzexual.orderexecution.persistence.IdAllocator;
+import com.fizzexual.orderexecution.persistence.WriteBatch;
+import com.fizzexual.orderexecution.position.PositionBook;
+import com.fizzexual.orderexecution.risk.AccountStatusCheck;
+import com.fizzexual.orderexecution.risk.ExposureTracker;
+import com.fizzexual.orderexecution.risk.GrossExposureCheck;
+import com.fizzexual.orderexecution.risk.OrderNotionalCheck;
+import com.fizzexual.orderexecution.risk.OrderRateCheck;
+import com.fizzexual.orderexecution.risk.PositionLimitCheck;
+import com.fizzexual.orderexecution.risk.PriceBandCheck;
+import com.fizzexual.orderexecution.risk.RiskEngine;
+import com.fizzexual.orderexecution.service.OrderExecutionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link OrderExecutionService#executeOrder} on its own: risk checks, ledger reservation, matching
+ * and the resulting {@link WriteBatch}, with no sequencer, write-behind or database behind it. The
+ * full risk pipeline runs with default limits, except that the rate limit is out of reach.
+ * <p>
+ * Two accounts take turns buying from and selling to each other at one price, so every other
+ * order rests and the next one fills it completely; cash goes back and forth and the book never
+ * grows. {@code MARKET} runs the crossing order as a market order instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecuteOrderBenchmark {
+
+    private static final String SYMBOL = "AAPL";
+    private static final BigDecimal PRICE = new BigDecimal("100.00");
+    private static final int QUANTITY = 10;
+
+    @Param({"LIMIT", "MARKET"})
+    public Order.OrderType takerType;
+
+    private OrderExecutionService executionService;
+    private IdAllocator idAllocator;
+    private Account first;
+    private Account second;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        AccountLedger ledger = new AccountLedger();
+        AtomicLong sequenceValues = new AtomicLong(1L);
+        idAllocator = new IdAllocator(name -> sequenceValues.getAndAdd(IdAllocator.BLOCK_SIZE));
+        RiskProperties limits = new RiskProperties();
+        limits.setMaxOrdersPerSecond(Integer.MAX_VALUE);
+        // Never started, so positions and bars are kept but never written.
+        PositionBook positions = new PositionBook(null, new PositionProperties());
+        ExposureTracker exposures = new ExposureTracker(positions);
+        RiskEngine riskEngine = new RiskEngine(List.of(new AccountStatusCheck(), new OrderRateCheck(limits),
+                new PriceBandCheck(limits, exposures), new OrderNotionalCheck(limits),
+                new PositionLimitCheck(limits, exposures), new GrossExposureCheck(limits, exposures)), exposures);
+        BarAggregator bars = new BarAggregator(null, new BarProperties());
+        MarketDataCache marketData = new MarketDataCache(List.of(), List.of());
+        long price = Prices.toTicks(PRICE);
+        marketData.update(new Quote(SYMBOL, price, price - 1, price + 1, System.currentTimeMillis()));
+        executionService = new OrderExecutionService(new MatchingEngine(), ledger, idAllocator, riskEngine,
+                new OrderMetrics(new SimpleMeterRegistry()), positions, marketData, bars);
+        first = account(1L);
+        second = account(2L);
+        for (Account account : new Account[]{first, second}) {
+            ledger.open(account.getId(), Prices.toTicks(account.getBalance()));
+        }
+    }
+
+    /**
+     * One order per invocation, cycling through: first buys (rests), second sells into it,
+     * second buys (rests), first sells into it.
+     */
+    @Benchmark
+    public WriteBatch executeOrder() {
+        long step = sequence++ & 3;
+        boolean resting = (step & 1) == 0;
+        Account account = step == 0 || step == 3 ? first : second;
+        Order order = Order.builder()
+                .id(idAllocator.nextOrderId())
+                .orderNumber("BENCH-" + sequence)
+                .account(account)
+                .symbol(SYMBOL)
+                .type(resting ? Order.OrderType.LIMIT : takerType)
+                .side(resting ? Order.OrderSide.BUY : Order.OrderSide.SELL)
+                .quantity(QUANTITY)
+                .limitPrice(resting || takerType == Order.OrderType.LIMIT ? PRICE : null)
+                .status(Order.OrderStatus.PENDING)
+                .build();
+        WriteBatch batch = new WriteBatch();
+        executionService.executeOrder(order, account, batch);
+        return batch;
+    }
+
+    private static Account account(long id) {
+        return Account.builder()
+                .id(id)
+                .accountNumber("ACC-" + (10000 + id))
+                .balance(new BigDecimal("100000.00"))
+                .availableBalance(new BigDecimal("100000.00"))
+                .status(Account.AccountStatus.ACTIVE)
+                .build();
+    }
+}
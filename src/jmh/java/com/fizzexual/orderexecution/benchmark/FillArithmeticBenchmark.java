@@ -0,0 +1,91 @@
+package com.fizzexual.orderexecution.benchmark;
+
+import com.fizzexual.orderexecution.matching.Prices;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-order fill arithmetic in {@code BigDecimal} (as {@code OrderExecutionService} did it) versus
+ * fixed-point ticks: pricing each fill, keeping the running average price and settling the
+ * buyer's balance. Run with {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FillArithmeticBenchmark {
+
+    private static final int FILLS = 4;
+
+    private final long[] prices = new long[FILLS];
+    private final long[] quantities = new long[FILLS];
+    private BigDecimal startingBalance;
+    private long startingBalanceTicks;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < FILLS; i++) {
+            prices[i] = 10_000L + 25L * i;
+            quantities[i] = 10L + 7L * i;
+        }
+        startingBalance = new BigDecimal("100000.00");
+        startingBalanceTicks = Prices.toTicks(startingBalance);
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole blackhole) {
+        BigDecimal balance = startingBalance;
+        BigDecimal executedPrice = null;
+        int executedQuantity = 0;
+        for (int i = 0; i < FILLS; i++) {
+            BigDecimal price = Prices.toDecimal(prices[i]);
+            BigDecimal amount = price.multiply(BigDecimal.valueOf(quantities[i]));
+            if (balance.compareTo(amount) < 0) {
+                throw new IllegalStateException();
+            }
+            BigDecimal previousAmount = executedQuantity == 0
+                    ? BigDecimal.ZERO : executedPrice.multiply(BigDecimal.valueOf(executedQuantity));
+            executedQuantity += (int) quantities[i];
+            executedPrice = previousAmount.add(amount)
+                    .divide(BigDecimal.valueOf(executedQuantity), Prices.SCALE, RoundingMode.HALF_UP);
+            balance = balance.subtract(amount).setScale(Prices.SCALE, RoundingMode.HALF_UP);
+            blackhole.consume(amount);
+        }
+        blackhole.consume(executedPrice);
+        blackhole.consume(balance);
+    }
+
+    @Benchmark
+    public void fixedPoint(Blackhole blackhole) {
+        long balance = startingBalanceTicks;
+        long executedNotional = 0L;
+        long executedQuantity = 0L;
+        for (int i = 0; i < FILLS; i++) {
+            long amount = prices[i] * quantities[i];
+            if (balance < amount) {
+                throw new IllegalStateException();
+            }
+            executedNotional += amount;
+            executedQuantity += quantities[i];
+            balance -= amount;
+            blackhole.consume(amount);
+        }
+        blackhole.consume(Prices.averagePrice(executedNotional, executedQuantity));
+        blackhole.consume(balance);
+    }
+}
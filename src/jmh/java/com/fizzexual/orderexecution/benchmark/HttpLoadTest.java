@@ -0,0 +1,148 @@
+package com.fizzexual.orderexecution.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load test against a running instance: {@code connections} clients each send a
+ * request, wait for the answer and send the next one until the time is up. Used to compare the
+ * platform-thread Tomcat pool with the {@code virtual-threads} profile at high concurrency, and the
+ * servlet stack with the {@code reactive} profile.
+ * <p>
+ * Arguments, all optional: {@code url=http://localhost:8080/api/orders?limit=20},
+ * {@code connections=10000}, {@code seconds=30}, {@code timeoutSeconds=30},
+ * {@code result=target/load-test-result.json}, {@code bodyFile=} (POST the file's JSON instead of
+ * a GET) and {@code cores=} (CPUs the server runs on, for the per-core figure; defaults to this
+ * machine's).
+ */
+public final class HttpLoadTest {
+
+    private HttpLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("url", "http://localhost:8080/api/orders?limit=20");
+        options.put("connections", "10000");
+        options.put("seconds", "30");
+        options.put("timeoutSeconds", "30");
+        options.put("result", "target/load-test-result.json");
+        options.put("bodyFile", "");
+        options.put("cores", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (split < 0 || !options.containsKey(arg.substring(0, split))) {
+                throw new IllegalArgumentException("Unknown argument " + arg + ", expected one of " + options.keySet());
+            }
+            options.put(arg.substring(0, split), arg.substring(split + 1));
+        }
+
+        int connections = Integer.parseInt(options.get("connections"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("seconds")));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(options.get("url")))
+                .timeout(Duration.ofSeconds(Long.parseLong(options.get("timeoutSeconds"))));
+        if (options.get("bodyFile").isEmpty()) {
+            builder.GET();
+        } else {
+            builder.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(Files.readString(Path.of(options.get("bodyFile")))));
+        }
+        HttpRequest request = builder.build();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(Long.parseLong(options.get("timeoutSeconds"))))
+                .build();
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Timer latency = Timer.builder("load.latency")
+                .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                .distributionStatisticExpiry(Duration.ofHours(1))
+                .register(registry);
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        CountDownLatch finished = new CountDownLatch(connections);
+
+        System.out.printf("Running %d connections against %s %s for %s s%n",
+                connections, request.method(), request.uri(), options.get("seconds"));
+        long started = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            send(client, request, deadline, latency, outcomes, finished);
+        }
+        finished.await();
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        Map<String, Object> result = new LinkedHashMap<>(options);
+        long ok = outcomes.entrySet().stream()
+                .filter(outcome -> outcome.getKey().startsWith("2"))
+                .mapToLong(outcome -> outcome.getValue().sum())
+                .sum();
+        result.put("elapsedSeconds", elapsedSeconds);
+        result.put("requests", latency.count());
+        result.put("throughputPerSecond", latency.count() / elapsedSeconds);
+        result.put("successfulPerSecond", ok / elapsedSeconds);
+        result.put("successfulPerSecondPerCore", ok / elapsedSeconds / Integer.parseInt(options.get("cores")));
+        Map<String, Long> byOutcome = new LinkedHashMap<>();
+        outcomes.forEach((outcome, count) -> byOutcome.put(outcome, count.sum()));
+        result.put("outcomes", byOutcome);
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        HistogramSnapshot snapshot = latency.takeSnapshot();
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            percentiles.put("p" + value.percentile() * 100, value.value(TimeUnit.MILLISECONDS));
+        }
+        percentiles.put("max", snapshot.max(TimeUnit.MILLISECONDS));
+        result.put("latencyMillis", percentiles);
+
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        String json = mapper.writeValueAsString(result);
+        System.out.println(json);
+        writeResult(Path.of(options.get("result")), json);
+    }
+
+    private static void send(HttpClient client, HttpRequest request, long deadline, Timer latency,
+                             Map<String, LongAdder> outcomes, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenCompleteAsync((response, error) -> {
+            latency.record(System.nanoTime() - sent, TimeUnit.NANOSECONDS);
+            String outcome = error != null ? rootCause(error).getClass().getSimpleName()
+                    : String.valueOf(response.statusCode());
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+            send(client, request, deadline, latency, outcomes, finished);
+        });
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        while (error.getCause() != null && error.getCause() != error) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    private static void writeResult(Path path, String json) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.writeString(path, json);
+    }
+}
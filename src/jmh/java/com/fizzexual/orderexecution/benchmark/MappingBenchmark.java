@@ -0,0 +1,105 @@
+package com.fizzexual.orderexecution.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fizzexual.orderexecution.dto.AccountResponse;
+import com.fizzexual.orderexecution.dto.OrderResponse;
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.entity.User;
+import com.fizzexual.orderexecution.mapper.AccountMapper;
+import com.fizzexual.orderexecution.mapper.OrderMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping and the JSON encoding of an {@link OrderResponse}, i.e. the per-order
+ * work between the service returning and the bytes going out. The {@link ObjectMapper} is built
+ * the way Spring Boot builds the application's one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private final OrderMapper orderMapper = new OrderMapper();
+    private final AccountMapper accountMapper = new AccountMapper();
+    private ObjectMapper objectMapper;
+    private Order order;
+    private Account account;
+    private OrderResponse orderResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime now = LocalDateTime.now();
+        User user = User.builder()
+                .id(1L)
+                .name("John Doe")
+                .email("john.doe@example.com")
+                .status(User.UserStatus.ACTIVE)
+                .build();
+        account = Account.builder()
+                .id(1L)
+                .accountNumber("ACC-10001")
+                .user(user)
+                .balance(new BigDecimal("100000.00"))
+                .availableBalance(new BigDecimal("98500.00"))
+                .status(Account.AccountStatus.ACTIVE)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        order = Order.builder()
+                .id(42L)
+                .orderNumber("7f8e2c1a-4b3d-4e5f-9a6b-1c2d3e4f5a6b")
+                .account(account)
+                .symbol("AAPL")
+                .type(Order.OrderType.LIMIT)
+                .side(Order.OrderSide.BUY)
+                .quantity(100)
+                .limitPrice(new BigDecimal("150.00"))
+                .status(Order.OrderStatus.PARTIALLY_FILLED)
+                .executedPrice(new BigDecimal("149.87"))
+                .executedQuantity(60)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        orderResponse = orderMapper.toResponse(order);
+    }
+
+    @Benchmark
+    public OrderResponse mapOrder() {
+        return orderMapper.toResponse(order);
+    }
+
+    @Benchmark
+    public AccountResponse mapAccount() {
+        return accountMapper.toResponse(account);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(orderResponse);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeOrder() throws IOException {
+        return objectMapper.writeValueAsBytes(orderMapper.toResponse(order));
+    }
+}
@@ -0,0 +1,60 @@
+package com.fizzexual.orderexecution.benchmark;
+
+import com.fizzexual.orderexecution.config.PersistenceProperties;
+import com.fizzexual.orderexecution.persistence.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-order identifiers and simulated prices under contention: {@code OrderService}'s old
+ * UUID-prefix order numbers versus Snowflake ids, and one shared {@link Random} versus
+ * {@link ThreadLocalRandom}. All benchmarks run on four threads sharing one state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class OrderIdBenchmark {
+
+    private static final long MARKET_PRICE_LOW = 9_000L;
+    private static final long MARKET_PRICE_HIGH = 11_000L;
+
+    private final SnowflakeIdGenerator snowflake = new SnowflakeIdGenerator(new PersistenceProperties());
+    private final Random sharedRandom = new Random();
+
+    @Benchmark
+    public String uuidOrderNumber() {
+        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    public String snowflakeOrderNumber() {
+        return "ORD-" + Long.toString(snowflake.nextId(), 36).toUpperCase();
+    }
+
+    @Benchmark
+    public long sharedRandomPrice() {
+        return MARKET_PRICE_LOW + sharedRandom.nextLong(MARKET_PRICE_HIGH - MARKET_PRICE_LOW + 1);
+    }
+
+    @Benchmark
+    public long threadLocalRandomPrice() {
+        return ThreadLocalRandom.current().nextLong(MARKET_PRICE_LOW, MARKET_PRICE_HIGH + 1);
+    }
+}
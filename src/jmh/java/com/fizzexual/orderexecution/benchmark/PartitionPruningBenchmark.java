@@ -0,0 +1,173 @@
+package com.fizzexual.orderexecution.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The order queries against {@code orders} as one heap table ({@code heap}) and partitioned by
+ * day as {@code db/postgres/partition-orders.sql} lays it out ({@code partitioned}), with
+ * {@value #DAYS} days of {@value #ORDERS_PER_DAY} orders each:
+ * <ul>
+ *     <li>{@code ordersOfOneDay}: {@code OrderRepository.findOrdersByDateRange} over one day.</li>
+ *     <li>{@code orderByNumber}: the lookup by order number, bounded by the creation time the
+ *     order number carries.</li>
+ *     <li>{@code insertOrders}: a write-behind sized batch of inserts into today, where index
+ *     size shows up.</li>
+ * </ul>
+ * Needs a real PostgreSQL server: {@code -Dbenchmark.postgres.url} (and optionally
+ * {@code .username} / {@code .password}) through {@code -jvmArgsAppend}. Each layout gets its own
+ * schema, dropped afterwards. The {@code EXPLAIN ANALYZE} plan of every query is printed before
+ * the first iteration, so the runs show the plans side by side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PartitionPruningBenchmark {
+
+    static final int DAYS = 60;
+    static final int ORDERS_PER_DAY = 20_000;
+    static final int INSERT_BATCH = 500;
+
+    private static final String POSTGRES_URL = "benchmark.postgres.url";
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    private static final long STEP_MILLIS = TimeUnit.DAYS.toMillis(1) / ORDERS_PER_DAY;
+
+    private static final String SELECT_DAY =
+            "SELECT count(*) FROM orders WHERE created_at >= ? AND created_at < ?";
+    private static final String SELECT_BY_NUMBER =
+            "SELECT id, status FROM orders WHERE order_number = ? AND created_at >= ? AND created_at < ?";
+    private static final String INSERT =
+            "INSERT INTO orders (id, order_number, account_id, symbol, type, side, quantity, limit_price, status, " +
+            "executed_price, executed_quantity, created_at, updated_at) " +
+            "VALUES (?, ?, 1, 'AAPL', 'LIMIT', 'BUY', 10, 100.00, 'PENDING', NULL, 0, ?, ?)";
+
+    @Param({"heap", "partitioned"})
+    public String layout;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private String schema;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void createTable() {
+        String url = System.getProperty(POSTGRES_URL);
+        if (url == null) {
+            throw new IllegalStateException("Needs a PostgreSQL server, pass -D" + POSTGRES_URL);
+        }
+        dataSource = new SingleConnectionDataSource(url, System.getProperty("benchmark.postgres.username", "postgres"),
+                System.getProperty("benchmark.postgres.password", "postgres"), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        schema = "bench_" + layout;
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA " + schema);
+        jdbcTemplate.execute("SET search_path TO " + schema);
+
+        boolean partitioned = "partitioned".equals(layout);
+        jdbcTemplate.execute("CREATE TABLE orders (id bigint NOT NULL, order_number varchar(36) NOT NULL, " +
+                "account_id bigint NOT NULL, symbol varchar(10) NOT NULL, type varchar(10) NOT NULL, " +
+                "side varchar(10) NOT NULL, quantity integer NOT NULL, limit_price numeric(19, 2), " +
+                "status varchar(20) NOT NULL, executed_price numeric(19, 2), executed_quantity integer, " +
+                "created_at timestamp(6) NOT NULL, updated_at timestamp(6) NOT NULL, " +
+                (partitioned ? "PRIMARY KEY (id, created_at)) PARTITION BY RANGE (created_at)" : "PRIMARY KEY (id))"));
+        if (partitioned) {
+            for (int day = 0; day <= DAYS; day++) {
+                LocalDate date = FIRST_DAY.plusDays(day);
+                jdbcTemplate.execute("CREATE TABLE orders_p" + date.toString().replace("-", "") +
+                        " PARTITION OF orders FOR VALUES FROM ('" + date + "') TO ('" + date.plusDays(1) + "')");
+            }
+        }
+        // Rows n = 0, 1, ... are created STEP_MILLIS apart from FIRST_DAY; the last day is left for inserts.
+        long rows = (long) (DAYS - 1) * ORDERS_PER_DAY;
+        jdbcTemplate.execute("INSERT INTO orders SELECT n, 'ORD-' || n, 1, 'AAPL', 'LIMIT', 'BUY', 10, 100.00, " +
+                "CASE WHEN n % 50 = 0 THEN 'PENDING' ELSE 'EXECUTED' END, 100.00, 10, " +
+                "timestamp '" + FIRST_DAY + "' + n * interval '" + STEP_MILLIS + " milliseconds', " +
+                "timestamp '" + FIRST_DAY + "' + n * interval '" + STEP_MILLIS + " milliseconds' " +
+                "FROM generate_series(0, " + (rows - 1) + ") AS n");
+        for (String index : List.of("order_number", "account_id", "symbol", "status", "created_at",
+                "account_id, created_at, id")) {
+            jdbcTemplate.execute("CREATE INDEX ON orders (" + index + ")");
+        }
+        jdbcTemplate.execute("ANALYZE orders");
+        nextId = rows;
+
+        printPlans();
+    }
+
+    @TearDown(Level.Trial)
+    public void dropTable() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public Long ordersOfOneDay() {
+        LocalDate day = FIRST_DAY.plusDays(ThreadLocalRandom.current().nextInt(DAYS - 1));
+        return jdbcTemplate.queryForObject(SELECT_DAY, Long.class,
+                Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+    }
+
+    @Benchmark
+    public List<String> orderByNumber() {
+        long n = ThreadLocalRandom.current().nextLong((long) (DAYS - 1) * ORDERS_PER_DAY);
+        LocalDateTime created = createdAt(n);
+        return jdbcTemplate.query(SELECT_BY_NUMBER, (rs, row) -> rs.getString("status"), "ORD-" + n,
+                Timestamp.valueOf(created.minusMinutes(1)), Timestamp.valueOf(created.plusMinutes(1)));
+    }
+
+    @Benchmark
+    public int[] insertOrders() {
+        Timestamp now = Timestamp.valueOf(FIRST_DAY.plusDays(DAYS).atTime(12, 0));
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < INSERT_BATCH; i++) {
+            long id = nextId++;
+            rows.add(new Object[] {id, "ORD-" + id, now, now});
+        }
+        return jdbcTemplate.batchUpdate(INSERT, rows);
+    }
+
+    private void printPlans() {
+        LocalDate day = FIRST_DAY.plusDays(DAYS / 2);
+        long n = (long) (DAYS / 2) * ORDERS_PER_DAY + 7;
+        LocalDateTime created = createdAt(n);
+        printPlan("ordersOfOneDay", SELECT_DAY, Timestamp.valueOf(day.atStartOfDay()),
+                Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+        printPlan("orderByNumber", SELECT_BY_NUMBER, "ORD-" + n, Timestamp.valueOf(created.minusMinutes(1)),
+                Timestamp.valueOf(created.plusMinutes(1)));
+    }
+
+    private void printPlan(String name, String sql, Object... arguments) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + sql, String.class, arguments);
+        System.out.println();
+        System.out.println("-- " + name + " on " + layout);
+        plan.forEach(System.out::println);
+    }
+
+    private static LocalDateTime createdAt(long n) {
+        return FIRST_DAY.atStartOfDay().plusNanos(TimeUnit.MILLISECONDS.toNanos(n * STEP_MILLIS));
+    }
+}
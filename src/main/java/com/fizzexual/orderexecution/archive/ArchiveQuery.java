@@ -0,0 +1,15 @@
+package com.fizzexual.orderexecution.archive;
+
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+
+import java.time.LocalDate;
+
+/**
+ * Filters for a scan of the archive. Null fields do not filter.
+ *
+ * @param from first day scanned, inclusive
+ * @param to   last day scanned, inclusive
+ */
+public record ArchiveQuery(LocalDate from, LocalDate to, String symbol, Long orderId,
+                           ExecutionLog.ExecutionStatus status) {
+}
@@ -0,0 +1,366 @@
+package com.fizzexual.orderexecution.archive;
+
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+import com.fizzexual.orderexecution.persistence.ExecutionLogRow;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One symbol's execution logs for one day, stored column by column.
+ * <p>
+ * Layout: {@code [int magic][byte version][utf symbol][int rows][long minId][long maxId][long
+ * minOrderId][long maxOrderId][int statusMask]} followed by one block per column, each
+ * {@code [int rawLength][int length][deflated bytes]}, in the order id, order id, quantity, price,
+ * total amount, status, executed at, message. Rows are in id order. Ids, order ids, prices and
+ * timestamps are stored as zig-zag varint deltas from the previous row, the other numbers as
+ * zig-zag varints, statuses as one byte each, and messages as a dictionary of distinct strings
+ * followed by one varint index per row, -1 for none. Timestamps are epoch milliseconds of the
+ * local time read as UTC, so they are kept to the millisecond.
+ * <p>
+ * The header lets a scan skip a whole file on its order id range and status mask. Otherwise a scan
+ * first inflates only the columns it filters on, skipping over the other blocks, and goes back for
+ * those once a row has matched. Files are written to a temporary name and then renamed, so a
+ * crash never leaves a half-written file under a real name.
+ */
+final class ColumnarLogFile {
+
+    static final String SUFFIX = ".xlog";
+
+    private static final int MAGIC = 0x584C4F47;
+    private static final byte VERSION = 1;
+    /** Header bytes before the first column, less the symbol's own bytes. */
+    private static final int HEADER_BYTES = Integer.BYTES + Byte.BYTES + Short.BYTES + Integer.BYTES
+            + 4 * Long.BYTES + Integer.BYTES;
+    private static final ExecutionLog.ExecutionStatus[] STATUSES = ExecutionLog.ExecutionStatus.values();
+
+    private ColumnarLogFile() {
+    }
+
+    /**
+     * Accumulates rows, in id order, into encoded columns.
+     */
+    static final class Writer {
+
+        private final String symbol;
+        private final Column ids = new Column();
+        private final Column orderIds = new Column();
+        private final Column quantities = new Column();
+        private final Column prices = new Column();
+        private final Column totalAmounts = new Column();
+        private final Column statuses = new Column();
+        private final Column executedAts = new Column();
+        private final Column messageIndexes = new Column();
+        private final Map<String, Integer> messages = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private int rows;
+        private long minId = Long.MAX_VALUE;
+        private long maxId = Long.MIN_VALUE;
+        private long minOrderId = Long.MAX_VALUE;
+        private long maxOrderId = Long.MIN_VALUE;
+        private int statusMask;
+        private long previousId;
+        private long previousOrderId;
+        private long previousPrice;
+        private long previousExecutedAt;
+
+        Writer(String symbol) {
+            this.symbol = symbol;
+        }
+
+        void add(ExecutionLogRow row) {
+            long executedAt = row.getExecutedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+            ids.writeSigned(row.getId() - previousId);
+            orderIds.writeSigned(row.getOrderId() - previousOrderId);
+            quantities.writeSigned(row.getQuantity());
+            prices.writeSigned(row.getPrice() - previousPrice);
+            totalAmounts.writeSigned(row.getTotalAmount());
+            statuses.buffer.write(row.getStatus().ordinal());
+            executedAts.writeSigned(executedAt - previousExecutedAt);
+            // -1 for no message, so a null survives the round trip.
+            messageIndexes.writeSigned(row.getMessage() == null ? -1
+                    : messages.computeIfAbsent(row.getMessage(), key -> {
+                        dictionary.add(key);
+                        return dictionary.size() - 1;
+                    }));
+
+            previousId = row.getId();
+            previousOrderId = row.getOrderId();
+            previousPrice = row.getPrice();
+            previousExecutedAt = executedAt;
+            minId = Math.min(minId, row.getId());
+            maxId = Math.max(maxId, row.getId());
+            minOrderId = Math.min(minOrderId, row.getOrderId());
+            maxOrderId = Math.max(maxOrderId, row.getOrderId());
+            statusMask |= 1 << row.getStatus().ordinal();
+            rows++;
+        }
+
+        int rows() {
+            return rows;
+        }
+
+        long minId() {
+            return minId;
+        }
+
+        /**
+         * @return the size of the file in bytes
+         */
+        long write(Path file) throws IOException {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                OutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+                DataOutputStream out = new DataOutputStream(buffered);
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                out.writeUTF(symbol);
+                out.writeInt(rows);
+                out.writeLong(minId);
+                out.writeLong(maxId);
+                out.writeLong(minOrderId);
+                out.writeLong(maxOrderId);
+                out.writeInt(statusMask);
+                for (Column column : new Column[]{ids, orderIds, quantities, prices, totalAmounts, statuses,
+                        executedAts}) {
+                    writeBlock(out, column.buffer.toByteArray());
+                }
+                Column dictionaryColumn = new Column();
+                dictionaryColumn.writeSigned(dictionary.size());
+                for (String message : dictionary) {
+                    byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+                    dictionaryColumn.writeSigned(bytes.length);
+                    dictionaryColumn.buffer.write(bytes);
+                }
+                dictionaryColumn.buffer.write(messageIndexes.buffer.toByteArray());
+                writeBlock(out, dictionaryColumn.buffer.toByteArray());
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return Files.size(file);
+        }
+
+        private static void writeBlock(DataOutputStream out, byte[] raw) throws IOException {
+            Deflater deflater = new Deflater();
+            try {
+                deflater.setInput(raw);
+                deflater.finish();
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+                byte[] chunk = new byte[8192];
+                while (!deflater.finished()) {
+                    compressed.write(chunk, 0, deflater.deflate(chunk));
+                }
+                out.writeInt(raw.length);
+                out.writeInt(compressed.size());
+                compressed.writeTo(out);
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+    /**
+     * Rows of {@code file} that match {@code query}, in id order, at most {@code limit} of them.
+     * The symbol and day are assumed to match already.
+     */
+    static List<ExecutionLogRow> scan(Path file, ArchiveQuery query, int limit) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            DataInputStream data = columns(channel);
+            if (data.readInt() != MAGIC || data.readByte() != VERSION) {
+                throw new IOException("Not an execution log archive file: " + file);
+            }
+            int symbolLength = data.readUnsignedShort();
+            data.skipNBytes(symbolLength);
+            int rows = data.readInt();
+            data.readLong();
+            data.readLong();
+            long minOrderId = data.readLong();
+            long maxOrderId = data.readLong();
+            int statusMask = data.readInt();
+            if (query.orderId() != null && (query.orderId() < minOrderId || query.orderId() > maxOrderId)) {
+                return List.of();
+            }
+            if (query.status() != null && (statusMask & 1 << query.status().ordinal()) == 0) {
+                return List.of();
+            }
+
+            // First pass: inflate only the columns the query filters on and skip past the rest.
+            BitSet matches = new BitSet(rows);
+            matches.set(0, rows);
+            skipBlock(data);
+            long[] orderIdValues = null;
+            if (query.orderId() == null) {
+                skipBlock(data);
+            } else {
+                orderIdValues = deltas(readBlock(data), rows);
+                for (int row = 0; row < rows; row++) {
+                    if (orderIdValues[row] != query.orderId()) {
+                        matches.clear(row);
+                    }
+                }
+            }
+            skipBlock(data);
+            skipBlock(data);
+            skipBlock(data);
+            ByteBuffer statuses = null;
+            if (query.status() == null) {
+                skipBlock(data);
+            } else {
+                statuses = readBlock(data);
+                for (int row = matches.nextSetBit(0); row >= 0; row = matches.nextSetBit(row + 1)) {
+                    if (statuses.get(row) != query.status().ordinal()) {
+                        matches.clear(row);
+                    }
+                }
+            }
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+
+            // Second pass, from the first column: inflate the columns the first one skipped.
+            channel.position(HEADER_BYTES + symbolLength);
+            data = columns(channel);
+            long[] idValues = deltas(readBlock(data), rows);
+            if (orderIdValues == null) {
+                orderIdValues = deltas(readBlock(data), rows);
+            } else {
+                skipBlock(data);
+            }
+            ByteBuffer quantities = readBlock(data);
+            long[] priceValues = deltas(readBlock(data), rows);
+            ByteBuffer totalAmounts = readBlock(data);
+            if (statuses == null) {
+                statuses = readBlock(data);
+            } else {
+                skipBlock(data);
+            }
+            long[] executedAtValues = deltas(readBlock(data), rows);
+            ByteBuffer dictionaryBlock = readBlock(data);
+            String[] dictionary = new String[(int) readSigned(dictionaryBlock)];
+            for (int i = 0; i < dictionary.length; i++) {
+                byte[] bytes = new byte[(int) readSigned(dictionaryBlock)];
+                dictionaryBlock.get(bytes);
+                dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            List<ExecutionLogRow> result = new ArrayList<>();
+            for (int row = 0; row < rows && result.size() < limit; row++) {
+                int quantity = (int) readSigned(quantities);
+                long totalAmount = readSigned(totalAmounts);
+                int messageIndex = (int) readSigned(dictionaryBlock);
+                String message = messageIndex < 0 ? null : dictionary[messageIndex];
+                if (matches.get(row)) {
+                    result.add(new ExecutionLogRow(idValues[row], orderIdValues[row], quantity, priceValues[row],
+                            totalAmount, STATUSES[statuses.get(row)], message,
+                            LocalDateTime.ofInstant(Instant.ofEpochMilli(executedAtValues[row]), ZoneOffset.UTC)));
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A buffered reader from the channel's current position. The channel stays open when the
+     * reader is dropped.
+     */
+    private static DataInputStream columns(FileChannel channel) {
+        return new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024));
+    }
+
+    private static void skipBlock(DataInputStream data) throws IOException {
+        data.readInt();
+        data.skipNBytes(data.readInt());
+    }
+
+    private static ByteBuffer readBlock(DataInputStream data) throws IOException {
+        byte[] raw = new byte[data.readInt()];
+        byte[] compressed = new byte[data.readInt()];
+        data.readFully(compressed);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != raw.length) {
+                throw new IOException("Truncated column block");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt column block", e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    private static long[] deltas(ByteBuffer column, int rows) {
+        long[] values = new long[rows];
+        long previous = 0L;
+        for (int row = 0; row < rows; row++) {
+            previous += readSigned(column);
+            values[row] = previous;
+        }
+        return values;
+    }
+
+    private static long readSigned(ByteBuffer in) {
+        long raw = 0L;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            raw |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /**
+     * A column being written, as zig-zag varints.
+     */
+    private static final class Column {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        private void writeSigned(long value) {
+            long raw = (value << 1) ^ (value >> 63);
+            while ((raw & ~0x7FL) != 0) {
+                buffer.write((int) (raw & 0x7F) | 0x80);
+                raw >>>= 7;
+            }
+            buffer.write((int) raw);
+        }
+    }
+}
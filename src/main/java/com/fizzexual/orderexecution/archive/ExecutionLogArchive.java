@@ -0,0 +1,120 @@
+package com.fizzexual.orderexecution.archive;
+
+import com.fizzexual.orderexecution.config.ArchiveProperties;
+import com.fizzexual.orderexecution.persistence.ExecutionLogRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Execution logs moved out of the database, as {@link ColumnarLogFile}s partitioned by day and
+ * symbol: {@code <directory>/<yyyy-MM-dd>/<symbol>-<first id>.xlog}. A day and symbol can have
+ * several files if logs for it were archived more than once.
+ * <p>
+ * A scan prunes by partition first: days outside the query's range and files of other symbols are
+ * never opened. The files left are pruned on their header and filtered column by column, see
+ * {@link ColumnarLogFile#scan}.
+ */
+@Component
+public class ExecutionLogArchive {
+
+    private final Path directory;
+
+    @Autowired
+    public ExecutionLogArchive(ArchiveProperties properties) {
+        this(Path.of(properties.getDirectory()));
+    }
+
+    ExecutionLogArchive(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Writes one partition file.
+     *
+     * @return the size of the file in bytes
+     */
+    long write(LocalDate day, String symbol, ColumnarLogFile.Writer rows) throws IOException {
+        Path dayDirectory = directory.resolve(day.toString());
+        Files.createDirectories(dayDirectory);
+        return rows.write(dayDirectory.resolve(
+                URLEncoder.encode(symbol, StandardCharsets.UTF_8) + "-" + rows.minId() + ColumnarLogFile.SUFFIX));
+    }
+
+    /**
+     * @return up to {@code limit} matching logs, ordered by execution time and id
+     */
+    public List<ExecutionLogRow> query(ArchiveQuery query, int limit) {
+        List<ExecutionLogRow> result = new ArrayList<>();
+        for (LocalDate day : days(query)) {
+            List<ExecutionLogRow> dayRows = new ArrayList<>();
+            for (Path file : files(day, query.symbol())) {
+                try {
+                    dayRows.addAll(ColumnarLogFile.scan(file, query, limit - result.size()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot read archive file " + file, e);
+                }
+            }
+            dayRows.sort(Comparator.comparing(ExecutionLogRow::getExecutedAt).thenComparing(ExecutionLogRow::getId));
+            for (ExecutionLogRow row : dayRows) {
+                if (result.size() == limit) {
+                    return result;
+                }
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    private List<LocalDate> days(ArchiveQuery query) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries.map(entry -> parseDay(entry.getFileName().toString()))
+                    .filter(day -> day != null
+                            && (query.from() == null || !day.isBefore(query.from()))
+                            && (query.to() == null || !day.isAfter(query.to())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list archive directory " + directory, e);
+        }
+    }
+
+    private List<Path> files(LocalDate day, String symbol) {
+        try (Stream<Path> entries = Files.list(directory.resolve(day.toString()))) {
+            return entries.filter(file -> {
+                        String name = file.getFileName().toString();
+                        int dash = name.lastIndexOf('-');
+                        return name.endsWith(ColumnarLogFile.SUFFIX) && dash > 0 && (symbol == null
+                                || URLDecoder.decode(name.substring(0, dash), StandardCharsets.UTF_8).equals(symbol));
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list archive day " + day, e);
+        }
+    }
+
+    private static LocalDate parseDay(String name) {
+        try {
+            return LocalDate.parse(name);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
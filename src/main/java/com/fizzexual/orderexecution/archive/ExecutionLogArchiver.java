@@ -0,0 +1,217 @@
+package com.fizzexual.orderexecution.archive;
+
+import com.fizzexual.orderexecution.config.ArchiveProperties;
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+import com.fizzexual.orderexecution.matching.Prices;
+import com.fizzexual.orderexecution.persistence.ExecutionLogRow;
+import com.fizzexual.orderexecution.persistence.WriteBehindWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves execution logs older than {@code hotDays} from the database into the
+ * {@link ExecutionLogArchive}, one day at a time, oldest first.
+ * <p>
+ * A day's logs are streamed in symbol and id order into one file per symbol; only once every file
+ * is on disk are the rows deleted. A run that fails half way leaves the rows in place, and the
+ * next run rewrites the same files. Deletion is bounded by the highest id archived, so a log that
+ * reaches the database late is left for the next run rather than lost.
+ * <p>
+ * Logs whose order row is gone, e.g. with order partitions dropped on a shorter retention, are
+ * archived under the symbol {@value #UNKNOWN_SYMBOL} rather than left behind.
+ */
+@Component
+@Slf4j
+public class ExecutionLogArchiver implements SmartLifecycle {
+
+    /**
+     * Symbol of archived logs whose order could not be found.
+     */
+    public static final String UNKNOWN_SYMBOL = "UNKNOWN";
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final String SELECT_OLDEST =
+            "SELECT MIN(executed_at) FROM execution_logs WHERE executed_at >= ? AND executed_at < ?";
+
+    private static final String SELECT_DAY =
+            "SELECT e.id, e.order_id, COALESCE(o.symbol, '" + UNKNOWN_SYMBOL + "') AS symbol, e.quantity, " +
+            "e.price, e.total_amount, e.status, e.message, e.executed_at " +
+            "FROM execution_logs e LEFT JOIN orders o ON o.id = e.order_id " +
+            "WHERE e.executed_at >= ? AND e.executed_at < ? ORDER BY symbol, e.id";
+
+    private static final String DELETE_DAY =
+            "DELETE FROM execution_logs WHERE executed_at >= ? AND executed_at < ? AND id <= ?";
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final ExecutionLogArchive archive;
+    private final JdbcTemplate jdbcTemplate;
+    private final ArchiveProperties properties;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    @Autowired
+    public ExecutionLogArchiver(ExecutionLogArchive archive, JdbcTemplate jdbcTemplate, ArchiveProperties properties) {
+        this(archive, jdbcTemplate, properties, Clock.systemDefaultZone());
+    }
+
+    ExecutionLogArchiver(ExecutionLogArchive archive, JdbcTemplate jdbcTemplate, ArchiveProperties properties,
+                         Clock clock) {
+        this.archive = archive;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "execution-log-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void start() {
+        if (properties.isEnabled()) {
+            // Not straight away: positions rebuilt from the logs on this start need to reach a
+            // checkpoint before the logs they came from leave the database.
+            scheduler.scheduleWithFixedDelay(this::runSafely, properties.getIntervalMillis(),
+                    properties.getIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        scheduler.shutdownNow();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // After the position book has replayed the logs it needs.
+        return WriteBehindWriter.PHASE + 2;
+    }
+
+    /**
+     * Archives up to {@code maxDaysPerRun} of the oldest days that are due. Each day is only
+     * visited once per run, so a day that leaves rows behind cannot hold up the ones after it.
+     *
+     * @return the number of logs archived
+     */
+    public synchronized long archiveDueDays() {
+        Timestamp firstHotDay = Timestamp.valueOf(LocalDate.now(clock)
+                .minusDays(properties.getHotDays() - 1L).atStartOfDay());
+        LocalDateTime from = BEGINNING;
+        long archived = 0L;
+        for (int i = 0; i < properties.getMaxDaysPerRun(); i++) {
+            Timestamp oldest = jdbcTemplate.queryForObject(SELECT_OLDEST, Timestamp.class,
+                    Timestamp.valueOf(from), firstHotDay);
+            if (oldest == null) {
+                break;
+            }
+            LocalDate day = oldest.toLocalDateTime().toLocalDate();
+            archived += archiveDay(day);
+            from = day.plusDays(1).atStartOfDay();
+        }
+        return archived;
+    }
+
+    long archiveDay(LocalDate day) {
+        Timestamp start = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        DayWriter writer = new DayWriter(day);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_DAY);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setTimestamp(1, start);
+            ps.setTimestamp(2, end);
+            return ps;
+        }, (RowCallbackHandler) rs -> writer.add(rs.getString("symbol"), new ExecutionLogRow(
+                rs.getLong("id"),
+                rs.getLong("order_id"),
+                rs.getInt("quantity"),
+                Prices.toTicks(rs.getBigDecimal("price")),
+                Prices.toTicks(rs.getBigDecimal("total_amount")),
+                ExecutionLog.ExecutionStatus.valueOf(rs.getString("status")),
+                rs.getString("message"),
+                rs.getTimestamp("executed_at").toLocalDateTime())));
+        writer.finish();
+        if (writer.maxId == 0L) {
+            return 0L;
+        }
+
+        int deleted = jdbcTemplate.update(DELETE_DAY, start, end, writer.maxId);
+        log.info("Archived {} execution logs of {} into {} files, {} bytes", deleted, day, writer.files,
+                writer.bytes);
+        return deleted;
+    }
+
+    private void runSafely() {
+        try {
+            archiveDueDays();
+        } catch (RuntimeException e) {
+            log.warn("Execution log archiving failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rows of one day in symbol order, one file per symbol.
+     */
+    private final class DayWriter {
+
+        private final LocalDate day;
+        private String symbol;
+        private ColumnarLogFile.Writer file;
+        private long maxId;
+        private int files;
+        private long bytes;
+
+        private DayWriter(LocalDate day) {
+            this.day = day;
+        }
+
+        private void add(String rowSymbol, ExecutionLogRow row) {
+            if (!rowSymbol.equals(symbol)) {
+                finish();
+                symbol = rowSymbol;
+                file = new ColumnarLogFile.Writer(rowSymbol);
+            }
+            file.add(row);
+            maxId = Math.max(maxId, row.getId());
+        }
+
+        private void finish() {
+            if (file == null || file.rows() == 0) {
+                return;
+            }
+            try {
+                bytes += archive.write(day, symbol, file);
+                files++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write archive of " + symbol + " on " + day, e);
+            }
+            file = null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.fizzexual.orderexecution.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "execution.account-cache")
+public class AccountCacheProperties {
+
+    /**
+     * Most accounts kept in memory; the least likely to be used again are evicted first.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * How long an account is served from memory before it is read from the database again.
+     */
+    private long expireAfterWriteMillis = 600_000;
+}
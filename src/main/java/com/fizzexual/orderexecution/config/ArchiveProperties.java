@@ -0,0 +1,29 @@
+package com.fizzexual.orderexecution.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "execution.archive")
+public class ArchiveProperties {
+
+    /**
+     * Periodically move old execution logs out of the database into archive files. The archive
+     * can be queried either way.
+     */
+    private boolean enabled = false;
+
+    private String directory = "data/archive";
+
+    /**
+     * Days of execution logs kept in the database, today included; older days are archived.
+     */
+    private int hotDays = 30;
+
+    private long intervalMillis = 3_600_000;
+
+    /**
+     * Most days archived in one run, to bound how long a run holds the database.
+     */
+    private int maxDaysPerRun = 7;
+}
@@ -0,0 +1,23 @@
+package com.fizzexual.orderexecution.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "execution.bars")
+public class BarProperties {
+
+    /**
+     * How often new and updated bars are written to the market_bars table.
+     */
+    private long flushIntervalMillis = 5_000;
+
+    /**
+     * Bars kept in memory per symbol at each interval, i.e. how far back the bars endpoint reaches.
+     */
+    private int secondBars = 3_600;
+
+    private int minuteBars = 1_440;
+
+    private int hourBars = 720;
+}
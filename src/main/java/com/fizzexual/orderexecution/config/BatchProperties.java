@@ -0,0 +1,19 @@
+package com.fizzexual.orderexecution.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "execution.batch")
+public class BatchProperties {
+
+    /**
+     * Maximum number of orders accepted in one batch submission.
+     */
+    private int maxSize = 5000;
+
+    /**
+     * Orders of the same symbol placed per sequencer task, and so per write-behind batch.
+     */
+    private int chunkSize = 500;
+}
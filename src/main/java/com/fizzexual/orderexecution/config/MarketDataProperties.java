@@ -0,0 +1,43 @@
+package com.fizzexual.orderexecution.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "execution.market-data")
+public class MarketDataProperties {
+
+    /**
+     * Where quotes come from: {@code simulated} for the built-in random walk, or {@code none} when
+     * another {@code MarketDataSource} bean supplies them.
+     */
+    private String source = "simulated";
+
+    private Simulated simulated = new Simulated();
+
+    @Data
+    public static class Simulated {
+
+        private List<String> symbols = new ArrayList<>(List.of("AAPL", "GOOGL", "MSFT", "AMZN", "TSLA"));
+
+        /**
+         * Last price every symbol starts at.
+         */
+        private double initialPrice = 100.00;
+
+        private long tickIntervalMillis = 250;
+
+        /**
+         * Largest move of the last price in one tick.
+         */
+        private int maxMoveBasisPoints = 20;
+
+        /**
+         * Distance between bid and ask, in cents.
+         */
+        private int spreadTicks = 2;
+    }
+}
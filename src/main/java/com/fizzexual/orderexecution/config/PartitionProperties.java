@@ -0,0 +1,37 @@
+package com.fizzexual.orderexecution.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "execution.partitioning")
+public class PartitionProperties {
+
+    /**
+     * Maintain the daily partitions of {@code orders} and {@code execution_logs}. PostgreSQL only,
+     * and only for tables converted with {@code db/postgres/partition-orders.sql}; tables that are
+     * not partitioned are left alone.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Days ahead of today that always have a partition, so inserts never land in the default
+     * partition.
+     */
+    private int premakeDays = 7;
+
+    /**
+     * Days of orders kept, today included; older partitions are dropped unless they still hold
+     * open orders or orders with execution logs in the database. 0 keeps every day.
+     */
+    private int orderRetentionDays = 0;
+
+    /**
+     * Days of execution logs kept, today included; older partitions are dropped. While the
+     * archive is enabled a partition is only dropped once the archiver has emptied it. 0 keeps
+     * every day.
+     */
+    private int executionLogRetentionDays = 0;
+
+    private long intervalMillis = 3_600_000;
+}
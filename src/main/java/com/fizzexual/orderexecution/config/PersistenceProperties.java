@@ -0,0 +1,76 @@
+package com.fizzexual.orderexecution.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "execution.persistence")
+public class PersistenceProperties {
+
+    /**
+     * Maximum number of sequenced commands coalesced into one database flush.
+     */
+    private int flushSize = 500;
+
+    /**
+     * How long the flusher waits for a flush to fill up before writing what it has.
+     */
+    private long flushIntervalMillis = 10;
+
+    /**
+     * Maximum number of acknowledged but not yet flushed commands.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * How long a new order waits for queue capacity before it is turned away.
+     */
+    private long enqueueTimeoutMillis = 1000;
+
+    /**
+     * This instance's node id (0-1023), part of every order number it generates. Instances
+     * sharing a database need distinct ids.
+     */
+    private int nodeId = 0;
+
+    private Journal journal = new Journal();
+
+    private Snapshot snapshot = new Snapshot();
+
+    @Data
+    public static class Journal {
+
+        private boolean enabled = false;
+
+        private String directory = "data/journal";
+
+        /**
+         * Force every append to disk before the order is acknowledged.
+         */
+        private boolean fsync = true;
+
+        /**
+         * Size of each memory-mapped journal segment; a new segment is started when one is full.
+         */
+        private long segmentBytes = 64L * 1024 * 1024;
+    }
+
+    @Data
+    public static class Snapshot {
+
+        /**
+         * Periodically snapshot balances and open orders so restart only replays the journal tail.
+         * Requires the journal.
+         */
+        private boolean enabled = false;
+
+        private String directory = "data/snapshots";
+
+        private long intervalMillis = 60_000;
+
+        /**
+         * Number of snapshot files kept on disk; the journal is trimmed up to the oldest one kept.
+         */
+        private int retain = 2;
+    }
+}
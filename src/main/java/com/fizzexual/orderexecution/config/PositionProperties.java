@@ -0,0 +1,22 @@
+package com.fizzexual.orderexecution.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "execution.positions")
+public class PositionProperties {
+
+    /**
+     * How often changed positions are written to the positions table. Fills since the last
+     * checkpoint are replayed from the execution logs on startup, so this only bounds how much
+     * has to be replayed.
+     */
+    private long checkpointIntervalMillis = 5_000;
+
+    /**
+     * How far before the newest checkpointed fill the startup replay begins, to cover fills that
+     * were executed just before a checkpoint but applied just after it.
+     */
+    private long replayMarginMillis = 60_000;
+}
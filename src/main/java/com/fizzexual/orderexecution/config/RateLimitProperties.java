@@ -0,0 +1,35 @@
+package com.fizzexual.orderexecution.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "execution.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * What a bucket belongs to: each account, or each user across all of their accounts.
+     */
+    private Key key = Key.ACCOUNT;
+
+    /**
+     * Sustained order rate per bucket.
+     */
+    private int ordersPerSecond = 100;
+
+    /**
+     * Orders a bucket lets through back to back after being idle.
+     */
+    private int burst = 200;
+
+    /**
+     * Most buckets kept in memory; idle ones are evicted first once it is reached.
+     */
+    private int maxBuckets = 100_000;
+
+    public enum Key {
+        ACCOUNT, USER
+    }
+}
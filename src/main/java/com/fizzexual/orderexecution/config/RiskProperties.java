@@ -0,0 +1,42 @@
+package com.fizzexual.orderexecution.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+
+/**
+ * Pre-trade limits applied by {@link com.fizzexual.orderexecution.risk.RiskEngine}. A limit of
+ * zero switches its check off.
+ */
+@Data
+@ConfigurationProperties(prefix = "execution.risk")
+public class RiskProperties {
+
+    /**
+     * Largest value of a single order: limit price (or market price) times quantity.
+     */
+    private BigDecimal maxOrderNotional = new BigDecimal("1000000.00");
+
+    /**
+     * Largest net position, in units, an account may hold in one symbol.
+     */
+    private long maxPosition = 100_000;
+
+    /**
+     * Orders an account may send per second. Kept above {@code execution.batch.max-size} so one
+     * basket cannot trip it on its own.
+     */
+    private int maxOrdersPerSecond = 10_000;
+
+    /**
+     * How far a limit price may be from the symbol's last trade, in basis points.
+     */
+    private int priceBandBasisPoints = 1000;
+
+    /**
+     * Largest gross exposure of an account: the sum over symbols of its absolute position valued
+     * at its last trade price.
+     */
+    private BigDecimal maxGrossExposure = new BigDecimal("5000000.00");
+}
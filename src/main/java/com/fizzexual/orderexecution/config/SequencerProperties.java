@@ -0,0 +1,24 @@
+package com.fizzexual.orderexecution.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "execution.sequencer")
+public class SequencerProperties {
+
+    /**
+     * Number of matching shards; 0 means one per available processor.
+     */
+    private int shards = 0;
+
+    /**
+     * Capacity of each shard's ring buffer. Must be a power of two.
+     */
+    private int ringBufferSize = 4096;
+
+    /**
+     * How long a producer waits for space in a full ring buffer before giving up.
+     */
+    private long submitTimeoutMillis = 1000;
+}
@@ -0,0 +1,30 @@
+package com.fizzexual.orderexecution.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "execution.stream")
+public class StreamProperties {
+
+    /**
+     * Most recent events kept for subscribers that reconnect with the last sequence they saw.
+     */
+    private int replayCapacity = 10_000;
+
+    /**
+     * Events buffered per subscriber. A subscriber that falls this far behind is disconnected
+     * and has to resume from its last sequence.
+     */
+    private int bufferSize = 1000;
+
+    /**
+     * Most concurrent subscribers; further ones are turned away.
+     */
+    private int maxSubscribers = 1000;
+
+    /**
+     * How often an idle subscriber gets a heartbeat, which also detects dead connections.
+     */
+    private long heartbeatMillis = 15_000;
+}
@@ -0,0 +1,32 @@
+package com.fizzexual.orderexecution.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Reports whether the opt-in virtual-thread mode ({@code virtual-threads} profile) is actually in
+ * effect. Spring Boot silently keeps platform threads when the runtime is older than Java 21.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadConfig {
+
+    private final Environment environment;
+
+    @PostConstruct
+    void reportThreading() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Handling requests on virtual threads");
+        } else {
+            log.warn("spring.threads.virtual.enabled is set, but Java {} has no virtual threads; "
+                    + "requests stay on the platform thread pool", Runtime.version().feature());
+        }
+    }
+}
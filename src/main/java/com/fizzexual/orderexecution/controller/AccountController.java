@@ -1,8 +1,11 @@
 package com.fizzexual.orderexecution.controller;
 
 import com.fizzexual.orderexecution.dto.AccountResponse;
+import com.fizzexual.orderexecution.dto.PositionResponse;
 import com.fizzexual.orderexecution.service.AccountService;
+import com.fizzexual.orderexecution.service.PositionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -10,10 +13,12 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/accounts")
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class AccountController {
 
     private final AccountService accountService;
+    private final PositionService positionService;
 
     @GetMapping("/{id}")
     public ResponseEntity<AccountResponse> getAccountById(@PathVariable Long id) {
@@ -21,6 +26,12 @@ public class AccountController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{id}/positions")
+    public ResponseEntity<List<PositionResponse>> getPositions(@PathVariable Long id) {
+        List<PositionResponse> positions = positionService.getPositions(id);
+        return ResponseEntity.ok(positions);
+    }
+
     @GetMapping("/number/{accountNumber}")
     public ResponseEntity<AccountResponse> getAccountByNumber(@PathVariable String accountNumber) {
         AccountResponse response = accountService.getAccountByNumber(accountNumber);
@@ -1,38 +1,78 @@
 package com.fizzexual.orderexecution.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fizzexual.orderexecution.dto.CursorPage;
 import com.fizzexual.orderexecution.dto.ExecutionLogResponse;
-import com.fizzexual.orderexecution.mapper.ExecutionLogMapper;
-import com.fizzexual.orderexecution.repository.ExecutionLogRepository;
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+import com.fizzexual.orderexecution.service.ExecutionLogArchiveService;
+import com.fizzexual.orderexecution.service.ExecutionLogService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/execution-logs")
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class ExecutionLogController {
 
-    private final ExecutionLogRepository executionLogRepository;
-    private final ExecutionLogMapper executionLogMapper;
+    private final ExecutionLogService executionLogService;
+    private final ExecutionLogArchiveService executionLogArchiveService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/order/{orderId}")
     public ResponseEntity<List<ExecutionLogResponse>> getExecutionLogsByOrderId(@PathVariable Long orderId) {
-        List<ExecutionLogResponse> logs = executionLogRepository.findByOrderIdOrderByExecutedAtDesc(orderId)
-                .stream()
-                .map(executionLogMapper::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(logs);
+        return ResponseEntity.ok(executionLogService.getExecutionLogsByOrderId(orderId));
     }
 
     @GetMapping
-    public ResponseEntity<List<ExecutionLogResponse>> getAllExecutionLogs() {
-        List<ExecutionLogResponse> logs = executionLogRepository.findAll()
-                .stream()
-                .map(executionLogMapper::toResponse)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(logs);
+    public ResponseEntity<CursorPage<ExecutionLogResponse>> getAllExecutionLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "ASC") String direction) {
+        return ResponseEntity.ok(executionLogService.getExecutionLogs(cursor, limit, direction));
+    }
+
+    /**
+     * Every execution log as newline-delimited JSON, written while the rows are read.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportExecutionLogs() {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+                executionLogService.streamExecutionLogs(log -> {
+                    try {
+                        writer.write(log);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Execution logs already moved out of the database, see {@code execution.archive}.
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<List<ExecutionLogResponse>> getArchivedExecutionLogs(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String symbol,
+            @RequestParam(required = false) Long orderId,
+            @RequestParam(required = false) ExecutionLog.ExecutionStatus status,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(executionLogArchiveService.query(from, to, symbol, orderId, status, limit));
     }
 }
@@ -0,0 +1,33 @@
+package com.fizzexual.orderexecution.controller;
+
+import com.fizzexual.orderexecution.dto.BarResponse;
+import com.fizzexual.orderexecution.dto.QuoteResponse;
+import com.fizzexual.orderexecution.service.MarketDataService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Served from memory only, so the same controller runs on both the servlet and reactive stacks.
+ */
+@RestController
+@RequestMapping("/api/market")
+@RequiredArgsConstructor
+public class MarketDataController {
+
+    private final MarketDataService marketDataService;
+
+    @GetMapping("/{symbol}/quote")
+    public ResponseEntity<QuoteResponse> getQuote(@PathVariable String symbol) {
+        return ResponseEntity.ok(marketDataService.getQuote(symbol));
+    }
+
+    @GetMapping("/{symbol}/bars")
+    public ResponseEntity<List<BarResponse>> getBars(@PathVariable String symbol,
+                                                     @RequestParam(defaultValue = "1m") String interval,
+                                                     @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(marketDataService.getBars(symbol, interval, limit));
+    }
+}
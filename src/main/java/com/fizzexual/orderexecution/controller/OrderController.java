@@ -1,32 +1,85 @@
 package com.fizzexual.orderexecution.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fizzexual.orderexecution.config.BatchProperties;
+import com.fizzexual.orderexecution.dto.BatchOrderResponse;
+import com.fizzexual.orderexecution.dto.CursorPage;
 import com.fizzexual.orderexecution.dto.OrderRequest;
 import com.fizzexual.orderexecution.dto.OrderResponse;
+import com.fizzexual.orderexecution.exception.BusinessException;
+import com.fizzexual.orderexecution.ratelimit.OrderRateLimiter;
 import com.fizzexual.orderexecution.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/orders")
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderRateLimiter orderRateLimiter;
+    private final ObjectMapper objectMapper;
+    private final BatchProperties batchProperties;
 
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody OrderRequest request) {
         log.info("Received order creation request for symbol: {}", request.getSymbol());
+        orderRateLimiter.acquire(request.getAccountId());
         OrderResponse response = orderService.createOrder(request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchOrderResponse> createOrders(@RequestBody List<OrderRequest> requests) {
+        log.info("Received batch of {} orders", requests.size());
+        orderRateLimiter.acquire(requests);
+        return ResponseEntity.ok(orderService.createOrders(requests));
+    }
+
+    /**
+     * Newline-delimited JSON variant of the batch endpoint: one {@link OrderRequest} per line,
+     * parsed as the body streams in. Reading stops, and the batch is rejected, at the first order
+     * past the batch limit.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<BatchOrderResponse> createOrdersNdjson(InputStream body) throws IOException {
+        int maxSize = batchProperties.getMaxSize();
+        List<OrderRequest> requests = new ArrayList<>();
+        try (MappingIterator<OrderRequest> lines = objectMapper.readerFor(OrderRequest.class).readValues(body)) {
+            while (lines.hasNextValue()) {
+                if (requests.size() == maxSize) {
+                    throw new BusinessException("Batch must not exceed " + maxSize + " orders");
+                }
+                requests.add(lines.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            throw new BusinessException(e.getLocation() != null
+                    ? "Malformed order on line " + e.getLocation().getLineNr() : "Malformed order batch");
+        }
+        log.info("Received NDJSON batch of {} orders", requests.size());
+        orderRateLimiter.acquire(requests);
+        return ResponseEntity.ok(orderService.createOrders(requests));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id) {
         OrderResponse response = orderService.getOrderById(id);
@@ -40,15 +93,40 @@ public class OrderController {
     }
 
     @GetMapping("/account/{accountId}")
-    public ResponseEntity<List<OrderResponse>> getOrdersByAccountId(@PathVariable Long accountId) {
-        List<OrderResponse> orders = orderService.getOrdersByAccountId(accountId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<CursorPage<OrderResponse>> getOrdersByAccountId(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "ASC") String direction) {
+        return ResponseEntity.ok(orderService.getOrdersByAccountId(accountId, cursor, limit, direction));
     }
 
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        List<OrderResponse> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<CursorPage<OrderResponse>> getAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "ASC") String direction) {
+        return ResponseEntity.ok(orderService.getAllOrders(cursor, limit, direction));
+    }
+
+    /**
+     * Every order (optionally only one account's) as newline-delimited JSON, written while the
+     * rows are read.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(required = false) Long accountId) {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+                orderService.streamOrders(accountId, order -> {
+                    try {
+                        writer.write(order);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @PutMapping("/{id}/cancel")
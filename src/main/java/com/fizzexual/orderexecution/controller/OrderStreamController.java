@@ -0,0 +1,47 @@
+package com.fizzexual.orderexecution.controller;
+
+import com.fizzexual.orderexecution.stream.OrderEventBus;
+import com.fizzexual.orderexecution.stream.OrderEventFilter;
+import com.fizzexual.orderexecution.stream.SseEventSink;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Push channel for order status changes and execution logs. The same stream is available over
+ * WebSocket at {@code /ws/events}.
+ */
+@RestController
+@RequestMapping("/api/stream")
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class OrderStreamController {
+
+    private final OrderEventBus orderEventBus;
+
+    /**
+     * @param fromSequence    resume after this sequence; the {@code Last-Event-ID} header an
+     *                        {@code EventSource} sends on reconnect takes precedence
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestParam(required = false) Long accountId,
+            @RequestParam(required = false) String symbol,
+            @RequestParam(required = false) Long fromSequence,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        // No timeout: heartbeats find dead connections instead.
+        SseEmitter emitter = new SseEmitter(0L);
+        OrderEventBus.Subscription subscription = orderEventBus.subscribe(new OrderEventFilter(accountId, symbol),
+                lastEventId != null ? lastEventId : fromSequence, new SseEventSink(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+}
@@ -0,0 +1,48 @@
+package com.fizzexual.orderexecution.controller;
+
+import com.fizzexual.orderexecution.dto.AccountResponse;
+import com.fizzexual.orderexecution.dto.PositionResponse;
+import com.fizzexual.orderexecution.service.ReactiveAccountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@link AccountController} contract on WebFlux, for the reactive profile.
+ */
+@RestController
+@RequestMapping("/api/accounts")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAccountController {
+
+    private final ReactiveAccountService accountService;
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<AccountResponse>> getAccountById(@PathVariable Long id) {
+        return accountService.getAccountById(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}/positions")
+    public Flux<PositionResponse> getPositions(@PathVariable Long id) {
+        return accountService.getPositions(id);
+    }
+
+    @GetMapping("/number/{accountNumber}")
+    public Mono<ResponseEntity<AccountResponse>> getAccountByNumber(@PathVariable String accountNumber) {
+        return accountService.getAccountByNumber(accountNumber).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/user/{userId}")
+    public Flux<AccountResponse> getAccountsByUserId(@PathVariable Long userId) {
+        return accountService.getAccountsByUserId(userId);
+    }
+
+    @GetMapping
+    public Flux<AccountResponse> getAllAccounts() {
+        return accountService.getAllAccounts();
+    }
+}
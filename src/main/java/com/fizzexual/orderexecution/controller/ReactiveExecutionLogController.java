@@ -0,0 +1,67 @@
+package com.fizzexual.orderexecution.controller;
+
+import com.fizzexual.orderexecution.dto.CursorPage;
+import com.fizzexual.orderexecution.dto.ExecutionLogResponse;
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+import com.fizzexual.orderexecution.service.ExecutionLogArchiveService;
+import com.fizzexual.orderexecution.service.ReactiveExecutionLogService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The {@link ExecutionLogController} contract on WebFlux, for the reactive profile.
+ */
+@RestController
+@RequestMapping("/api/execution-logs")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveExecutionLogController {
+
+    private final ReactiveExecutionLogService executionLogService;
+    private final ExecutionLogArchiveService executionLogArchiveService;
+
+    @GetMapping("/order/{orderId}")
+    public Flux<ExecutionLogResponse> getExecutionLogsByOrderId(@PathVariable Long orderId) {
+        return executionLogService.getExecutionLogsByOrderId(orderId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<CursorPage<ExecutionLogResponse>>> getAllExecutionLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "ASC") String direction) {
+        return executionLogService.getExecutionLogs(cursor, limit, direction).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Every execution log as newline-delimited JSON, written as the rows arrive.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ExecutionLogResponse> exportExecutionLogs() {
+        return executionLogService.streamExecutionLogs();
+    }
+
+    @GetMapping("/archive")
+    public Mono<ResponseEntity<List<ExecutionLogResponse>>> getArchivedExecutionLogs(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String symbol,
+            @RequestParam(required = false) Long orderId,
+            @RequestParam(required = false) ExecutionLog.ExecutionStatus status,
+            @RequestParam(defaultValue = "100") int limit) {
+        // Reads archive files, so keep it off the event loop.
+        return Mono.fromCallable(() -> executionLogArchiveService.query(from, to, symbol, orderId, status, limit))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,128 @@
+package com.fizzexual.orderexecution.controller;
+
+import com.fizzexual.orderexecution.config.BatchProperties;
+import com.fizzexual.orderexecution.dto.BatchOrderResponse;
+import com.fizzexual.orderexecution.dto.CursorPage;
+import com.fizzexual.orderexecution.dto.OrderRequest;
+import com.fizzexual.orderexecution.dto.OrderResponse;
+import com.fizzexual.orderexecution.exception.BusinessException;
+import com.fizzexual.orderexecution.ratelimit.OrderRateLimiter;
+import com.fizzexual.orderexecution.service.OrderService;
+import com.fizzexual.orderexecution.service.ReactiveOrderService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * The {@link OrderController} contract on WebFlux, for the reactive profile. A new order is
+ * handed to its sequencer shard and the request is answered when the shard is done, without a
+ * thread waiting for it. Batches and cancellations still look accounts and orders up through JPA,
+ * so they run on the bounded-elastic scheduler rather than on the event loop.
+ */
+@RestController
+@RequestMapping("/api/orders")
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOrderController {
+
+    private final OrderService orderService;
+    private final ReactiveOrderService reactiveOrderService;
+    private final OrderRateLimiter orderRateLimiter;
+    private final BatchProperties batchProperties;
+
+    @PostMapping
+    public Mono<ResponseEntity<OrderResponse>> createOrder(@Valid @RequestBody OrderRequest request) {
+        log.info("Received order creation request for symbol: {}", request.getSymbol());
+        orderRateLimiter.acquire(request.getAccountId());
+        // The future completes on the shard thread; encode the response elsewhere.
+        return Mono.fromFuture(orderService.submitOrder(request))
+                .publishOn(Schedulers.parallel())
+                .map(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<BatchOrderResponse>> createOrders(@RequestBody List<OrderRequest> requests) {
+        log.info("Received batch of {} orders", requests.size());
+        orderRateLimiter.acquire(requests);
+        return Mono.fromCallable(() -> orderService.createOrders(requests))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Newline-delimited JSON variant of the batch endpoint: one {@link OrderRequest} per line,
+     * decoded as the body streams in. The body is cancelled, and the batch rejected, at the first
+     * order past the batch limit.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<BatchOrderResponse>> createOrdersNdjson(@RequestBody Flux<OrderRequest> body) {
+        int maxSize = batchProperties.getMaxSize();
+        return body.take(maxSize + 1L)
+                .collectList()
+                .onErrorMap(e -> e instanceof DecodingException || e instanceof ServerWebInputException,
+                        e -> new BusinessException("Malformed order batch"))
+                .filter(requests -> requests.size() <= maxSize)
+                .switchIfEmpty(Mono.error(() -> new BusinessException("Batch must not exceed " + maxSize + " orders")))
+                .doOnNext(requests -> log.info("Received NDJSON batch of {} orders", requests.size()))
+                .doOnNext(orderRateLimiter::acquire)
+                .publishOn(Schedulers.boundedElastic())
+                .map(requests -> ResponseEntity.ok(orderService.createOrders(requests)));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<OrderResponse>> getOrderById(@PathVariable Long id) {
+        return reactiveOrderService.getOrderById(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/number/{orderNumber}")
+    public Mono<ResponseEntity<OrderResponse>> getOrderByNumber(@PathVariable String orderNumber) {
+        return reactiveOrderService.getOrderByNumber(orderNumber).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/account/{accountId}")
+    public Mono<ResponseEntity<CursorPage<OrderResponse>>> getOrdersByAccountId(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "ASC") String direction) {
+        return reactiveOrderService.getOrdersByAccountId(accountId, cursor, limit, direction).map(ResponseEntity::ok);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<CursorPage<OrderResponse>>> getAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "ASC") String direction) {
+        return reactiveOrderService.getAllOrders(cursor, limit, direction).map(ResponseEntity::ok);
+    }
+
+    /**
+     * Every order (optionally only one account's) as newline-delimited JSON, written as the rows
+     * arrive.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderResponse> exportOrders(@RequestParam(required = false) Long accountId) {
+        return reactiveOrderService.streamOrders(accountId);
+    }
+
+    @PutMapping("/{id}/cancel")
+    public Mono<ResponseEntity<OrderResponse>> cancelOrder(@PathVariable Long id) {
+        log.info("Cancelling order with id: {}", id);
+        return Mono.fromCallable(() -> orderService.cancelOrder(id))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(ResponseEntity::ok);
+    }
+}
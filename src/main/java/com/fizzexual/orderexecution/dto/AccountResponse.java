@@ -20,6 +20,10 @@ public class AccountResponse {
     private Long userId;
     private BigDecimal balance;
     private BigDecimal availableBalance;
+    /**
+     * Open positions marked to the latest quotes.
+     */
+    private BigDecimal unrealizedPnl;
     private Account.AccountStatus status;
     private LocalDateTime createdAt;
 }
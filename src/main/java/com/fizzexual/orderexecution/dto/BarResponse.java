@@ -0,0 +1,27 @@
+package com.fizzexual.orderexecution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BarResponse {
+
+    private String symbol;
+    private String interval;
+    private Instant start;
+    private BigDecimal open;
+    private BigDecimal high;
+    private BigDecimal low;
+    private BigDecimal close;
+    private Long volume;
+    private BigDecimal vwap;
+    private Integer trades;
+}
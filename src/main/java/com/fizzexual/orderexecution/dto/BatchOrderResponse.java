@@ -0,0 +1,20 @@
+package com.fizzexual.orderexecution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchOrderResponse {
+
+    private Integer total;
+    private Integer accepted;
+    private Integer failed;
+    private List<BatchOrderResult> results;
+}
@@ -0,0 +1,36 @@
+package com.fizzexual.orderexecution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchOrderResult {
+
+    private Integer index;
+    private boolean success;
+    private OrderResponse order;
+    private String error;
+    private Map<String, String> validationErrors;
+
+    public static BatchOrderResult success(int index, OrderResponse order) {
+        return BatchOrderResult.builder()
+                .index(index)
+                .success(true)
+                .order(order)
+                .build();
+    }
+
+    public static BatchOrderResult failure(int index, String error) {
+        return BatchOrderResult.builder()
+                .index(index)
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.fizzexual.orderexecution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    /**
+     * Pass back as {@code cursor} to fetch the next page; null on the last page.
+     */
+    private String nextCursor;
+}
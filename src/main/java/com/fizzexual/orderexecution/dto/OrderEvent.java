@@ -0,0 +1,49 @@
+package com.fizzexual.orderexecution.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+import com.fizzexual.orderexecution.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One change pushed to stream subscribers. {@code ORDER} events carry an order's new status and
+ * fill state, {@code EXECUTION} events one execution log. A {@code RESET} event means the
+ * subscriber missed events that can no longer be replayed and should reload through the REST API.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderEvent {
+
+    private long sequence;
+    private Type type;
+    private Long orderId;
+    private Long accountId;
+    private String symbol;
+    private Order.OrderSide side;
+
+    private Order.OrderStatus status;
+    private Integer executedQuantity;
+    private BigDecimal executedPrice;
+
+    private Long executionLogId;
+    private ExecutionLog.ExecutionStatus executionStatus;
+    private Integer quantity;
+    private BigDecimal price;
+    private BigDecimal totalAmount;
+    private String message;
+
+    private LocalDateTime timestamp;
+
+    public enum Type {
+        ORDER, EXECUTION, RESET
+    }
+}
@@ -0,0 +1,35 @@
+package com.fizzexual.orderexecution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PositionResponse {
+
+    private Long accountId;
+    private String symbol;
+    /**
+     * Net quantity, negative when short.
+     */
+    private Long quantity;
+    /**
+     * Average cost per unit of the open quantity; null when flat.
+     */
+    private BigDecimal averageCost;
+    private BigDecimal costBasis;
+    private BigDecimal realizedPnl;
+    /**
+     * Last price of the symbol's current quote; null if it has none.
+     */
+    private BigDecimal markPrice;
+    private BigDecimal unrealizedPnl;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,22 @@
+package com.fizzexual.orderexecution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuoteResponse {
+
+    private String symbol;
+    private BigDecimal last;
+    private BigDecimal bid;
+    private BigDecimal ask;
+    private Instant timestamp;
+}
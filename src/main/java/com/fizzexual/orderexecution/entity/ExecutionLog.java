@@ -1,5 +1,6 @@
 package com.fizzexual.orderexecution.entity;
 
+import com.fizzexual.orderexecution.persistence.IdAllocator;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -20,7 +21,9 @@ import java.time.LocalDateTime;
 public class ExecutionLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "execution_logs_seq")
+    @SequenceGenerator(name = "execution_logs_seq", sequenceName = "execution_logs_seq",
+            allocationSize = IdAllocator.BLOCK_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,44 @@
+package com.fizzexual.orderexecution.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * One OHLCV bar, written by the {@code BarAggregator} as trades happen. The volume-weighted
+ * average price is {@code notional / volume}.
+ */
+@Entity
+@Table(name = "market_bars")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MarketBar {
+
+    @EmbeddedId
+    private MarketBarId id;
+
+    @Column(name = "open_price", nullable = false, precision = 19, scale = 2)
+    private BigDecimal open;
+
+    @Column(name = "high_price", nullable = false, precision = 19, scale = 2)
+    private BigDecimal high;
+
+    @Column(name = "low_price", nullable = false, precision = 19, scale = 2)
+    private BigDecimal low;
+
+    @Column(name = "close_price", nullable = false, precision = 19, scale = 2)
+    private BigDecimal close;
+
+    @Column(nullable = false)
+    private Long volume;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal notional;
+
+    @Column(nullable = false)
+    private Integer trades;
+}
@@ -0,0 +1,29 @@
+package com.fizzexual.orderexecution.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarketBarId implements Serializable {
+
+    @Column(nullable = false, length = 10)
+    private String symbol;
+
+    /**
+     * {@code 1s}, {@code 1m} or {@code 1h}.
+     */
+    @Column(name = "bar_interval", nullable = false, length = 2)
+    private String interval;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+}
@@ -1,5 +1,6 @@
 package com.fizzexual.orderexecution.entity;
 
+import com.fizzexual.orderexecution.persistence.IdAllocator;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -15,17 +16,20 @@ import java.util.List;
     @Index(name = "idx_order_account", columnList = "account_id"),
     @Index(name = "idx_order_symbol", columnList = "symbol"),
     @Index(name = "idx_order_status", columnList = "status"),
-    @Index(name = "idx_order_created", columnList = "created_at")
+    @Index(name = "idx_order_created", columnList = "created_at"),
+    @Index(name = "idx_order_account_created", columnList = "account_id, created_at, id")
 })
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq",
+            allocationSize = IdAllocator.BLOCK_SIZE)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 36)
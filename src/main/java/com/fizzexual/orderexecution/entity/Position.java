@@ -0,0 +1,46 @@
+package com.fizzexual.orderexecution.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of one account's net position in one symbol. The live figures are kept in memory by
+ * the {@code PositionBook}, which writes changed positions here periodically; a row can therefore
+ * trail the execution logs, and {@code lastExecutionLogId} says which fill it includes up to.
+ */
+@Entity
+@Table(name = "positions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Position {
+
+    @EmbeddedId
+    private PositionId id;
+
+    /**
+     * Signed: positive long, negative short.
+     */
+    @Column(nullable = false)
+    private Long quantity;
+
+    /**
+     * Signed cost of the open quantity; zero when flat.
+     */
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal costBasis;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal realizedPnl;
+
+    @Column(nullable = false)
+    private Long lastExecutionLogId;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,113 @@
+package com.fizzexual.orderexecution.ledger;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Owner of account cash on the execution path. Every account holds its balance and the part of it
+ * reserved for open BUY orders as fixed-point ticks ({@link com.fizzexual.orderexecution.matching.Prices}).
+ * <p>
+ * Orders for one account can run on several sequencer shards at once, so each account's state is
+ * an immutable {@link LedgerBalance} swapped with compare-and-set: no locks, and a reservation
+ * can never take the available amount below zero. The {@code accounts} table is only a
+ * projection of this ledger, written by the write-behind pipeline.
+ */
+@Component
+@Slf4j
+public class AccountLedger {
+
+    private final ConcurrentMap<Long, AtomicReference<LedgerBalance>> accounts = new ConcurrentHashMap<>();
+
+    /**
+     * Starts tracking an account with the given balance; does nothing if it is already tracked.
+     */
+    public void open(long accountId, long balance) {
+        accounts.putIfAbsent(accountId, new AtomicReference<>(new LedgerBalance(balance, 0L, 0L)));
+    }
+
+    public boolean isOpen(long accountId) {
+        return accounts.containsKey(accountId);
+    }
+
+    /**
+     * Replaces tracked balances, e.g. with ones rebuilt from the order journal. Reservations are
+     * not carried over; they are rebuilt with {@link #hold} as the open orders are restored.
+     */
+    public void restore(Map<Long, LedgerBalance> balances) {
+        balances.forEach((accountId, balance) -> accounts.put(accountId,
+                new AtomicReference<>(new LedgerBalance(balance.balance(), 0L, balance.version()))));
+    }
+
+    public LedgerBalance balance(long accountId) {
+        return account(accountId).get();
+    }
+
+    /**
+     * Sets {@code amount} aside if the account has that much available.
+     *
+     * @return whether the reservation was made
+     */
+    public boolean reserve(long accountId, long amount) {
+        AtomicReference<LedgerBalance> account = account(accountId);
+        while (true) {
+            LedgerBalance current = account.get();
+            if (current.available() < amount) {
+                return false;
+            }
+            if (account.compareAndSet(current, current.with(current.balance(), current.reserved() + amount))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Reserves {@code amount} whether or not it is available. Only for reinstating reservations of
+     * orders that were accepted before a restart.
+     */
+    public void hold(long accountId, long amount) {
+        update(accountId, 0L, amount);
+        if (balance(accountId).available() < 0) {
+            log.warn("Account {} is over-reserved after restoring open orders", accountId);
+        }
+    }
+
+    /**
+     * Pays {@code amount} out of the account and drops {@code reserved} from its reservation. The
+     * two differ when a BUY order fills at a better price than it reserved at.
+     */
+    public LedgerBalance commit(long accountId, long amount, long reserved) {
+        return update(accountId, -amount, -reserved);
+    }
+
+    public LedgerBalance release(long accountId, long amount) {
+        return update(accountId, 0L, -amount);
+    }
+
+    public LedgerBalance credit(long accountId, long amount) {
+        return update(accountId, amount, 0L);
+    }
+
+    private LedgerBalance update(long accountId, long balanceDelta, long reservedDelta) {
+        AtomicReference<LedgerBalance> account = account(accountId);
+        while (true) {
+            LedgerBalance current = account.get();
+            LedgerBalance updated = current.with(current.balance() + balanceDelta, current.reserved() + reservedDelta);
+            if (account.compareAndSet(current, updated)) {
+                return updated;
+            }
+        }
+    }
+
+    private AtomicReference<LedgerBalance> account(long accountId) {
+        AtomicReference<LedgerBalance> account = accounts.get(accountId);
+        if (account == null) {
+            throw new IllegalStateException("Account " + accountId + " is not open in the ledger");
+        }
+        return account;
+    }
+}
@@ -0,0 +1,16 @@
+package com.fizzexual.orderexecution.ledger;
+
+/**
+ * One account's cash as the {@link AccountLedger} sees it, in ticks. {@code version} goes up by
+ * one with every change, so that copies taken on different threads can be put back in order.
+ */
+public record LedgerBalance(long balance, long reserved, long version) {
+
+    public long available() {
+        return balance - reserved;
+    }
+
+    LedgerBalance with(long balance, long reserved) {
+        return new LedgerBalance(balance, reserved, version + 1);
+    }
+}
@@ -0,0 +1,35 @@
+package com.fizzexual.orderexecution.mapper;
+
+import com.fizzexual.orderexecution.dto.PositionResponse;
+import com.fizzexual.orderexecution.marketdata.Quote;
+import com.fizzexual.orderexecution.matching.Prices;
+import com.fizzexual.orderexecution.position.NetPosition;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Component
+public class PositionMapper {
+
+    private static final int AVERAGE_COST_SCALE = 4;
+
+    /**
+     * @param quote the symbol's current quote, or null; unrealized P&L is zero without one
+     */
+    public PositionResponse toResponse(NetPosition position, Quote quote) {
+        return PositionResponse.builder()
+                .accountId(position.accountId())
+                .symbol(position.symbol())
+                .quantity(position.quantity())
+                .averageCost(position.quantity() == 0 ? null : Prices.toDecimal(position.costBasis())
+                        .divide(BigDecimal.valueOf(position.quantity()), AVERAGE_COST_SCALE, RoundingMode.HALF_UP))
+                .costBasis(Prices.toDecimal(position.costBasis()))
+                .realizedPnl(Prices.toDecimal(position.realizedPnl()))
+                .markPrice(quote == null ? null : Prices.toDecimal(quote.last()))
+                .unrealizedPnl(Prices.toDecimal(quote == null || position.quantity() == 0 ? 0L
+                        : position.quantity() * quote.last() - position.costBasis()))
+                .updatedAt(position.updatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.fizzexual.orderexecution.marketdata;
+
+/**
+ * Open, high, low, close and volume of a symbol's trades in one interval. Prices and
+ * {@code notional} are in ticks; the volume-weighted average price is {@code notional / volume}.
+ *
+ * @param start epoch milliseconds at which the interval begins
+ */
+public record Bar(String symbol, BarInterval interval, long start, long open, long high, long low, long close,
+                  long volume, long notional, int trades) {
+
+    static Bar open(String symbol, BarInterval interval, long start, long price, long quantity) {
+        return new Bar(symbol, interval, start, price, price, price, price, quantity, price * quantity, 1);
+    }
+
+    Bar add(long price, long quantity) {
+        return new Bar(symbol, interval, start, open, Math.max(high, price), Math.min(low, price), price,
+                volume + quantity, notional + price * quantity, trades + 1);
+    }
+}
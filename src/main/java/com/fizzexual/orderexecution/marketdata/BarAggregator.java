@@ -0,0 +1,165 @@
+package com.fizzexual.orderexecution.marketdata;
+
+import com.fizzexual.orderexecution.config.BarProperties;
+import com.fizzexual.orderexecution.persistence.WriteBehindWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolls every trade into 1s, 1m and 1h OHLCV bars per symbol as it happens, so bars never have to
+ * be computed from the execution logs. A trade is one {@link com.fizzexual.orderexecution.matching.Fill};
+ * its taker and maker execution logs are not counted twice.
+ * <p>
+ * Recent bars live in a {@link BarSeries} ring per symbol and interval and are served from there.
+ * Every {@code flushIntervalMillis}, the bars that closed since the last flush and each series'
+ * current bar are written to the {@code market_bars} table, which keeps the full history. On
+ * startup the rings are refilled from the table.
+ */
+@Component
+@Slf4j
+public class BarAggregator implements SmartLifecycle {
+
+    private final BarStore barStore;
+    private final BarProperties properties;
+    private final ConcurrentMap<String, BarSeries[]> series = new ConcurrentHashMap<>();
+    private final Queue<Bar> closed = new ConcurrentLinkedQueue<>();
+    /**
+     * Current bar of each series as of the last flush, to skip the ones that have not changed.
+     * Only used while holding the flush lock.
+     */
+    private final Map<BarSeries, Bar> flushed = new HashMap<>();
+    private final ScheduledExecutorService flusher;
+    private volatile boolean running;
+
+    public BarAggregator(BarStore barStore, BarProperties properties) {
+        this.barStore = barStore;
+        this.properties = properties;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "bar-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void start() {
+        restore();
+        if (properties.getFlushIntervalMillis() > 0) {
+            flusher.scheduleWithFixedDelay(this::flush, properties.getFlushIntervalMillis(),
+                    properties.getFlushIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        flusher.shutdownNow();
+        flush();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return WriteBehindWriter.PHASE + 1;
+    }
+
+    /**
+     * Adds a trade to the symbol's bars. Must run on the symbol's sequencer shard.
+     *
+     * @param price trade price in ticks
+     */
+    public void onTrade(String symbol, long price, long quantity, long timeMillis) {
+        for (BarSeries bars : series(symbol)) {
+            Bar previous = bars.add(price, quantity, timeMillis);
+            if (previous != null) {
+                closed.add(previous);
+            }
+        }
+    }
+
+    /**
+     * @return up to {@code limit} of the symbol's most recent bars at {@code interval}, oldest first
+     */
+    public List<Bar> recent(String symbol, BarInterval interval, int limit) {
+        BarSeries[] bars = series.get(symbol);
+        return bars == null ? List.of() : bars[interval.ordinal()].recent(limit);
+    }
+
+    synchronized void flush() {
+        List<Bar> bars = new ArrayList<>();
+        Bar bar;
+        while ((bar = closed.poll()) != null) {
+            bars.add(bar);
+        }
+        Map<BarSeries, Bar> current = new HashMap<>();
+        for (BarSeries[] symbolSeries : series.values()) {
+            for (BarSeries barSeries : symbolSeries) {
+                Bar latest = barSeries.latest();
+                if (latest != null && latest != flushed.get(barSeries)) {
+                    current.put(barSeries, latest);
+                }
+            }
+        }
+        bars.addAll(current.values());
+        try {
+            barStore.write(bars);
+            flushed.putAll(current);
+        } catch (RuntimeException e) {
+            // Closed bars are put back; changed current bars are picked up again next time.
+            closed.addAll(bars.subList(0, bars.size() - current.size()));
+            log.warn("Writing {} bars failed, will retry: {}", bars.size(), e.getMessage());
+        }
+    }
+
+    synchronized void restore() {
+        long now = System.currentTimeMillis();
+        int restored = 0;
+        for (BarInterval interval : BarInterval.values()) {
+            long since = interval.bucketStart(now) - (capacity(interval) - 1L) * interval.millis();
+            for (Bar bar : barStore.load(interval, since)) {
+                BarSeries barSeries = series(bar.symbol())[interval.ordinal()];
+                barSeries.restore(bar);
+                flushed.put(barSeries, barSeries.latest());
+                restored++;
+            }
+        }
+        log.info("Restored {} recent bars", restored);
+    }
+
+    private BarSeries[] series(String symbol) {
+        return series.computeIfAbsent(symbol, ignored -> {
+            BarInterval[] intervals = BarInterval.values();
+            BarSeries[] bars = new BarSeries[intervals.length];
+            for (BarInterval interval : intervals) {
+                bars[interval.ordinal()] = new BarSeries(symbol, interval, capacity(interval));
+            }
+            return bars;
+        });
+    }
+
+    private int capacity(BarInterval interval) {
+        return switch (interval) {
+            case ONE_SECOND -> properties.getSecondBars();
+            case ONE_MINUTE -> properties.getMinuteBars();
+            case ONE_HOUR -> properties.getHourBars();
+        };
+    }
+}
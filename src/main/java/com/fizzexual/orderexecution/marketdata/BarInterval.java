@@ -0,0 +1,47 @@
+package com.fizzexual.orderexecution.marketdata;
+
+import com.fizzexual.orderexecution.exception.BusinessException;
+
+import java.util.concurrent.TimeUnit;
+
+public enum BarInterval {
+
+    ONE_SECOND("1s", TimeUnit.SECONDS.toMillis(1)),
+    ONE_MINUTE("1m", TimeUnit.MINUTES.toMillis(1)),
+    ONE_HOUR("1h", TimeUnit.HOURS.toMillis(1));
+
+    private final String code;
+    private final long millis;
+
+    BarInterval(String code, long millis) {
+        this.code = code;
+        this.millis = millis;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public long millis() {
+        return millis;
+    }
+
+    /**
+     * @return start of the bar that {@code timeMillis} falls in, in epoch milliseconds
+     */
+    public long bucketStart(long timeMillis) {
+        return timeMillis - Math.floorMod(timeMillis, millis);
+    }
+
+    /**
+     * @throws BusinessException if {@code code} is not one of {@code 1s}, {@code 1m}, {@code 1h}
+     */
+    public static BarInterval fromCode(String code) {
+        for (BarInterval interval : values()) {
+            if (interval.code.equals(code)) {
+                return interval;
+            }
+        }
+        throw new BusinessException("Interval must be 1s, 1m or 1h");
+    }
+}
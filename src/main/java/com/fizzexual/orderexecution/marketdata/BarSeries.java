@@ -0,0 +1,94 @@
+package com.fizzexual.orderexecution.marketdata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The most recent bars of one symbol at one interval, in a ring indexed by bucket. A bucket's
+ * slot is reused once the ring has wrapped, so the ring covers the last {@code capacity}
+ * intervals; intervals without trades have no bar.
+ * <p>
+ * Written only from the symbol's sequencer shard. Bars are immutable and replaced whole, so
+ * readers on other threads never see one half updated.
+ */
+final class BarSeries {
+
+    private final String symbol;
+    private final BarInterval interval;
+    private final AtomicReferenceArray<Bar> bars;
+    private volatile long latestStart = Long.MIN_VALUE;
+
+    BarSeries(String symbol, BarInterval interval, int capacity) {
+        this.symbol = symbol;
+        this.interval = interval;
+        this.bars = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Adds a trade to the bar it falls in. A trade timestamped before the latest bar, which only
+     * happens if the clock steps back, counts towards the latest bar.
+     *
+     * @return the previous latest bar if this trade started a new one, otherwise null
+     */
+    Bar add(long price, long quantity, long timeMillis) {
+        long latest = latestStart;
+        long start = Math.max(interval.bucketStart(timeMillis), latest);
+        int slot = slot(start);
+        if (start == latest) {
+            bars.set(slot, bars.get(slot).add(price, quantity));
+            return null;
+        }
+        Bar closed = latest == Long.MIN_VALUE ? null : bars.get(slot(latest));
+        bars.set(slot, Bar.open(symbol, interval, start, price, quantity));
+        latestStart = start;
+        return closed;
+    }
+
+    /**
+     * Puts back a bar read from the database, unless the ring holds a newer one for its slot.
+     */
+    void restore(Bar bar) {
+        int slot = slot(bar.start());
+        Bar current = bars.get(slot);
+        if (current == null || current.start() < bar.start()) {
+            bars.set(slot, bar);
+        }
+        if (bar.start() > latestStart) {
+            latestStart = bar.start();
+        }
+    }
+
+    /**
+     * @return the bar trades are currently added to, or null before the first trade
+     */
+    Bar latest() {
+        long latest = latestStart;
+        return latest == Long.MIN_VALUE ? null : bars.get(slot(latest));
+    }
+
+    /**
+     * @return up to {@code limit} of the most recent bars, oldest first
+     */
+    List<Bar> recent(int limit) {
+        long latest = latestStart;
+        List<Bar> recent = new ArrayList<>();
+        if (latest == Long.MIN_VALUE) {
+            return recent;
+        }
+        for (int i = 0; i < bars.length() && recent.size() < limit; i++) {
+            long start = latest - i * interval.millis();
+            Bar bar = bars.get(slot(start));
+            if (bar != null && bar.start() == start) {
+                recent.add(bar);
+            }
+        }
+        Collections.reverse(recent);
+        return recent;
+    }
+
+    private int slot(long start) {
+        return (int) Math.floorMod(start / interval.millis(), (long) bars.length());
+    }
+}
@@ -0,0 +1,99 @@
+package com.fizzexual.orderexecution.marketdata;
+
+import com.fizzexual.orderexecution.matching.Prices;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes the {@code market_bars} table with plain JDBC. Bucket starts are stored as
+ * local timestamps in the JVM's zone, like every other timestamp column.
+ */
+@Component
+@RequiredArgsConstructor
+public class BarStore {
+
+    private static final String SELECT_BARS =
+            "SELECT symbol, bar_interval, bucket_start, open_price, high_price, low_price, close_price, volume, " +
+            "notional, trades FROM market_bars WHERE bar_interval = ? AND bucket_start >= ?";
+
+    private static final String UPDATE_BAR =
+            "UPDATE market_bars SET open_price = ?, high_price = ?, low_price = ?, close_price = ?, volume = ?, " +
+            "notional = ?, trades = ? WHERE symbol = ? AND bar_interval = ? AND bucket_start = ?";
+
+    private static final String INSERT_BAR =
+            "INSERT INTO market_bars (open_price, high_price, low_price, close_price, volume, notional, trades, " +
+            "symbol, bar_interval, bucket_start) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return every bar at {@code interval} starting at or after {@code sinceMillis}
+     */
+    public List<Bar> load(BarInterval interval, long sinceMillis) {
+        return jdbcTemplate.query(SELECT_BARS, (rs, row) -> new Bar(
+                rs.getString("symbol"),
+                interval,
+                toMillis(rs.getTimestamp("bucket_start").toLocalDateTime()),
+                Prices.toTicks(rs.getBigDecimal("open_price")),
+                Prices.toTicks(rs.getBigDecimal("high_price")),
+                Prices.toTicks(rs.getBigDecimal("low_price")),
+                Prices.toTicks(rs.getBigDecimal("close_price")),
+                rs.getLong("volume"),
+                Prices.toTicks(rs.getBigDecimal("notional")),
+                rs.getInt("trades")), interval.code(), Timestamp.valueOf(toLocalDateTime(sinceMillis)));
+    }
+
+    /**
+     * Writes the bars, replacing any row already stored for the same bucket. Bars are updated
+     * first and only the ones with no row yet are inserted, which works the same on every
+     * database.
+     */
+    @Transactional
+    public void write(List<Bar> bars) {
+        if (bars.isEmpty()) {
+            return;
+        }
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_BAR, bars, bars.size(), this::setBar);
+        List<Bar> inserts = new ArrayList<>();
+        for (int i = 0; i < bars.size(); i++) {
+            if (updated[0][i] == 0) {
+                inserts.add(bars.get(i));
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_BAR, inserts, inserts.size(), this::setBar);
+        }
+    }
+
+    private void setBar(PreparedStatement ps, Bar bar) throws SQLException {
+        ps.setBigDecimal(1, Prices.toDecimal(bar.open()));
+        ps.setBigDecimal(2, Prices.toDecimal(bar.high()));
+        ps.setBigDecimal(3, Prices.toDecimal(bar.low()));
+        ps.setBigDecimal(4, Prices.toDecimal(bar.close()));
+        ps.setLong(5, bar.volume());
+        ps.setBigDecimal(6, Prices.toDecimal(bar.notional()));
+        ps.setInt(7, bar.trades());
+        ps.setString(8, bar.symbol());
+        ps.setString(9, bar.interval().code());
+        ps.setTimestamp(10, Timestamp.valueOf(toLocalDateTime(bar.start())));
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
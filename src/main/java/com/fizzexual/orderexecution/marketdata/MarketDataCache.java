@@ -0,0 +1,81 @@
+package com.fizzexual.orderexecution.marketdata;
+
+import com.fizzexual.orderexecution.persistence.WriteBehindWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Latest {@link Quote} per symbol, shared by the execution path and everything that values
+ * positions.
+ * <p>
+ * Quotes are immutable and a new one replaces the old one in a single map write, so readers never
+ * lock and never see a bid from one quote with the ask of another. Only the newest quote is kept;
+ * one that is older than what the cache already has is dropped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MarketDataCache implements SmartLifecycle {
+
+    private final List<MarketDataSource> sources;
+    private final List<MarketDataListener> listeners;
+    private final ConcurrentMap<String, Quote> quotes = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    /**
+     * @return the latest quote, or null if the symbol has none yet
+     */
+    public Quote quote(String symbol) {
+        return quotes.get(symbol);
+    }
+
+    /**
+     * Publishes a quote and tells the listeners about it, unless a newer one is already cached.
+     */
+    public void update(Quote quote) {
+        Quote latest = quotes.merge(quote.symbol(), quote,
+                (current, next) -> next.timestamp() >= current.timestamp() ? next : current);
+        if (latest != quote) {
+            return;
+        }
+        for (MarketDataListener listener : listeners) {
+            try {
+                listener.onQuote(quote);
+            } catch (RuntimeException e) {
+                log.warn("Market data listener failed on {}: {}", quote.symbol(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        sources.forEach(source -> source.start(this::update));
+        log.info("Market data started with {} sources, {} symbols quoted", sources.size(), quotes.size());
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        sources.forEach(MarketDataSource::stop);
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * After positions are recovered, so that the first quotes revalue them.
+     */
+    @Override
+    public int getPhase() {
+        return WriteBehindWriter.PHASE + 2;
+    }
+}
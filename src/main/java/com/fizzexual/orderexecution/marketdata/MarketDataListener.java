@@ -0,0 +1,10 @@
+package com.fizzexual.orderexecution.marketdata;
+
+/**
+ * Told about every quote once it is visible in the {@link MarketDataCache}. Called on the
+ * source's thread, so implementations must not block.
+ */
+public interface MarketDataListener {
+
+    void onQuote(Quote quote);
+}
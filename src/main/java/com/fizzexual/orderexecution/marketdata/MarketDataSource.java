@@ -0,0 +1,16 @@
+package com.fizzexual.orderexecution.marketdata;
+
+/**
+ * A feed of quotes. Every source bean is started by the {@link MarketDataCache} and hands it each
+ * quote it produces.
+ */
+public interface MarketDataSource {
+
+    /**
+     * Starts the feed. Quotes the source already knows should be delivered before this returns, so
+     * that orders accepted right after startup have a price.
+     */
+    void start(MarketDataListener sink);
+
+    void stop();
+}
@@ -0,0 +1,9 @@
+package com.fizzexual.orderexecution.marketdata;
+
+/**
+ * Top of the market for one symbol. Prices are in ticks.
+ *
+ * @param timestamp epoch milliseconds at which the source produced the quote
+ */
+public record Quote(String symbol, long last, long bid, long ask, long timestamp) {
+}
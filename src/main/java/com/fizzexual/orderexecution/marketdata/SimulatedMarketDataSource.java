@@ -0,0 +1,93 @@
+package com.fizzexual.orderexecution.marketdata;
+
+import com.fizzexual.orderexecution.config.MarketDataProperties;
+import com.fizzexual.orderexecution.matching.Prices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Local stand-in for a market data feed: every symbol's last price takes a bounded random step
+ * each tick, with the bid and ask a fixed spread around it.
+ */
+@Component
+@ConditionalOnProperty(prefix = "execution.market-data", name = "source", havingValue = "simulated",
+        matchIfMissing = true)
+public class SimulatedMarketDataSource implements MarketDataSource {
+
+    private final MarketDataProperties.Simulated properties;
+    private final Random random;
+    private final LongSupplier clock;
+    private final List<String> symbols;
+    private final long[] lasts;
+    private ScheduledExecutorService ticker;
+    private MarketDataListener sink;
+
+    @Autowired
+    public SimulatedMarketDataSource(MarketDataProperties properties) {
+        this(properties.getSimulated(), new Random(), System::currentTimeMillis);
+    }
+
+    SimulatedMarketDataSource(MarketDataProperties.Simulated properties, Random random, LongSupplier clock) {
+        this.properties = properties;
+        this.random = random;
+        this.clock = clock;
+        this.symbols = List.copyOf(properties.getSymbols());
+        this.lasts = new long[symbols.size()];
+        long initial = Prices.toTicks(BigDecimal.valueOf(properties.getInitialPrice()));
+        Arrays.fill(lasts, initial);
+    }
+
+    @Override
+    public void start(MarketDataListener sink) {
+        this.sink = sink;
+        publish();
+        if (properties.getTickIntervalMillis() > 0) {
+            ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "market-data-simulator");
+                thread.setDaemon(true);
+                return thread;
+            });
+            ticker.scheduleAtFixedRate(this::tick, properties.getTickIntervalMillis(),
+                    properties.getTickIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    /**
+     * Moves every price one step and publishes the new quotes.
+     */
+    void tick() {
+        int spread = properties.getSpreadTicks();
+        for (int i = 0; i < lasts.length; i++) {
+            long maxMove = Math.max(1L, lasts[i] * properties.getMaxMoveBasisPoints() / 10_000);
+            long move = random.nextLong(2 * maxMove + 1) - maxMove;
+            lasts[i] = Math.max(spread + 1L, lasts[i] + move);
+        }
+        publish();
+    }
+
+    private void publish() {
+        long now = clock.getAsLong();
+        int spread = properties.getSpreadTicks();
+        for (int i = 0; i < lasts.length; i++) {
+            long bid = lasts[i] - spread / 2;
+            sink.onQuote(new Quote(symbols.get(i), lasts[i], bid, bid + spread, now));
+        }
+    }
+}
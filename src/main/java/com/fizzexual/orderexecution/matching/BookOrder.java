@@ -0,0 +1,76 @@
+package com.fizzexual.orderexecution.matching;
+
+import com.fizzexual.orderexecution.entity.Order;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight view of an order as the book sees it. Holds only primitives (and the creation time
+ * its row is keyed by) so that resting liquidity does not pin JPA entities (and their lazy
+ * associations) in memory.
+ */
+@Getter
+public class BookOrder {
+
+    private final long orderId;
+    private final long accountId;
+    private final Order.OrderSide side;
+    private final Order.OrderType type;
+    private final long price;
+    private final long quantity;
+    private final LocalDateTime createdAt;
+    private long remainingQuantity;
+    private long executedNotional;
+
+    public BookOrder(long orderId, long accountId, Order.OrderSide side, Order.OrderType type,
+                     long price, long quantity, LocalDateTime createdAt) {
+        this(orderId, accountId, side, type, price, quantity, createdAt, quantity, 0L);
+    }
+
+    public BookOrder(long orderId, long accountId, Order.OrderSide side, Order.OrderType type,
+                     long price, long quantity, LocalDateTime createdAt, long remainingQuantity,
+                     long executedNotional) {
+        this.orderId = orderId;
+        this.accountId = accountId;
+        this.side = side;
+        this.type = type;
+        this.price = price;
+        this.quantity = quantity;
+        this.createdAt = createdAt;
+        this.remainingQuantity = remainingQuantity;
+        this.executedNotional = executedNotional;
+    }
+
+    public static BookOrder from(Order order) {
+        long price = order.getLimitPrice() != null ? Prices.toTicks(order.getLimitPrice()) : 0L;
+        long executed = order.getExecutedQuantity() != null ? order.getExecutedQuantity() : 0;
+        long executedNotional = executed > 0 ? Prices.toTicks(order.getExecutedPrice()) * executed : 0L;
+        return new BookOrder(order.getId(), order.getAccount().getId(), order.getSide(), order.getType(),
+                price, order.getQuantity(), order.getCreatedAt(), order.getQuantity() - executed, executedNotional);
+    }
+
+    public long getExecutedQuantity() {
+        return quantity - remainingQuantity;
+    }
+
+    public boolean isBuy() {
+        return side == Order.OrderSide.BUY;
+    }
+
+    public boolean isMarket() {
+        return type == Order.OrderType.MARKET;
+    }
+
+    boolean crosses(long levelPrice) {
+        if (isMarket()) {
+            return true;
+        }
+        return isBuy() ? levelPrice <= price : levelPrice >= price;
+    }
+
+    void fill(long quantity, long fillPrice) {
+        remainingQuantity -= quantity;
+        executedNotional += quantity * fillPrice;
+    }
+}
@@ -0,0 +1,77 @@
+package com.fizzexual.orderexecution.matching;
+
+import java.util.Arrays;
+
+/**
+ * One side of the book. Price levels are kept in a sorted primitive key array with the best
+ * price at the end, so consuming the top of book never shifts the array. Bid keys are the
+ * price itself; ask keys are the negated price, which makes both sides ascending by key.
+ */
+class BookSide {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private final boolean bids;
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private PriceLevel[] levels = new PriceLevel[INITIAL_CAPACITY];
+    private int size;
+
+    BookSide(boolean bids) {
+        this.bids = bids;
+    }
+
+    PriceLevel best() {
+        return size == 0 ? null : levels[size - 1];
+    }
+
+    /**
+     * @param depth 0 for the best level, 1 for the next one, and so on
+     */
+    PriceLevel level(int depth) {
+        return depth < size ? levels[size - 1 - depth] : null;
+    }
+
+    int depth() {
+        return size;
+    }
+
+    PriceLevel find(long price) {
+        int idx = Arrays.binarySearch(keys, 0, size, key(price));
+        return idx >= 0 ? levels[idx] : null;
+    }
+
+    PriceLevel getOrCreate(long price) {
+        long key = key(price);
+        int idx = Arrays.binarySearch(keys, 0, size, key);
+        if (idx >= 0) {
+            return levels[idx];
+        }
+        int insertAt = -idx - 1;
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            levels = Arrays.copyOf(levels, size * 2);
+        }
+        System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+        System.arraycopy(levels, insertAt, levels, insertAt + 1, size - insertAt);
+        PriceLevel level = new PriceLevel(price);
+        keys[insertAt] = key;
+        levels[insertAt] = level;
+        size++;
+        return level;
+    }
+
+    void remove(PriceLevel level) {
+        int idx = Arrays.binarySearch(keys, 0, size, key(level.getPrice()));
+        if (idx < 0) {
+            return;
+        }
+        System.arraycopy(keys, idx + 1, keys, idx, size - idx - 1);
+        System.arraycopy(levels, idx + 1, levels, idx, size - idx - 1);
+        size--;
+        levels[size] = null;
+    }
+
+    private long key(long price) {
+        return bids ? price : -price;
+    }
+}
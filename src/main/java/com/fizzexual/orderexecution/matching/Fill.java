@@ -0,0 +1,48 @@
+package com.fizzexual.orderexecution.matching;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single trade between the incoming (taker) order and either a resting (maker) order or,
+ * for the unmatched remainder of a MARKET order, the simulated market. Maker fields capture the
+ * maker's cumulative state right after this fill.
+ */
+@Getter
+@AllArgsConstructor
+public class Fill {
+
+    static final long NO_MAKER = 0L;
+
+    private final long makerOrderId;
+    private final long makerAccountId;
+    private final LocalDateTime makerCreatedAt;
+    private final long price;
+    private final long quantity;
+    private final long makerQuantity;
+    private final long makerRemainingQuantity;
+    private final long makerExecutedNotional;
+
+    static Fill against(BookOrder maker, long price, long quantity) {
+        return new Fill(maker.getOrderId(), maker.getAccountId(), maker.getCreatedAt(), price, quantity,
+                maker.getQuantity(), maker.getRemainingQuantity(), maker.getExecutedNotional());
+    }
+
+    static Fill market(long price, long quantity) {
+        return new Fill(NO_MAKER, NO_MAKER, null, price, quantity, 0L, 0L, 0L);
+    }
+
+    public boolean hasMaker() {
+        return makerOrderId != NO_MAKER;
+    }
+
+    public long getMakerExecutedQuantity() {
+        return makerQuantity - makerRemainingQuantity;
+    }
+
+    public long notional() {
+        return price * quantity;
+    }
+}
@@ -0,0 +1,23 @@
+package com.fizzexual.orderexecution.matching;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class MatchResult {
+
+    private final List<Fill> fills;
+    private final long remainingQuantity;
+    private final boolean resting;
+
+    public long filledQuantity() {
+        long filled = 0;
+        for (Fill fill : fills) {
+            filled += fill.getQuantity();
+        }
+        return filled;
+    }
+}
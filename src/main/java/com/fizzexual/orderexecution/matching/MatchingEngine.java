@@ -0,0 +1,79 @@
+package com.fizzexual.orderexecution.matching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Owns one {@link OrderBook} per symbol. Everything here works on ticks and plain quantities
+ * and never touches the database; persisting the outcome is the caller's job.
+ * <p>
+ * Books are not locked: every call for a symbol must come from that symbol's
+ * {@link com.fizzexual.orderexecution.sequencer.OrderSequencer} shard.
+ */
+@Component
+@Slf4j
+public class MatchingEngine {
+
+    private final ConcurrentMap<String, OrderBook> books = new ConcurrentHashMap<>();
+
+    /**
+     * Cash a BUY taker has to reserve before {@link #match}: the full limit value for a LIMIT
+     * order, since whatever does not fill rests at that price, and the exact sweep cost for a
+     * MARKET order. SELL orders need none.
+     */
+    public long requiredFunds(String symbol, BookOrder taker, long marketPrice) {
+        if (!taker.isBuy()) {
+            return 0L;
+        }
+        if (!taker.isMarket()) {
+            return taker.getPrice() * taker.getRemainingQuantity();
+        }
+        return book(symbol).sweepCost(taker, marketPrice);
+    }
+
+    /**
+     * Matches the taker against the book for {@code symbol}. A LIMIT remainder is rested in the
+     * book; a MARKET remainder that finds no more liquidity is filled at {@code marketPrice}.
+     * Funds are the caller's concern, see {@link #requiredFunds}.
+     */
+    public MatchResult match(String symbol, BookOrder taker, long marketPrice) {
+        OrderBook book = book(symbol);
+        List<Fill> fills = book.match(taker);
+        boolean resting = false;
+        long remaining = taker.getRemainingQuantity();
+        if (remaining > 0) {
+            if (taker.isMarket()) {
+                fills.add(Fill.market(marketPrice, remaining));
+                taker.fill(remaining, marketPrice);
+            } else {
+                book.rest(taker);
+                resting = true;
+            }
+        }
+        return new MatchResult(fills, taker.getRemainingQuantity(), resting);
+    }
+
+    /**
+     * @return the cancelled order as it stood in the book, or {@code null} if it was not resting
+     */
+    public BookOrder cancel(String symbol, long orderId) {
+        OrderBook book = books.get(symbol);
+        return book == null ? null : book.cancel(orderId);
+    }
+
+    /**
+     * Puts an already accepted order back into the book without matching it, e.g. when
+     * rebuilding state after a restart.
+     */
+    public void restore(String symbol, BookOrder order) {
+        book(symbol).rest(order);
+    }
+
+    public OrderBook book(String symbol) {
+        return books.computeIfAbsent(symbol, OrderBook::new);
+    }
+}
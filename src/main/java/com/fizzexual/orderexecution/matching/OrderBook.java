@@ -0,0 +1,124 @@
+package com.fizzexual.orderexecution.matching;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Price-time-priority limit order book for a single symbol. Not thread-safe: callers must
+ * make sure only one thread touches a given book at a time.
+ */
+public class OrderBook {
+
+    @Getter
+    private final String symbol;
+    private final BookSide bids = new BookSide(true);
+    private final BookSide asks = new BookSide(false);
+    private final Map<Long, BookOrder> restingOrders = new HashMap<>();
+
+    public OrderBook(String symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * Matches the taker against the opposite side until it is filled or no longer crosses.
+     * The taker's remaining quantity is reduced in place; it is never rested by this method.
+     */
+    public List<Fill> match(BookOrder taker) {
+        BookSide opposite = taker.isBuy() ? asks : bids;
+        List<Fill> fills = new ArrayList<>();
+
+        while (taker.getRemainingQuantity() > 0) {
+            PriceLevel level = opposite.best();
+            if (level == null || !taker.crosses(level.getPrice())) {
+                break;
+            }
+
+            BookOrder maker = level.head();
+            long quantity = Math.min(taker.getRemainingQuantity(), maker.getRemainingQuantity());
+            taker.fill(quantity, level.getPrice());
+            level.fillHead(quantity);
+
+            if (maker.getRemainingQuantity() == 0) {
+                restingOrders.remove(maker.getOrderId());
+            }
+            fills.add(Fill.against(maker, level.getPrice(), quantity));
+
+            if (level.isEmpty()) {
+                opposite.remove(level);
+            }
+        }
+        return fills;
+    }
+
+    /**
+     * Returns what the taker would pay (or receive) if it were matched now: the notional of the
+     * crossing liquidity plus any quantity the book cannot absorb valued at {@code remainderPrice}.
+     * Does not modify the book.
+     */
+    public long sweepCost(BookOrder taker, long remainderPrice) {
+        BookSide opposite = taker.isBuy() ? asks : bids;
+        long remaining = taker.getRemainingQuantity();
+        long cost = 0;
+
+        for (int depth = 0; remaining > 0; depth++) {
+            PriceLevel level = opposite.level(depth);
+            if (level == null || !taker.crosses(level.getPrice())) {
+                break;
+            }
+            long quantity = Math.min(remaining, level.getTotalQuantity());
+            cost += quantity * level.getPrice();
+            remaining -= quantity;
+        }
+        return cost + remaining * remainderPrice;
+    }
+
+    public void rest(BookOrder order) {
+        BookSide side = order.isBuy() ? bids : asks;
+        side.getOrCreate(order.getPrice()).add(order);
+        restingOrders.put(order.getOrderId(), order);
+    }
+
+    public BookOrder cancel(long orderId) {
+        BookOrder order = restingOrders.remove(orderId);
+        if (order == null) {
+            return null;
+        }
+        BookSide side = order.isBuy() ? bids : asks;
+        PriceLevel level = side.find(order.getPrice());
+        if (level != null) {
+            level.remove(order);
+            if (level.isEmpty()) {
+                side.remove(level);
+            }
+        }
+        return order;
+    }
+
+    public boolean contains(long orderId) {
+        return restingOrders.containsKey(orderId);
+    }
+
+    public int restingOrderCount() {
+        return restingOrders.size();
+    }
+
+    /**
+     * @return best bid price in ticks, or 0 when there are no bids
+     */
+    public long bestBid() {
+        PriceLevel level = bids.best();
+        return level == null ? 0L : level.getPrice();
+    }
+
+    /**
+     * @return best ask price in ticks, or 0 when there are no asks
+     */
+    public long bestAsk() {
+        PriceLevel level = asks.best();
+        return level == null ? 0L : level.getPrice();
+    }
+}
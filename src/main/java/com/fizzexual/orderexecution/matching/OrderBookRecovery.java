@@ -0,0 +1,93 @@
+package com.fizzexual.orderexecution.matching;
+
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.ledger.AccountLedger;
+import com.fizzexual.orderexecution.persistence.RecoveredState;
+import com.fizzexual.orderexecution.persistence.WriteBehindWriter;
+import com.fizzexual.orderexecution.repository.OrderRepository;
+import com.fizzexual.orderexecution.sequencer.OrderSequencer;
+import com.fizzexual.orderexecution.service.AccountStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds the in-memory books on startup, in original arrival order so time priority is
+ * preserved, and reinstates the ledger reservations of open BUY orders. Open orders and balances
+ * come from the order journal when it holds the complete history or a snapshot, and from open
+ * LIMIT orders in the database otherwise. Runs after the {@link WriteBehindWriter} has replayed
+ * its journal and before the web server accepts orders.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderBookRecovery implements SmartLifecycle {
+
+    private final OrderRepository orderRepository;
+    private final MatchingEngine matchingEngine;
+    private final OrderSequencer orderSequencer;
+    private final WriteBehindWriter writeBehindWriter;
+    private final AccountStore accountStore;
+    private final AccountLedger accountLedger;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        recover();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return WriteBehindWriter.PHASE + 1;
+    }
+
+    void recover() {
+        Optional<RecoveredState> recovered = writeBehindWriter.takeRecoveredState();
+        RecoveredState state = recovered
+                .orElseGet(() -> RecoveredState.fromOpenOrders(orderRepository.findOpenLimitOrders()));
+        accountLedger.restore(state.getAccountBalances());
+        List<Order> openOrders = new ArrayList<>(state.getOpenOrders().values());
+
+        // Accounts without a recovered balance are opened in the ledger from the database.
+        accountStore.findAll(openOrders.stream().map(order -> order.getAccount().getId()).collect(Collectors.toSet()));
+        Map<String, List<BookOrder>> bySymbol = new LinkedHashMap<>();
+        for (Order order : openOrders) {
+            BookOrder bookOrder = BookOrder.from(order);
+            if (bookOrder.isBuy()) {
+                accountLedger.hold(bookOrder.getAccountId(), bookOrder.getPrice() * bookOrder.getRemainingQuantity());
+            }
+            bySymbol.computeIfAbsent(order.getSymbol(), symbol -> new ArrayList<>()).add(bookOrder);
+        }
+
+        CompletableFuture<?>[] restores = bySymbol.entrySet().stream()
+                .map(entry -> orderSequencer.submit(entry.getKey(), () -> {
+                    entry.getValue().forEach(order -> matchingEngine.restore(entry.getKey(), order));
+                    return null;
+                }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(restores).join();
+        log.info("Restored {} open orders into the order books from the {}", openOrders.size(),
+                recovered.isPresent() ? "snapshot and journal" : "database");
+        writeBehindWriter.startSnapshots(state);
+    }
+}
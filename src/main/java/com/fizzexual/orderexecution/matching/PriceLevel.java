@@ -0,0 +1,55 @@
+package com.fizzexual.orderexecution.matching;
+
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * All resting orders at one price, in arrival (time-priority) order.
+ */
+@Getter
+class PriceLevel {
+
+    private final long price;
+    private final ArrayDeque<BookOrder> orders = new ArrayDeque<>();
+    private long totalQuantity;
+
+    PriceLevel(long price) {
+        this.price = price;
+    }
+
+    void add(BookOrder order) {
+        orders.addLast(order);
+        totalQuantity += order.getRemainingQuantity();
+    }
+
+    BookOrder head() {
+        return orders.peekFirst();
+    }
+
+    void fillHead(long quantity) {
+        BookOrder head = orders.peekFirst();
+        head.fill(quantity, price);
+        totalQuantity -= quantity;
+        if (head.getRemainingQuantity() == 0) {
+            orders.pollFirst();
+        }
+    }
+
+    boolean remove(BookOrder order) {
+        Iterator<BookOrder> it = orders.iterator();
+        while (it.hasNext()) {
+            if (it.next() == order) {
+                it.remove();
+                totalQuantity -= order.getRemainingQuantity();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    boolean isEmpty() {
+        return orders.isEmpty();
+    }
+}
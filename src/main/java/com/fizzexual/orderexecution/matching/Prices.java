@@ -0,0 +1,33 @@
+package com.fizzexual.orderexecution.matching;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between the {@code BigDecimal} prices used by the API and JPA layer and the
+ * integer tick representation used inside the order book. One tick is one cent, matching
+ * the {@code scale = 2} of the price columns.
+ */
+public final class Prices {
+
+    public static final int SCALE = 2;
+
+    private Prices() {
+    }
+
+    public static long toTicks(BigDecimal price) {
+        return price.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long ticks) {
+        return BigDecimal.valueOf(ticks, SCALE);
+    }
+
+    /**
+     * Average price in ticks of {@code quantity} units that traded for {@code notional} ticks in
+     * total, rounded half up like the decimal columns.
+     */
+    public static long averagePrice(long notional, long quantity) {
+        return (2 * notional + quantity) / (2 * quantity);
+    }
+}
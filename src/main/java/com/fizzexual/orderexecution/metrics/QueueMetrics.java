@@ -0,0 +1,38 @@
+package com.fizzexual.orderexecution.metrics;
+
+import com.fizzexual.orderexecution.persistence.WriteBehindWriter;
+import com.fizzexual.orderexecution.sequencer.OrderSequencer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Depth of the queues an order passes through: each sequencer shard's ring buffer and the
+ * write-behind queue.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueueMetrics implements MeterBinder {
+
+    private final OrderSequencer orderSequencer;
+    private final WriteBehindWriter writeBehindWriter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (int shard = 0; shard < orderSequencer.shardCount(); shard++) {
+            int index = shard;
+            Gauge.builder("sequencer.queue.depth", orderSequencer, sequencer -> sequencer.queueDepth(index))
+                    .description("Tasks waiting in a sequencer shard's ring buffer")
+                    .tag("shard", String.valueOf(shard))
+                    .register(registry);
+        }
+        Gauge.builder("write.behind.queue.depth", writeBehindWriter, WriteBehindWriter::queueDepth)
+                .description("Acknowledged write batches waiting for the database")
+                .register(registry);
+        Gauge.builder("write.behind.in.flight", writeBehindWriter, WriteBehindWriter::inFlight)
+                .description("Reserved write-behind capacity: queued batches plus orders being placed")
+                .register(registry);
+    }
+}
@@ -0,0 +1,25 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * An execution log as the execution path produces it. Price and amount are in ticks and are only
+ * turned into decimals when the row is written.
+ */
+@Getter
+@AllArgsConstructor
+public class ExecutionLogRow {
+
+    private final long id;
+    private final long orderId;
+    private final int quantity;
+    private final long price;
+    private final long totalAmount;
+    private final ExecutionLog.ExecutionStatus status;
+    private final String message;
+    private final LocalDateTime executedAt;
+}
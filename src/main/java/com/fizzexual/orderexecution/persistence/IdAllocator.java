@@ -0,0 +1,263 @@
+package com.fizzexual.orderexecution.persistence;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hands out primary keys for rows written by the {@link WriteBehindWriter}. Ids have to be known
+ * when the order is acknowledged, long before the row reaches the database, so they cannot come
+ * from an IDENTITY column.
+ * <p>
+ * Ids come from the same database sequences Hibernate uses for the entities, with the pooled-lo
+ * scheme: a sequence value {@code v} reserves {@code v .. v + BLOCK_SIZE - 1}, so one round trip
+ * covers {@link #BLOCK_SIZE} ids and several nodes can allocate without colliding. Handing out an
+ * id within a block is a single atomic increment.
+ * <p>
+ * Ids are handed out on the sequencer shards, which must not wait on the database. Once half of a
+ * block is used the next one is fetched on a background thread, so by the time the block runs out
+ * its successor is usually ready; if not, the caller waits for that fetch rather than starting
+ * another. Only a sequence that was never {@linkplain #seed seeded} fetches its first block on the
+ * caller's thread.
+ * <p>
+ * Order ids are increasing but say nothing about when they were handed out, so the allocator also
+ * remembers when each of its recent order id blocks came into use. That bounds the
+ * {@code created_at} of an order looked up by id to a few partitions.
+ */
+@Component
+public class IdAllocator {
+
+    /**
+     * Ids per sequence value. Must match the {@code allocationSize} (and so the sequence's
+     * increment) of the {@code Order} and {@code ExecutionLog} mappings.
+     */
+    public static final int BLOCK_SIZE = 1000;
+
+    static final String ORDER_SEQUENCE = "orders_seq";
+    static final String EXECUTION_LOG_SEQUENCE = "execution_logs_seq";
+
+    /**
+     * Order id blocks whose start time is remembered: the last ten million order ids.
+     */
+    static final int TRACKED_BLOCKS = 10_000;
+
+    private final ExecutorService prefetcher;
+    private final Sequence orderIds;
+    private final Sequence executionLogIds;
+
+    @Autowired
+    public IdAllocator(JdbcBatchWriter jdbcBatchWriter) {
+        this(jdbcBatchWriter::nextSequenceValue);
+    }
+
+    /**
+     * @param nextSequenceValue returns the next value of the named sequence
+     */
+    public IdAllocator(ToLongFunction<String> nextSequenceValue) {
+        this.prefetcher = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "id-prefetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.orderIds = new Sequence(ORDER_SEQUENCE, nextSequenceValue, new ConcurrentSkipListMap<>(), prefetcher);
+        this.executionLogIds = new Sequence(EXECUTION_LOG_SEQUENCE, nextSequenceValue, null, prefetcher);
+    }
+
+    /**
+     * Makes sure no id at or below the given maximums is handed out, for tables that already held
+     * rows when their sequence was created, and starts fetching the first block of each sequence.
+     */
+    void seed(long maxOrderId, long maxExecutionLogId) {
+        orderIds.floor.accumulateAndGet(maxOrderId, Math::max);
+        executionLogIds.floor.accumulateAndGet(maxExecutionLogId, Math::max);
+        orderIds.prime();
+        executionLogIds.prime();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        prefetcher.shutdownNow();
+    }
+
+    public long nextOrderId() {
+        return orderIds.next();
+    }
+
+    public long nextExecutionLogId() {
+        return executionLogIds.next();
+    }
+
+    /**
+     * When this allocator handed out {@code orderId}: from the moment its block came into use to
+     * the moment the next one did, or to now for the current block. Empty for ids this allocator
+     * did not hand out recently, such as those of other nodes or earlier runs.
+     */
+    public Optional<Issued> orderIdIssued(long orderId) {
+        Map.Entry<Long, Block> entry = orderIds.issued.floorEntry(orderId);
+        if (entry == null || orderId >= entry.getValue().end) {
+            return Optional.empty();
+        }
+        Map.Entry<Long, Block> next = orderIds.issued.higherEntry(entry.getKey());
+        return Optional.of(new Issued(entry.getValue().inUseFrom,
+                next != null ? next.getValue().inUseFrom : LocalDateTime.now()));
+    }
+
+    /**
+     * {@code [from, to]} in local time, like {@code created_at}.
+     */
+    public record Issued(LocalDateTime from, LocalDateTime to) {
+    }
+
+    private static final class Sequence {
+
+        private final String name;
+        private final ToLongFunction<String> nextValue;
+        private final AtomicLong floor = new AtomicLong();
+        private final ReentrantLock refill = new ReentrantLock();
+        /**
+         * Blocks by first id, for the sequences whose blocks are tracked; null otherwise.
+         */
+        private final NavigableMap<Long, Block> issued;
+        private final ExecutorService prefetcher;
+        /**
+         * The block to use once the current one runs out, while it is being fetched or once it is.
+         */
+        private final AtomicReference<CompletableFuture<Block>> prefetched = new AtomicReference<>();
+        private volatile Block block = new Block(0L, 0L);
+
+        private Sequence(String name, ToLongFunction<String> nextValue, NavigableMap<Long, Block> issued,
+                         ExecutorService prefetcher) {
+            this.name = name;
+            this.nextValue = nextValue;
+            this.issued = issued;
+            this.prefetcher = prefetcher;
+        }
+
+        private long next() {
+            while (true) {
+                Block current = block;
+                long id = current.next.getAndIncrement();
+                if (id < current.end) {
+                    if (id == current.lowWater) {
+                        prefetch();
+                    }
+                    return id;
+                }
+                refill.lock();
+                try {
+                    if (block == current) {
+                        Block fetched = takePrefetched();
+                        track(fetched);
+                        block = fetched;
+                    }
+                } finally {
+                    refill.unlock();
+                }
+            }
+        }
+
+        /**
+         * Replaces any block fetched before the floor was raised.
+         */
+        private void prime() {
+            prefetched.set(CompletableFuture.supplyAsync(this::fetch, prefetcher));
+        }
+
+        private void prefetch() {
+            if (prefetched.get() == null) {
+                CompletableFuture<Block> pending = new CompletableFuture<>();
+                if (prefetched.compareAndSet(null, pending)) {
+                    try {
+                        prefetcher.execute(() -> complete(pending));
+                    } catch (RejectedExecutionException e) {
+                        // Shutting down: the next refill fetches the block itself.
+                        pending.completeExceptionally(e);
+                    }
+                }
+            }
+        }
+
+        private void complete(CompletableFuture<Block> pending) {
+            try {
+                pending.complete(fetch());
+            } catch (RuntimeException e) {
+                pending.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Called with {@code refill} held. Falls back to fetching on the caller's thread only when
+         * nothing was prefetched or the prefetch failed; a failure here reaches the caller.
+         */
+        private Block takePrefetched() {
+            CompletableFuture<Block> pending = prefetched.getAndSet(null);
+            if (pending != null) {
+                try {
+                    return pending.join();
+                } catch (CompletionException e) {
+                    // Retried below, where the caller sees the failure if it persists.
+                }
+            }
+            return fetch();
+        }
+
+        private void track(Block inUse) {
+            if (issued == null) {
+                return;
+            }
+            inUse.inUseFrom = LocalDateTime.now();
+            issued.put(inUse.start, inUse);
+            while (issued.size() > TRACKED_BLOCKS) {
+                issued.pollFirstEntry();
+            }
+        }
+
+        private Block fetch() {
+            long lowest = floor.get() + 1;
+            while (true) {
+                long start = nextValue.applyAsLong(name);
+                long end = start + BLOCK_SIZE;
+                if (end > lowest) {
+                    return new Block(Math.max(start, lowest), end);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ids {@code [start, end)}, the next one to hand out at {@code next}.
+     */
+    private static final class Block {
+
+        private final long start;
+        private final AtomicLong next;
+        private final long end;
+        /**
+         * Handing out this id starts fetching the next block.
+         */
+        private final long lowWater;
+        private volatile LocalDateTime inUseFrom;
+
+        private Block(long start, long end) {
+            this.start = start;
+            this.next = new AtomicLong(start);
+            this.end = end;
+            this.lowWater = start + (end - start) / 2;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.ledger.LedgerBalance;
+import com.fizzexual.orderexecution.matching.Prices;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Writes coalesced {@link WriteBatch}es with plain JDBC batch statements. Bypasses Hibernate on
+ * purpose: the rows are fully formed, ids are pre-allocated, and there is nothing to dirty-check.
+ */
+@Component
+@RequiredArgsConstructor
+public class JdbcBatchWriter {
+
+    private static final String INSERT_ORDER =
+            "INSERT INTO orders (id, order_number, account_id, symbol, type, side, quantity, limit_price, " +
+            "status, executed_price, executed_quantity, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_ORDER =
+            "UPDATE orders SET status = ?, executed_price = ?, executed_quantity = ?, updated_at = ? " +
+            "WHERE id = ? AND created_at = ?";
+
+    private static final String INSERT_EXECUTION_LOG =
+            "INSERT INTO execution_logs (id, order_id, quantity, price, total_amount, status, message, executed_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_ACCOUNT_BALANCE =
+            "UPDATE accounts SET balance = ?, available_balance = ?, updated_at = ? WHERE id = ?";
+
+    private static final int ID_CHUNK = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    /**
+     * Ledger version last written per account. Batches from different shards can reach the
+     * database out of order, so an older balance must not overwrite a newer one.
+     */
+    private final ConcurrentMap<Long, Long> projectedBalanceVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Writes all batches in one transaction. Order updates that target an order inserted in the
+     * same call are folded into the insert, and only the newest ledger balance per account is
+     * written.
+     *
+     * @param skipExisting skip inserts whose id is already present; used when replaying the journal
+     */
+    @Transactional
+    public void write(List<WriteBatch> batches, int jdbcBatchSize, boolean skipExisting) {
+        Map<Long, Order> orders = new LinkedHashMap<>();
+        Map<Long, OrderUpdate> updates = new LinkedHashMap<>();
+        List<ExecutionLogRow> executionLogs = new ArrayList<>();
+        Map<Long, LedgerBalance> balances = new LinkedHashMap<>();
+
+        for (WriteBatch batch : batches) {
+            for (Order order : batch.getOrderInserts()) {
+                orders.put(order.getId(), order.toBuilder().build());
+            }
+            for (OrderUpdate update : batch.getOrderUpdates()) {
+                Order pendingInsert = orders.get(update.getOrderId());
+                if (pendingInsert != null) {
+                    update.applyTo(pendingInsert);
+                } else {
+                    updates.put(update.getOrderId(), update);
+                }
+            }
+            executionLogs.addAll(batch.getExecutionLogInserts());
+            batch.getAccountBalances().forEach((accountId, balance) ->
+                    balances.merge(accountId, balance, WriteBatch::newer));
+        }
+
+        if (skipExisting) {
+            existingIds("orders", orders.keySet()).forEach(orders::remove);
+            Set<Long> existingLogs = existingIds("execution_logs",
+                    executionLogs.stream().map(ExecutionLogRow::getId).toList());
+            executionLogs.removeIf(log -> existingLogs.contains(log.getId()));
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ORDER, orders.values(), jdbcBatchSize, (ps, order) -> {
+            ps.setLong(1, order.getId());
+            ps.setString(2, order.getOrderNumber());
+            ps.setLong(3, order.getAccount().getId());
+            ps.setString(4, order.getSymbol());
+            ps.setString(5, order.getType().name());
+            ps.setString(6, order.getSide().name());
+            ps.setInt(7, order.getQuantity());
+            setDecimal(ps, 8, order.getLimitPrice());
+            ps.setString(9, order.getStatus().name());
+            setDecimal(ps, 10, order.getExecutedPrice());
+            ps.setInt(11, order.getExecutedQuantity());
+            ps.setTimestamp(12, Timestamp.valueOf(order.getCreatedAt()));
+            ps.setTimestamp(13, Timestamp.valueOf(order.getUpdatedAt()));
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_EXECUTION_LOG, executionLogs, jdbcBatchSize, (ps, log) -> {
+            ps.setLong(1, log.getId());
+            ps.setLong(2, log.getOrderId());
+            ps.setInt(3, log.getQuantity());
+            ps.setBigDecimal(4, Prices.toDecimal(log.getPrice()));
+            ps.setBigDecimal(5, Prices.toDecimal(log.getTotalAmount()));
+            ps.setString(6, log.getStatus().name());
+            ps.setString(7, log.getMessage());
+            ps.setTimestamp(8, Timestamp.valueOf(log.getExecutedAt()));
+        });
+
+        jdbcTemplate.batchUpdate(UPDATE_ORDER, updates.values(), jdbcBatchSize, (ps, update) -> {
+            ps.setString(1, update.getStatus().name());
+            setDecimal(ps, 2, update.getExecutedQuantity() > 0 ? Prices.toDecimal(update.getExecutedPrice()) : null);
+            ps.setInt(3, update.getExecutedQuantity());
+            ps.setTimestamp(4, Timestamp.valueOf(update.getUpdatedAt()));
+            ps.setLong(5, update.getOrderId());
+            ps.setTimestamp(6, Timestamp.valueOf(update.getCreatedAt()));
+        });
+
+        balances.entrySet().removeIf(entry ->
+                entry.getValue().version() <= projectedBalanceVersions.getOrDefault(entry.getKey(), -1L));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_ACCOUNT_BALANCE, balances.entrySet(), jdbcBatchSize, (ps, entry) -> {
+            ps.setBigDecimal(1, Prices.toDecimal(entry.getValue().balance()));
+            ps.setBigDecimal(2, Prices.toDecimal(entry.getValue().available()));
+            ps.setTimestamp(3, now);
+            ps.setLong(4, entry.getKey());
+        });
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                balances.forEach((accountId, balance) -> projectedBalanceVersions.put(accountId, balance.version()));
+            }
+        });
+    }
+
+    /**
+     * Next value of {@code sequence}, asked for in the dialect Hibernate created the sequence with.
+     */
+    public long nextSequenceValue(String sequence) {
+        String sql = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+                .getSequenceSupport().getSequenceNextValString(sequence);
+        Long value = jdbcTemplate.queryForObject(sql, Long.class);
+        if (value == null) {
+            throw new IllegalStateException("Sequence " + sequence + " returned no value");
+        }
+        return value;
+    }
+
+    public long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return max == null ? 0L : max;
+    }
+
+    private Set<Long> existingIds(String table, Collection<Long> ids) {
+        Set<Long> existing = new HashSet<>();
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += ID_CHUNK) {
+            List<Long> chunk = all.subList(from, Math.min(all.size(), from + ID_CHUNK));
+            existing.addAll(namedParameterJdbcTemplate.queryForList(
+                    "SELECT id FROM " + table + " WHERE id IN (:ids)", Map.of("ids", chunk), Long.class));
+        }
+        return existing;
+    }
+
+    private static void setDecimal(PreparedStatement ps, int index, BigDecimal value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DECIMAL);
+        } else {
+            ps.setBigDecimal(index, value);
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.config.PersistenceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of every sequenced {@link WriteBatch}: accepted orders, fills and cancels.
+ * Batches are appended here before the order is acknowledged, so the journal is both the redo log
+ * for the write-behind queue and the source the in-memory state is rebuilt from on startup.
+ * <p>
+ * The journal is a directory of memory-mapped segment files named after the first sequence they
+ * hold. A segment starts with a fixed header ({@code magic, version, base sequence, flags}) and is
+ * followed by records of the form {@code [int length][long sequence][payload][int crc32]}, where
+ * the CRC covers the sequence and payload. Unwritten space is zero, so a zero length marks the end
+ * of a segment. When a record does not fit, the segment is forced and a new one is started.
+ * <p>
+ * A separate checkpoint file records the last sequence known to be in the database. Segments are
+ * kept after they are flushed; only {@link #deleteSegmentsBefore} removes them.
+ * <p>
+ * Not thread-safe; the {@link WriteBehindWriter} serializes access.
+ */
+@Slf4j
+class OrderJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "write-behind.checkpoint";
+    private static final int MAGIC = 0x4F4A4E4C;
+    private static final int VERSION = 1;
+    private static final int FLAG_GENESIS = 1;
+    static final int SEGMENT_HEADER_BYTES = 32;
+    private static final int RECORD_HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final int segmentBytes;
+    private final TreeMap<Long, Path> segments = new TreeMap<>();
+    private final ByteArrayOutputStream scratch = new ByteArrayOutputStream(512);
+    private final CRC32 crc = new CRC32();
+
+    private final Counter bytesWritten;
+    private final Counter recordsWritten;
+    private final Timer fsyncTimer;
+
+    private MappedByteBuffer active;
+    private boolean complete;
+    @Getter
+    private long checkpoint;
+    @Getter
+    private long lastSequence;
+
+    OrderJournal(PersistenceProperties.Journal properties, MeterRegistry meterRegistry) {
+        this.directory = Path.of(properties.getDirectory());
+        this.fsync = properties.isFsync();
+        this.segmentBytes = Math.toIntExact(properties.getSegmentBytes());
+        this.bytesWritten = Counter.builder("journal.write.bytes")
+                .baseUnit("bytes")
+                .description("Bytes appended to the order journal")
+                .register(meterRegistry);
+        this.recordsWritten = Counter.builder("journal.write.records")
+                .description("Records appended to the order journal")
+                .register(meterRegistry);
+        this.fsyncTimer = Timer.builder("journal.fsync")
+                .description("Time spent forcing journal pages to disk")
+                .register(meterRegistry);
+        Gauge.builder("journal.segments", segments, Map::size)
+                .description("Journal segment files on disk")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens the journal for appending, truncating a torn or corrupt tail in the last segment.
+     *
+     * @param genesis whether a brand-new journal starts from an empty database, in which case it
+     *                holds the complete history (see {@link #isComplete()})
+     */
+    void open(boolean genesis) throws IOException {
+        Files.createDirectories(directory);
+        checkpoint = readCheckpoint();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(OrderJournal::isSegment)
+                    .forEach(file -> segments.put(baseSequence(file), file));
+        }
+
+        if (segments.isEmpty()) {
+            lastSequence = checkpoint;
+            active = createSegment(lastSequence + 1, segmentBytes, genesis);
+            complete = genesis;
+            return;
+        }
+        complete = (map(segments.firstEntry().getValue(), FileChannel.MapMode.READ_ONLY).getInt(16)
+                & FLAG_GENESIS) != 0;
+
+        Map.Entry<Long, Path> last = segments.lastEntry();
+        active = map(last.getValue(), FileChannel.MapMode.READ_WRITE);
+        lastSequence = last.getKey() - 1;
+        int end = scan(active, (sequence, payload) -> lastSequence = sequence);
+        active.position(end);
+        if (end + Integer.BYTES <= active.capacity() && active.getInt(end) != 0) {
+            log.warn("Corrupt order journal record in {} at offset {}, truncating", last.getValue(), end);
+            for (int i = end; i < active.capacity(); i++) {
+                active.put(i, (byte) 0);
+            }
+            active.force();
+        }
+    }
+
+    /**
+     * @return true if the first segment was started on an empty database and none have been
+     *         deleted since, i.e. replaying from sequence 0 rebuilds the full state
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    long append(WriteBatch batch) throws IOException {
+        scratch.reset();
+        WriteBatchCodec.write(batch, new DataOutputStream(scratch));
+        int length = scratch.size();
+        int recordBytes = RECORD_HEADER_BYTES + length + Integer.BYTES;
+        long sequence = lastSequence + 1;
+
+        if (active.position() + recordBytes > active.capacity()) {
+            force(SEGMENT_HEADER_BYTES, active.position() - SEGMENT_HEADER_BYTES);
+            active = createSegment(sequence, Math.max(segmentBytes, SEGMENT_HEADER_BYTES + recordBytes), false);
+        }
+
+        int start = active.position();
+        active.putInt(length).putLong(sequence).put(scratch.toByteArray(), 0, length);
+        active.putInt(crc(active, start + Integer.BYTES, Long.BYTES + length));
+        lastSequence = sequence;
+
+        bytesWritten.increment(recordBytes);
+        recordsWritten.increment();
+        if (fsync) {
+            force(start, recordBytes);
+        }
+        return sequence;
+    }
+
+    /**
+     * Streams every record with a sequence above {@code afterSequence}, in order. Segments that end
+     * at or before {@code afterSequence} are skipped without being read.
+     *
+     * @return the number of records replayed
+     */
+    long replay(long afterSequence, Consumer<WriteBatch> consumer) throws IOException {
+        long[] replayed = {0};
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            Long next = segments.higherKey(segment.getKey());
+            if (next != null && next <= afterSequence + 1) {
+                continue;
+            }
+            MappedByteBuffer buffer = segment.getKey().equals(segments.lastKey())
+                    ? active.duplicate() : map(segment.getValue(), FileChannel.MapMode.READ_ONLY);
+            scan(buffer, (sequence, payload) -> {
+                if (sequence > afterSequence) {
+                    WriteBatch batch = decode(payload);
+                    batch.setSequence(sequence);
+                    consumer.accept(batch);
+                    replayed[0]++;
+                }
+            });
+        }
+        return replayed[0];
+    }
+
+    /**
+     * Records that every batch up to and including {@code sequence} is in the database.
+     */
+    void checkpoint(long sequence) throws IOException {
+        writeCheckpoint(sequence);
+        checkpointed(sequence);
+    }
+
+    /**
+     * Writes the checkpoint file. Touches nothing else, so unlike the rest of the journal it may
+     * run while another thread appends, as long as two calls never overlap; {@link #checkpointed}
+     * then makes {@code sequence} the journal's checkpoint.
+     */
+    void writeCheckpoint(long sequence) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        // Forced before the rename, or a crash could leave the new name on an empty file.
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer content = ByteBuffer.wrap(Long.toString(sequence).getBytes(StandardCharsets.US_ASCII));
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory();
+    }
+
+    void checkpointed(long sequence) {
+        checkpoint = sequence;
+    }
+
+    /**
+     * Deletes segments whose records all have a sequence of at most {@code sequence}. The active
+     * segment is never deleted.
+     *
+     * @return the number of segments deleted
+     */
+    int deleteSegmentsBefore(long sequence) throws IOException {
+        int deleted = 0;
+        Iterator<Map.Entry<Long, Path>> it = segments.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Path> segment = it.next();
+            Long next = segments.higherKey(segment.getKey());
+            if (next == null || next > sequence + 1) {
+                break;
+            }
+            Files.deleteIfExists(segment.getValue());
+            it.remove();
+            complete = false;
+            deleted++;
+        }
+        return deleted;
+    }
+
+    /**
+     * @return the sequence the oldest segment on disk starts at
+     */
+    long firstSequence() {
+        return segments.firstKey();
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (active != null) {
+            active.force();
+            active = null;
+        }
+    }
+
+    private MappedByteBuffer createSegment(long baseSequence, int size, boolean genesis) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, baseSequence, SEGMENT_SUFFIX));
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(baseSequence).putInt(genesis ? FLAG_GENESIS : 0);
+        buffer.position(SEGMENT_HEADER_BYTES);
+        buffer.force(0, SEGMENT_HEADER_BYTES);
+        segments.put(baseSequence, file);
+        log.debug("Started order journal segment {}", file.getFileName());
+        return buffer;
+    }
+
+    private MappedByteBuffer map(Path file, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            MappedByteBuffer buffer = channel.map(mode, 0, channel.size());
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not an order journal segment: " + file);
+            }
+            return buffer;
+        }
+    }
+
+    /**
+     * Makes the checkpoint's rename durable. Not every platform can open a directory; there the
+     * rename is left to the file system.
+     */
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Cannot force journal directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void force(int index, int length) {
+        if (length > 0) {
+            fsyncTimer.record(() -> active.force(index, length));
+        }
+    }
+
+    /**
+     * Walks the valid records of a segment.
+     *
+     * @return the offset just past the last valid record
+     */
+    private int scan(MappedByteBuffer buffer, RecordVisitor visitor) {
+        int position = SEGMENT_HEADER_BYTES;
+        int limit = buffer.capacity();
+        while (position + RECORD_HEADER_BYTES <= limit) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || (long) position + RECORD_HEADER_BYTES + length + Integer.BYTES > limit) {
+                break;
+            }
+            int crcOffset = position + RECORD_HEADER_BYTES + length;
+            if (buffer.getInt(crcOffset) != crc(buffer, position + Integer.BYTES, Long.BYTES + length)) {
+                break;
+            }
+            long sequence = buffer.getLong(position + Integer.BYTES);
+            visitor.visit(sequence, buffer.slice(position + RECORD_HEADER_BYTES, length));
+            position = crcOffset + Integer.BYTES;
+        }
+        return position;
+    }
+
+    private int crc(MappedByteBuffer buffer, int offset, int length) {
+        crc.reset();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static WriteBatch decode(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        try {
+            return WriteBatchCodec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Undecodable order journal record", e);
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        return Files.exists(file) ? Long.parseLong(Files.readString(file).trim()) : 0L;
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long baseSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        void visit(long sequence, ByteBuffer payload);
+    }
+}
@@ -0,0 +1,33 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.matching.Prices;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * The mutable columns of an order that already exists (or is already queued for insert). The
+ * executed price is in ticks and only means something once {@code executedQuantity} is positive.
+ * The order's {@code createdAt} comes along so the update names the one partition of
+ * {@code orders} that holds the row.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderUpdate {
+
+    private final long orderId;
+    private final LocalDateTime createdAt;
+    private final Order.OrderStatus status;
+    private final long executedPrice;
+    private final int executedQuantity;
+    private final LocalDateTime updatedAt;
+
+    void applyTo(Order order) {
+        order.setStatus(status);
+        order.setExecutedPrice(executedQuantity > 0 ? Prices.toDecimal(executedPrice) : null);
+        order.setExecutedQuantity(executedQuantity);
+        order.setUpdatedAt(updatedAt);
+    }
+}
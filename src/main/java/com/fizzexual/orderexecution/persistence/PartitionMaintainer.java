@@ -0,0 +1,217 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.config.ArchiveProperties;
+import com.fizzexual.orderexecution.config.PartitionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the daily range partitions of {@code orders} and {@code execution_logs} in step with the
+ * calendar: creates the partitions for today and the next {@code premakeDays}, and drops whole
+ * partitions past their retention instead of deleting rows, which leaves no dead tuples or index
+ * bloat behind.
+ * <p>
+ * Partitions are named {@code <table>_p<yyyyMMdd>} and cover {@code [day, day + 1)}. A partition
+ * of orders that still holds open orders is kept, since the order book is rebuilt from them, and
+ * so is one whose orders still have execution logs in the database, which the position rebuild
+ * and the archiver join to their orders. A partition of execution logs is kept while the archive
+ * is enabled and the archiver has not emptied it yet.
+ * <p>
+ * Runs once before the write-behind writer starts, so today's partition exists before the first
+ * insert, and then every {@code intervalMillis}.
+ */
+@Component
+@Slf4j
+public class PartitionMaintainer implements SmartLifecycle {
+
+    static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    static final String SELECT_PARTITIONED =
+            "SELECT count(*) FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid " +
+            "WHERE c.relname = ? AND pg_table_is_visible(c.oid)";
+
+    static final String SELECT_PARTITIONS =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ? AND pg_table_is_visible(p.oid)";
+
+    static final String ORDERS_IN_USE =
+            "SELECT EXISTS (SELECT 1 FROM %1$s WHERE status IN ('PENDING', 'PARTIALLY_FILLED')) " +
+            "OR EXISTS (SELECT 1 FROM execution_logs e JOIN %1$s o ON o.id = e.order_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitionProperties properties;
+    private final List<PartitionedTable> tables;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+    private volatile List<PartitionedTable> partitioned = List.of();
+    private volatile boolean running;
+
+    @Autowired
+    public PartitionMaintainer(JdbcTemplate jdbcTemplate, PartitionProperties properties,
+                               ArchiveProperties archiveProperties) {
+        this(jdbcTemplate, properties, archiveProperties, Clock.systemDefaultZone());
+    }
+
+    PartitionMaintainer(JdbcTemplate jdbcTemplate, PartitionProperties properties,
+                        ArchiveProperties archiveProperties, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.tables = List.of(
+                new PartitionedTable("orders", properties.getOrderRetentionDays(),
+                        ORDERS_IN_USE),
+                new PartitionedTable("execution_logs", properties.getExecutionLogRetentionDays(),
+                        archiveProperties.isEnabled() ? "SELECT EXISTS (SELECT 1 FROM %s)" : null));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "partition-maintainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void start() {
+        if (properties.isEnabled()) {
+            List<PartitionedTable> found = new ArrayList<>();
+            for (PartitionedTable table : tables) {
+                if (isPartitioned(table)) {
+                    found.add(table);
+                } else {
+                    log.warn("Table {} is not partitioned, skipping its partition maintenance", table.name());
+                }
+            }
+            partitioned = List.copyOf(found);
+            maintainSafely();
+            scheduler.scheduleWithFixedDelay(this::maintainSafely, properties.getIntervalMillis(),
+                    properties.getIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        scheduler.shutdownNow();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return WriteBehindWriter.PHASE - 1;
+    }
+
+    /**
+     * Creates missing partitions and drops expired ones for every partitioned table.
+     */
+    public synchronized void maintain() {
+        LocalDate today = LocalDate.now(clock);
+        for (PartitionedTable table : partitioned) {
+            List<String> partitions = jdbcTemplate.queryForList(SELECT_PARTITIONS, String.class, table.name());
+            TreeSet<LocalDate> days = partitionDays(table, partitions);
+            LocalDate lastPremade = today.plusDays(properties.getPremakeDays());
+            for (LocalDate day = today; !day.isAfter(lastPremade); day = day.plusDays(1)) {
+                if (!days.contains(day)) {
+                    create(table, day);
+                }
+            }
+            if (table.retentionDays() > 0) {
+                LocalDate firstKept = today.minusDays(table.retentionDays() - 1L);
+                for (LocalDate day : days.headSet(firstKept)) {
+                    drop(table, day);
+                }
+            }
+            String defaultPartition = table.name() + "_default";
+            if (partitions.contains(defaultPartition) && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + defaultPartition + ")", Boolean.class))) {
+                log.warn("Rows of {} are in its default partition; their days get no partition of their own",
+                        table.name());
+            }
+        }
+    }
+
+    private boolean isPartitioned(PartitionedTable table) {
+        try {
+            Integer count = jdbcTemplate.queryForObject(SELECT_PARTITIONED, Integer.class, table.name());
+            return count != null && count > 0;
+        } catch (DataAccessException e) {
+            // Not PostgreSQL.
+            return false;
+        }
+    }
+
+    private static TreeSet<LocalDate> partitionDays(PartitionedTable table, List<String> partitions) {
+        String prefix = table.name() + "_p";
+        TreeSet<LocalDate> days = new TreeSet<>();
+        for (String partition : partitions) {
+            if (partition.startsWith(prefix)) {
+                try {
+                    days.add(LocalDate.parse(partition.substring(prefix.length()), PARTITION_SUFFIX));
+                } catch (DateTimeParseException e) {
+                    // Not one of ours.
+                }
+            }
+        }
+        return days;
+    }
+
+    private void create(PartitionedTable table, LocalDate day) {
+        String partition = table.partition(day);
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + table.name() +
+                    " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+            log.info("Created partition {}", partition);
+        } catch (DataAccessException e) {
+            // Typically rows for that day already sit in the default partition.
+            log.warn("Cannot create partition {}: {}", partition, e.getMessage());
+        }
+    }
+
+    private void drop(PartitionedTable table, LocalDate day) {
+        String partition = table.partition(day);
+        if (table.keepIf() != null
+                && Boolean.TRUE.equals(jdbcTemplate.queryForObject(table.keepIf().formatted(partition), Boolean.class))) {
+            log.debug("Keeping expired partition {}", partition);
+            return;
+        }
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        log.info("Dropped partition {}", partition);
+    }
+
+    private void maintainSafely() {
+        try {
+            maintain();
+        } catch (RuntimeException e) {
+            log.warn("Partition maintenance failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param keepIf query on a partition, with {@code %s} for its name, that is true if the
+     *               partition must be kept past its retention; null to always drop it
+     */
+    private record PartitionedTable(String name, int retentionDays, String keepIf) {
+
+        private String partition(LocalDate day) {
+            return name + "_p" + PARTITION_SUFFIX.format(day);
+        }
+    }
+}
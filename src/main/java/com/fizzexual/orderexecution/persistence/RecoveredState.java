@@ -0,0 +1,72 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.ledger.LedgerBalance;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Account ledger balances and open LIMIT orders folded from journaled write batches. Open orders are
+ * kept in arrival order so the books can be rebuilt with time priority intact.
+ */
+@Getter
+public class RecoveredState {
+
+    private final Map<Long, Order> openOrders = new LinkedHashMap<>();
+    private final Map<Long, LedgerBalance> accountBalances = new HashMap<>();
+    @Setter(AccessLevel.PACKAGE)
+    private long sequence;
+
+    /**
+     * State made of the given open orders only, for when it has to be rebuilt from the database.
+     */
+    public static RecoveredState fromOpenOrders(Collection<Order> orders) {
+        RecoveredState state = new RecoveredState();
+        for (Order order : orders) {
+            state.openOrders.put(order.getId(), order.toBuilder().build());
+        }
+        return state;
+    }
+
+    /**
+     * Copy that shares no mutable orders with this one.
+     */
+    RecoveredState copy() {
+        RecoveredState copy = fromOpenOrders(openOrders.values());
+        copy.accountBalances.putAll(accountBalances);
+        copy.sequence = sequence;
+        return copy;
+    }
+
+    void apply(WriteBatch batch) {
+        for (Order order : batch.getOrderInserts()) {
+            if (isOpen(order)) {
+                openOrders.put(order.getId(), order.toBuilder().build());
+            }
+        }
+        for (OrderUpdate update : batch.getOrderUpdates()) {
+            Order order = openOrders.get(update.getOrderId());
+            if (order != null) {
+                update.applyTo(order);
+                if (!isOpen(order)) {
+                    openOrders.remove(order.getId());
+                }
+            }
+        }
+        batch.getAccountBalances().forEach((accountId, balance) ->
+                accountBalances.merge(accountId, balance, WriteBatch::newer));
+        sequence = batch.getSequence();
+    }
+
+    private static boolean isOpen(Order order) {
+        return order.getType() == Order.OrderType.LIMIT
+                && (order.getStatus() == Order.OrderStatus.PENDING
+                || order.getStatus() == Order.OrderStatus.PARTIALLY_FILLED);
+    }
+}
@@ -0,0 +1,167 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.config.PersistenceProperties;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.ledger.LedgerBalance;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshots of a {@link RecoveredState}, one file per snapshot named after the journal
+ * sequence it covers.
+ * <p>
+ * Layout: {@code [int magic][byte version][long sequence][int balances]{[long accountId][long
+ * balance][long reserved][long version]}[int orders]{order}[int crc32]}, with orders in arrival order and encoded as in the
+ * journal. Files are written to a temporary name, forced and then renamed, so a crash never leaves
+ * a half-written snapshot under a real name.
+ */
+@Slf4j
+class SnapshotStore {
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+    private static final int MAGIC = 0x4F534E50;
+    private static final byte VERSION = 2;
+
+    private final Path directory;
+
+    SnapshotStore(PersistenceProperties.Snapshot properties) {
+        this.directory = Path.of(properties.getDirectory());
+    }
+
+    /**
+     * @return the size of the snapshot file in bytes
+     */
+    long write(RecoveredState state) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(PREFIX + "tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+            CheckedOutputStream checked = new CheckedOutputStream(buffered, new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(state.getSequence());
+            out.writeInt(state.getAccountBalances().size());
+            for (Map.Entry<Long, LedgerBalance> entry : state.getAccountBalances().entrySet()) {
+                out.writeLong(entry.getKey());
+                WriteBatchCodec.writeBalance(out, entry.getValue());
+            }
+            out.writeInt(state.getOpenOrders().size());
+            for (Order order : state.getOpenOrders().values()) {
+                WriteBatchCodec.writeOrder(out, order);
+            }
+            out.flush();
+
+            new DataOutputStream(buffered).writeInt((int) checked.getChecksum().getValue());
+            buffered.flush();
+            channel.force(true);
+        }
+        Path file = directory.resolve(fileName(state.getSequence()));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(file);
+    }
+
+    /**
+     * Loads the newest snapshot that passes its checksum, falling back to older ones.
+     */
+    Optional<RecoveredState> loadLatest() throws IOException {
+        List<Path> files = list();
+        for (int i = files.size() - 1; i >= 0; i--) {
+            Path file = files.get(i);
+            try {
+                return Optional.of(read(file));
+            } catch (IOException e) {
+                log.warn("Skipping unreadable snapshot {}: {}", file.getFileName(), e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Deletes all but the newest {@code retain} snapshots.
+     *
+     * @return the sequence of the oldest snapshot kept, or 0 if there is none
+     */
+    long prune(int retain) throws IOException {
+        List<Path> files = list();
+        for (Path file : files.subList(0, Math.max(0, files.size() - retain))) {
+            Files.deleteIfExists(file);
+        }
+        return files.isEmpty() ? 0L : sequence(files.get(Math.max(0, files.size() - retain)));
+    }
+
+    private RecoveredState read(Path file) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length < Integer.BYTES) {
+            throw new IOException("truncated");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - Integer.BYTES);
+        if ((int) crc.getValue() != ByteBuffer.wrap(bytes, bytes.length - Integer.BYTES, Integer.BYTES).getInt()) {
+            throw new IOException("checksum mismatch");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IOException("not a snapshot");
+        }
+        RecoveredState state = new RecoveredState();
+        state.setSequence(in.readLong());
+        int balances = in.readInt();
+        for (int i = 0; i < balances; i++) {
+            state.getAccountBalances().put(in.readLong(), WriteBatchCodec.readBalance(in));
+        }
+        int orders = in.readInt();
+        for (int i = 0; i < orders; i++) {
+            Order order = WriteBatchCodec.readOrder(in);
+            state.getOpenOrders().put(order.getId(), order);
+        }
+        return state;
+    }
+
+    private List<Path> list() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(SnapshotStore::sequence))
+                    .toList();
+        }
+    }
+
+    private static String fileName(long sequence) {
+        return String.format("%s%020d%s", PREFIX, sequence, SUFFIX);
+    }
+
+    private static long sequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,68 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.config.PersistenceProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style 63-bit ids: milliseconds since {@link #EPOCH_MILLIS} (41 bits), the node id
+ * (10 bits) and a per-millisecond sequence (12 bits). Ids from one node strictly increase and
+ * never repeat, and nodes with distinct ids never collide.
+ * <p>
+ * The timestamp and sequence live together in one {@code long} advanced with compare-and-set.
+ * When a millisecond's 4096 ids run out, generation simply moves on to the next millisecond
+ * ahead of the clock; when the clock steps backwards, it keeps counting from the last id.
+ */
+@Component
+public class SnowflakeIdGenerator {
+
+    /**
+     * 2024-01-01T00:00:00Z; 41 bits of milliseconds last until 2093.
+     */
+    static final long EPOCH_MILLIS = 1_704_067_200_000L;
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private final long node;
+    private final LongSupplier clock;
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    @Autowired
+    public SnowflakeIdGenerator(PersistenceProperties properties) {
+        this(properties.getNodeId(), System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ", was " + nodeId);
+        }
+        this.node = nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the epoch milliseconds an id was generated at, or slightly after if its millisecond
+     *         was borrowed ahead of the clock
+     */
+    public static long timestampMillis(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public long nextId() {
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        while (true) {
+            long last = lastTimeAndSequence.get();
+            long next = Math.max(last + 1, now);
+            if (lastTimeAndSequence.compareAndSet(last, next)) {
+                long millis = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return millis << (NODE_BITS + SEQUENCE_BITS) | node | sequence;
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.config.PersistenceProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Writes periodic snapshots of balances and open orders without involving the shard threads.
+ * It keeps a shadow {@link RecoveredState} of its own, folded from the batches the
+ * {@link WriteBehindWriter} has flushed, and serializes that copy on its own thread. Matching
+ * never waits on a snapshot; the shadow just trails the books by the flush delay, and batches
+ * queue up here while a snapshot is being written.
+ * <p>
+ * After each snapshot the journal can be trimmed up to the oldest snapshot still kept, which is
+ * reported through {@code onSnapshot}.
+ */
+@Slf4j
+class StateSnapshotter {
+
+    private final SnapshotStore store;
+    private final PersistenceProperties.Snapshot properties;
+    private final LongConsumer onSnapshot;
+    private final Timer writeTimer;
+    private final DistributionSummary sizeSummary;
+    private final LinkedBlockingQueue<WriteBatch> flushed = new LinkedBlockingQueue<>();
+
+    private RecoveredState state;
+    private long snapshotSequence;
+    private Thread thread;
+    private volatile boolean running;
+
+    StateSnapshotter(SnapshotStore store, PersistenceProperties.Snapshot properties, LongConsumer onSnapshot,
+                     MeterRegistry meterRegistry) {
+        this.store = store;
+        this.properties = properties;
+        this.onSnapshot = onSnapshot;
+        this.writeTimer = Timer.builder("snapshot.write")
+                .description("Time taken to write a state snapshot")
+                .register(meterRegistry);
+        this.sizeSummary = DistributionSummary.builder("snapshot.size")
+                .baseUnit("bytes")
+                .description("Size of written state snapshots")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts folding from {@code base}, which must reflect every batch up to its sequence.
+     */
+    void start(RecoveredState base) {
+        state = base;
+        running = true;
+        thread = new Thread(this::run, "state-snapshotter");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Takes a final snapshot of everything offered so far and stops.
+     */
+    void stop() {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void offer(List<WriteBatch> batches) {
+        if (running) {
+            flushed.addAll(batches);
+        }
+    }
+
+    private void run() {
+        List<WriteBatch> drained = new ArrayList<>();
+        long nextSnapshot = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getIntervalMillis());
+        try {
+            while (running || !flushed.isEmpty()) {
+                WriteBatch first = flushed.poll(Math.max(0, Math.min(nextSnapshot - System.nanoTime(),
+                        TimeUnit.MILLISECONDS.toNanos(100))), TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    drained.add(first);
+                    flushed.drainTo(drained);
+                    for (WriteBatch batch : drained) {
+                        if (batch.getSequence() > state.getSequence()) {
+                            state.apply(batch);
+                        }
+                    }
+                    drained.clear();
+                }
+                if (System.nanoTime() - nextSnapshot >= 0) {
+                    snapshot();
+                    nextSnapshot = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getIntervalMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        snapshot();
+    }
+
+    private void snapshot() {
+        if (state.getSequence() <= snapshotSequence) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            long bytes = store.write(state);
+            writeTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            sizeSummary.record(bytes);
+            snapshotSequence = state.getSequence();
+            log.info("Wrote state snapshot at sequence {} ({} open orders, {} bytes)", snapshotSequence,
+                    state.getOpenOrders().size(), bytes);
+            onSnapshot.accept(store.prune(properties.getRetain()));
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to write state snapshot at sequence {}", state.getSequence(), e);
+        }
+    }
+}
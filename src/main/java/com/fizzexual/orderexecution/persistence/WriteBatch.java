@@ -0,0 +1,77 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.dto.OrderEvent;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.ledger.LedgerBalance;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every row change produced by one sequenced command. Collected on the shard thread, journaled,
+ * and then written to the database asynchronously by the {@link WriteBehindWriter}.
+ */
+@Getter
+public class WriteBatch {
+
+    private final List<Order> orderInserts = new ArrayList<>();
+    private final List<OrderUpdate> orderUpdates = new ArrayList<>();
+    private final List<ExecutionLogRow> executionLogInserts = new ArrayList<>();
+    private final Map<Long, LedgerBalance> accountBalances = new LinkedHashMap<>();
+
+    /**
+     * What the changes look like to stream subscribers. Published once the batch is accepted and
+     * not journaled.
+     */
+    private final List<OrderEvent> events = new ArrayList<>();
+
+    @Setter(AccessLevel.PACKAGE)
+    private long sequence;
+
+    /**
+     * {@link System#nanoTime()} when the batch was submitted; 0 for batches replayed from the journal.
+     */
+    @Setter(AccessLevel.PACKAGE)
+    private long submittedNanos;
+
+    /**
+     * Queues a copy of the order as it is now; later changes to {@code order} are not picked up.
+     */
+    public void insertOrder(Order order) {
+        orderInserts.add(order.toBuilder().build());
+    }
+
+    public void updateOrder(OrderUpdate update) {
+        orderUpdates.add(update);
+    }
+
+    public void insertExecutionLog(ExecutionLogRow executionLog) {
+        executionLogInserts.add(executionLog);
+    }
+
+    /**
+     * Records the account's ledger state after a change. Only the newest version per account is
+     * kept, since balances captured on different shards may arrive out of order.
+     */
+    public void updateAccountBalance(long accountId, LedgerBalance balance) {
+        accountBalances.merge(accountId, balance, WriteBatch::newer);
+    }
+
+    public void addEvent(OrderEvent event) {
+        events.add(event);
+    }
+
+    static LedgerBalance newer(LedgerBalance a, LedgerBalance b) {
+        return b.version() >= a.version() ? b : a;
+    }
+
+    public boolean isEmpty() {
+        return orderInserts.isEmpty() && orderUpdates.isEmpty() && executionLogInserts.isEmpty()
+                && accountBalances.isEmpty();
+    }
+}
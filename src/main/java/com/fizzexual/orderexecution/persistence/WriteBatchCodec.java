@@ -0,0 +1,167 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.ledger.LedgerBalance;
+import com.fizzexual.orderexecution.matching.Prices;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/**
+ * Compact binary form of a {@link WriteBatch} for the journal, and of the orders in a state
+ * snapshot. Prices are stored as ticks and enums as ordinals; journal and snapshot files are local
+ * to one deployment, so the format does not need to survive enum reordering across releases.
+ */
+final class WriteBatchCodec {
+
+    private static final byte VERSION = 3;
+    private static final long NULL_DECIMAL = Long.MIN_VALUE;
+
+    private WriteBatchCodec() {
+    }
+
+    static void write(WriteBatch batch, DataOutput out) throws IOException {
+        out.writeByte(VERSION);
+
+        out.writeInt(batch.getOrderInserts().size());
+        for (Order order : batch.getOrderInserts()) {
+            writeOrder(out, order);
+        }
+
+        out.writeInt(batch.getOrderUpdates().size());
+        for (OrderUpdate update : batch.getOrderUpdates()) {
+            out.writeLong(update.getOrderId());
+            writeTime(out, update.getCreatedAt());
+            out.writeByte(update.getStatus().ordinal());
+            out.writeLong(update.getExecutedQuantity() > 0 ? update.getExecutedPrice() : NULL_DECIMAL);
+            out.writeInt(update.getExecutedQuantity());
+            writeTime(out, update.getUpdatedAt());
+        }
+
+        out.writeInt(batch.getExecutionLogInserts().size());
+        for (ExecutionLogRow log : batch.getExecutionLogInserts()) {
+            out.writeLong(log.getId());
+            out.writeLong(log.getOrderId());
+            out.writeInt(log.getQuantity());
+            out.writeLong(log.getPrice());
+            out.writeLong(log.getTotalAmount());
+            out.writeByte(log.getStatus().ordinal());
+            out.writeBoolean(log.getMessage() != null);
+            if (log.getMessage() != null) {
+                out.writeUTF(log.getMessage());
+            }
+            writeTime(out, log.getExecutedAt());
+        }
+
+        out.writeInt(batch.getAccountBalances().size());
+        for (Map.Entry<Long, LedgerBalance> entry : batch.getAccountBalances().entrySet()) {
+            out.writeLong(entry.getKey());
+            writeBalance(out, entry.getValue());
+        }
+    }
+
+    static WriteBatch read(DataInput in) throws IOException {
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported journal record version " + version);
+        }
+        WriteBatch batch = new WriteBatch();
+
+        int orders = in.readInt();
+        for (int i = 0; i < orders; i++) {
+            batch.getOrderInserts().add(readOrder(in));
+        }
+
+        int updates = in.readInt();
+        for (int i = 0; i < updates; i++) {
+            long orderId = in.readLong();
+            LocalDateTime createdAt = readTime(in);
+            Order.OrderStatus status = Order.OrderStatus.values()[in.readByte()];
+            long executedPrice = in.readLong();
+            batch.updateOrder(new OrderUpdate(orderId, createdAt, status, executedPrice == NULL_DECIMAL ? 0L : executedPrice,
+                    in.readInt(), readTime(in)));
+        }
+
+        int logs = in.readInt();
+        for (int i = 0; i < logs; i++) {
+            batch.insertExecutionLog(new ExecutionLogRow(in.readLong(), in.readLong(), in.readInt(), in.readLong(),
+                    in.readLong(), ExecutionLog.ExecutionStatus.values()[in.readByte()],
+                    in.readBoolean() ? in.readUTF() : null, readTime(in)));
+        }
+
+        int balances = in.readInt();
+        for (int i = 0; i < balances; i++) {
+            batch.updateAccountBalance(in.readLong(), readBalance(in));
+        }
+        return batch;
+    }
+
+    static void writeOrder(DataOutput out, Order order) throws IOException {
+        out.writeLong(order.getId());
+        out.writeUTF(order.getOrderNumber());
+        out.writeLong(order.getAccount().getId());
+        out.writeUTF(order.getSymbol());
+        out.writeByte(order.getType().ordinal());
+        out.writeByte(order.getSide().ordinal());
+        out.writeInt(order.getQuantity());
+        writeDecimal(out, order.getLimitPrice());
+        out.writeByte(order.getStatus().ordinal());
+        writeDecimal(out, order.getExecutedPrice());
+        out.writeInt(order.getExecutedQuantity() != null ? order.getExecutedQuantity() : 0);
+        writeTime(out, order.getCreatedAt());
+        writeTime(out, order.getUpdatedAt());
+    }
+
+    static Order readOrder(DataInput in) throws IOException {
+        return Order.builder()
+                .id(in.readLong())
+                .orderNumber(in.readUTF())
+                .account(Account.builder().id(in.readLong()).build())
+                .symbol(in.readUTF())
+                .type(Order.OrderType.values()[in.readByte()])
+                .side(Order.OrderSide.values()[in.readByte()])
+                .quantity(in.readInt())
+                .limitPrice(readDecimal(in))
+                .status(Order.OrderStatus.values()[in.readByte()])
+                .executedPrice(readDecimal(in))
+                .executedQuantity(in.readInt())
+                .createdAt(readTime(in))
+                .updatedAt(readTime(in))
+                .build();
+    }
+
+    static void writeBalance(DataOutput out, LedgerBalance balance) throws IOException {
+        out.writeLong(balance.balance());
+        out.writeLong(balance.reserved());
+        out.writeLong(balance.version());
+    }
+
+    static LedgerBalance readBalance(DataInput in) throws IOException {
+        return new LedgerBalance(in.readLong(), in.readLong(), in.readLong());
+    }
+
+    static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+        out.writeLong(value == null ? NULL_DECIMAL : Prices.toTicks(value));
+    }
+
+    static BigDecimal readDecimal(DataInput in) throws IOException {
+        long ticks = in.readLong();
+        return ticks == NULL_DECIMAL ? null : Prices.toDecimal(ticks);
+    }
+
+    private static void writeTime(DataOutput out, LocalDateTime time) throws IOException {
+        out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(time.getNano());
+    }
+
+    private static LocalDateTime readTime(DataInput in) throws IOException {
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,410 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.config.PersistenceProperties;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.exception.ServiceBusyException;
+import com.fizzexual.orderexecution.metrics.OrderMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind pipeline between the sequencer shards and the database. Shards {@link #submit}
+ * the rows produced by each command; the batch is journaled (when enabled) and the order can be
+ * acknowledged straight away. A single flusher thread coalesces queued batches and writes them
+ * with JDBC batching.
+ * <p>
+ * On startup the journal is read once: batches past the database checkpoint are written to the
+ * database, and the balances and open orders are rebuilt into a {@link RecoveredState} for
+ * {@link #takeRecoveredState()}, starting from the latest snapshot when there is one and from the
+ * beginning of the journal when it holds the complete history.
+ * <p>
+ * Capacity is reserved with {@link #reserve()} before a command is sequenced, so a full queue
+ * pushes back on new requests instead of on a shard that has already matched an order.
+ * <p>
+ * Reads that must see acknowledged-but-unflushed orders go through {@link #findPendingOrder}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WriteBehindWriter implements SmartLifecycle {
+
+    public static final int PHASE = 0;
+
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 5000;
+
+    private final PersistenceProperties properties;
+    private final JdbcBatchWriter jdbcBatchWriter;
+    private final IdAllocator idAllocator;
+    private final MeterRegistry meterRegistry;
+    private final OrderMetrics orderMetrics;
+
+    private final LinkedBlockingQueue<WriteBatch> queue = new LinkedBlockingQueue<>();
+    private final ConcurrentMap<Long, PendingOrder> pendingOrders = new ConcurrentHashMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private Semaphore capacity;
+    private OrderJournal journal;
+    private SnapshotStore snapshotStore;
+    private StateSnapshotter snapshotter;
+    private RecoveredState recoveredState;
+    private long lastSequence;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        capacity = new Semaphore(properties.getQueueCapacity());
+        if (properties.getJournal().isEnabled()) {
+            if (properties.getSnapshot().isEnabled()) {
+                snapshotStore = new SnapshotStore(properties.getSnapshot());
+                snapshotter = new StateSnapshotter(snapshotStore, properties.getSnapshot(), this::trimJournal,
+                        meterRegistry);
+            }
+            replayJournal(jdbcBatchWriter.maxId("orders") == 0);
+        }
+        idAllocator.seed(jdbcBatchWriter.maxId("orders"), jdbcBatchWriter.maxId("execution_logs"));
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "write-behind-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Write-behind writer started (flush size {}, interval {} ms, journal {})",
+                properties.getFlushSize(), properties.getFlushIntervalMillis(),
+                properties.getJournal().isEnabled() ? properties.getJournal().getDirectory() : "disabled");
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (snapshotter != null) {
+            snapshotter.stop();
+        }
+        closeJournal();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Reserves queue space for one command. Must be paired with either a {@link #submit} or a
+     * {@link #release()}.
+     */
+    public void reserve() {
+        try {
+            if (!capacity.tryAcquire(properties.getEnqueueTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ServiceBusyException("Order persistence queue is full, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting for persistence queue capacity");
+        }
+    }
+
+    public void release() {
+        capacity.release();
+    }
+
+    /**
+     * Journals the batch and queues it for the database. Once this returns the batch is durable
+     * (subject to the journal's fsync setting) and the command may be acknowledged.
+     */
+    public void submit(WriteBatch batch) {
+        appendLock.lock();
+        try {
+            long sequence = journal != null ? journal.append(batch) : ++lastSequence;
+            batch.setSequence(sequence);
+            batch.setSubmittedNanos(System.nanoTime());
+            trackPending(batch);
+            queue.add(batch);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to journal write batch", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * @return a copy of the order if it was acknowledged but has not reached the database yet
+     */
+    public Optional<Order> findPendingOrder(long orderId) {
+        PendingOrder pending = pendingOrders.get(orderId);
+        return pending == null ? Optional.empty() : Optional.of(pending.order.toBuilder().build());
+    }
+
+    /**
+     * Hands over the state rebuilt from the journal on startup, at most once.
+     *
+     * @return empty if the journal is disabled or does not hold the complete history
+     */
+    public Optional<RecoveredState> takeRecoveredState() {
+        Optional<RecoveredState> state = Optional.ofNullable(recoveredState);
+        recoveredState = null;
+        return state;
+    }
+
+    /**
+     * Starts periodic snapshots from the state the books were rebuilt with. A no-op unless both
+     * the journal and snapshots are enabled.
+     */
+    public void startSnapshots(RecoveredState state) {
+        if (snapshotter == null) {
+            return;
+        }
+        RecoveredState base = state.copy();
+        appendLock.lock();
+        try {
+            // Everything journaled so far is already in the database and therefore in the state.
+            base.setSequence(journal.getLastSequence());
+        } finally {
+            appendLock.unlock();
+        }
+        snapshotter.start(base);
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return capacity currently reserved: queued batches plus commands still being sequenced
+     */
+    public int inFlight() {
+        Semaphore current = capacity;
+        return current == null ? 0 : properties.getQueueCapacity() - current.availablePermits();
+    }
+
+    private void trackPending(WriteBatch batch) {
+        long sequence = batch.getSequence();
+        for (Order order : batch.getOrderInserts()) {
+            pendingOrders.put(order.getId(), new PendingOrder(order, sequence));
+        }
+        for (OrderUpdate update : batch.getOrderUpdates()) {
+            pendingOrders.computeIfPresent(update.getOrderId(), (id, pending) -> {
+                Order updated = pending.order.toBuilder().build();
+                update.applyTo(updated);
+                return new PendingOrder(updated, sequence);
+            });
+        }
+    }
+
+    /**
+     * Forgets the order once its latest change is in the database.
+     */
+    private void evictPending(long orderId, long flushedSequence) {
+        pendingOrders.computeIfPresent(orderId, (id, pending) -> pending.sequence <= flushedSequence ? null : pending);
+    }
+
+    private void runFlusher() {
+        List<WriteBatch> drained = new ArrayList<>(properties.getFlushSize());
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMillis());
+        while (running || !queue.isEmpty()) {
+            try {
+                WriteBatch first = queue.poll(intervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                drained.add(first);
+                long deadline = System.nanoTime() + intervalNanos;
+                while (drained.size() < properties.getFlushSize()) {
+                    queue.drainTo(drained, properties.getFlushSize() - drained.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (drained.size() >= properties.getFlushSize() || remaining <= 0) {
+                        break;
+                    }
+                    WriteBatch next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    drained.add(next);
+                }
+                flush(drained);
+                drained.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(List<WriteBatch> batches) throws InterruptedException {
+        long backoff = 100;
+        while (true) {
+            try {
+                jdbcBatchWriter.write(batches, properties.getFlushSize(), false);
+                break;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    if (journal != null) {
+                        log.error("Giving up on {} write batches during shutdown; they remain in the journal "
+                                + "and are written on the next start", batches.size(), e);
+                    } else {
+                        log.error("Giving up on {} write batches during shutdown; the journal is disabled, so "
+                                + "their orders, execution logs and balances are lost", batches.size(), e);
+                    }
+                    return;
+                }
+                log.error("Write-behind flush of {} batches failed, retrying in {} ms", batches.size(), backoff, e);
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_RETRY_BACKOFF_MILLIS);
+            }
+        }
+
+        long flushed = System.nanoTime();
+        for (WriteBatch batch : batches) {
+            if (batch.getSubmittedNanos() != 0) {
+                orderMetrics.recordPersistence(flushed - batch.getSubmittedNanos());
+            }
+        }
+
+        long flushedSequence = batches.get(batches.size() - 1).getSequence();
+        if (journal != null) {
+            try {
+                // The file write and rename stay outside the lock so that appends, and with them
+                // order acknowledgements, never wait on them.
+                journal.writeCheckpoint(flushedSequence);
+                appendLock.lock();
+                try {
+                    journal.checkpointed(flushedSequence);
+                } finally {
+                    appendLock.unlock();
+                }
+            } catch (IOException e) {
+                log.error("Failed to checkpoint order journal at {}", flushedSequence, e);
+            }
+        }
+        // An update can be flushed after the insert it applies to, so both release the order.
+        for (WriteBatch batch : batches) {
+            for (Order order : batch.getOrderInserts()) {
+                evictPending(order.getId(), flushedSequence);
+            }
+            for (OrderUpdate update : batch.getOrderUpdates()) {
+                evictPending(update.getOrderId(), flushedSequence);
+            }
+        }
+        if (snapshotter != null) {
+            snapshotter.offer(batches);
+        }
+        capacity.release(batches.size());
+    }
+
+    private void replayJournal(boolean databaseEmpty) {
+        journal = new OrderJournal(properties.getJournal(), meterRegistry);
+        try {
+            journal.open(databaseEmpty);
+            long checkpoint = journal.getCheckpoint();
+            RecoveredState state = loadSnapshot();
+            if (state == null && journal.isComplete()) {
+                state = new RecoveredState();
+            }
+            long stateSequence = state != null ? state.getSequence() : Long.MAX_VALUE;
+            RecoveredState replayState = state;
+            List<WriteBatch> unflushed = new ArrayList<>(properties.getFlushSize());
+            long started = System.nanoTime();
+
+            long replayed = journal.replay(Math.min(checkpoint, stateSequence), batch -> {
+                if (replayState != null && batch.getSequence() > stateSequence) {
+                    replayState.apply(batch);
+                }
+                if (batch.getSequence() > checkpoint) {
+                    unflushed.add(batch);
+                    if (unflushed.size() >= properties.getFlushSize()) {
+                        writeReplayed(unflushed);
+                    }
+                }
+            });
+            writeReplayed(unflushed);
+
+            recoveredState = state;
+            lastSequence = journal.getLastSequence();
+            log.info("Replayed {} journal records up to sequence {} in {} ms (state rebuilt: {})", replayed,
+                    lastSequence, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                    state == null ? "no" : stateSequence > 0 ? "from snapshot " + stateSequence : "from journal");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open order journal", e);
+        }
+    }
+
+    /**
+     * @return the latest snapshot, if there is one the journal can be replayed on top of
+     */
+    private RecoveredState loadSnapshot() throws IOException {
+        if (snapshotStore == null) {
+            return null;
+        }
+        RecoveredState snapshot = snapshotStore.loadLatest().orElse(null);
+        if (snapshot != null && (snapshot.getSequence() + 1 < journal.firstSequence()
+                || snapshot.getSequence() > journal.getLastSequence())) {
+            log.warn("Ignoring snapshot at sequence {}: journal covers {} to {}", snapshot.getSequence(),
+                    journal.firstSequence(), journal.getLastSequence());
+            return null;
+        }
+        return snapshot;
+    }
+
+    private void trimJournal(long sequence) {
+        appendLock.lock();
+        try {
+            int deleted = journal.deleteSegmentsBefore(sequence);
+            if (deleted > 0) {
+                log.info("Deleted {} journal segments covered by the snapshot at sequence {}", deleted, sequence);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to trim order journal before sequence {}", sequence, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void writeReplayed(List<WriteBatch> batches) {
+        if (batches.isEmpty()) {
+            return;
+        }
+        jdbcBatchWriter.write(batches, properties.getFlushSize(), true);
+        try {
+            journal.checkpoint(batches.get(batches.size() - 1).getSequence());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to checkpoint order journal", e);
+        }
+        batches.clear();
+    }
+
+    private void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Failed to close order journal", e);
+        }
+    }
+
+    private record PendingOrder(Order order, long sequence) {
+    }
+}
@@ -0,0 +1,44 @@
+package com.fizzexual.orderexecution.position;
+
+import com.fizzexual.orderexecution.exception.ServiceBusyException;
+import com.fizzexual.orderexecution.marketdata.MarketDataListener;
+import com.fizzexual.orderexecution.marketdata.Quote;
+import com.fizzexual.orderexecution.sequencer.OrderSequencer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Revalues a symbol's positions at the last price of each new quote, on the symbol's sequencer
+ * shard so it never races a fill. At most one revaluation per symbol is queued at a time: quotes
+ * that arrive while one is waiting only replace the price it will use.
+ */
+@Component
+@RequiredArgsConstructor
+public class MarkToMarket implements MarketDataListener {
+
+    private final PositionBook positionBook;
+    private final OrderSequencer orderSequencer;
+    private final ConcurrentMap<String, AtomicLong> pendingPrices = new ConcurrentHashMap<>();
+
+    @Override
+    public void onQuote(Quote quote) {
+        String symbol = quote.symbol();
+        AtomicLong pending = pendingPrices.computeIfAbsent(symbol, ignored -> new AtomicLong());
+        if (pending.getAndSet(quote.last()) != 0L) {
+            return;
+        }
+        try {
+            orderSequencer.submit(symbol, () -> {
+                positionBook.revalue(symbol, pending.getAndSet(0L));
+                return null;
+            });
+        } catch (ServiceBusyException e) {
+            // The shard is saturated with orders; the next quote tries again.
+            pending.set(0L);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.fizzexual.orderexecution.position;
+
+import com.fizzexual.orderexecution.entity.Order;
+
+import java.time.LocalDateTime;
+
+/**
+ * One account's position in one symbol. Amounts are in ticks; {@code quantity} and
+ * {@code costBasis} are negative for a short position.
+ * <p>
+ * Cost is tracked as an average: a fill that reduces the position closes the closed quantity's
+ * share of the cost basis and realizes the difference to the fill price; a fill that crosses
+ * through flat opens the remainder at the fill price.
+ *
+ * @param lastExecutionLogId the most recent execution log applied
+ */
+public record NetPosition(long accountId, String symbol, long quantity, long costBasis, long realizedPnl,
+                          long lastExecutionLogId, LocalDateTime updatedAt) {
+
+    public static NetPosition flat(long accountId, String symbol) {
+        return new NetPosition(accountId, symbol, 0L, 0L, 0L, 0L, null);
+    }
+
+    /**
+     * @return this position after a fill of {@code fillQuantity} units at {@code price} ticks
+     */
+    public NetPosition apply(Order.OrderSide side, long fillQuantity, long price, long executionLogId,
+                             LocalDateTime executedAt) {
+        long signed = side == Order.OrderSide.BUY ? fillQuantity : -fillQuantity;
+        long quantity = this.quantity;
+        long costBasis = this.costBasis;
+        long realizedPnl = this.realizedPnl;
+
+        if (quantity != 0 && Long.signum(quantity) != Long.signum(signed)) {
+            long direction = Long.signum(quantity);
+            long closed = Math.min(Math.abs(signed), Math.abs(quantity));
+            long closedCost = costBasis * closed / Math.abs(quantity);
+            realizedPnl += direction * closed * price - closedCost;
+            costBasis -= closedCost;
+            quantity -= direction * closed;
+            signed += direction * closed;
+        }
+        quantity += signed;
+        costBasis += signed * price;
+        return new NetPosition(accountId, symbol, quantity, costBasis, realizedPnl, executionLogId, executedAt);
+    }
+}
@@ -0,0 +1,274 @@
+package com.fizzexual.orderexecution.position;
+
+import com.fizzexual.orderexecution.config.PositionProperties;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.persistence.WriteBehindWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Net position, average cost and realized P&L per account and symbol, maintained incrementally
+ * from every fill so that reading an account's positions never touches the execution logs.
+ * <p>
+ * A position is only changed from its symbol's sequencer shard, which replaces the immutable
+ * {@link NetPosition}; readers on other threads always see a complete one.
+ * <p>
+ * Unrealized P&L is kept per account, summed over its symbols. Each symbol's positions are also
+ * held as parallel arrays, so that {@link #revalue} can mark all of them to a new price in one
+ * pass without allocating, and adjusts each account's total by the change.
+ * <p>
+ * Changed positions are checkpointed to the {@code positions} table every
+ * {@code checkpointIntervalMillis} and on shutdown. On startup the checkpoint is loaded and the
+ * fills executed since it are replayed from the execution logs; a fill a position already
+ * includes is recognised by its execution log id and skipped. With no checkpoint the whole
+ * history is replayed, which is how positions are backfilled the first time. Runs after the
+ * {@link WriteBehindWriter} has written its journal to the database.
+ */
+@Component
+@Slf4j
+public class PositionBook implements SmartLifecycle {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final PositionStore positionStore;
+    private final PositionProperties properties;
+    private final ConcurrentMap<Long, ConcurrentMap<String, NetPosition>> positions = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, SymbolMarks> marks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, AtomicLong> unrealizedPnl = new ConcurrentHashMap<>();
+    private final Set<Key> dirty = ConcurrentHashMap.newKeySet();
+    /**
+     * Positions that have a row, so the checkpoint knows whether to insert or update. Only used
+     * while holding the checkpoint lock.
+     */
+    private final Set<Key> persisted = new HashSet<>();
+    private final ScheduledExecutorService checkpointer;
+    private volatile boolean running;
+
+    public PositionBook(PositionStore positionStore, PositionProperties properties) {
+        this.positionStore = positionStore;
+        this.properties = properties;
+        this.checkpointer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "position-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void start() {
+        recover();
+        if (properties.getCheckpointIntervalMillis() > 0) {
+            checkpointer.scheduleWithFixedDelay(this::checkpoint, properties.getCheckpointIntervalMillis(),
+                    properties.getCheckpointIntervalMillis(), TimeUnit.MILLISECONDS);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        checkpointer.shutdownNow();
+        checkpoint();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return WriteBehindWriter.PHASE + 1;
+    }
+
+    /**
+     * Applies a fill to the account's position. Must run on the symbol's sequencer shard.
+     *
+     * @param price fill price in ticks
+     */
+    public void onFill(long accountId, String symbol, Order.OrderSide side, long quantity, long price,
+                       long executionLogId, LocalDateTime executedAt) {
+        Map<String, NetPosition> account = positions.computeIfAbsent(accountId, id -> new ConcurrentHashMap<>());
+        NetPosition current = account.get(symbol);
+        if (current == null) {
+            current = NetPosition.flat(accountId, symbol);
+        } else if (executionLogId <= current.lastExecutionLogId()) {
+            return;
+        }
+        NetPosition updated = current.apply(side, quantity, price, executionLogId, executedAt);
+        account.put(symbol, updated);
+        marks(symbol).set(updated);
+        dirty.add(new Key(accountId, symbol));
+    }
+
+    /**
+     * Marks every position in {@code symbol} to {@code price}. Must run on the symbol's sequencer
+     * shard.
+     *
+     * @param price mark price in ticks
+     */
+    public void revalue(String symbol, long price) {
+        marks(symbol).revalue(price);
+    }
+
+    /**
+     * @return the account's unrealized P&L in ticks over all symbols, as of each symbol's last mark
+     */
+    public long unrealizedPnl(long accountId) {
+        AtomicLong total = unrealizedPnl.get(accountId);
+        return total == null ? 0L : total.get();
+    }
+
+    /**
+     * @return the account's net position in {@code symbol} in units, negative when short
+     */
+    public long quantity(long accountId, String symbol) {
+        Map<String, NetPosition> account = positions.get(accountId);
+        NetPosition position = account == null ? null : account.get(symbol);
+        return position == null ? 0L : position.quantity();
+    }
+
+    /**
+     * @return the account's positions by symbol, including flat ones that still carry realized P&L
+     */
+    public List<NetPosition> positions(long accountId) {
+        Map<String, NetPosition> account = positions.get(accountId);
+        if (account == null) {
+            return List.of();
+        }
+        List<NetPosition> result = new ArrayList<>(account.values());
+        result.sort(Comparator.comparing(NetPosition::symbol));
+        return result;
+    }
+
+    /**
+     * Passes every position, in no particular order, to {@code action}.
+     */
+    public void forEachPosition(Consumer<NetPosition> action) {
+        positions.values().forEach(account -> account.values().forEach(action));
+    }
+
+    /**
+     * Writes every position changed since the last checkpoint. A failed write is retried with
+     * the next checkpoint.
+     */
+    synchronized void checkpoint() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<Key> keys = new ArrayList<>(dirty);
+        dirty.removeAll(keys);
+        List<NetPosition> inserts = new ArrayList<>();
+        List<NetPosition> updates = new ArrayList<>();
+        for (Key key : keys) {
+            NetPosition position = positions.get(key.accountId()).get(key.symbol());
+            (persisted.contains(key) ? updates : inserts).add(position);
+        }
+        try {
+            positionStore.write(inserts, updates);
+            persisted.addAll(keys);
+        } catch (RuntimeException e) {
+            dirty.addAll(keys);
+            log.warn("Position checkpoint of {} positions failed, will retry: {}", keys.size(), e.getMessage());
+        }
+    }
+
+    synchronized void recover() {
+        LocalDateTime newest = null;
+        List<NetPosition> checkpoint = positionStore.load();
+        for (NetPosition position : checkpoint) {
+            positions.computeIfAbsent(position.accountId(), id -> new ConcurrentHashMap<>())
+                    .put(position.symbol(), position);
+            marks(position.symbol()).set(position);
+            persisted.add(new Key(position.accountId(), position.symbol()));
+            if (newest == null || position.updatedAt().isAfter(newest)) {
+                newest = position.updatedAt();
+            }
+        }
+
+        int[] replayed = new int[1];
+        LocalDateTime since = newest == null ? BEGINNING : newest.minusNanos(
+                TimeUnit.MILLISECONDS.toNanos(properties.getReplayMarginMillis()));
+        positionStore.forEachFillSince(since, (executionLogId, accountId, symbol, side, quantity, price, executedAt) -> {
+            onFill(accountId, symbol, side, quantity, price, executionLogId, executedAt);
+            replayed[0]++;
+        });
+        log.info("Loaded {} positions from the checkpoint and replayed {} fills executed since {}", checkpoint.size(),
+                replayed[0], newest == null ? "the beginning" : since);
+    }
+
+    private SymbolMarks marks(String symbol) {
+        return marks.computeIfAbsent(symbol, ignored -> new SymbolMarks());
+    }
+
+    private record Key(long accountId, String symbol) {
+    }
+
+    /**
+     * The positions in one symbol, by slot. Only touched from the symbol's shard.
+     */
+    private final class SymbolMarks {
+
+        private final Map<Long, Integer> slots = new HashMap<>();
+        private long[] quantities = new long[16];
+        private long[] costBases = new long[16];
+        private long[] unrealized = new long[16];
+        private AtomicLong[] totals = new AtomicLong[16];
+        private int size;
+        private long price;
+
+        private void set(NetPosition position) {
+            Integer slot = slots.get(position.accountId());
+            if (slot == null) {
+                slot = add(position.accountId());
+            }
+            quantities[slot] = position.quantity();
+            costBases[slot] = position.costBasis();
+            mark(slot);
+        }
+
+        private void revalue(long price) {
+            this.price = price;
+            for (int slot = 0; slot < size; slot++) {
+                mark(slot);
+            }
+        }
+
+        private void mark(int slot) {
+            long value = price == 0 || quantities[slot] == 0 ? 0L : quantities[slot] * price - costBases[slot];
+            totals[slot].addAndGet(value - unrealized[slot]);
+            unrealized[slot] = value;
+        }
+
+        private int add(long accountId) {
+            if (size == quantities.length) {
+                int capacity = size * 2;
+                quantities = Arrays.copyOf(quantities, capacity);
+                costBases = Arrays.copyOf(costBases, capacity);
+                unrealized = Arrays.copyOf(unrealized, capacity);
+                totals = Arrays.copyOf(totals, capacity);
+            }
+            totals[size] = unrealizedPnl.computeIfAbsent(accountId, id -> new AtomicLong());
+            slots.put(accountId, size);
+            return size++;
+        }
+    }
+}
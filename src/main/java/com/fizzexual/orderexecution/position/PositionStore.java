@@ -0,0 +1,111 @@
+package com.fizzexual.orderexecution.position;
+
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.matching.Prices;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and writes the {@code positions} checkpoint with plain JDBC, like the
+ * {@link com.fizzexual.orderexecution.persistence.JdbcBatchWriter}, and reads back the fills a
+ * checkpoint may be missing.
+ */
+@Component
+@RequiredArgsConstructor
+public class PositionStore {
+
+    private static final String SELECT_POSITIONS =
+            "SELECT account_id, symbol, quantity, cost_basis, realized_pnl, last_execution_log_id, updated_at " +
+            "FROM positions";
+
+    private static final String INSERT_POSITION =
+            "INSERT INTO positions (account_id, symbol, quantity, cost_basis, realized_pnl, last_execution_log_id, " +
+            "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_POSITION =
+            "UPDATE positions SET quantity = ?, cost_basis = ?, realized_pnl = ?, last_execution_log_id = ?, " +
+            "updated_at = ? WHERE account_id = ? AND symbol = ?";
+
+    private static final String SELECT_FILLS =
+            "SELECT e.id, o.account_id, o.symbol, o.side, e.quantity, e.price, e.executed_at " +
+            "FROM execution_logs e JOIN orders o ON o.id = e.order_id " +
+            "WHERE e.quantity > 0 AND e.executed_at >= ? ORDER BY e.id";
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<NetPosition> load() {
+        return jdbcTemplate.query(SELECT_POSITIONS, (rs, row) -> new NetPosition(
+                rs.getLong("account_id"),
+                rs.getString("symbol"),
+                rs.getLong("quantity"),
+                Prices.toTicks(rs.getBigDecimal("cost_basis")),
+                Prices.toTicks(rs.getBigDecimal("realized_pnl")),
+                rs.getLong("last_execution_log_id"),
+                rs.getTimestamp("updated_at").toLocalDateTime()));
+    }
+
+    /**
+     * Streams every fill executed at or after {@code since}, oldest first, without holding them
+     * all in memory.
+     */
+    public void forEachFillSince(LocalDateTime since, FillHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_FILLS);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setTimestamp(1, Timestamp.valueOf(since));
+            return ps;
+        }, (RowCallbackHandler) rs -> handler.onFill(
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getString(3),
+                Order.OrderSide.valueOf(rs.getString(4)),
+                rs.getInt(5),
+                Prices.toTicks(rs.getBigDecimal(6)),
+                rs.getTimestamp(7).toLocalDateTime()));
+    }
+
+    @Transactional
+    public void write(Collection<NetPosition> inserts, Collection<NetPosition> updates) {
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_POSITION, inserts, inserts.size(), (ps, position) -> {
+                ps.setLong(1, position.accountId());
+                ps.setString(2, position.symbol());
+                ps.setLong(3, position.quantity());
+                ps.setBigDecimal(4, Prices.toDecimal(position.costBasis()));
+                ps.setBigDecimal(5, Prices.toDecimal(position.realizedPnl()));
+                ps.setLong(6, position.lastExecutionLogId());
+                ps.setTimestamp(7, Timestamp.valueOf(position.updatedAt()));
+            });
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_POSITION, updates, updates.size(), (ps, position) -> {
+                ps.setLong(1, position.quantity());
+                ps.setBigDecimal(2, Prices.toDecimal(position.costBasis()));
+                ps.setBigDecimal(3, Prices.toDecimal(position.realizedPnl()));
+                ps.setLong(4, position.lastExecutionLogId());
+                ps.setTimestamp(5, Timestamp.valueOf(position.updatedAt()));
+                ps.setLong(6, position.accountId());
+                ps.setString(7, position.symbol());
+            });
+        }
+    }
+
+    @FunctionalInterface
+    public interface FillHandler {
+
+        void onFill(long executionLogId, long accountId, String symbol, Order.OrderSide side, int quantity,
+                    long price, LocalDateTime executedAt) throws SQLException;
+    }
+}
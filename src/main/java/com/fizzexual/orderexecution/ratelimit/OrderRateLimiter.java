@@ -0,0 +1,175 @@
+package com.fizzexual.orderexecution.ratelimit;
+
+import com.fizzexual.orderexecution.config.BatchProperties;
+import com.fizzexual.orderexecution.config.RateLimitProperties;
+import com.fizzexual.orderexecution.dto.OrderRequest;
+import com.fizzexual.orderexecution.exception.RateLimitExceededException;
+import com.fizzexual.orderexecution.service.AccountStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per account (or per user) in front of order entry, so a runaway client is turned
+ * away before it reaches the sequencer.
+ * <p>
+ * Each bucket is a single {@code long} advanced with compare-and-set: the time at which it will
+ * be full again (the generic cell rate algorithm, which behaves exactly like a token bucket of
+ * {@code burst} tokens refilled at {@code ordersPerSecond}). That instant also gives the
+ * Retry-After of a rejected order directly.
+ * <p>
+ * At most {@code maxBuckets} buckets are kept. Once that is reached, buckets that are full again
+ * are dropped, as a new bucket starts full anyway; if that is not enough, arbitrary buckets go,
+ * which at worst hands their owners a fresh burst.
+ */
+@Component
+public class OrderRateLimiter {
+
+    private final RateLimitProperties properties;
+    private final BatchProperties batchProperties;
+    private final AccountStore accountStore;
+    private final LongSupplier nanoClock;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final ConcurrentMap<Long, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    @Autowired
+    public OrderRateLimiter(RateLimitProperties properties, BatchProperties batchProperties,
+                            AccountStore accountStore) {
+        this(properties, batchProperties, accountStore, System::nanoTime);
+    }
+
+    OrderRateLimiter(RateLimitProperties properties, BatchProperties batchProperties, AccountStore accountStore,
+                     LongSupplier nanoClock) {
+        this.properties = properties;
+        this.batchProperties = batchProperties;
+        this.accountStore = accountStore;
+        this.nanoClock = nanoClock;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(properties.getOrdersPerSecond(), 1);
+        this.burstNanos = intervalNanos * Math.max(properties.getBurst(), 1);
+    }
+
+    /**
+     * Takes one token for an order from {@code accountId}.
+     *
+     * @throws RateLimitExceededException if the bucket is empty
+     */
+    public void acquire(long accountId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        take(bucket(key(accountId), now), intervalNanos, now);
+    }
+
+    /**
+     * Takes tokens for a basket from each order's account, all or nothing: if any bucket falls
+     * short, the tokens already taken for the basket are given back. A basket is placed in chunks
+     * of {@code execution.batch.chunk-size} orders, one sequencer task each, so an account is
+     * charged one token per chunk its orders fill, never more than the burst. Orders without an
+     * account are left to validation.
+     *
+     * @throws RateLimitExceededException if a bucket does not hold enough tokens
+     */
+    public void acquire(List<OrderRequest> basket) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Map<Long, Integer> ordersByKey = new HashMap<>();
+        for (OrderRequest request : basket) {
+            if (request != null && request.getAccountId() != null) {
+                ordersByKey.merge(key(request.getAccountId()), 1, Integer::sum);
+            }
+        }
+
+        long now = nanoClock.getAsLong();
+        Map<AtomicLong, Long> taken = new HashMap<>();
+        try {
+            for (Map.Entry<Long, Integer> entry : ordersByKey.entrySet()) {
+                AtomicLong bucket = bucket(entry.getKey(), now);
+                long cost = intervalNanos * chunks(entry.getValue());
+                take(bucket, cost, now);
+                taken.put(bucket, cost);
+            }
+        } catch (RateLimitExceededException e) {
+            taken.forEach((bucket, cost) -> bucket.addAndGet(-cost));
+            throw e;
+        }
+    }
+
+    private void take(AtomicLong bucket, long cost, long now) {
+        while (true) {
+            long fullAt = bucket.get();
+            long next = Math.max(fullAt, now) + cost;
+            if (next - now > burstNanos) {
+                long waitNanos = next - now - burstNanos;
+                throw new RateLimitExceededException("Order rate limit exceeded, retry later",
+                        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return;
+            }
+        }
+    }
+
+    private long chunks(int orders) {
+        int chunkSize = Math.max(batchProperties.getChunkSize(), 1);
+        return Math.min((orders + chunkSize - 1) / chunkSize, Math.max(properties.getBurst(), 1));
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Users are resolved through the {@link AccountStore}, so only an account's first order
+     * reaches the database. Unknown accounts fall back to their own bucket; user keys are
+     * negated so the two never collide.
+     */
+    private long key(long accountId) {
+        if (properties.getKey() == RateLimitProperties.Key.ACCOUNT) {
+            return accountId;
+        }
+        return accountStore.find(accountId)
+                .map(account -> -account.getUser().getId())
+                .orElse(accountId);
+    }
+
+    private AtomicLong bucket(long key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= properties.getMaxBuckets()) {
+            evict(now);
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(bucket -> bucket.get() <= now);
+            Iterator<Long> keys = buckets.keySet().iterator();
+            while (buckets.size() >= properties.getMaxBuckets() && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
@@ -1,15 +1,46 @@
 package com.fizzexual.orderexecution.repository;
 
+import com.fizzexual.orderexecution.dto.ExecutionLogResponse;
 import com.fizzexual.orderexecution.entity.ExecutionLog;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExecutionLogRepository extends JpaRepository<ExecutionLog, Long> {
     
     List<ExecutionLog> findByOrderId(Long orderId);
-    
-    List<ExecutionLog> findByOrderIdOrderByExecutedAtDesc(Long orderId);
+
+    /**
+     * Select clause reading straight into {@link ExecutionLogResponse} without hydrating the log
+     * or its order.
+     */
+    String SELECT_RESPONSE = "SELECT new com.fizzexual.orderexecution.dto.ExecutionLogResponse(l.id, l.order.id, " +
+            "l.quantity, l.price, l.totalAmount, l.status, l.message, l.executedAt) FROM ExecutionLog l ";
+
+    @Query(SELECT_RESPONSE + "WHERE l.order.id = :orderId ORDER BY l.executedAt DESC, l.id DESC")
+    List<ExecutionLogResponse> findResponsesByOrderId(@Param("orderId") Long orderId);
+
+    @Query(SELECT_RESPONSE + "WHERE l.executedAt >= :executedAt " +
+           "AND (l.executedAt > :executedAt OR l.id > :id) ORDER BY l.executedAt, l.id")
+    List<ExecutionLogResponse> findPageAfter(@Param("executedAt") LocalDateTime executedAt, @Param("id") Long id,
+                                             Pageable pageable);
+
+    @Query(SELECT_RESPONSE + "WHERE l.executedAt <= :executedAt " +
+           "AND (l.executedAt < :executedAt OR l.id < :id) ORDER BY l.executedAt DESC, l.id DESC")
+    List<ExecutionLogResponse> findPageBefore(@Param("executedAt") LocalDateTime executedAt, @Param("id") Long id,
+                                              Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_RESPONSE + "ORDER BY l.executedAt, l.id")
+    Stream<ExecutionLogResponse> streamAll();
 }
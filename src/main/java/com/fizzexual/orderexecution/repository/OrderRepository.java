@@ -1,14 +1,20 @@
 package com.fizzexual.orderexecution.repository;
 
+import com.fizzexual.orderexecution.dto.OrderResponse;
 import com.fizzexual.orderexecution.entity.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -23,7 +29,77 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByAccountIdAndStatus(@Param("accountId") Long accountId, 
                                          @Param("status") Order.OrderStatus status);
     
-    @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate")
-    List<Order> findOrdersByDateRange(@Param("startDate") LocalDateTime startDate, 
+    /**
+     * Orders created from {@code startDate} inclusive to {@code endDate} exclusive. Half-open like
+     * the partition bounds, so a range of whole days only reads those days' partitions.
+     */
+    @Query("SELECT o FROM Order o WHERE o.createdAt >= :startDate AND o.createdAt < :endDate")
+    List<Order> findOrdersByDateRange(@Param("startDate") LocalDateTime startDate,
                                       @Param("endDate") LocalDateTime endDate);
+    
+    @Query("SELECT o FROM Order o WHERE o.type = 'LIMIT' AND o.status IN ('PENDING', 'PARTIALLY_FILLED') " +
+           "ORDER BY o.createdAt, o.id")
+    List<Order> findOpenLimitOrders();
+
+    /**
+     * Select clause reading straight into {@link OrderResponse}: {@code o.account.id} resolves to
+     * the foreign key column, so neither the order nor its account is hydrated.
+     */
+    String SELECT_RESPONSE = "SELECT new com.fizzexual.orderexecution.dto.OrderResponse(o.id, o.orderNumber, " +
+            "o.account.id, o.symbol, o.type, o.side, o.quantity, o.limitPrice, o.status, o.executedPrice, " +
+            "o.executedQuantity, o.createdAt, o.updatedAt) FROM Order o ";
+
+    /**
+     * {@link #findById} for an order known to be created in {@code [createdFrom, createdTo)}; on
+     * partitioned tables only those days are searched.
+     */
+    @Query("SELECT o FROM Order o WHERE o.id = :id AND o.createdAt >= :createdFrom AND o.createdAt < :createdTo")
+    Optional<Order> findByIdCreatedBetween(@Param("id") Long id, @Param("createdFrom") LocalDateTime createdFrom,
+                                           @Param("createdTo") LocalDateTime createdTo);
+
+    @Query(SELECT_RESPONSE + "WHERE o.orderNumber = :orderNumber")
+    Optional<OrderResponse> findResponseByOrderNumber(@Param("orderNumber") String orderNumber);
+
+    /**
+     * {@link #findResponseByOrderNumber} for an order known to be created in
+     * {@code [createdFrom, createdTo)}; on partitioned tables only those days are searched.
+     */
+    @Query(SELECT_RESPONSE + "WHERE o.orderNumber = :orderNumber " +
+           "AND o.createdAt >= :createdFrom AND o.createdAt < :createdTo")
+    Optional<OrderResponse> findResponseByOrderNumberCreatedBetween(@Param("orderNumber") String orderNumber,
+                                                                    @Param("createdFrom") LocalDateTime createdFrom,
+                                                                    @Param("createdTo") LocalDateTime createdTo);
+
+    // Keyset pages on (createdAt, id). The redundant range on createdAt lets the planner use
+    // idx_order_created for the seek instead of filtering the OR.
+
+    @Query(SELECT_RESPONSE + "WHERE o.createdAt >= :createdAt " +
+           "AND (o.createdAt > :createdAt OR o.id > :id) ORDER BY o.createdAt, o.id")
+    List<OrderResponse> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                      Pageable pageable);
+
+    @Query(SELECT_RESPONSE + "WHERE o.createdAt <= :createdAt " +
+           "AND (o.createdAt < :createdAt OR o.id < :id) ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderResponse> findPageBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                       Pageable pageable);
+
+    @Query(SELECT_RESPONSE + "WHERE o.account.id = :accountId AND o.createdAt >= :createdAt " +
+           "AND (o.createdAt > :createdAt OR o.id > :id) ORDER BY o.createdAt, o.id")
+    List<OrderResponse> findAccountPageAfter(@Param("accountId") Long accountId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_RESPONSE + "WHERE o.account.id = :accountId AND o.createdAt <= :createdAt " +
+           "AND (o.createdAt < :createdAt OR o.id < :id) ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderResponse> findAccountPageBefore(@Param("accountId") Long accountId,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_RESPONSE + "ORDER BY o.createdAt, o.id")
+    Stream<OrderResponse> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_RESPONSE + "WHERE o.account.id = :accountId ORDER BY o.createdAt, o.id")
+    Stream<OrderResponse> streamByAccountId(@Param("accountId") Long accountId);
 }
@@ -0,0 +1,32 @@
+package com.fizzexual.orderexecution.repository.r2dbc;
+
+import com.fizzexual.orderexecution.entity.Account;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC view of the {@code accounts} table. The schema is owned by the JPA {@link Account}
+ * entity; this type only reads it.
+ */
+@Table("accounts")
+@Getter
+@Setter
+@NoArgsConstructor
+public class AccountRecord {
+
+    @Id
+    private Long id;
+    private String accountNumber;
+    private Long userId;
+    private BigDecimal balance;
+    private BigDecimal availableBalance;
+    private Account.AccountStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
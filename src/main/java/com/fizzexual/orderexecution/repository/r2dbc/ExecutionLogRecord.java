@@ -0,0 +1,32 @@
+package com.fizzexual.orderexecution.repository.r2dbc;
+
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC view of the {@code execution_logs} table. The schema is owned by the JPA
+ * {@link ExecutionLog} entity; this type only reads it.
+ */
+@Table("execution_logs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ExecutionLogRecord {
+
+    @Id
+    private Long id;
+    private Long orderId;
+    private Integer quantity;
+    private BigDecimal price;
+    private BigDecimal totalAmount;
+    private ExecutionLog.ExecutionStatus status;
+    private String message;
+    private LocalDateTime executedAt;
+}
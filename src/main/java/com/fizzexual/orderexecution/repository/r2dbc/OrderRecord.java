@@ -0,0 +1,37 @@
+package com.fizzexual.orderexecution.repository.r2dbc;
+
+import com.fizzexual.orderexecution.entity.Order;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC view of the {@code orders} table. The schema is owned by the JPA {@link Order} entity;
+ * this type only reads it.
+ */
+@Table("orders")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderRecord {
+
+    @Id
+    private Long id;
+    private String orderNumber;
+    private Long accountId;
+    private String symbol;
+    private Order.OrderType type;
+    private Order.OrderSide side;
+    private Integer quantity;
+    private BigDecimal limitPrice;
+    private Order.OrderStatus status;
+    private BigDecimal executedPrice;
+    private Integer executedQuantity;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
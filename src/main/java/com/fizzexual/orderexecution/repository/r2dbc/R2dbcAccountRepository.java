@@ -0,0 +1,31 @@
+package com.fizzexual.orderexecution.repository.r2dbc;
+
+import com.fizzexual.orderexecution.dto.AccountResponse;
+import com.fizzexual.orderexecution.repository.AccountRepository;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link AccountRepository}'s read queries, used by the reactive
+ * profile. Rows are read straight into {@link AccountResponse}.
+ */
+public interface R2dbcAccountRepository extends R2dbcRepository<AccountRecord, Long> {
+
+    String SELECT_RESPONSE = "SELECT id, account_number, user_id, balance, available_balance, status, created_at " +
+            "FROM accounts ";
+
+    @Query(SELECT_RESPONSE + "WHERE id = :id")
+    Mono<AccountResponse> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE + "WHERE account_number = :accountNumber")
+    Mono<AccountResponse> findResponseByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query(SELECT_RESPONSE + "WHERE user_id = :userId ORDER BY id")
+    Flux<AccountResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    @Query(SELECT_RESPONSE + "ORDER BY id")
+    Flux<AccountResponse> findAllResponses();
+}
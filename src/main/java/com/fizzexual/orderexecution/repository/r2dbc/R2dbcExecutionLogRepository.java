@@ -0,0 +1,36 @@
+package com.fizzexual.orderexecution.repository.r2dbc;
+
+import com.fizzexual.orderexecution.dto.ExecutionLogResponse;
+import com.fizzexual.orderexecution.repository.ExecutionLogRepository;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking counterpart of {@link ExecutionLogRepository}'s read queries, used by the reactive
+ * profile. Rows are read straight into {@link ExecutionLogResponse}.
+ */
+public interface R2dbcExecutionLogRepository extends R2dbcRepository<ExecutionLogRecord, Long> {
+
+    String SELECT_RESPONSE = "SELECT id, order_id, quantity, price, total_amount, status, message, executed_at " +
+            "FROM execution_logs ";
+
+    @Query(SELECT_RESPONSE + "WHERE order_id = :orderId ORDER BY executed_at DESC, id DESC")
+    Flux<ExecutionLogResponse> findResponsesByOrderId(@Param("orderId") Long orderId);
+
+    @Query(SELECT_RESPONSE + "WHERE executed_at >= :executedAt " +
+           "AND (executed_at > :executedAt OR id > :id) ORDER BY executed_at, id LIMIT :limit")
+    Flux<ExecutionLogResponse> findPageAfter(@Param("executedAt") LocalDateTime executedAt, @Param("id") Long id,
+                                             @Param("limit") int limit);
+
+    @Query(SELECT_RESPONSE + "WHERE executed_at <= :executedAt " +
+           "AND (executed_at < :executedAt OR id < :id) ORDER BY executed_at DESC, id DESC LIMIT :limit")
+    Flux<ExecutionLogResponse> findPageBefore(@Param("executedAt") LocalDateTime executedAt, @Param("id") Long id,
+                                              @Param("limit") int limit);
+
+    @Query(SELECT_RESPONSE + "ORDER BY executed_at, id")
+    Flux<ExecutionLogResponse> streamAll();
+}
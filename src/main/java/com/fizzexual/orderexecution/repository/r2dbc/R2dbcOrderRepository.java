@@ -0,0 +1,68 @@
+package com.fizzexual.orderexecution.repository.r2dbc;
+
+import com.fizzexual.orderexecution.dto.OrderResponse;
+import com.fizzexual.orderexecution.repository.OrderRepository;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking counterpart of {@link OrderRepository}'s read queries, used by the reactive
+ * profile. Rows are read straight into {@link OrderResponse}.
+ */
+public interface R2dbcOrderRepository extends R2dbcRepository<OrderRecord, Long> {
+
+    String SELECT_RESPONSE = "SELECT id, order_number, account_id, symbol, type, side, quantity, limit_price, " +
+            "status, executed_price, executed_quantity, created_at, updated_at FROM orders ";
+
+    @Query(SELECT_RESPONSE + "WHERE id = :id")
+    Mono<OrderResponse> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE + "WHERE id = :id AND created_at >= :createdFrom AND created_at < :createdTo")
+    Mono<OrderResponse> findResponseByIdCreatedBetween(@Param("id") Long id,
+                                                       @Param("createdFrom") LocalDateTime createdFrom,
+                                                       @Param("createdTo") LocalDateTime createdTo);
+
+    @Query(SELECT_RESPONSE + "WHERE order_number = :orderNumber")
+    Mono<OrderResponse> findResponseByOrderNumber(@Param("orderNumber") String orderNumber);
+
+    @Query(SELECT_RESPONSE + "WHERE order_number = :orderNumber AND created_at >= :createdFrom " +
+           "AND created_at < :createdTo")
+    Mono<OrderResponse> findResponseByOrderNumberCreatedBetween(@Param("orderNumber") String orderNumber,
+                                                                @Param("createdFrom") LocalDateTime createdFrom,
+                                                                @Param("createdTo") LocalDateTime createdTo);
+
+    // Same keyset pages on (created_at, id) as OrderRepository.
+
+    @Query(SELECT_RESPONSE + "WHERE created_at >= :createdAt " +
+           "AND (created_at > :createdAt OR id > :id) ORDER BY created_at, id LIMIT :limit")
+    Flux<OrderResponse> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                      @Param("limit") int limit);
+
+    @Query(SELECT_RESPONSE + "WHERE created_at <= :createdAt " +
+           "AND (created_at < :createdAt OR id < :id) ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<OrderResponse> findPageBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                       @Param("limit") int limit);
+
+    @Query(SELECT_RESPONSE + "WHERE account_id = :accountId AND created_at >= :createdAt " +
+           "AND (created_at > :createdAt OR id > :id) ORDER BY created_at, id LIMIT :limit")
+    Flux<OrderResponse> findAccountPageAfter(@Param("accountId") Long accountId,
+                                             @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                             @Param("limit") int limit);
+
+    @Query(SELECT_RESPONSE + "WHERE account_id = :accountId AND created_at <= :createdAt " +
+           "AND (created_at < :createdAt OR id < :id) ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<OrderResponse> findAccountPageBefore(@Param("accountId") Long accountId,
+                                              @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                              @Param("limit") int limit);
+
+    @Query(SELECT_RESPONSE + "ORDER BY created_at, id")
+    Flux<OrderResponse> streamAll();
+
+    @Query(SELECT_RESPONSE + "WHERE account_id = :accountId ORDER BY created_at, id")
+    Flux<OrderResponse> streamByAccountId(@Param("accountId") Long accountId);
+}
@@ -0,0 +1,18 @@
+package com.fizzexual.orderexecution.risk;
+
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.exception.BusinessException;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(0)
+public class AccountStatusCheck implements RiskCheck {
+
+    @Override
+    public void check(RiskOrder order) {
+        if (order.accountStatus() != Account.AccountStatus.ACTIVE) {
+            throw new BusinessException("Account is not active");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.fizzexual.orderexecution.risk;
+
+import com.fizzexual.orderexecution.persistence.WriteBehindWriter;
+import com.fizzexual.orderexecution.position.PositionBook;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory exposures for the risk checks, updated incrementally on every fill. Net positions
+ * are read from the {@link PositionBook}; this only keeps what it derives from them.
+ * <p>
+ * Per-symbol state is only touched from that symbol's sequencer shard, like its
+ * {@link com.fizzexual.orderexecution.matching.OrderBook}, so it is plain fields. An account's
+ * gross exposure spans symbols, and so shards, and is kept in an {@link AtomicLong} that each
+ * fill adjusts by the change in its symbol's exposure.
+ * <p>
+ * Nothing here is persisted. On startup the exposures are seeded from the {@link PositionBook}
+ * once it has recovered, each position valued at its cost basis until its next fill; the last
+ * trade prices start from zero.
+ */
+@Component
+@Slf4j
+public class ExposureTracker implements SmartLifecycle {
+
+    private final PositionBook positionBook;
+    private final ConcurrentMap<String, SymbolExposure> symbols = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, AtomicLong> grossExposures = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    public ExposureTracker(PositionBook positionBook) {
+        this.positionBook = positionBook;
+    }
+
+    @Override
+    public void start() {
+        int[] seeded = new int[1];
+        positionBook.forEachPosition(position -> {
+            if (position.quantity() != 0) {
+                revalue(position.accountId(), position.symbol(), Math.abs(position.costBasis()));
+                seeded[0]++;
+            }
+        });
+        log.info("Seeded {} open positions into the risk checks", seeded[0]);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * After the {@link PositionBook} has recovered.
+     */
+    @Override
+    public int getPhase() {
+        return WriteBehindWriter.PHASE + 2;
+    }
+
+    /**
+     * @return net position in units, negative when short
+     */
+    public long position(long accountId, String symbol) {
+        return positionBook.quantity(accountId, symbol);
+    }
+
+    /**
+     * @return the account's absolute position in {@code symbol} valued at its last fill price there
+     */
+    public long exposure(long accountId, String symbol) {
+        return symbol(symbol).exposures.getOrDefault(accountId, 0L);
+    }
+
+    public long grossExposure(long accountId) {
+        AtomicLong gross = grossExposures.get(accountId);
+        return gross == null ? 0L : gross.get();
+    }
+
+    /**
+     * @return price in ticks of the last trade between two orders in the book, or 0 if there
+     * has been none yet
+     */
+    public long lastPrice(String symbol) {
+        return symbol(symbol).lastPrice;
+    }
+
+    /**
+     * Records a trade between two orders in the book. Must run on the symbol's sequencer shard.
+     */
+    public void onTrade(String symbol, long price) {
+        symbol(symbol).lastPrice = price;
+    }
+
+    /**
+     * Revalues the account's position at the price of a fill. Must run on the symbol's sequencer
+     * shard, after the {@link PositionBook} has applied the fill.
+     */
+    public void onFill(long accountId, String symbol, long price) {
+        revalue(accountId, symbol, Math.abs(positionBook.quantity(accountId, symbol)) * price);
+    }
+
+    /**
+     * Sets the account's exposure in {@code symbol} and adjusts its gross exposure by the change.
+     *
+     * @param exposure the position's value in ticks
+     */
+    private void revalue(long accountId, String symbol, long exposure) {
+        Map<Long, Long> exposures = symbol(symbol).exposures;
+        Long previous = exposures.put(accountId, exposure);
+        long change = exposure - (previous == null ? 0L : previous);
+        if (change != 0) {
+            grossExposures.computeIfAbsent(accountId, id -> new AtomicLong()).addAndGet(change);
+        }
+    }
+
+    private SymbolExposure symbol(String symbol) {
+        return symbols.computeIfAbsent(symbol, s -> new SymbolExposure());
+    }
+
+    private static final class SymbolExposure {
+        private long lastPrice;
+        private final Map<Long, Long> exposures = new HashMap<>();
+    }
+}
@@ -0,0 +1,40 @@
+package com.fizzexual.orderexecution.risk;
+
+import com.fizzexual.orderexecution.config.RiskProperties;
+import com.fizzexual.orderexecution.exception.BusinessException;
+import com.fizzexual.orderexecution.matching.Prices;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rejects an order that would take the account's gross exposure past the limit if it filled
+ * completely, with the symbol's position revalued at the order price. Orders that reduce the
+ * exposure are always allowed.
+ */
+@Component
+@Order(50)
+public class GrossExposureCheck implements RiskCheck {
+
+    private final long maxGrossExposure;
+    private final ExposureTracker exposureTracker;
+
+    public GrossExposureCheck(RiskProperties properties, ExposureTracker exposureTracker) {
+        this.maxGrossExposure = Prices.toTicks(properties.getMaxGrossExposure());
+        this.exposureTracker = exposureTracker;
+    }
+
+    @Override
+    public void check(RiskOrder order) {
+        if (maxGrossExposure <= 0) {
+            return;
+        }
+        long gross = exposureTracker.grossExposure(order.accountId());
+        long position = exposureTracker.position(order.accountId(), order.symbol());
+        long projected = gross - exposureTracker.exposure(order.accountId(), order.symbol())
+                + Math.abs(position + order.signedQuantity()) * order.price();
+        if (projected > maxGrossExposure && projected > gross) {
+            throw new BusinessException("Order would exceed the gross exposure limit of "
+                    + Prices.toDecimal(maxGrossExposure));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.fizzexual.orderexecution.risk;
+
+import com.fizzexual.orderexecution.config.RiskProperties;
+import com.fizzexual.orderexecution.exception.BusinessException;
+import com.fizzexual.orderexecution.matching.Prices;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(30)
+public class OrderNotionalCheck implements RiskCheck {
+
+    private final long maxNotional;
+
+    public OrderNotionalCheck(RiskProperties properties) {
+        this.maxNotional = Prices.toTicks(properties.getMaxOrderNotional());
+    }
+
+    @Override
+    public void check(RiskOrder order) {
+        if (maxNotional > 0 && order.notional() > maxNotional) {
+            throw new BusinessException("Order notional exceeds the limit of " + Prices.toDecimal(maxNotional));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.fizzexual.orderexecution.risk;
+
+import com.fizzexual.orderexecution.config.RiskProperties;
+import com.fizzexual.orderexecution.exception.BusinessException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the orders an account sends per second. Each account has one fixed one-second window,
+ * packed with its count into a single {@code long} (second in the high half, count in the low
+ * half) and advanced with compare-and-set, since an account's orders arrive on several shards.
+ */
+@Component
+@Order(10)
+public class OrderRateCheck implements RiskCheck {
+
+    private final int maxOrdersPerSecond;
+    private final LongSupplier clock;
+    private final ConcurrentMap<Long, AtomicLong> windows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public OrderRateCheck(RiskProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    OrderRateCheck(RiskProperties properties, LongSupplier clock) {
+        this.maxOrdersPerSecond = properties.getMaxOrdersPerSecond();
+        this.clock = clock;
+    }
+
+    @Override
+    public void check(RiskOrder order) {
+        if (maxOrdersPerSecond <= 0) {
+            return;
+        }
+        long second = clock.getAsLong() / 1000;
+        AtomicLong window = windows.computeIfAbsent(order.accountId(), id -> new AtomicLong());
+        while (true) {
+            long current = window.get();
+            long count = current >>> 32 == second ? (current & 0xFFFF_FFFFL) + 1 : 1;
+            if (count > maxOrdersPerSecond) {
+                throw new BusinessException("Order rate limit of " + maxOrdersPerSecond + " per second exceeded");
+            }
+            if (window.compareAndSet(current, second << 32 | count)) {
+                return;
+            }
+        }
+    }
+}
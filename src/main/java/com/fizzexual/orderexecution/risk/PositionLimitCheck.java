@@ -0,0 +1,36 @@
+package com.fizzexual.orderexecution.risk;
+
+import com.fizzexual.orderexecution.config.RiskProperties;
+import com.fizzexual.orderexecution.exception.BusinessException;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rejects an order that would take the account's net position in the symbol past the limit if
+ * it filled completely. Orders that reduce the position are always allowed.
+ */
+@Component
+@Order(40)
+public class PositionLimitCheck implements RiskCheck {
+
+    private final long maxPosition;
+    private final ExposureTracker exposureTracker;
+
+    public PositionLimitCheck(RiskProperties properties, ExposureTracker exposureTracker) {
+        this.maxPosition = properties.getMaxPosition();
+        this.exposureTracker = exposureTracker;
+    }
+
+    @Override
+    public void check(RiskOrder order) {
+        if (maxPosition <= 0) {
+            return;
+        }
+        long position = exposureTracker.position(order.accountId(), order.symbol());
+        long projected = Math.abs(position + order.signedQuantity());
+        if (projected > maxPosition && projected > Math.abs(position)) {
+            throw new BusinessException("Order would exceed the position limit of " + maxPosition
+                    + " for " + order.symbol());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.fizzexual.orderexecution.risk;
+
+import com.fizzexual.orderexecution.config.RiskProperties;
+import com.fizzexual.orderexecution.exception.BusinessException;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fat-finger check: a LIMIT price must be within the configured band around the symbol's last
+ * trade in the book. Symbols that have not traded yet, and MARKET orders, are not checked.
+ */
+@Component
+@Order(20)
+public class PriceBandCheck implements RiskCheck {
+
+    private final int bandBasisPoints;
+    private final ExposureTracker exposureTracker;
+
+    public PriceBandCheck(RiskProperties properties, ExposureTracker exposureTracker) {
+        this.bandBasisPoints = properties.getPriceBandBasisPoints();
+        this.exposureTracker = exposureTracker;
+    }
+
+    @Override
+    public void check(RiskOrder order) {
+        if (bandBasisPoints <= 0 || order.isMarket()) {
+            return;
+        }
+        long reference = exposureTracker.lastPrice(order.symbol());
+        if (reference > 0 && Math.abs(order.price() - reference) * 10_000 > reference * bandBasisPoints) {
+            throw new BusinessException("Limit price is outside the allowed band around the last trade price");
+        }
+    }
+}
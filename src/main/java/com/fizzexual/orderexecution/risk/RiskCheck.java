@@ -0,0 +1,16 @@
+package com.fizzexual.orderexecution.risk;
+
+/**
+ * One step of the pre-trade risk pipeline. Every {@code RiskCheck} bean is picked up by the
+ * {@link RiskEngine} and run in {@link org.springframework.core.annotation.Order} order.
+ * <p>
+ * Checks run on the order's sequencer shard for every order, so they must only read in-memory
+ * state (see {@link ExposureTracker}) and never block or query the database.
+ */
+public interface RiskCheck {
+
+    /**
+     * @throws com.fizzexual.orderexecution.exception.BusinessException if the order breaches the limit
+     */
+    void check(RiskOrder order);
+}
@@ -0,0 +1,42 @@
+package com.fizzexual.orderexecution.risk;
+
+import com.fizzexual.orderexecution.matching.Fill;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Pre-trade risk pipeline: runs every {@link RiskCheck} against an order before it reserves
+ * funds or touches the book, and feeds fills back into the {@link ExposureTracker} the checks
+ * read from. New checks are added by declaring another {@code RiskCheck} bean.
+ */
+@Component
+@RequiredArgsConstructor
+public class RiskEngine {
+
+    private final List<RiskCheck> checks;
+    private final ExposureTracker exposureTracker;
+
+    /**
+     * @throws com.fizzexual.orderexecution.exception.BusinessException from the first check the order fails
+     */
+    public void check(RiskOrder order) {
+        for (RiskCheck check : checks) {
+            check.check(order);
+        }
+    }
+
+    /**
+     * Revalues the taker's and, if there is one, the maker's position at the fill price. Runs
+     * after the {@link com.fizzexual.orderexecution.position.PositionBook} has applied the fill.
+     * Only fills against a maker move the symbol's reference price; the simulated market does not.
+     */
+    public void onFill(String symbol, long takerAccountId, Fill fill) {
+        exposureTracker.onFill(takerAccountId, symbol, fill.getPrice());
+        if (fill.hasMaker()) {
+            exposureTracker.onFill(fill.getMakerAccountId(), symbol, fill.getPrice());
+            exposureTracker.onTrade(symbol, fill.getPrice());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.fizzexual.orderexecution.risk;
+
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.entity.Order;
+
+/**
+ * An incoming order as the risk checks see it. {@code price} is in ticks: the limit price, or
+ * the market price a MARKET order is expected to trade at.
+ */
+public record RiskOrder(long accountId, Account.AccountStatus accountStatus, String symbol,
+                        Order.OrderSide side, Order.OrderType type, long price, long quantity) {
+
+    public long notional() {
+        return price * quantity;
+    }
+
+    public boolean isMarket() {
+        return type == Order.OrderType.MARKET;
+    }
+
+    /**
+     * @return the quantity, negative for a SELL
+     */
+    public long signedQuantity() {
+        return side == Order.OrderSide.BUY ? quantity : -quantity;
+    }
+}
@@ -0,0 +1,156 @@
+package com.fizzexual.orderexecution.sequencer;
+
+import com.fizzexual.orderexecution.config.SequencerProperties;
+import com.fizzexual.orderexecution.exception.ServiceBusyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Single-writer order ingress. Every key (normally a symbol) hashes to a fixed shard, and each
+ * shard is drained by exactly one dedicated thread, so all work for a symbol runs serially and
+ * in submission order without locks on the book or database rows.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderSequencer {
+
+    private final SequencerProperties properties;
+    private Shard[] shards;
+
+    @PostConstruct
+    public void start() {
+        int count = properties.getShards() > 0
+                ? properties.getShards() : Runtime.getRuntime().availableProcessors();
+        shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard(i, properties.getRingBufferSize());
+            shards[i].thread.start();
+        }
+        log.info("Order sequencer started with {} shards", count);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (Shard shard : shards) {
+            shard.running = false;
+            LockSupport.unpark(shard.thread);
+        }
+        for (Shard shard : shards) {
+            shard.thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    public int shardOf(String key) {
+        return Math.floorMod(key.hashCode(), shards.length);
+    }
+
+    public int queueDepth(int shard) {
+        return shards[shard].ring.size();
+    }
+
+    /**
+     * Runs the task on the shard owning {@code key} and waits for its result. Exceptions thrown
+     * by the task are rethrown unchanged.
+     */
+    public <T> T execute(String key, Supplier<T> task) {
+        try {
+            return submit(key, task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public <T> CompletableFuture<T> submit(String key, Supplier<T> task) {
+        Shard shard = shards[shardOf(key)];
+        ShardTask<T> shardTask = new ShardTask<>(task);
+        if (!shard.ring.offer(shardTask)) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getSubmitTimeoutMillis());
+            while (!shard.ring.offer(shardTask)) {
+                if (System.nanoTime() > deadline) {
+                    throw new ServiceBusyException("Order sequencer is overloaded, please retry");
+                }
+                Thread.yield();
+            }
+        }
+        if (shard.parked) {
+            LockSupport.unpark(shard.thread);
+        }
+        return shardTask.future;
+    }
+
+    private static final class Shard implements Runnable {
+
+        private static final int SPIN_TRIES = 1000;
+
+        private final RingBuffer<ShardTask<?>> ring;
+        private final Thread thread;
+        private volatile boolean running = true;
+        private volatile boolean parked;
+
+        private Shard(int index, int capacity) {
+            this.ring = new RingBuffer<>(capacity);
+            this.thread = new Thread(this, "sequencer-shard-" + index);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (running || !ring.isEmpty()) {
+                ShardTask<?> task = ring.poll();
+                if (task != null) {
+                    task.run();
+                    idle = 0;
+                } else if (idle++ < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    parked = true;
+                    task = ring.poll();
+                    if (task == null && running) {
+                        LockSupport.park(this);
+                    }
+                    parked = false;
+                    if (task != null) {
+                        task.run();
+                    }
+                    idle = 0;
+                }
+            }
+        }
+    }
+
+    private static final class ShardTask<T> {
+
+        private final Supplier<T> task;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private ShardTask(Supplier<T> task) {
+            this.task = task;
+        }
+
+        private void run() {
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+}
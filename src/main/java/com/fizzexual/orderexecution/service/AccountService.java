@@ -3,7 +3,11 @@ package com.fizzexual.orderexecution.service;
 import com.fizzexual.orderexecution.dto.AccountResponse;
 import com.fizzexual.orderexecution.entity.Account;
 import com.fizzexual.orderexecution.exception.ResourceNotFoundException;
+import com.fizzexual.orderexecution.ledger.AccountLedger;
+import com.fizzexual.orderexecution.ledger.LedgerBalance;
 import com.fizzexual.orderexecution.mapper.AccountMapper;
+import com.fizzexual.orderexecution.matching.Prices;
+import com.fizzexual.orderexecution.position.PositionBook;
 import com.fizzexual.orderexecution.repository.AccountRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,40 +17,57 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * Account reads. Single accounts come from the {@link AccountStore}; balances always come from the
+ * {@link AccountLedger} once it tracks the account, as the {@code accounts} table trails it by the
+ * write-behind delay and the cached entities do not follow it at all.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AccountService {
 
     private final AccountRepository accountRepository;
+    private final AccountStore accountStore;
+    private final AccountLedger accountLedger;
     private final AccountMapper accountMapper;
+    private final PositionBook positionBook;
 
-    @Transactional(readOnly = true)
     public AccountResponse getAccountById(Long id) {
-        Account account = accountRepository.findById(id)
+        Account account = accountStore.find(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Account", "id", id));
-        return accountMapper.toResponse(account);
+        return toResponse(account);
     }
 
-    @Transactional(readOnly = true)
     public AccountResponse getAccountByNumber(String accountNumber) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
+        Account account = accountStore.findByNumber(accountNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Account", "accountNumber", accountNumber));
-        return accountMapper.toResponse(account);
+        return toResponse(account);
     }
 
     @Transactional(readOnly = true)
     public List<AccountResponse> getAccountsByUserId(Long userId) {
         List<Account> accounts = accountRepository.findByUserId(userId);
         return accounts.stream()
-                .map(accountMapper::toResponse)
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
     public List<AccountResponse> getAllAccounts() {
         return accountRepository.findAll().stream()
-                .map(accountMapper::toResponse)
+                .map(this::toResponse)
                 .collect(Collectors.toList());
     }
+
+    private AccountResponse toResponse(Account account) {
+        AccountResponse response = accountMapper.toResponse(account);
+        if (accountLedger.isOpen(account.getId())) {
+            LedgerBalance balance = accountLedger.balance(account.getId());
+            response.setBalance(Prices.toDecimal(balance.balance()));
+            response.setAvailableBalance(Prices.toDecimal(balance.available()));
+        }
+        response.setUnrealizedPnl(Prices.toDecimal(positionBook.unrealizedPnl(account.getId())));
+        return response;
+    }
 }
@@ -0,0 +1,123 @@
+package com.fizzexual.orderexecution.service;
+
+import com.fizzexual.orderexecution.config.AccountCacheProperties;
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.ledger.AccountLedger;
+import com.fizzexual.orderexecution.matching.Prices;
+import com.fizzexual.orderexecution.repository.AccountRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded in-memory copy of the accounts that orders and account reads have seen, by id and by
+ * account number. An account read from the database has its {@code balance} handed to the
+ * {@link AccountLedger}, which owns it from then on; databases from before the ledger, which only
+ * kept {@code available_balance} current, are reconciled by {@code db/postgres/upgrade-schema.sql}.
+ * <p>
+ * The balance fields of the cached entities are never kept up to date and must not be read:
+ * balances come from the ledger, which the execution path updates as it reserves and settles.
+ * Evicting or expiring an entry therefore only drops the identity and status fields; reloading
+ * it never resets the ledger, so the risk check cannot see a stale balance. Nothing in the
+ * application changes the other fields; the expiry bounds how long a change made directly in the
+ * database, such as freezing an account, goes unnoticed.
+ * <p>
+ * Exports {@code cache.gets}, {@code cache.evictions} and {@code cache.size} for the
+ * {@code accounts} and {@code account-numbers} caches.
+ */
+@Service
+public class AccountStore implements MeterBinder {
+
+    private final AccountRepository accountRepository;
+    private final AccountLedger accountLedger;
+    private final Cache<Long, Account> accounts;
+    private final Cache<String, Long> accountIdsByNumber;
+
+    @Autowired
+    public AccountStore(AccountRepository accountRepository, AccountLedger accountLedger,
+                        AccountCacheProperties properties) {
+        this(accountRepository, accountLedger, properties, Ticker.systemTicker());
+    }
+
+    AccountStore(AccountRepository accountRepository, AccountLedger accountLedger,
+                 AccountCacheProperties properties, Ticker ticker) {
+        this.accountRepository = accountRepository;
+        this.accountLedger = accountLedger;
+        this.accounts = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getExpireAfterWriteMillis()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        // Account numbers never change, so only the size bounds this one.
+        this.accountIdsByNumber = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Account> find(long accountId) {
+        Account account = accounts.getIfPresent(accountId);
+        if (account != null) {
+            return Optional.of(account);
+        }
+        return accountRepository.findById(accountId).map(this::cache);
+    }
+
+    public Optional<Account> findByNumber(String accountNumber) {
+        Long accountId = accountIdsByNumber.getIfPresent(accountNumber);
+        if (accountId != null) {
+            Account account = accounts.getIfPresent(accountId);
+            if (account != null) {
+                return Optional.of(account);
+            }
+        }
+        return accountRepository.findByAccountNumber(accountNumber).map(this::cache);
+    }
+
+    /**
+     * Bulk variant of {@link #find}: accounts not cached are loaded with a single query.
+     * Ids that do not exist are absent from the result.
+     */
+    public Map<Long, Account> findAll(Collection<Long> accountIds) {
+        Map<Long, Account> found = new HashMap<>(accounts.getAllPresent(accountIds));
+        List<Long> missing = new ArrayList<>();
+        for (Long accountId : accountIds) {
+            if (!found.containsKey(accountId)) {
+                missing.add(accountId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Account loaded : accountRepository.findAllById(missing)) {
+                found.put(loaded.getId(), cache(loaded));
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, accounts, "accounts");
+        CaffeineCacheMetrics.monitor(registry, accountIdsByNumber, "account-numbers");
+    }
+
+    private Account cache(Account loaded) {
+        accountLedger.open(loaded.getId(), Prices.toTicks(loaded.getBalance()));
+        Account existing = accounts.asMap().putIfAbsent(loaded.getId(), loaded);
+        accountIdsByNumber.put(loaded.getAccountNumber(), loaded.getId());
+        return existing != null ? existing : loaded;
+    }
+}
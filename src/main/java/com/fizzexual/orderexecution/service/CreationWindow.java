@@ -0,0 +1,52 @@
+package com.fizzexual.orderexecution.service;
+
+import com.fizzexual.orderexecution.persistence.IdAllocator;
+import com.fizzexual.orderexecution.persistence.SnowflakeIdGenerator;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+/**
+ * Where an order's {@code created_at} must lie, read from the Snowflake id inside its order
+ * number, or for an order id from when the {@link IdAllocator} handed it out. Adding the window to
+ * a lookup lets PostgreSQL skip every partition of {@code orders} but the one (or two, around
+ * midnight) that can hold the order.
+ * <p>
+ * Order numbers of another format, or from before the Snowflake ids, may decode to a time that
+ * means nothing, and order ids from other nodes or earlier runs have no window at all, so a lookup
+ * that finds nothing in the window has to fall back to the unbounded query.
+ */
+record CreationWindow(LocalDateTime from, LocalDateTime to) {
+
+    /**
+     * {@code created_at} is taken just before the order number, on the same clock; the margin
+     * covers ids borrowed ahead of the clock under load.
+     */
+    private static final Duration MARGIN = Duration.ofMinutes(1);
+
+    static Optional<CreationWindow> ofOrderNumber(String orderNumber) {
+        if (!orderNumber.startsWith(OrderService.ORDER_NUMBER_PREFIX)) {
+            return Optional.empty();
+        }
+        long id;
+        try {
+            id = Long.parseLong(orderNumber.substring(OrderService.ORDER_NUMBER_PREFIX.length()), 36);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        if (id < 0) {
+            return Optional.empty();
+        }
+        LocalDateTime created = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(SnowflakeIdGenerator.timestampMillis(id)), ZoneId.systemDefault());
+        return Optional.of(new CreationWindow(created.minus(MARGIN), created.plus(MARGIN)));
+    }
+
+    static Optional<CreationWindow> ofOrderId(long orderId, IdAllocator idAllocator) {
+        return idAllocator.orderIdIssued(orderId)
+                .map(issued -> new CreationWindow(issued.from().minus(MARGIN), issued.to().plus(MARGIN)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.fizzexual.orderexecution.service;
+
+import com.fizzexual.orderexecution.archive.ArchiveQuery;
+import com.fizzexual.orderexecution.archive.ExecutionLogArchive;
+import com.fizzexual.orderexecution.dto.ExecutionLogResponse;
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+import com.fizzexual.orderexecution.exception.BusinessException;
+import com.fizzexual.orderexecution.matching.Prices;
+import com.fizzexual.orderexecution.persistence.ExecutionLogRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reads execution logs that have been moved to the {@link ExecutionLogArchive}. Reads files only,
+ * so it serves both the servlet and reactive stacks; the reactive controller calls it off the
+ * event loop.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExecutionLogArchiveService {
+
+    private final ExecutionLogArchive executionLogArchive;
+
+    /**
+     * @param from   first day to scan, inclusive; null for the oldest archived day
+     * @param to     last day to scan, inclusive; null for the newest archived day
+     * @param symbol null for every symbol
+     * @return up to {@code limit} matching logs, ordered by execution time and id
+     */
+    public List<ExecutionLogResponse> query(LocalDate from, LocalDate to, String symbol, Long orderId,
+                                            ExecutionLog.ExecutionStatus status, int limit) {
+        if (limit < 1) {
+            throw new BusinessException("Limit must be at least 1");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BusinessException("'from' must not be after 'to'");
+        }
+        ArchiveQuery query = new ArchiveQuery(from, to, symbol == null ? null : symbol.toUpperCase(), orderId, status);
+        return executionLogArchive.query(query, Math.min(limit, KeysetCursor.MAX_LIMIT)).stream()
+                .map(ExecutionLogArchiveService::toResponse)
+                .toList();
+    }
+
+    private static ExecutionLogResponse toResponse(ExecutionLogRow row) {
+        return ExecutionLogResponse.builder()
+                .id(row.getId())
+                .orderId(row.getOrderId())
+                .quantity(row.getQuantity())
+                .price(Prices.toDecimal(row.getPrice()))
+                .totalAmount(Prices.toDecimal(row.getTotalAmount()))
+                .status(row.getStatus())
+                .message(row.getMessage())
+                .executedAt(row.getExecutedAt())
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.fizzexual.orderexecution.service;
+
+import com.fizzexual.orderexecution.dto.CursorPage;
+import com.fizzexual.orderexecution.dto.ExecutionLogResponse;
+import com.fizzexual.orderexecution.repository.ExecutionLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ExecutionLogService {
+
+    private final ExecutionLogRepository executionLogRepository;
+
+    @Transactional(readOnly = true)
+    public List<ExecutionLogResponse> getExecutionLogsByOrderId(Long orderId) {
+        return executionLogRepository.findResponsesByOrderId(orderId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ExecutionLogResponse> getExecutionLogs(String cursor, int limit, String direction) {
+        Sort.Direction sort = KeysetCursor.direction(direction);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        Pageable page = KeysetCursor.limit(limit);
+        List<ExecutionLogResponse> logs = sort.isAscending()
+                ? executionLogRepository.findPageAfter(after.timestamp(), after.id(), page)
+                : executionLogRepository.findPageBefore(after.timestamp(), after.id(), page);
+        return KeysetCursor.page(logs, page, ExecutionLogResponse::getExecutedAt, ExecutionLogResponse::getId);
+    }
+
+    /**
+     * Feeds every execution log to {@code sink} in execution order, holding only one fetch-size
+     * worth of rows at a time.
+     */
+    @Transactional(readOnly = true)
+    public void streamExecutionLogs(Consumer<ExecutionLogResponse> sink) {
+        try (Stream<ExecutionLogResponse> logs = executionLogRepository.streamAll()) {
+            logs.forEach(sink);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.fizzexual.orderexecution.service;
+
+import com.fizzexual.orderexecution.dto.CursorPage;
+import com.fizzexual.orderexecution.exception.BusinessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Position in a listing ordered by {@code (timestamp, id)}: the key of the last row of the
+ * previous page. Clients see it as an opaque base64url string.
+ */
+record KeysetCursor(LocalDateTime timestamp, long id) {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+
+    private static final KeysetCursor FIRST_ASC = new KeysetCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+    private static final KeysetCursor FIRST_DESC = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    /**
+     * @return the decoded cursor, or the position before the first row when {@code cursor} is null
+     */
+    static KeysetCursor decode(String cursor, Sort.Direction direction) {
+        if (cursor == null || cursor.isBlank()) {
+            return direction.isAscending() ? FIRST_ASC : FIRST_DESC;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    static Sort.Direction direction(String direction) {
+        try {
+            return Sort.Direction.fromString(direction);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Direction must be ASC or DESC");
+        }
+    }
+
+    static Pageable limit(int limit) {
+        if (limit < 1) {
+            throw new BusinessException("Limit must be at least 1");
+        }
+        return PageRequest.of(0, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Builds a page from rows fetched with {@link #limit}; there is a next page only if the page
+     * came back full.
+     */
+    static <T> CursorPage<T> page(List<T> items, Pageable pageable, Function<T, LocalDateTime> timestamp,
+                                  Function<T, Long> id) {
+        String nextCursor = null;
+        if (items.size() == pageable.getPageSize()) {
+            T last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(timestamp.apply(last), id.apply(last)).encode();
+        }
+        return CursorPage.<T>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,72 @@
+package com.fizzexual.orderexecution.service;
+
+import com.fizzexual.orderexecution.dto.BarResponse;
+import com.fizzexual.orderexecution.dto.QuoteResponse;
+import com.fizzexual.orderexecution.exception.BusinessException;
+import com.fizzexual.orderexecution.exception.ResourceNotFoundException;
+import com.fizzexual.orderexecution.marketdata.Bar;
+import com.fizzexual.orderexecution.marketdata.BarAggregator;
+import com.fizzexual.orderexecution.marketdata.BarInterval;
+import com.fizzexual.orderexecution.marketdata.MarketDataCache;
+import com.fizzexual.orderexecution.marketdata.Quote;
+import com.fizzexual.orderexecution.matching.Prices;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class MarketDataService {
+
+    private static final int VWAP_SCALE = 4;
+
+    private final MarketDataCache marketDataCache;
+    private final BarAggregator barAggregator;
+
+    public QuoteResponse getQuote(String symbol) {
+        Quote quote = marketDataCache.quote(symbol.toUpperCase());
+        if (quote == null) {
+            throw new ResourceNotFoundException("Quote", "symbol", symbol);
+        }
+        return QuoteResponse.builder()
+                .symbol(quote.symbol())
+                .last(Prices.toDecimal(quote.last()))
+                .bid(Prices.toDecimal(quote.bid()))
+                .ask(Prices.toDecimal(quote.ask()))
+                .timestamp(Instant.ofEpochMilli(quote.timestamp()))
+                .build();
+    }
+
+    /**
+     * @param interval {@code 1s}, {@code 1m} or {@code 1h}
+     * @return up to {@code limit} of the most recent bars, oldest first
+     */
+    public List<BarResponse> getBars(String symbol, String interval, int limit) {
+        if (limit < 1) {
+            throw new BusinessException("Limit must be at least 1");
+        }
+        return barAggregator.recent(symbol.toUpperCase(), BarInterval.fromCode(interval), limit).stream()
+                .map(MarketDataService::toResponse)
+                .toList();
+    }
+
+    private static BarResponse toResponse(Bar bar) {
+        return BarResponse.builder()
+                .symbol(bar.symbol())
+                .interval(bar.interval().code())
+                .start(Instant.ofEpochMilli(bar.start()))
+                .open(Prices.toDecimal(bar.open()))
+                .high(Prices.toDecimal(bar.high()))
+                .low(Prices.toDecimal(bar.low()))
+                .close(Prices.toDecimal(bar.close()))
+                .volume(bar.volume())
+                .vwap(Prices.toDecimal(bar.notional())
+                        .divide(BigDecimal.valueOf(bar.volume()), VWAP_SCALE, RoundingMode.HALF_UP))
+                .trades(bar.trades())
+                .build();
+    }
+}
@@ -4,80 +4,187 @@ import com.fizzexual.orderexecution.entity.Account;
 import com.fizzexual.orderexecution.entity.ExecutionLog;
 import com.fizzexual.orderexecution.entity.Order;
 import com.fizzexual.orderexecution.exception.BusinessException;
-import com.fizzexual.orderexecution.repository.ExecutionLogRepository;
+import com.fizzexual.orderexecution.ledger.AccountLedger;
+import com.fizzexual.orderexecution.marketdata.BarAggregator;
+import com.fizzexual.orderexecution.marketdata.MarketDataCache;
+import com.fizzexual.orderexecution.marketdata.Quote;
+import com.fizzexual.orderexecution.matching.BookOrder;
+import com.fizzexual.orderexecution.matching.Fill;
+import com.fizzexual.orderexecution.matching.MatchResult;
+import com.fizzexual.orderexecution.matching.MatchingEngine;
+import com.fizzexual.orderexecution.matching.Prices;
+import com.fizzexual.orderexecution.metrics.OrderMetrics;
+import com.fizzexual.orderexecution.persistence.ExecutionLogRow;
+import com.fizzexual.orderexecution.persistence.IdAllocator;
+import com.fizzexual.orderexecution.persistence.OrderUpdate;
+import com.fizzexual.orderexecution.persistence.WriteBatch;
+import com.fizzexual.orderexecution.position.PositionBook;
+import com.fizzexual.orderexecution.risk.RiskEngine;
+import com.fizzexual.orderexecution.risk.RiskOrder;
+import com.fizzexual.orderexecution.stream.OrderEvents;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.Random;
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderExecutionService {
 
-    private final ExecutionLogRepository executionLogRepository;
-    private final Random random = new Random();
-
-    @Transactional
-    public void executeOrder(Order order, Account account) {
+    private final MatchingEngine matchingEngine;
+    private final AccountLedger accountLedger;
+    private final IdAllocator idAllocator;
+    private final RiskEngine riskEngine;
+    private final OrderMetrics orderMetrics;
+    private final PositionBook positionBook;
+    private final MarketDataCache marketDataCache;
+    private final BarAggregator barAggregator;
+
+    /**
+     * Matches the order and applies the outcome in memory: the order itself is updated in place,
+     * and every row change (maker order updates, execution logs, balances) is added to
+     * {@code batch}. Must run on the order's sequencer shard.
+     * <p>
+     * Prices, notionals and balances stay in ticks throughout; the order's decimal fields are set
+     * once at the end. The {@link RiskEngine} sees the order before any funds are reserved.
+     */
+    public void executeOrder(Order order, Account account, WriteBatch batch) {
         log.info("Starting execution for order: {}", order.getOrderNumber());
 
+        long started = System.nanoTime();
+        long accountId = account.getId();
+        long held = 0L;
         try {
-            validateOrderExecution(order, account);
-            BigDecimal executionPrice = calculateExecutionPrice(order);
-            BigDecimal totalCost = executionPrice.multiply(BigDecimal.valueOf(order.getQuantity()))
-                    .setScale(2, RoundingMode.HALF_UP);
-
-            if (order.getSide() == Order.OrderSide.BUY) {
-                if (account.getAvailableBalance().compareTo(totalCost) < 0) {
+            validateOrderExecution(order);
+            long marketPrice = order.getType() == Order.OrderType.MARKET ? marketPrice(order) : 0L;
+            BookOrder taker = BookOrder.from(order);
+            riskEngine.check(new RiskOrder(accountId, account.getStatus(), order.getSymbol(), order.getSide(),
+                    order.getType(), taker.isMarket() ? marketPrice : taker.getPrice(), taker.getQuantity()));
+            orderMetrics.recordValidation(System.nanoTime() - started);
+            long required = matchingEngine.requiredFunds(order.getSymbol(), taker, marketPrice);
+            if (required > 0) {
+                if (!accountLedger.reserve(accountId, required)) {
                     throw new BusinessException("Insufficient balance for order execution");
                 }
-                account.setAvailableBalance(account.getAvailableBalance().subtract(totalCost));
-            } else {
-                account.setAvailableBalance(account.getAvailableBalance().add(totalCost));
+                held = required;
+            }
+            MatchResult result = matchingEngine.match(order.getSymbol(), taker, marketPrice);
+
+            long executedQuantity = 0L;
+            long tradedAt = System.currentTimeMillis();
+            for (Fill fill : result.getFills()) {
+                executedQuantity += fill.getQuantity();
+                barAggregator.onTrade(order.getSymbol(), fill.getPrice(), fill.getQuantity(), tradedAt);
+                held -= applyTakerFill(order, taker, fill, executedQuantity, batch);
+                if (fill.hasMaker()) {
+                    applyMakerFill(order.getSymbol(),
+                            order.getSide() == Order.OrderSide.BUY ? Order.OrderSide.SELL : Order.OrderSide.BUY,
+                            fill, batch);
+                }
+                riskEngine.onFill(order.getSymbol(), accountId, fill);
+            }
+            if (executedQuantity > 0) {
+                order.setExecutedQuantity((int) executedQuantity);
+                order.setExecutedPrice(Prices.toDecimal(
+                        Prices.averagePrice(taker.getExecutedNotional(), executedQuantity)));
+                order.setStatus(executedQuantity == order.getQuantity()
+                        ? Order.OrderStatus.EXECUTED : Order.OrderStatus.PARTIALLY_FILLED);
             }
 
-            order.setStatus(Order.OrderStatus.EXECUTED);
-            order.setExecutedPrice(executionPrice);
-            order.setExecutedQuantity(order.getQuantity());
-
-            ExecutionLog executionLog = ExecutionLog.builder()
-                    .order(order)
-                    .quantity(order.getQuantity())
-                    .price(executionPrice)
-                    .totalAmount(totalCost)
-                    .status(ExecutionLog.ExecutionStatus.SUCCESS)
-                    .message("Order executed successfully")
-                    .build();
+            // Whatever rests keeps its reservation until it fills or is cancelled.
+            long kept = result.isResting() && taker.isBuy() ? taker.getPrice() * result.getRemainingQuantity() : 0L;
+            if (required > 0) {
+                batch.updateAccountBalance(accountId, held > kept
+                        ? accountLedger.release(accountId, held - kept) : accountLedger.balance(accountId));
+            }
+            held = 0L;
 
-            executionLogRepository.save(executionLog);
-            log.info("Order {} executed successfully at price {}", order.getOrderNumber(), executionPrice);
+            if (result.isResting()) {
+                log.info("Order {} resting in book with {} remaining", order.getOrderNumber(),
+                        result.getRemainingQuantity());
+            } else {
+                log.info("Order {} executed successfully at average price {}", order.getOrderNumber(),
+                        order.getExecutedPrice());
+            }
 
         } catch (BusinessException e) {
+            if (held > 0) {
+                batch.updateAccountBalance(accountId, accountLedger.release(accountId, held));
+            }
             order.setStatus(Order.OrderStatus.REJECTED);
-            ExecutionLog failedLog = ExecutionLog.builder()
-                    .order(order)
-                    .quantity(0)
-                    .price(BigDecimal.ZERO)
-                    .totalAmount(BigDecimal.ZERO)
-                    .status(ExecutionLog.ExecutionStatus.FAILED)
-                    .message(e.getMessage())
-                    .build();
-            executionLogRepository.save(failedLog);
+            insertExecutionLog(executionLog(order.getId(), 0, 0L, 0L, ExecutionLog.ExecutionStatus.FAILED,
+                    e.getMessage()), accountId, order.getSymbol(), order.getSide(), batch);
             log.error("Order {} execution failed: {}", order.getOrderNumber(), e.getMessage());
             throw e;
+        } finally {
+            orderMetrics.recordExecution(System.nanoTime() - started);
         }
     }
 
-    private void validateOrderExecution(Order order, Account account) {
-        if (account.getStatus() != Account.AccountStatus.ACTIVE) {
-            throw new BusinessException("Account is not active");
+    /**
+     * @return how much of the taker's reservation the fill used up
+     */
+    private long applyTakerFill(Order order, BookOrder taker, Fill fill, long executedQuantity, WriteBatch batch) {
+        long drawn = taker.isMarket() ? fill.notional() : taker.getPrice() * fill.getQuantity();
+        settle(order.getAccount().getId(), order.getSide(), fill.notional(), drawn, batch);
+        insertExecutionLog(fillLog(order.getId(), fill, executedQuantity == order.getQuantity(),
+                executedQuantity, order.getQuantity()), order.getAccount().getId(), order.getSymbol(), order.getSide(),
+                batch);
+        return taker.isBuy() ? drawn : 0L;
+    }
+
+    private void applyMakerFill(String symbol, Order.OrderSide makerSide, Fill fill, WriteBatch batch) {
+        long executedQuantity = fill.getMakerExecutedQuantity();
+        boolean complete = fill.getMakerRemainingQuantity() == 0;
+
+        OrderUpdate update = new OrderUpdate(fill.getMakerOrderId(), fill.getMakerCreatedAt(),
+                complete ? Order.OrderStatus.EXECUTED : Order.OrderStatus.PARTIALLY_FILLED,
+                Prices.averagePrice(fill.getMakerExecutedNotional(), executedQuantity), (int) executedQuantity,
+                LocalDateTime.now());
+        batch.updateOrder(update);
+        batch.addEvent(OrderEvents.order(update, fill.getMakerAccountId(), symbol, makerSide));
+        settle(fill.getMakerAccountId(), makerSide, fill.notional(), fill.notional(), batch);
+        insertExecutionLog(fillLog(fill.getMakerOrderId(), fill, complete, executedQuantity, fill.getMakerQuantity()),
+                fill.getMakerAccountId(), symbol, makerSide, batch);
+    }
+
+    /**
+     * Moves the cash for one side of a fill: a buyer pays {@code notional} out of its reservation,
+     * releasing {@code reserved} of it; a seller is credited.
+     */
+    private void settle(long accountId, Order.OrderSide side, long notional, long reserved, WriteBatch batch) {
+        batch.updateAccountBalance(accountId, side == Order.OrderSide.BUY
+                ? accountLedger.commit(accountId, notional, reserved)
+                : accountLedger.credit(accountId, notional));
+    }
+
+    private void insertExecutionLog(ExecutionLogRow executionLog, long accountId, String symbol, Order.OrderSide side,
+                                    WriteBatch batch) {
+        batch.insertExecutionLog(executionLog);
+        batch.addEvent(OrderEvents.execution(executionLog, accountId, symbol, side));
+        if (executionLog.getQuantity() > 0) {
+            positionBook.onFill(accountId, symbol, side, executionLog.getQuantity(), executionLog.getPrice(),
+                    executionLog.getId(), executionLog.getExecutedAt());
         }
+    }
 
+    private ExecutionLogRow fillLog(long orderId, Fill fill, boolean complete, long executedQuantity,
+                                    long orderQuantity) {
+        return executionLog(orderId, (int) fill.getQuantity(), fill.getPrice(), fill.notional(),
+                complete ? ExecutionLog.ExecutionStatus.SUCCESS : ExecutionLog.ExecutionStatus.PARTIAL,
+                complete ? "Order executed successfully"
+                        : "Partially filled " + executedQuantity + " of " + orderQuantity);
+    }
+
+    private ExecutionLogRow executionLog(long orderId, int quantity, long price, long amount,
+                                         ExecutionLog.ExecutionStatus status, String message) {
+        return new ExecutionLogRow(idAllocator.nextExecutionLogId(), orderId, quantity, price, amount, status,
+                message, LocalDateTime.now());
+    }
+
+    private void validateOrderExecution(Order order) {
         if (order.getType() == Order.OrderType.LIMIT && order.getLimitPrice() == null) {
             throw new BusinessException("Limit price is required for LIMIT orders");
         }
@@ -87,17 +194,15 @@ public class OrderExecutionService {
         }
     }
 
-    private BigDecimal calculateExecutionPrice(Order order) {
-        if (order.getType() == Order.OrderType.MARKET) {
-            return generateMarketPrice();
-        } else {
-            return order.getLimitPrice();
+    /**
+     * Price in ticks at which a MARKET order's remainder fills once the book has no more
+     * liquidity: the current ask for a BUY, the bid for a SELL.
+     */
+    private long marketPrice(Order order) {
+        Quote quote = marketDataCache.quote(order.getSymbol());
+        if (quote == null) {
+            throw new BusinessException("No market data for symbol " + order.getSymbol());
         }
-    }
-
-    private BigDecimal generateMarketPrice() {
-        double basePrice = 100.0;
-        double variation = (random.nextDouble() - 0.5) * 20;
-        return BigDecimal.valueOf(basePrice + variation).setScale(2, RoundingMode.HALF_UP);
+        return order.getSide() == Order.OrderSide.BUY ? quote.ask() : quote.bid();
     }
 }
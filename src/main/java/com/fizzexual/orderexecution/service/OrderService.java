@@ -1,124 +1,406 @@
 package com.fizzexual.orderexecution.service;
 
+import com.fizzexual.orderexecution.config.BatchProperties;
+import com.fizzexual.orderexecution.dto.BatchOrderResponse;
+import com.fizzexual.orderexecution.dto.BatchOrderResult;
+import com.fizzexual.orderexecution.dto.CursorPage;
 import com.fizzexual.orderexecution.dto.OrderRequest;
 import com.fizzexual.orderexecution.dto.OrderResponse;
 import com.fizzexual.orderexecution.entity.Account;
 import com.fizzexual.orderexecution.entity.Order;
 import com.fizzexual.orderexecution.exception.BusinessException;
 import com.fizzexual.orderexecution.exception.ResourceNotFoundException;
+import com.fizzexual.orderexecution.exception.ServiceBusyException;
+import com.fizzexual.orderexecution.ledger.AccountLedger;
 import com.fizzexual.orderexecution.mapper.OrderMapper;
-import com.fizzexual.orderexecution.repository.AccountRepository;
+import com.fizzexual.orderexecution.matching.BookOrder;
+import com.fizzexual.orderexecution.matching.MatchingEngine;
+import com.fizzexual.orderexecution.matching.Prices;
+import com.fizzexual.orderexecution.metrics.OrderMetrics;
+import com.fizzexual.orderexecution.persistence.IdAllocator;
+import com.fizzexual.orderexecution.persistence.OrderUpdate;
+import com.fizzexual.orderexecution.persistence.SnowflakeIdGenerator;
+import com.fizzexual.orderexecution.persistence.WriteBatch;
+import com.fizzexual.orderexecution.persistence.WriteBehindWriter;
 import com.fizzexual.orderexecution.repository.OrderRepository;
+import com.fizzexual.orderexecution.sequencer.OrderSequencer;
+import com.fizzexual.orderexecution.stream.OrderEventBus;
+import com.fizzexual.orderexecution.stream.OrderEvents;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OrderService {
 
+    static final String ORDER_NUMBER_PREFIX = "ORD-";
+
     private final OrderRepository orderRepository;
-    private final AccountRepository accountRepository;
+    private final AccountStore accountStore;
+    private final AccountLedger accountLedger;
     private final OrderExecutionService orderExecutionService;
     private final OrderMapper orderMapper;
+    private final MatchingEngine matchingEngine;
+    private final OrderSequencer orderSequencer;
+    private final IdAllocator idAllocator;
+    private final SnowflakeIdGenerator orderNumbers;
+    private final WriteBehindWriter writeBehindWriter;
+    private final Validator validator;
+    private final BatchProperties batchProperties;
+    private final OrderMetrics orderMetrics;
+    private final OrderEventBus orderEventBus;
 
-    @Transactional
     public OrderResponse createOrder(OrderRequest request) {
+        long started = System.nanoTime();
+        Admission admission = admit(request);
+        try {
+            OrderResponse response = orderSequencer.execute(admission.symbol(), () -> placeOnShard(request, admission));
+            orderMetrics.recordLatency(System.nanoTime() - started);
+            return response;
+        } catch (RuntimeException e) {
+            writeBehindWriter.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #createOrder}: hands the order to its symbol's shard and
+     * returns straight away. The future completes on the shard thread once the order is placed
+     * and its batch is journaled; the caller only waits if the write-behind queue or the shard's
+     * ring buffer is full.
+     */
+    public CompletableFuture<OrderResponse> submitOrder(OrderRequest request) {
+        long started = System.nanoTime();
+        Admission admission = admit(request);
+        CompletableFuture<OrderResponse> placed;
+        try {
+            placed = orderSequencer.submit(admission.symbol(), () -> placeOnShard(request, admission));
+        } catch (RuntimeException e) {
+            writeBehindWriter.release();
+            throw e;
+        }
+        return placed.whenComplete((response, error) -> {
+            if (error != null) {
+                writeBehindWriter.release();
+            } else {
+                orderMetrics.recordLatency(System.nanoTime() - started);
+            }
+        });
+    }
+
+    /**
+     * Checks what can be checked off the shard, resolves the account there too (a cache miss is
+     * a database round trip that would stall every symbol on the shard), and reserves
+     * write-behind capacity for the order.
+     */
+    private Admission admit(OrderRequest request) {
         log.info("Creating order for account: {}", request.getAccountId());
 
-        Account account = accountRepository.findById(request.getAccountId())
+        if (request.getType() == Order.OrderType.LIMIT && request.getLimitPrice() == null) {
+            throw new BusinessException("Limit price is required for LIMIT orders");
+        }
+        Account account = accountStore.find(request.getAccountId())
                 .orElseThrow(() -> new ResourceNotFoundException("Account", "id", request.getAccountId()));
 
-        if (account.getStatus() != Account.AccountStatus.ACTIVE) {
-            throw new BusinessException("Cannot create order for inactive account");
+        String symbol = request.getSymbol().toUpperCase();
+        writeBehindWriter.reserve();
+        return new Admission(symbol, account);
+    }
+
+    private OrderResponse placeOnShard(OrderRequest request, Admission admission) {
+        WriteBatch batch = new WriteBatch();
+        OrderResponse placed = placeOrder(request, admission.symbol(), admission.account(), batch);
+        submit(batch);
+        return placed;
+    }
+
+    /**
+     * Places a basket of orders. Each order is validated on its own and gets its own result, so
+     * one bad order does not fail the rest. Accounts are loaded in one query, and orders are
+     * placed per symbol in chunks: one sequencer task and one write-behind batch per chunk
+     * instead of per order.
+     */
+    public BatchOrderResponse createOrders(List<OrderRequest> requests) {
+        if (requests.size() > batchProperties.getMaxSize()) {
+            throw new BusinessException("Batch must not exceed " + batchProperties.getMaxSize() + " orders");
+        }
+        log.info("Creating batch of {} orders", requests.size());
+
+        BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+        Map<String, List<Integer>> bySymbol = new LinkedHashMap<>();
+        Set<Long> accountIds = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            OrderRequest request = requests.get(i);
+            BatchOrderResult invalid = validate(i, request);
+            if (invalid != null) {
+                results[i] = invalid;
+                continue;
+            }
+            bySymbol.computeIfAbsent(request.getSymbol().toUpperCase(), symbol -> new ArrayList<>()).add(i);
+            accountIds.add(request.getAccountId());
+        }
+        Map<Long, Account> accounts = accountStore.findAll(accountIds);
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> entry : bySymbol.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            for (int from = 0; from < indexes.size(); from += batchProperties.getChunkSize()) {
+                List<Integer> chunk = indexes.subList(from, Math.min(from + batchProperties.getChunkSize(), indexes.size()));
+                try {
+                    writeBehindWriter.reserve();
+                } catch (ServiceBusyException e) {
+                    chunk.forEach(i -> results[i] = BatchOrderResult.failure(i, e.getMessage()));
+                    continue;
+                }
+                try {
+                    chunks.add(orderSequencer.submit(entry.getKey(),
+                            () -> placeChunk(entry.getKey(), chunk, requests, accounts, results)));
+                } catch (ServiceBusyException e) {
+                    writeBehindWriter.release();
+                    chunk.forEach(i -> results[i] = BatchOrderResult.failure(i, e.getMessage()));
+                }
+            }
+        }
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+
+        int accepted = (int) Arrays.stream(results).filter(BatchOrderResult::isSuccess).count();
+        return BatchOrderResponse.builder()
+                .total(results.length)
+                .accepted(accepted)
+                .failed(results.length - accepted)
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    private Void placeChunk(String symbol, List<Integer> chunk, List<OrderRequest> requests,
+                            Map<Long, Account> accounts, BatchOrderResult[] results) {
+        WriteBatch batch = new WriteBatch();
+        try {
+            for (int i : chunk) {
+                OrderRequest request = requests.get(i);
+                Account account = accounts.get(request.getAccountId());
+                try {
+                    if (account == null) {
+                        throw new ResourceNotFoundException("Account", "id", request.getAccountId());
+                    }
+                    results[i] = BatchOrderResult.success(i, placeOrder(request, symbol, account, batch));
+                } catch (BusinessException | ResourceNotFoundException e) {
+                    results[i] = BatchOrderResult.failure(i, e.getMessage());
+                }
+            }
+        } finally {
+            if (batch.isEmpty()) {
+                writeBehindWriter.release();
+            } else {
+                submit(batch);
+            }
         }
+        return null;
+    }
 
+    private BatchOrderResult validate(int index, OrderRequest request) {
+        if (request == null) {
+            return BatchOrderResult.failure(index, "Order is required");
+        }
+        Set<ConstraintViolation<OrderRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            Map<String, String> validationErrors = new TreeMap<>();
+            violations.forEach(violation ->
+                    validationErrors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+            BatchOrderResult result = BatchOrderResult.failure(index, "Input validation failed");
+            result.setValidationErrors(validationErrors);
+            return result;
+        }
         if (request.getType() == Order.OrderType.LIMIT && request.getLimitPrice() == null) {
-            throw new BusinessException("Limit price is required for LIMIT orders");
+            return BatchOrderResult.failure(index, "Limit price is required for LIMIT orders");
         }
+        return null;
+    }
 
+    /**
+     * Places one order on its symbol's shard and adds its rows to {@code batch}; the caller
+     * submits the batch.
+     */
+    private OrderResponse placeOrder(OrderRequest request, String symbol, Account account, WriteBatch batch) {
+        // The column keeps microseconds, and updates find the row by its exact created_at.
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         Order order = Order.builder()
+                .id(idAllocator.nextOrderId())
                 .orderNumber(generateOrderNumber())
                 .account(account)
-                .symbol(request.getSymbol().toUpperCase())
+                .symbol(symbol)
                 .type(request.getType())
                 .side(request.getSide())
                 .quantity(request.getQuantity())
                 .limitPrice(request.getLimitPrice())
                 .status(Order.OrderStatus.PENDING)
                 .executedQuantity(0)
+                .createdAt(now)
+                .updatedAt(now)
                 .build();
-
-        order = orderRepository.save(order);
         log.info("Order created with number: {}", order.getOrderNumber());
 
         try {
-            orderExecutionService.executeOrder(order, account);
-            order = orderRepository.save(order);
+            orderExecutionService.executeOrder(order, account, batch);
         } catch (BusinessException e) {
             log.error("Order execution failed: {}", e.getMessage());
-            order = orderRepository.save(order);
         }
+        batch.insertOrder(order);
+        batch.addEvent(OrderEvents.order(order));
+        orderMetrics.recordOutcome(symbol, order.getSide(), order.getStatus());
 
         return orderMapper.toResponse(order);
     }
 
     @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
-        return orderMapper.toResponse(order);
+        return orderMapper.toResponse(findOrder(id));
     }
 
     @Transactional(readOnly = true)
     public OrderResponse getOrderByNumber(String orderNumber) {
-        Order order = orderRepository.findByOrderNumber(orderNumber)
+        return CreationWindow.ofOrderNumber(orderNumber)
+                .flatMap(window -> orderRepository.findResponseByOrderNumberCreatedBetween(orderNumber,
+                        window.from(), window.to()))
+                .or(() -> orderRepository.findResponseByOrderNumber(orderNumber))
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "orderNumber", orderNumber));
-        return orderMapper.toResponse(order);
     }
 
     @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersByAccountId(Long accountId) {
-        List<Order> orders = orderRepository.findByAccountId(accountId);
-        return orders.stream()
-                .map(orderMapper::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<OrderResponse> getOrdersByAccountId(Long accountId, String cursor, int limit, String direction) {
+        Sort.Direction sort = KeysetCursor.direction(direction);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        Pageable page = KeysetCursor.limit(limit);
+        List<OrderResponse> orders = sort.isAscending()
+                ? orderRepository.findAccountPageAfter(accountId, after.timestamp(), after.id(), page)
+                : orderRepository.findAccountPageBefore(accountId, after.timestamp(), after.id(), page);
+        return KeysetCursor.page(orders, page, OrderResponse::getCreatedAt, OrderResponse::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getAllOrders(String cursor, int limit, String direction) {
+        Sort.Direction sort = KeysetCursor.direction(direction);
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        Pageable page = KeysetCursor.limit(limit);
+        List<OrderResponse> orders = sort.isAscending()
+                ? orderRepository.findPageAfter(after.timestamp(), after.id(), page)
+                : orderRepository.findPageBefore(after.timestamp(), after.id(), page);
+        return KeysetCursor.page(orders, page, OrderResponse::getCreatedAt, OrderResponse::getId);
     }
 
+    /**
+     * Feeds every order (or every order of {@code accountId} when not null) to {@code sink} in
+     * creation order, holding only one fetch-size worth of rows at a time.
+     */
     @Transactional(readOnly = true)
-    public List<OrderResponse> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(orderMapper::toResponse)
-                .collect(Collectors.toList());
+    public void streamOrders(Long accountId, Consumer<OrderResponse> sink) {
+        try (Stream<OrderResponse> orders = accountId != null
+                ? orderRepository.streamByAccountId(accountId) : orderRepository.streamAll()) {
+            orders.forEach(sink);
+        }
     }
 
-    @Transactional
     public OrderResponse cancelOrder(Long id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+        Order order = findOrder(id);
 
-        if (order.getStatus() == Order.OrderStatus.EXECUTED) {
-            throw new BusinessException("Cannot cancel an executed order");
+        writeBehindWriter.reserve();
+        try {
+            return orderSequencer.execute(order.getSymbol(), () -> cancelOnShard(findOrder(id)));
+        } catch (RuntimeException e) {
+            writeBehindWriter.release();
+            throw e;
         }
+    }
 
-        if (order.getStatus() == Order.OrderStatus.CANCELLED) {
-            throw new BusinessException("Order is already cancelled");
+    private OrderResponse cancelOnShard(Order order) {
+        BookOrder resting = matchingEngine.cancel(order.getSymbol(), order.getId());
+        if (resting == null) {
+            if (order.getStatus() == Order.OrderStatus.CANCELLED) {
+                throw new BusinessException("Order is already cancelled");
+            }
+            if (order.getStatus() != Order.OrderStatus.REJECTED) {
+                throw new BusinessException("Cannot cancel an executed order");
+            }
+        } else if (resting.getExecutedQuantity() > 0) {
+            // The order may have traded since it was read; the book holds its latest fill state.
+            order.setExecutedQuantity((int) resting.getExecutedQuantity());
+            order.setExecutedPrice(Prices.toDecimal(
+                    Prices.averagePrice(resting.getExecutedNotional(), resting.getExecutedQuantity())));
         }
 
         order.setStatus(Order.OrderStatus.CANCELLED);
-        order = orderRepository.save(order);
+        order.setUpdatedAt(LocalDateTime.now());
+
+        WriteBatch batch = new WriteBatch();
+        batch.updateOrder(new OrderUpdate(order.getId(), order.getCreatedAt(), order.getStatus(),
+                order.getExecutedPrice() != null ? Prices.toTicks(order.getExecutedPrice()) : 0L,
+                order.getExecutedQuantity() != null ? order.getExecutedQuantity() : 0, order.getUpdatedAt()));
+        if (resting != null && resting.isBuy()) {
+            batch.updateAccountBalance(resting.getAccountId(), accountLedger.release(resting.getAccountId(),
+                    resting.getPrice() * resting.getRemainingQuantity()));
+        }
+        batch.addEvent(OrderEvents.order(order));
+        OrderResponse response = orderMapper.toResponse(order);
+        submit(batch);
+        orderMetrics.recordOutcome(order.getSymbol(), order.getSide(), order.getStatus());
         log.info("Order {} cancelled", order.getOrderNumber());
 
-        return orderMapper.toResponse(order);
+        return response;
     }
 
+    /**
+     * Hands the batch to the write-behind writer and, once it is accepted, its events to stream
+     * subscribers.
+     */
+    private void submit(WriteBatch batch) {
+        writeBehindWriter.submit(batch);
+        orderEventBus.publish(batch.getEvents());
+    }
+
+    /**
+     * Looks the order up in the write-behind queue first so that orders acknowledged moments ago
+     * are visible before they reach the database, then in the partitions its id points at.
+     */
+    private Order findOrder(Long id) {
+        return writeBehindWriter.findPendingOrder(id)
+                .or(() -> CreationWindow.ofOrderId(id, idAllocator)
+                        .flatMap(window -> orderRepository.findByIdCreatedBetween(id, window.from(), window.to())))
+                .or(() -> orderRepository.findById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id));
+    }
+
+    /**
+     * A Snowflake id in base 36: unique across nodes, increasing in creation order, and with no
+     * {@code SecureRandom} behind it.
+     */
     private String generateOrderNumber() {
-        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return ORDER_NUMBER_PREFIX + Long.toString(orderNumbers.nextId(), 36).toUpperCase();
+    }
+
+    /**
+     * An order that passed {@link #admit}: its normalized symbol and its account.
+     */
+    private record Admission(String symbol, Account account) {
     }
 }
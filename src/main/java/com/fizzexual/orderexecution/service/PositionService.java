@@ -0,0 +1,35 @@
+package com.fizzexual.orderexecution.service;
+
+import com.fizzexual.orderexecution.dto.PositionResponse;
+import com.fizzexual.orderexecution.exception.ResourceNotFoundException;
+import com.fizzexual.orderexecution.mapper.PositionMapper;
+import com.fizzexual.orderexecution.marketdata.MarketDataCache;
+import com.fizzexual.orderexecution.position.PositionBook;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Serves positions from the {@link PositionBook}; the database is only read for an account that
+ * is not cached yet.
+ */
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class PositionService {
+
+    private final PositionBook positionBook;
+    private final AccountStore accountStore;
+    private final PositionMapper positionMapper;
+    private final MarketDataCache marketDataCache;
+
+    public List<PositionResponse> getPositions(Long accountId) {
+        accountStore.find(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", "id", accountId));
+        return positionBook.positions(accountId).stream()
+                .map(position -> positionMapper.toResponse(position, marketDataCache.quote(position.symbol())))
+                .toList();
+    }
+}
@@ -0,0 +1,63 @@
+package com.fizzexual.orderexecution.service;
+
+import com.fizzexual.orderexecution.dto.AccountResponse;
+import com.fizzexual.orderexecution.dto.PositionResponse;
+import com.fizzexual.orderexecution.exception.ResourceNotFoundException;
+import com.fizzexual.orderexecution.mapper.PositionMapper;
+import com.fizzexual.orderexecution.marketdata.MarketDataCache;
+import com.fizzexual.orderexecution.matching.Prices;
+import com.fizzexual.orderexecution.position.PositionBook;
+import com.fizzexual.orderexecution.repository.r2dbc.R2dbcAccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Account reads for the reactive profile, mirroring {@link AccountService} over R2DBC.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAccountService {
+
+    private final R2dbcAccountRepository accountRepository;
+    private final PositionBook positionBook;
+    private final PositionMapper positionMapper;
+    private final MarketDataCache marketDataCache;
+
+    public Mono<AccountResponse> getAccountById(Long id) {
+        return accountRepository.findResponseById(id)
+                .map(this::withUnrealizedPnl)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Account", "id", id)));
+    }
+
+    public Mono<AccountResponse> getAccountByNumber(String accountNumber) {
+        return accountRepository.findResponseByAccountNumber(accountNumber)
+                .map(this::withUnrealizedPnl)
+                .switchIfEmpty(Mono.error(() ->
+                        new ResourceNotFoundException("Account", "accountNumber", accountNumber)));
+    }
+
+    public Flux<PositionResponse> getPositions(Long accountId) {
+        return accountRepository.existsById(accountId)
+                .flatMapMany(exists -> exists
+                        ? Flux.fromIterable(positionBook.positions(accountId)).map(position ->
+                                positionMapper.toResponse(position, marketDataCache.quote(position.symbol())))
+                        : Flux.error(new ResourceNotFoundException("Account", "id", accountId)));
+    }
+
+    public Flux<AccountResponse> getAccountsByUserId(Long userId) {
+        return accountRepository.findResponsesByUserId(userId).map(this::withUnrealizedPnl);
+    }
+
+    public Flux<AccountResponse> getAllAccounts() {
+        return accountRepository.findAllResponses().map(this::withUnrealizedPnl);
+    }
+
+    private AccountResponse withUnrealizedPnl(AccountResponse response) {
+        response.setUnrealizedPnl(Prices.toDecimal(positionBook.unrealizedPnl(response.getId())));
+        return response;
+    }
+}
@@ -0,0 +1,47 @@
+package com.fizzexual.orderexecution.service;
+
+import com.fizzexual.orderexecution.dto.CursorPage;
+import com.fizzexual.orderexecution.dto.ExecutionLogResponse;
+import com.fizzexual.orderexecution.repository.r2dbc.R2dbcExecutionLogRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Execution log reads for the reactive profile, mirroring {@link ExecutionLogService} over R2DBC.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveExecutionLogService {
+
+    private final R2dbcExecutionLogRepository executionLogRepository;
+
+    public Flux<ExecutionLogResponse> getExecutionLogsByOrderId(Long orderId) {
+        return executionLogRepository.findResponsesByOrderId(orderId);
+    }
+
+    public Mono<CursorPage<ExecutionLogResponse>> getExecutionLogs(String cursor, int limit, String direction) {
+        return Mono.defer(() -> {
+            Sort.Direction sort = KeysetCursor.direction(direction);
+            KeysetCursor after = KeysetCursor.decode(cursor, sort);
+            Pageable page = KeysetCursor.limit(limit);
+            Flux<ExecutionLogResponse> logs = sort.isAscending()
+                    ? executionLogRepository.findPageAfter(after.timestamp(), after.id(), page.getPageSize())
+                    : executionLogRepository.findPageBefore(after.timestamp(), after.id(), page.getPageSize());
+            return logs.collectList().map(items ->
+                    KeysetCursor.page(items, page, ExecutionLogResponse::getExecutedAt, ExecutionLogResponse::getId));
+        });
+    }
+
+    /**
+     * Every execution log in execution order, emitted as the rows arrive.
+     */
+    public Flux<ExecutionLogResponse> streamExecutionLogs() {
+        return executionLogRepository.streamAll();
+    }
+}
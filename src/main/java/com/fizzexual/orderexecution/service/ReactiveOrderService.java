@@ -0,0 +1,96 @@
+package com.fizzexual.orderexecution.service;
+
+import com.fizzexual.orderexecution.dto.CursorPage;
+import com.fizzexual.orderexecution.dto.OrderResponse;
+import com.fizzexual.orderexecution.exception.ResourceNotFoundException;
+import com.fizzexual.orderexecution.mapper.OrderMapper;
+import com.fizzexual.orderexecution.persistence.IdAllocator;
+import com.fizzexual.orderexecution.persistence.WriteBehindWriter;
+import com.fizzexual.orderexecution.repository.r2dbc.R2dbcOrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Order reads for the reactive profile, mirroring {@link OrderService} over R2DBC. Placing and
+ * cancelling orders still goes through {@link OrderService}.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveOrderService {
+
+    private final R2dbcOrderRepository orderRepository;
+    private final WriteBehindWriter writeBehindWriter;
+    private final OrderMapper orderMapper;
+    private final IdAllocator idAllocator;
+
+    /**
+     * Like {@link OrderService#getOrderById}, checks the write-behind queue before the database,
+     * and there the partitions the id points at first.
+     */
+    public Mono<OrderResponse> getOrderById(Long id) {
+        return Mono.defer(() -> writeBehindWriter.findPendingOrder(id)
+                        .map(order -> Mono.just(orderMapper.toResponse(order)))
+                        .orElseGet(() -> CreationWindow.ofOrderId(id, idAllocator)
+                                .map(window -> orderRepository.findResponseByIdCreatedBetween(id, window.from(),
+                                        window.to()))
+                                .orElse(Mono.empty())
+                                .switchIfEmpty(Mono.defer(() -> orderRepository.findResponseById(id)))))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Order", "id", id)));
+    }
+
+    /**
+     * Like {@link OrderService#getOrderByNumber}, tries the partitions the order number points at
+     * first.
+     */
+    public Mono<OrderResponse> getOrderByNumber(String orderNumber) {
+        return CreationWindow.ofOrderNumber(orderNumber)
+                .map(window -> orderRepository.findResponseByOrderNumberCreatedBetween(orderNumber,
+                        window.from(), window.to()))
+                .orElse(Mono.empty())
+                .switchIfEmpty(Mono.defer(() -> orderRepository.findResponseByOrderNumber(orderNumber)))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Order", "orderNumber", orderNumber)));
+    }
+
+    public Mono<CursorPage<OrderResponse>> getOrdersByAccountId(Long accountId, String cursor, int limit,
+                                                                String direction) {
+        return Mono.defer(() -> {
+            Sort.Direction sort = KeysetCursor.direction(direction);
+            KeysetCursor after = KeysetCursor.decode(cursor, sort);
+            Pageable page = KeysetCursor.limit(limit);
+            Flux<OrderResponse> orders = sort.isAscending()
+                    ? orderRepository.findAccountPageAfter(accountId, after.timestamp(), after.id(),
+                            page.getPageSize())
+                    : orderRepository.findAccountPageBefore(accountId, after.timestamp(), after.id(),
+                            page.getPageSize());
+            return orders.collectList()
+                    .map(items -> KeysetCursor.page(items, page, OrderResponse::getCreatedAt, OrderResponse::getId));
+        });
+    }
+
+    public Mono<CursorPage<OrderResponse>> getAllOrders(String cursor, int limit, String direction) {
+        return Mono.defer(() -> {
+            Sort.Direction sort = KeysetCursor.direction(direction);
+            KeysetCursor after = KeysetCursor.decode(cursor, sort);
+            Pageable page = KeysetCursor.limit(limit);
+            Flux<OrderResponse> orders = sort.isAscending()
+                    ? orderRepository.findPageAfter(after.timestamp(), after.id(), page.getPageSize())
+                    : orderRepository.findPageBefore(after.timestamp(), after.id(), page.getPageSize());
+            return orders.collectList()
+                    .map(items -> KeysetCursor.page(items, page, OrderResponse::getCreatedAt, OrderResponse::getId));
+        });
+    }
+
+    /**
+     * Every order (or every order of {@code accountId} when not null) in creation order, emitted
+     * as the rows arrive.
+     */
+    public Flux<OrderResponse> streamOrders(Long accountId) {
+        return accountId != null ? orderRepository.streamByAccountId(accountId) : orderRepository.streamAll();
+    }
+}
@@ -0,0 +1,322 @@
+package com.fizzexual.orderexecution.stream;
+
+import com.fizzexual.orderexecution.config.StreamProperties;
+import com.fizzexual.orderexecution.dto.OrderEvent;
+import com.fizzexual.orderexecution.exception.ServiceBusyException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pushes order and execution events to stream subscribers as batches are accepted.
+ * <p>
+ * Every event gets the next sequence number and goes into a ring of the last
+ * {@code replayCapacity} events, so a subscriber that reconnects with the last sequence it saw
+ * resumes without gaps or duplicates; one that is too far behind gets a {@code RESET} instead.
+ * Sequences start at the startup time in microseconds, so a sequence from before a restart is
+ * always older than anything replayable.
+ * <p>
+ * Publishing only enqueues the events: a single dispatcher thread takes published events and new
+ * subscriptions from one queue, in order, and is the only thread that assigns sequences, writes
+ * the ring and fans events out, so the sequencer shards neither contend on a lock nor pay for
+ * each subscriber. A subscription joins at its place in that queue, which keeps its replay and
+ * the events after it contiguous.
+ * <p>
+ * Fan-out never blocks on a client: each subscriber has a bounded buffer that a sender thread
+ * drains. A subscriber whose buffer overflows stops receiving events, gets what is already
+ * buffered, and is then disconnected to resume from its last sequence.
+ */
+@Component
+@Slf4j
+public class OrderEventBus implements MeterBinder {
+
+    private static final String FELL_BEHIND = "Subscriber fell behind; resume from the last sequence received";
+
+    private final StreamProperties properties;
+    private final OrderEvent[] replay;
+    private final long firstSequence;
+    private final List<Subscription> subscribers = new CopyOnWriteArrayList<>();
+    /**
+     * Subscriptions that count against {@code maxSubscribers}, including those still waiting for
+     * the dispatcher to add them.
+     */
+    private final AtomicInteger subscriberSlots = new AtomicInteger();
+    /**
+     * Published event lists and joining {@link Subscription}s, for the dispatcher.
+     */
+    private final BlockingQueue<Object> inbox = new LinkedBlockingQueue<>();
+    private final LongAdder dropped = new LongAdder();
+    private final ExecutorService dispatcher;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    /**
+     * Only touched by the dispatcher thread.
+     */
+    private long lastSequence;
+
+    @Autowired
+    public OrderEventBus(StreamProperties properties) {
+        this(properties, TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis()));
+    }
+
+    OrderEventBus(StreamProperties properties, long firstSequence) {
+        this.properties = properties;
+        this.replay = new OrderEvent[properties.getReplayCapacity()];
+        this.firstSequence = firstSequence;
+        this.lastSequence = firstSequence;
+        this.dispatcher = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "order-stream-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "order-stream-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "order-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.getHeartbeatMillis() > 0) {
+            heartbeats.scheduleAtFixedRate(this::heartbeat, properties.getHeartbeatMillis(),
+                    properties.getHeartbeatMillis(), TimeUnit.MILLISECONDS);
+        }
+        dispatcher.execute(this::dispatch);
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    /**
+     * Queues the events to be sequenced and handed to every matching subscriber, in order.
+     */
+    public void publish(List<OrderEvent> events) {
+        if (!events.isEmpty()) {
+            inbox.add(events);
+        }
+    }
+
+    /**
+     * @param afterSequence the last sequence the subscriber received, to resume after it; null to
+     *                      start with the next event
+     * @throws ServiceBusyException if {@code maxSubscribers} are already connected
+     */
+    public Subscription subscribe(OrderEventFilter filter, Long afterSequence, OrderEventSink sink) {
+        int slots;
+        do {
+            slots = subscriberSlots.get();
+            if (slots >= properties.getMaxSubscribers()) {
+                throw new ServiceBusyException("Too many stream subscribers, please retry later");
+            }
+        } while (!subscriberSlots.compareAndSet(slots, slots + 1));
+        Subscription subscription = new Subscription(filter, afterSequence, sink);
+        inbox.add(subscription);
+        return subscription;
+    }
+
+    public int subscriberCount() {
+        return subscriberSlots.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("stream.subscribers", subscriberSlots, AtomicInteger::get)
+                .description("Connected order event stream subscribers")
+                .register(registry);
+        FunctionCounter.builder("stream.subscribers.dropped", dropped, LongAdder::sum)
+                .description("Subscribers disconnected for falling behind")
+                .register(registry);
+    }
+
+    private void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Object next;
+            try {
+                next = inbox.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                if (next instanceof Subscription subscription) {
+                    join(subscription);
+                } else {
+                    @SuppressWarnings("unchecked")
+                    List<OrderEvent> events = (List<OrderEvent>) next;
+                    fanOut(events);
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to dispatch stream events", e);
+            }
+        }
+    }
+
+    private void fanOut(List<OrderEvent> events) {
+        for (OrderEvent event : events) {
+            event.setSequence(++lastSequence);
+            replay[slot(lastSequence)] = event;
+            for (Subscription subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private void join(Subscription subscription) {
+        if (subscription.closed.get()) {
+            return;
+        }
+        if (subscription.afterSequence != null) {
+            replayAfter(subscription.afterSequence, subscription);
+        }
+        subscribers.add(subscription);
+        if (subscription.closed.get()) {
+            // Cancelled while joining, after its removal ran.
+            subscribers.remove(subscription);
+        } else if (!subscription.backlog.isEmpty()) {
+            subscription.schedule();
+        }
+    }
+
+    private void replayAfter(long afterSequence, Subscription subscription) {
+        long oldest = Math.max(firstSequence + 1, lastSequence - replay.length + 1);
+        if (afterSequence > lastSequence || afterSequence + 1 < oldest) {
+            subscription.backlog.add(OrderEvent.builder()
+                    .sequence(lastSequence)
+                    .type(OrderEvent.Type.RESET)
+                    .build());
+            return;
+        }
+        for (long sequence = afterSequence + 1; sequence <= lastSequence; sequence++) {
+            OrderEvent event = replay[slot(sequence)];
+            if (subscription.filter.matches(event)) {
+                subscription.backlog.add(event);
+            }
+        }
+    }
+
+    private int slot(long sequence) {
+        return (int) Math.floorMod(sequence, (long) replay.length);
+    }
+
+    private void heartbeat() {
+        for (Subscription subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            subscriber.schedule();
+        }
+    }
+
+    /**
+     * A connected subscriber. Events are delivered by at most one sender thread at a time.
+     */
+    public final class Subscription {
+
+        private final OrderEventFilter filter;
+        private final Long afterSequence;
+        private final OrderEventSink sink;
+        private final Queue<OrderEvent> backlog = new ArrayDeque<>();
+        private final ArrayBlockingQueue<OrderEvent> buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+        private volatile boolean overflowed;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscription(OrderEventFilter filter, Long afterSequence, OrderEventSink sink) {
+            this.filter = filter;
+            this.afterSequence = afterSequence;
+            this.sink = sink;
+        }
+
+        /**
+         * Stops delivery, e.g. once the client has disconnected.
+         */
+        public void cancel() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                subscriberSlots.decrementAndGet();
+            }
+        }
+
+        private void offer(OrderEvent event) {
+            if (closed.get() || overflowed || !filter.matches(event)) {
+                return;
+            }
+            // Once an event is dropped nothing later may be delivered, or the client would
+            // resume after a gap.
+            if (!buffer.offer(event)) {
+                overflowed = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!closed.get() && draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            do {
+                try {
+                    deliver();
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Stream subscriber disconnected: {}", e.getMessage());
+                    cancel();
+                }
+                draining.set(false);
+            } while (!closed.get() && (!buffer.isEmpty() || overflowed || heartbeatDue)
+                    && draining.compareAndSet(false, true));
+        }
+
+        private void deliver() throws IOException {
+            OrderEvent event;
+            while (!closed.get() && (event = backlog.poll()) != null) {
+                sink.send(event);
+            }
+            while (!closed.get() && (event = buffer.poll()) != null) {
+                sink.send(event);
+            }
+            if (closed.get()) {
+                return;
+            }
+            if (overflowed) {
+                cancel();
+                dropped.increment();
+                sink.close(FELL_BEHIND);
+            } else if (heartbeatDue) {
+                heartbeatDue = false;
+                sink.heartbeat();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.fizzexual.orderexecution.stream;
+
+import com.fizzexual.orderexecution.dto.OrderEvent;
+
+/**
+ * What a subscriber wants to see: one account's events, one symbol's, both, or (with neither set)
+ * everything. {@code RESET} events always get through.
+ */
+public record OrderEventFilter(Long accountId, String symbol) {
+
+    public OrderEventFilter {
+        symbol = symbol != null && !symbol.isBlank() ? symbol.toUpperCase() : null;
+    }
+
+    boolean matches(OrderEvent event) {
+        if (event.getType() == OrderEvent.Type.RESET) {
+            return true;
+        }
+        return (accountId == null || accountId.equals(event.getAccountId()))
+                && (symbol == null || symbol.equals(event.getSymbol()));
+    }
+}
@@ -0,0 +1,25 @@
+package com.fizzexual.orderexecution.stream;
+
+import com.fizzexual.orderexecution.dto.OrderEvent;
+
+import java.io.IOException;
+
+/**
+ * One subscriber's connection, SSE or WebSocket. The {@link OrderEventBus} calls it from one
+ * thread at a time, never from the thread that published the event.
+ */
+public interface OrderEventSink {
+
+    void send(OrderEvent event) throws IOException;
+
+    /**
+     * Keeps an idle connection open; a failure means the client is gone.
+     */
+    void heartbeat() throws IOException;
+
+    /**
+     * Ends the stream because the subscriber fell behind. The client can reconnect and resume
+     * from the last sequence it received.
+     */
+    void close(String reason);
+}
@@ -0,0 +1,93 @@
+package com.fizzexual.orderexecution.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fizzexual.orderexecution.dto.OrderEvent;
+import com.fizzexual.orderexecution.exception.ServiceBusyException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+
+/**
+ * WebSocket transport of the order event stream: one JSON {@link OrderEvent} per text message.
+ * Filters and the resume point are query parameters, as for the SSE endpoint:
+ * {@code /ws/events?accountId=1&symbol=AAPL&fromSequence=...}.
+ */
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventWebSocketHandler extends TextWebSocketHandler {
+
+    private static final String SUBSCRIPTION = "orderEventSubscription";
+
+    private final OrderEventBus orderEventBus;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        MultiValueMap<String, String> query = UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams();
+        OrderEventBus.Subscription subscription;
+        try {
+            subscription = orderEventBus.subscribe(
+                    new OrderEventFilter(longParam(query, "accountId"), query.getFirst("symbol")),
+                    longParam(query, "fromSequence"), new Sink(session));
+        } catch (NumberFormatException e) {
+            session.close(CloseStatus.BAD_DATA.withReason("accountId and fromSequence must be numbers"));
+            return;
+        } catch (ServiceBusyException e) {
+            session.close(CloseStatus.SERVICE_OVERLOAD.withReason(e.getMessage()));
+            return;
+        }
+        session.getAttributes().put(SUBSCRIPTION, subscription);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        if (session.getAttributes().get(SUBSCRIPTION) instanceof OrderEventBus.Subscription subscription) {
+            subscription.cancel();
+        }
+    }
+
+    private static Long longParam(MultiValueMap<String, String> query, String name) {
+        String value = query.getFirst(name);
+        return value == null || value.isBlank() ? null : Long.valueOf(value);
+    }
+
+    private final class Sink implements OrderEventSink {
+
+        private final WebSocketSession session;
+
+        private Sink(WebSocketSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public void send(OrderEvent event) throws IOException {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(event)));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            session.sendMessage(new PingMessage());
+        }
+
+        @Override
+        public void close(String reason) {
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE.withReason(reason));
+            } catch (IOException e) {
+                log.debug("Failed to close WebSocket session {}: {}", session.getId(), e.getMessage());
+            }
+        }
+    }
+}
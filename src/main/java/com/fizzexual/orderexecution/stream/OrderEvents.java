@@ -0,0 +1,65 @@
+package com.fizzexual.orderexecution.stream;
+
+import com.fizzexual.orderexecution.dto.OrderEvent;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.matching.Prices;
+import com.fizzexual.orderexecution.persistence.ExecutionLogRow;
+import com.fizzexual.orderexecution.persistence.OrderUpdate;
+
+/**
+ * Builds the {@link OrderEvent}s for the changes the execution path makes.
+ */
+public final class OrderEvents {
+
+    private OrderEvents() {
+    }
+
+    public static OrderEvent order(Order order) {
+        return OrderEvent.builder()
+                .type(OrderEvent.Type.ORDER)
+                .orderId(order.getId())
+                .accountId(order.getAccount().getId())
+                .symbol(order.getSymbol())
+                .side(order.getSide())
+                .status(order.getStatus())
+                .executedQuantity(order.getExecutedQuantity())
+                .executedPrice(order.getExecutedPrice())
+                .timestamp(order.getUpdatedAt())
+                .build();
+    }
+
+    /**
+     * An update to an order other than the one being placed, i.e. a resting order that traded.
+     */
+    public static OrderEvent order(OrderUpdate update, long accountId, String symbol, Order.OrderSide side) {
+        return OrderEvent.builder()
+                .type(OrderEvent.Type.ORDER)
+                .orderId(update.getOrderId())
+                .accountId(accountId)
+                .symbol(symbol)
+                .side(side)
+                .status(update.getStatus())
+                .executedQuantity(update.getExecutedQuantity())
+                .executedPrice(update.getExecutedQuantity() > 0 ? Prices.toDecimal(update.getExecutedPrice()) : null)
+                .timestamp(update.getUpdatedAt())
+                .build();
+    }
+
+    public static OrderEvent execution(ExecutionLogRow executionLog, long accountId, String symbol,
+                                       Order.OrderSide side) {
+        return OrderEvent.builder()
+                .type(OrderEvent.Type.EXECUTION)
+                .orderId(executionLog.getOrderId())
+                .accountId(accountId)
+                .symbol(symbol)
+                .side(side)
+                .executionLogId(executionLog.getId())
+                .executionStatus(executionLog.getStatus())
+                .quantity(executionLog.getQuantity())
+                .price(Prices.toDecimal(executionLog.getPrice()))
+                .totalAmount(Prices.toDecimal(executionLog.getTotalAmount()))
+                .message(executionLog.getMessage())
+                .timestamp(executionLog.getExecutedAt())
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.fizzexual.orderexecution.stream;
+
+import com.fizzexual.orderexecution.dto.OrderEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Server-Sent Events transport. Each event's sequence is its SSE id, so a reconnecting
+ * {@code EventSource} resumes through the {@code Last-Event-ID} header on its own.
+ */
+@RequiredArgsConstructor
+public class SseEventSink implements OrderEventSink {
+
+    private final SseEmitter emitter;
+
+    @Override
+    public void send(OrderEvent event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.getSequence()))
+                .data(event, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void close(String reason) {
+        try {
+            emitter.send(SseEmitter.event().comment(reason));
+        } catch (IOException | IllegalStateException e) {
+            // The client is gone already.
+        }
+        emitter.complete();
+    }
+}
@@ -0,0 +1,67 @@
+-- Brings a PostgreSQL database created by earlier versions up to the current entity mappings,
+-- which prod validates on startup (ddl-auto: validate).
+--
+-- Run once, with the application stopped, before partition-orders.sql:
+--   psql -d orderdb -f upgrade-schema.sql
+--
+-- Safe to run again: every step checks what is already there.
+
+BEGIN;
+
+-- Ids now come from sequences instead of IDENTITY columns. Hibernate reads them with the
+-- pooled-lo optimizer: a value v stands for ids v .. v + INCREMENT - 1, so each sequence starts
+-- just above the table's highest id and the first allocation never walks through used ids.
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE execution_logs ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE accounts ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+DO $$
+BEGIN
+    -- Earlier versions only ever changed available_balance; balance kept the opening deposit and
+    -- had no reservations to account for. The ledger now starts from balance and writes both, so
+    -- carry the real cash over once, before the first sequence marks the schema as upgraded.
+    IF to_regclass('orders_seq') IS NULL THEN
+        UPDATE accounts SET balance = available_balance WHERE balance <> available_balance;
+    END IF;
+
+    -- INCREMENT must match allocationSize: IdAllocator.BLOCK_SIZE for orders and execution
+    -- logs, 50 for accounts and users.
+    EXECUTE format('CREATE SEQUENCE IF NOT EXISTS orders_seq START WITH %s INCREMENT BY 1000',
+                   (SELECT coalesce(max(id), 0) + 1 FROM orders));
+    EXECUTE format('CREATE SEQUENCE IF NOT EXISTS execution_logs_seq START WITH %s INCREMENT BY 1000',
+                   (SELECT coalesce(max(id), 0) + 1 FROM execution_logs));
+    EXECUTE format('CREATE SEQUENCE IF NOT EXISTS accounts_seq START WITH %s INCREMENT BY 50',
+                   (SELECT coalesce(max(id), 0) + 1 FROM accounts));
+    EXECUTE format('CREATE SEQUENCE IF NOT EXISTS users_seq START WITH %s INCREMENT BY 50',
+                   (SELECT coalesce(max(id), 0) + 1 FROM users));
+END $$;
+
+-- Checkpoint of the in-memory positions, see PositionBook.
+CREATE TABLE IF NOT EXISTS positions (
+    account_id             bigint         NOT NULL,
+    symbol                 varchar(10)    NOT NULL,
+    quantity               bigint         NOT NULL,
+    cost_basis             numeric(19, 2) NOT NULL,
+    realized_pnl           numeric(19, 2) NOT NULL,
+    last_execution_log_id  bigint         NOT NULL,
+    updated_at             timestamp(6)   NOT NULL,
+    PRIMARY KEY (account_id, symbol)
+);
+
+-- OHLCV bars, see BarAggregator.
+CREATE TABLE IF NOT EXISTS market_bars (
+    symbol        varchar(10)    NOT NULL,
+    bar_interval  varchar(2)     NOT NULL,
+    bucket_start  timestamp(6)   NOT NULL,
+    open_price    numeric(19, 2) NOT NULL,
+    high_price    numeric(19, 2) NOT NULL,
+    low_price     numeric(19, 2) NOT NULL,
+    close_price   numeric(19, 2) NOT NULL,
+    volume        bigint         NOT NULL,
+    notional      numeric(19, 2) NOT NULL,
+    trades        integer        NOT NULL,
+    PRIMARY KEY (symbol, bar_interval, bucket_start)
+);
+
+COMMIT;
@@ -7,14 +7,37 @@ document.addEventListener('DOMContentLoaded', () => {
     loadOrders();
     loadExecutionLogs();
     setupOrderForm();
-    
-    // Auto-refresh every 10 seconds
-    setInterval(() => {
-        loadOrders();
-        loadExecutionLogs();
-    }, 10000);
+    subscribeToEvents();
 });
 
+// Reload the tables when order or execution events arrive, at most once per second.
+// Falls back to polling every 10 seconds where EventSource is not available.
+let refreshPending = false;
+
+function subscribeToEvents() {
+    if (!window.EventSource) {
+        setInterval(refreshTables, 10000);
+        return;
+    }
+    const events = new EventSource(`${API_BASE}/stream/events`);
+    events.onmessage = () => {
+        if (refreshPending) {
+            return;
+        }
+        refreshPending = true;
+        setTimeout(() => {
+            refreshPending = false;
+            refreshTables();
+        }, 1000);
+    };
+}
+
+function refreshTables() {
+    loadAccounts();
+    loadOrders();
+    loadExecutionLogs();
+}
+
 // Load Accounts
 async function loadAccounts() {
     try {
@@ -59,10 +82,10 @@ function populateAccountDropdown(accounts) {
 // Load Orders
 async function loadOrders() {
     try {
-        const response = await fetch(`${API_BASE}/orders`);
-        const orders = await response.json();
+        const response = await fetch(`${API_BASE}/orders?limit=20&direction=desc`);
+        const page = await response.json();
         
-        displayOrders(orders);
+        displayOrders(page.items);
     } catch (error) {
         console.error('Error loading orders:', error);
         document.getElementById('orders-body').innerHTML = 
@@ -78,7 +101,7 @@ function displayOrders(orders) {
         return;
     }
     
-    tbody.innerHTML = orders.slice().reverse().slice(0, 20).map(order => `
+    tbody.innerHTML = orders.map(order => `
         <tr>
             <td>${order.orderNumber}</td>
             <td>${order.accountId}</td>
@@ -96,10 +119,10 @@ function displayOrders(orders) {
 // Load Execution Logs
 async function loadExecutionLogs() {
     try {
-        const response = await fetch(`${API_BASE}/execution-logs`);
-        const logs = await response.json();
+        const response = await fetch(`${API_BASE}/execution-logs?limit=20&direction=desc`);
+        const page = await response.json();
         
-        displayExecutionLogs(logs);
+        displayExecutionLogs(page.items);
     } catch (error) {
         console.error('Error loading execution logs:', error);
         document.getElementById('logs-body').innerHTML = 
@@ -115,7 +138,7 @@ function displayExecutionLogs(logs) {
         return;
     }
     
-    tbody.innerHTML = logs.slice().reverse().slice(0, 20).map(log => `
+    tbody.innerHTML = logs.map(log => `
         <tr>
             <td>${log.id}</td>
             <td>${log.orderId}</td>
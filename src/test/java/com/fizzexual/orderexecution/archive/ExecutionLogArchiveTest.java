@@ -0,0 +1,129 @@
+package com.fizzexual.orderexecution.archive;
+
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+import com.fizzexual.orderexecution.persistence.ExecutionLogRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionLogArchiveTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+
+    @TempDir
+    Path directory;
+
+    private ExecutionLogArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = new ExecutionLogArchive(directory);
+    }
+
+    @Test
+    void query_ReturnsEveryColumnAsWritten() throws Exception {
+        ExecutionLogRow filled = row(101L, 11L, 100, 15_025L, ExecutionLog.ExecutionStatus.SUCCESS,
+                "Order executed", DAY.atTime(9, 30, 0, 123_000_000));
+        ExecutionLogRow rejected = row(105L, 12L, 0, 0L, ExecutionLog.ExecutionStatus.FAILED,
+                null, DAY.atTime(9, 31));
+        write(DAY, "AAPL", filled, rejected);
+
+        List<ExecutionLogRow> rows = archive.query(new ArchiveQuery(null, null, null, null, null), 10);
+
+        assertEquals(2, rows.size());
+        assertSameRow(filled, rows.get(0));
+        assertSameRow(rejected, rows.get(1));
+    }
+
+    @Test
+    void query_FiltersOnDaySymbolOrderAndStatus() throws Exception {
+        write(DAY, "AAPL",
+                row(1L, 10L, 10, 10_000L, ExecutionLog.ExecutionStatus.SUCCESS, "Order executed", DAY.atTime(10, 0)),
+                row(2L, 11L, 5, 10_010L, ExecutionLog.ExecutionStatus.PARTIAL, "Order executed", DAY.atTime(10, 1)));
+        write(DAY, "MSFT",
+                row(3L, 12L, 7, 40_000L, ExecutionLog.ExecutionStatus.SUCCESS, "Order executed", DAY.atTime(10, 2)));
+        write(DAY.plusDays(1), "AAPL",
+                row(4L, 13L, 3, 10_100L, ExecutionLog.ExecutionStatus.SUCCESS, "Order executed",
+                        DAY.plusDays(1).atTime(10, 0)));
+
+        assertEquals(List.of(1L, 2L, 4L), ids(new ArchiveQuery(null, null, "AAPL", null, null)));
+        assertEquals(List.of(1L, 2L, 3L), ids(new ArchiveQuery(DAY, DAY, null, null, null)));
+        assertEquals(List.of(2L), ids(new ArchiveQuery(null, null, null, 11L, null)));
+        assertEquals(List.of(2L), ids(new ArchiveQuery(null, null, null, null, ExecutionLog.ExecutionStatus.PARTIAL)));
+        assertEquals(List.of(), ids(new ArchiveQuery(null, null, "MSFT", 10L, null)));
+        assertEquals(List.of(2L), ids(new ArchiveQuery(null, null, "AAPL", 11L, ExecutionLog.ExecutionStatus.PARTIAL)));
+        // Both pass the AAPL file's header, but no one row has both.
+        assertEquals(List.of(), ids(new ArchiveQuery(null, null, "AAPL", 10L, ExecutionLog.ExecutionStatus.PARTIAL)));
+        assertEquals(List.of(), ids(new ArchiveQuery(DAY.plusDays(2), null, null, null, null)));
+    }
+
+    @Test
+    void query_OrdersByExecutionTimeAcrossFilesAndStopsAtTheLimit() throws Exception {
+        write(DAY, "AAPL",
+                row(1L, 10L, 1, 100L, ExecutionLog.ExecutionStatus.SUCCESS, "a", DAY.atTime(10, 0)),
+                row(3L, 10L, 1, 100L, ExecutionLog.ExecutionStatus.SUCCESS, "a", DAY.atTime(10, 2)));
+        write(DAY, "MSFT",
+                row(2L, 20L, 1, 100L, ExecutionLog.ExecutionStatus.SUCCESS, "a", DAY.atTime(10, 1)));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(new ArchiveQuery(null, null, null, null, null)));
+        assertEquals(List.of(1L, 2L),
+                archive.query(new ArchiveQuery(null, null, null, null, null), 2).stream()
+                        .map(ExecutionLogRow::getId).toList());
+    }
+
+    @Test
+    void write_CompressesRepetitiveColumns() throws Exception {
+        ColumnarLogFile.Writer writer = new ColumnarLogFile.Writer("AAPL");
+        LocalDateTime start = DAY.atTime(9, 30);
+        for (int i = 0; i < 10_000; i++) {
+            writer.add(row(1_000L + 2 * i, 500L + i, 100, 15_000L + i % 7, ExecutionLog.ExecutionStatus.SUCCESS,
+                    "Order executed", start.plusNanos(1_000_000L * i)));
+        }
+
+        long bytes = archive.write(DAY, "AAPL", writer);
+
+        // A row is over 60 bytes as a database row; here it is a few bytes at most.
+        assertTrue(bytes < 10_000 * 4, "Archive file is " + bytes + " bytes");
+        assertEquals(10_000, archive.query(new ArchiveQuery(null, null, null, null, null), 20_000).size());
+        try (var files = Files.list(directory.resolve(DAY.toString()))) {
+            assertEquals(List.of("AAPL-1000.xlog"), files.map(file -> file.getFileName().toString()).toList());
+        }
+    }
+
+    private List<Long> ids(ArchiveQuery query) {
+        return archive.query(query, 100).stream().map(ExecutionLogRow::getId).toList();
+    }
+
+    private void write(LocalDate day, String symbol, ExecutionLogRow... rows) throws Exception {
+        ColumnarLogFile.Writer writer = new ColumnarLogFile.Writer(symbol);
+        for (ExecutionLogRow row : rows) {
+            writer.add(row);
+        }
+        archive.write(day, symbol, writer);
+    }
+
+    private static ExecutionLogRow row(long id, long orderId, int quantity, long price,
+                                       ExecutionLog.ExecutionStatus status, String message, LocalDateTime at) {
+        return new ExecutionLogRow(id, orderId, quantity, price, price * quantity, status, message, at);
+    }
+
+    private static void assertSameRow(ExecutionLogRow expected, ExecutionLogRow actual) {
+        List<Object> expectedColumns = new ArrayList<>(List.of(expected.getId(), expected.getOrderId(),
+                expected.getQuantity(), expected.getPrice(), expected.getTotalAmount(), expected.getStatus(),
+                expected.getExecutedAt()));
+        List<Object> actualColumns = new ArrayList<>(List.of(actual.getId(), actual.getOrderId(),
+                actual.getQuantity(), actual.getPrice(), actual.getTotalAmount(), actual.getStatus(),
+                actual.getExecutedAt()));
+        assertEquals(expectedColumns, actualColumns);
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+}
@@ -0,0 +1,101 @@
+package com.fizzexual.orderexecution.archive;
+
+import com.fizzexual.orderexecution.config.ArchiveProperties;
+import com.fizzexual.orderexecution.persistence.ExecutionLogRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutionLogArchiverTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private ExecutionLogArchive archive;
+    private ExecutionLogArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, symbol VARCHAR(10))");
+        jdbcTemplate.execute("CREATE TABLE execution_logs (id BIGINT PRIMARY KEY, order_id BIGINT, " +
+                "quantity INT, price NUMERIC(19, 2), total_amount NUMERIC(19, 2), status VARCHAR(20), " +
+                "message VARCHAR(500), executed_at TIMESTAMP)");
+
+        ArchiveProperties properties = new ArchiveProperties();
+        properties.setHotDays(2);
+        archive = new ExecutionLogArchive(directory);
+        archiver = new ExecutionLogArchiver(archive, jdbcTemplate, properties,
+                Clock.fixed(TODAY.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Test
+    void archiveDueDays_MovesDaysBeforeTheHotDaysIntoTheArchive() {
+        order(10L, "AAPL");
+        order(11L, "MSFT");
+        log(1L, 10L, TODAY.minusDays(3).atTime(10, 0));
+        log(2L, 11L, TODAY.minusDays(3).atTime(11, 0));
+        log(3L, 10L, TODAY.minusDays(2).atTime(10, 0));
+        log(4L, 10L, TODAY.minusDays(1).atTime(10, 0));
+
+        assertEquals(3L, archiver.archiveDueDays());
+
+        assertEquals(List.of(4L), jdbcTemplate.queryForList("SELECT id FROM execution_logs", Long.class));
+        assertEquals(List.of(1L, 3L), ids(new ArchiveQuery(null, null, "AAPL", null, null)));
+        assertEquals(List.of(2L), ids(new ArchiveQuery(null, null, "MSFT", null, null)));
+    }
+
+    @Test
+    void archiveDueDays_ArchivesLogsWithoutAnOrderUnderUnknown() {
+        order(10L, "AAPL");
+        // A day of nothing but logs whose orders are gone must not hold up the days after it.
+        log(1L, 99L, TODAY.minusDays(4).atTime(10, 0));
+        log(2L, 10L, TODAY.minusDays(3).atTime(10, 0));
+        log(3L, 98L, TODAY.minusDays(3).atTime(11, 0));
+        log(4L, 10L, TODAY.minusDays(2).atTime(10, 0));
+
+        assertEquals(4L, archiver.archiveDueDays());
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM execution_logs", Integer.class));
+        assertEquals(List.of(1L, 3L),
+                ids(new ArchiveQuery(null, null, ExecutionLogArchiver.UNKNOWN_SYMBOL, null, null)));
+        assertEquals(List.of(2L, 4L), ids(new ArchiveQuery(null, null, "AAPL", null, null)));
+    }
+
+    private List<Long> ids(ArchiveQuery query) {
+        return archive.query(query, 100).stream().map(ExecutionLogRow::getId).toList();
+    }
+
+    private void order(long id, String symbol) {
+        jdbcTemplate.update("INSERT INTO orders (id, symbol) VALUES (?, ?)", id, symbol);
+    }
+
+    private void log(long id, long orderId, LocalDateTime executedAt) {
+        jdbcTemplate.update("INSERT INTO execution_logs (id, order_id, quantity, price, total_amount, status, " +
+                "message, executed_at) VALUES (?, ?, 10, 100.00, 1000.00, 'SUCCESS', 'Order executed', ?)",
+                id, orderId, Timestamp.valueOf(executedAt));
+    }
+}
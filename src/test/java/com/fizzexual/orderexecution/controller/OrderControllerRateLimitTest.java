@@ -0,0 +1,76 @@
+package com.fizzexual.orderexecution.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fizzexual.orderexecution.config.BatchProperties;
+import com.fizzexual.orderexecution.config.RateLimitProperties;
+import com.fizzexual.orderexecution.dto.BatchOrderResponse;
+import com.fizzexual.orderexecution.dto.OrderRequest;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.ratelimit.OrderRateLimiter;
+import com.fizzexual.orderexecution.service.AccountStore;
+import com.fizzexual.orderexecution.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Batch order entry through the real {@link OrderRateLimiter}, with the rate limit and batch
+ * settings from application.yml.
+ */
+@WebMvcTest(OrderController.class)
+@Import(OrderRateLimiter.class)
+@EnableConfigurationProperties({BatchProperties.class, RateLimitProperties.class})
+class OrderControllerRateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    @MockBean
+    private OrderService orderService;
+
+    @MockBean
+    private AccountStore accountStore;
+
+    @Test
+    void createOrders_BasketLargerThanTheBurstIsAccepted() throws Exception {
+        int orders = 2000;
+        assertTrue(orders > rateLimitProperties.getBurst());
+        List<OrderRequest> basket = Collections.nCopies(orders, OrderRequest.builder()
+                .accountId(1L).symbol("AAPL").type(Order.OrderType.MARKET).side(Order.OrderSide.BUY).quantity(1)
+                .build());
+        when(orderService.createOrders(anyList())).thenReturn(
+                BatchOrderResponse.builder().total(orders).accepted(orders).failed(0).results(List.of()).build());
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/orders/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(basket)))
+                    .andExpect(status().isOk());
+        }
+        verify(orderService, times(2))
+                .createOrders(argThat((List<OrderRequest> requests) -> requests.size() == orders));
+    }
+}
@@ -1,12 +1,19 @@
 package com.fizzexual.orderexecution.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fizzexual.orderexecution.config.BatchProperties;
+import com.fizzexual.orderexecution.dto.BatchOrderResponse;
+import com.fizzexual.orderexecution.dto.BatchOrderResult;
+import com.fizzexual.orderexecution.dto.CursorPage;
 import com.fizzexual.orderexecution.dto.OrderRequest;
 import com.fizzexual.orderexecution.dto.OrderResponse;
 import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.exception.RateLimitExceededException;
+import com.fizzexual.orderexecution.ratelimit.OrderRateLimiter;
 import com.fizzexual.orderexecution.service.OrderService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
@@ -18,11 +25,17 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(OrderController.class)
+@EnableConfigurationProperties(BatchProperties.class)
 class OrderControllerTest {
 
     @Autowired
@@ -31,9 +44,15 @@ class OrderControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private BatchProperties batchProperties;
+
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderRateLimiter orderRateLimiter;
+
     @Test
     void createOrder_Success() throws Exception {
         OrderRequest request = OrderRequest.builder()
@@ -67,6 +86,60 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.symbol").value("AAPL"));
     }
 
+    @Test
+    void createOrder_Rejected() throws Exception {
+        OrderRequest request = OrderRequest.builder()
+                .accountId(1L)
+                .symbol("AAPL")
+                .type(Order.OrderType.MARKET)
+                .side(Order.OrderSide.BUY)
+                .quantity(10)
+                .build();
+
+        OrderResponse response = OrderResponse.builder()
+                .id(1L)
+                .orderNumber("ORD-12345678")
+                .accountId(1L)
+                .symbol("AAPL")
+                .type(Order.OrderType.MARKET)
+                .side(Order.OrderSide.BUY)
+                .quantity(10)
+                .status(Order.OrderStatus.REJECTED)
+                .executedQuantity(0)
+                .build();
+
+        when(orderService.createOrder(any(OrderRequest.class))).thenReturn(response);
+
+        // A rejected order is still created and recorded, so it is not an error response.
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.status").value("REJECTED"));
+    }
+
+    @Test
+    void createOrder_RateLimited() throws Exception {
+        OrderRequest request = OrderRequest.builder()
+                .accountId(1L)
+                .symbol("AAPL")
+                .type(Order.OrderType.MARKET)
+                .side(Order.OrderSide.BUY)
+                .quantity(100)
+                .build();
+        doThrow(new RateLimitExceededException("Order rate limit exceeded, retry later", 2))
+                .when(orderRateLimiter).acquire(1L);
+
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value(429));
+        verify(orderService, never()).createOrder(any(OrderRequest.class));
+    }
+
     @Test
     void createOrder_ValidationError() throws Exception {
         OrderRequest request = OrderRequest.builder()
@@ -82,6 +155,86 @@ class OrderControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createOrders_JsonArray() throws Exception {
+        List<OrderRequest> requests = List.of(
+                OrderRequest.builder().accountId(1L).symbol("AAPL").type(Order.OrderType.MARKET)
+                        .side(Order.OrderSide.BUY).quantity(10).build(),
+                OrderRequest.builder().accountId(1L).symbol("MSFT").type(Order.OrderType.MARKET)
+                        .side(Order.OrderSide.SELL).quantity(5).build());
+
+        BatchOrderResponse response = BatchOrderResponse.builder()
+                .total(2)
+                .accepted(1)
+                .failed(1)
+                .results(List.of(
+                        BatchOrderResult.success(0, OrderResponse.builder().id(1L).build()),
+                        BatchOrderResult.failure(1, "Insufficient balance for order execution")))
+                .build();
+
+        when(orderService.createOrders(anyList())).thenReturn(response);
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.results[0].order.id").value(1))
+                .andExpect(jsonPath("$.results[1].success").value(false));
+    }
+
+    @Test
+    void createOrders_RateLimited() throws Exception {
+        List<OrderRequest> requests = List.of(
+                OrderRequest.builder().accountId(1L).symbol("AAPL").type(Order.OrderType.MARKET)
+                        .side(Order.OrderSide.BUY).quantity(10).build(),
+                OrderRequest.builder().accountId(1L).symbol("MSFT").type(Order.OrderType.MARKET)
+                        .side(Order.OrderSide.SELL).quantity(5).build());
+        doThrow(new RateLimitExceededException("Order rate limit exceeded, retry later", 3))
+                .when(orderRateLimiter).acquire(anyList());
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"));
+        verify(orderRateLimiter).acquire(argThat((List<OrderRequest> basket) -> basket.size() == 2));
+        verify(orderService, never()).createOrders(anyList());
+    }
+
+    @Test
+    void createOrders_Ndjson() throws Exception {
+        String body = "{\"accountId\":1,\"symbol\":\"AAPL\",\"type\":\"MARKET\",\"side\":\"BUY\",\"quantity\":10}\n"
+                + "{\"accountId\":2,\"symbol\":\"MSFT\",\"type\":\"LIMIT\",\"side\":\"SELL\",\"quantity\":5,\"limitPrice\":50}\n";
+
+        when(orderService.createOrders(argThat(requests -> requests.size() == 2
+                && requests.get(1).getLimitPrice().compareTo(new BigDecimal("50")) == 0)))
+                .thenReturn(BatchOrderResponse.builder().total(2).accepted(2).failed(0).results(List.of()).build());
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2));
+    }
+
+    @Test
+    void createOrders_NdjsonOverTheLimit() throws Exception {
+        String line = "{\"accountId\":1,\"symbol\":\"AAPL\",\"type\":\"MARKET\",\"side\":\"BUY\",\"quantity\":10}\n";
+        // The unparseable tail shows reading stopped at the first order past the limit.
+        String body = line.repeat(batchProperties.getMaxSize() + 1) + "not json\n";
+
+        mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message")
+                        .value("Batch must not exceed " + batchProperties.getMaxSize() + " orders"));
+
+        verify(orderRateLimiter, never()).acquire(anyList());
+        verify(orderService, never()).createOrders(anyList());
+    }
+
     @Test
     void getOrderById_Success() throws Exception {
         // Arrange
@@ -108,12 +261,14 @@ class OrderControllerTest {
                 OrderResponse.builder().id(2L).orderNumber("ORD-002").build()
         );
 
-        when(orderService.getAllOrders()).thenReturn(orders);
+        when(orderService.getAllOrders(null, 2, "ASC"))
+                .thenReturn(new CursorPage<>(orders, "next"));
 
         // Act & Assert
-        mockMvc.perform(get("/api/orders"))
+        mockMvc.perform(get("/api/orders").param("limit", "2"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
     }
 
     @Test
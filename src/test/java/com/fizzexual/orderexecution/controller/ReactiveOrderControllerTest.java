@@ -0,0 +1,176 @@
+package com.fizzexual.orderexecution.controller;
+
+import com.fizzexual.orderexecution.config.BatchProperties;
+import com.fizzexual.orderexecution.dto.OrderRequest;
+import com.fizzexual.orderexecution.dto.OrderResponse;
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.entity.User;
+import com.fizzexual.orderexecution.repository.AccountRepository;
+import com.fizzexual.orderexecution.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "execution.rate-limit.enabled=false")
+@ActiveProfiles({"test", "reactive"})
+class ReactiveOrderControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext applicationContext;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BatchProperties batchProperties;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userRepository.save(User.builder()
+                .name("Reactive User")
+                .email("reactive-" + suffix + "@example.com")
+                .status(User.UserStatus.ACTIVE)
+                .build());
+        account = accountRepository.save(Account.builder()
+                .accountNumber("ACC-" + suffix)
+                .user(user)
+                .balance(new BigDecimal("100000.00"))
+                .availableBalance(new BigDecimal("100000.00"))
+                .status(Account.AccountStatus.ACTIVE)
+                .build());
+    }
+
+    @Test
+    void runsOnNetty() {
+        assertInstanceOf(NettyWebServer.class, applicationContext.getWebServer());
+    }
+
+    @Test
+    void createOrder_ThenReadBackThroughR2dbc() {
+        OrderRequest request = OrderRequest.builder()
+                .accountId(account.getId())
+                .symbol("RXTEST")
+                .type(Order.OrderType.LIMIT)
+                .side(Order.OrderSide.BUY)
+                .quantity(10)
+                .limitPrice(new BigDecimal("100.00"))
+                .build();
+
+        OrderResponse created = webTestClient.post().uri("/api/orders")
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(OrderResponse.class)
+                .returnResult().getResponseBody();
+
+        assertNotNull(created);
+        assertEquals(Order.OrderStatus.PENDING, created.getStatus());
+        webTestClient.get().uri("/api/orders/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.orderNumber").isEqualTo(created.getOrderNumber());
+
+        // Lookups by number only read the database, so wait for the write-behind flush.
+        OrderResponse stored = awaitOrder(created.getOrderNumber());
+        assertEquals(account.getId(), stored.getAccountId());
+        assertEquals(0, new BigDecimal("100.00").compareTo(stored.getLimitPrice()));
+        assertEquals(Order.OrderType.LIMIT, stored.getType());
+
+        webTestClient.get().uri("/api/orders/account/{accountId}", account.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.items[0].id").isEqualTo(created.getId().intValue());
+    }
+
+    @Test
+    void getAccountById_Success() {
+        webTestClient.get().uri("/api/accounts/{id}", account.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.accountNumber").isEqualTo(account.getAccountNumber())
+                .jsonPath("$.status").isEqualTo("ACTIVE");
+    }
+
+    @Test
+    void getOrderById_NotFound() {
+        webTestClient.get().uri("/api/orders/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.error").isEqualTo("Not Found");
+    }
+
+    @Test
+    void createOrder_InvalidRequest() {
+        webTestClient.post().uri("/api/orders")
+                .bodyValue(new OrderRequest())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Validation Failed")
+                .jsonPath("$.validationErrors.symbol").isEqualTo("Symbol is required");
+    }
+
+    @Test
+    void createOrders_NdjsonOverTheLimit() {
+        String line = "{\"accountId\":" + account.getId()
+                + ",\"symbol\":\"RXTEST\",\"type\":\"MARKET\",\"side\":\"BUY\",\"quantity\":1}\n";
+        String body = line.repeat(batchProperties.getMaxSize() + 1);
+
+        webTestClient.post().uri("/api/orders/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Batch must not exceed " + batchProperties.getMaxSize() + " orders");
+    }
+
+    private OrderResponse awaitOrder(String orderNumber) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (true) {
+            var result = webTestClient.get().uri("/api/orders/number/{orderNumber}", orderNumber)
+                    .exchange()
+                    .expectBody(OrderResponse.class)
+                    .returnResult();
+            if (result.getStatus() == HttpStatus.OK) {
+                return result.getResponseBody();
+            }
+            assertTrue(System.nanoTime() < deadline, "Order " + orderNumber + " was not flushed");
+            sleep();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
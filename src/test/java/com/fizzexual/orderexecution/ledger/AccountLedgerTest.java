@@ -0,0 +1,90 @@
+package com.fizzexual.orderexecution.ledger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountLedgerTest {
+
+    private AccountLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new AccountLedger();
+        ledger.open(1L, 10_000L);
+    }
+
+    @Test
+    void reserve_RejectsMoreThanAvailable() {
+        assertTrue(ledger.reserve(1L, 6_000L));
+        assertFalse(ledger.reserve(1L, 5_000L));
+
+        LedgerBalance balance = ledger.balance(1L);
+        assertEquals(10_000L, balance.balance());
+        assertEquals(6_000L, balance.reserved());
+        assertEquals(4_000L, balance.available());
+    }
+
+    @Test
+    void commitAndRelease_SettleAgainstReservation() {
+        ledger.reserve(1L, 6_000L);
+
+        ledger.commit(1L, 2_500L, 3_000L);
+        LedgerBalance balance = ledger.release(1L, 3_000L);
+
+        assertEquals(7_500L, balance.balance());
+        assertEquals(0L, balance.reserved());
+        assertEquals(3L, balance.version());
+    }
+
+    @Test
+    void restore_KeepsBalanceAndVersionButNotReservations() {
+        ledger.restore(Map.of(1L, new LedgerBalance(8_000L, 1_000L, 42L)));
+
+        LedgerBalance balance = ledger.balance(1L);
+        assertEquals(8_000L, balance.balance());
+        assertEquals(0L, balance.reserved());
+        assertEquals(42L, balance.version());
+    }
+
+    @Test
+    void reserve_NeverOverdrawsUnderContention() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int granted = 0;
+                for (int i = 0; i < 1_000; i++) {
+                    if (ledger.reserve(1L, 7L)) {
+                        granted++;
+                    }
+                }
+                return granted;
+            }));
+        }
+        start.countDown();
+
+        int granted = 0;
+        for (Future<Integer> result : results) {
+            granted += result.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(10_000 / 7, granted);
+        assertEquals(granted * 7L, ledger.balance(1L).reserved());
+        assertTrue(ledger.balance(1L).available() >= 0);
+    }
+}
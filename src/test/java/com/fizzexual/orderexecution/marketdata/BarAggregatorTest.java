@@ -0,0 +1,112 @@
+package com.fizzexual.orderexecution.marketdata;
+
+import com.fizzexual.orderexecution.config.BarProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BarAggregatorTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long T0 = 1_700_000_040_000L;
+
+    private final BarStore barStore = mock(BarStore.class);
+    private BarAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        BarProperties properties = new BarProperties();
+        properties.setMinuteBars(3);
+        aggregator = new BarAggregator(barStore, properties);
+    }
+
+    @Test
+    void onTrade_BuildsOhlcvAndVwap() {
+        aggregator.onTrade("AAPL", 10_000L, 10, T0);
+        aggregator.onTrade("AAPL", 10_300L, 10, T0 + 1_000);
+        aggregator.onTrade("AAPL", 9_900L, 20, T0 + 2_000);
+
+        Bar bar = aggregator.recent("AAPL", BarInterval.ONE_MINUTE, 10).get(0);
+        assertEquals(T0 - T0 % MINUTE, bar.start());
+        assertEquals(10_000L, bar.open());
+        assertEquals(10_300L, bar.high());
+        assertEquals(9_900L, bar.low());
+        assertEquals(9_900L, bar.close());
+        assertEquals(40L, bar.volume());
+        assertEquals(10_025L, bar.notional() / bar.volume());
+        assertEquals(3, bar.trades());
+        assertEquals(3, aggregator.recent("AAPL", BarInterval.ONE_SECOND, 10).size());
+        assertTrue(aggregator.recent("MSFT", BarInterval.ONE_MINUTE, 10).isEmpty());
+    }
+
+    @Test
+    void recent_SkipsQuietIntervalsAndForgetsBarsOlderThanTheRing() {
+        for (long minute : new long[]{0, 1, 3, 4}) {
+            aggregator.onTrade("AAPL", 10_000L + minute, 1, T0 + minute * MINUTE);
+        }
+
+        List<Bar> bars = aggregator.recent("AAPL", BarInterval.ONE_MINUTE, 10);
+
+        // The ring holds three minutes: 2 (no trades), 3 and 4.
+        assertEquals(List.of(10_003L, 10_004L), bars.stream().map(Bar::close).toList());
+        assertEquals(1, aggregator.recent("AAPL", BarInterval.ONE_MINUTE, 1).size());
+    }
+
+    @Test
+    void flush_WritesClosedAndChangedBarsOnce() {
+        aggregator.onTrade("AAPL", 10_000L, 1, T0);
+        aggregator.onTrade("AAPL", 10_100L, 1, T0 + MINUTE);
+        aggregator.flush();
+        aggregator.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Bar>> written = ArgumentCaptor.forClass(List.class);
+        verify(barStore, times(2)).write(written.capture());
+        // Two 1s bars, the closed and current 1m bar, one 1h bar.
+        assertEquals(5, written.getAllValues().get(0).size());
+        assertTrue(written.getAllValues().get(1).isEmpty());
+    }
+
+    @Test
+    void failedFlush_KeepsClosedBarsForTheNextOne() {
+        aggregator.onTrade("AAPL", 10_000L, 1, T0);
+        aggregator.onTrade("AAPL", 10_100L, 1, T0 + MINUTE);
+        doThrow(new IllegalStateException("down")).doNothing().when(barStore).write(anyList());
+
+        aggregator.flush();
+        aggregator.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Bar>> written = ArgumentCaptor.forClass(List.class);
+        verify(barStore, times(2)).write(written.capture());
+        assertEquals(5, written.getAllValues().get(1).size());
+    }
+
+    @Test
+    void restore_ContinuesTheStoredBar() {
+        long start = System.currentTimeMillis() / MINUTE * MINUTE;
+        when(barStore.load(eq(BarInterval.ONE_MINUTE), anyLong())).thenReturn(List.of(
+                new Bar("AAPL", BarInterval.ONE_MINUTE, start, 10_000L, 10_200L, 9_800L, 10_100L, 5L, 50_000L, 2)));
+
+        aggregator.restore();
+        aggregator.onTrade("AAPL", 10_400L, 5, start + 1_000);
+
+        Bar bar = aggregator.recent("AAPL", BarInterval.ONE_MINUTE, 1).get(0);
+        assertEquals(10_000L, bar.open());
+        assertEquals(10_400L, bar.high());
+        assertEquals(10L, bar.volume());
+        assertEquals(3, bar.trades());
+    }
+}
@@ -0,0 +1,79 @@
+package com.fizzexual.orderexecution.marketdata;
+
+import com.fizzexual.orderexecution.config.MarketDataProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarketDataCacheTest {
+
+    private final List<Quote> heard = new ArrayList<>();
+
+    @Test
+    void update_KeepsTheNewestQuoteAndTellsListeners() {
+        MarketDataCache cache = new MarketDataCache(List.of(), List.of(heard::add));
+
+        Quote first = new Quote("AAPL", 10_000L, 9_999L, 10_001L, 1_000L);
+        Quote stale = new Quote("AAPL", 9_000L, 8_999L, 9_001L, 500L);
+        cache.update(first);
+        cache.update(stale);
+
+        assertSame(first, cache.quote("AAPL"));
+        assertEquals(List.of(first), heard);
+        assertNull(cache.quote("MSFT"));
+    }
+
+    @Test
+    void failingListener_DoesNotStopTheOthers() {
+        MarketDataListener failing = quote -> {
+            throw new IllegalStateException("boom");
+        };
+        MarketDataCache cache = new MarketDataCache(List.of(), List.of(failing, heard::add));
+
+        cache.update(new Quote("AAPL", 10_000L, 9_999L, 10_001L, 1_000L));
+
+        assertEquals(1, heard.size());
+    }
+
+    @Test
+    void start_QuotesEverySimulatedSymbolBeforeReturning() {
+        MarketDataProperties.Simulated properties = new MarketDataProperties.Simulated();
+        properties.setSymbols(List.of("AAPL", "MSFT"));
+        properties.setTickIntervalMillis(0);
+        SimulatedMarketDataSource source = new SimulatedMarketDataSource(properties, new Random(42), () -> 1_000L);
+        MarketDataCache cache = new MarketDataCache(List.of(source), List.of());
+
+        cache.start();
+
+        Quote quote = cache.quote("MSFT");
+        assertEquals(10_000L, quote.last());
+        assertEquals(9_999L, quote.bid());
+        assertEquals(10_001L, quote.ask());
+        cache.stop();
+    }
+
+    @Test
+    void simulatedTicks_StayWithinTheMaximumMove() {
+        MarketDataProperties.Simulated properties = new MarketDataProperties.Simulated();
+        properties.setSymbols(List.of("AAPL"));
+        properties.setTickIntervalMillis(0);
+        long[] clock = {0L};
+        SimulatedMarketDataSource source = new SimulatedMarketDataSource(properties, new Random(7), () -> ++clock[0]);
+        source.start(heard::add);
+
+        for (int i = 0; i < 100; i++) {
+            source.tick();
+        }
+
+        for (int i = 1; i < heard.size(); i++) {
+            Quote previous = heard.get(i - 1);
+            Quote quote = heard.get(i);
+            assertTrue(Math.abs(quote.last() - previous.last()) <= previous.last() * 20 / 10_000);
+            assertEquals(2L, quote.ask() - quote.bid());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.fizzexual.orderexecution.matching;
+
+import com.fizzexual.orderexecution.entity.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderBookTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 2, 9, 30);
+
+    private OrderBook book;
+    private MatchingEngine matchingEngine;
+
+    @BeforeEach
+    void setUp() {
+        book = new OrderBook("AAPL");
+        matchingEngine = new MatchingEngine();
+    }
+
+    @Test
+    void match_FillsBestPriceFirst() {
+        book.rest(limit(1, Order.OrderSide.SELL, 10100, 100));
+        book.rest(limit(2, Order.OrderSide.SELL, 10000, 100));
+        book.rest(limit(3, Order.OrderSide.SELL, 10200, 100));
+
+        List<Fill> fills = book.match(limit(4, Order.OrderSide.BUY, 10150, 150));
+
+        assertEquals(2, fills.size());
+        assertEquals(2L, fills.get(0).getMakerOrderId());
+        assertEquals(CREATED_AT, fills.get(0).getMakerCreatedAt());
+        assertEquals(10000L, fills.get(0).getPrice());
+        assertEquals(100L, fills.get(0).getQuantity());
+        assertEquals(1L, fills.get(1).getMakerOrderId());
+        assertEquals(10100L, fills.get(1).getPrice());
+        assertEquals(50L, fills.get(1).getQuantity());
+        assertEquals(50L, fills.get(1).getMakerRemainingQuantity());
+        assertEquals(10100L, book.bestAsk());
+    }
+
+    @Test
+    void match_FifoWithinPriceLevel() {
+        book.rest(limit(1, Order.OrderSide.BUY, 9900, 30));
+        book.rest(limit(2, Order.OrderSide.BUY, 9900, 30));
+
+        List<Fill> fills = book.match(limit(3, Order.OrderSide.SELL, 9900, 40));
+
+        assertEquals(2, fills.size());
+        assertEquals(1L, fills.get(0).getMakerOrderId());
+        assertEquals(30L, fills.get(0).getQuantity());
+        assertEquals(2L, fills.get(1).getMakerOrderId());
+        assertEquals(10L, fills.get(1).getQuantity());
+        assertFalse(book.contains(1L));
+        assertTrue(book.contains(2L));
+    }
+
+    @Test
+    void match_StopsWhenPriceNoLongerCrosses() {
+        book.rest(limit(1, Order.OrderSide.SELL, 10100, 100));
+
+        BookOrder taker = limit(2, Order.OrderSide.BUY, 10000, 100);
+        List<Fill> fills = book.match(taker);
+
+        assertTrue(fills.isEmpty());
+        assertEquals(100L, taker.getRemainingQuantity());
+    }
+
+    @Test
+    void cancel_RemovesOrderAndEmptyLevel() {
+        book.rest(limit(1, Order.OrderSide.BUY, 9900, 30));
+        book.rest(limit(2, Order.OrderSide.BUY, 9800, 30));
+
+        assertNotNull(book.cancel(1L));
+        assertNull(book.cancel(1L));
+        assertEquals(9800L, book.bestBid());
+        assertEquals(1, book.restingOrderCount());
+    }
+
+    @Test
+    void sweepCost_PricesUnmatchedRemainder() {
+        book.rest(limit(1, Order.OrderSide.SELL, 10000, 10));
+
+        long cost = book.sweepCost(market(2, Order.OrderSide.BUY, 15), 11000);
+
+        assertEquals(10 * 10000L + 5 * 11000L, cost);
+    }
+
+    @Test
+    void engine_RestsUnfilledLimitRemainder() {
+        matchingEngine.match("AAPL", limit(1, Order.OrderSide.SELL, 10000, 50), 0L);
+
+        MatchResult result = matchingEngine.match("AAPL", limit(2, Order.OrderSide.BUY, 10000, 80), 0L);
+
+        assertTrue(result.isResting());
+        assertEquals(50L, result.filledQuantity());
+        assertEquals(30L, result.getRemainingQuantity());
+        assertEquals(10000L, matchingEngine.book("AAPL").bestBid());
+    }
+
+    @Test
+    void engine_FillsMarketRemainderAtMarketPrice() {
+        MatchResult result = matchingEngine.match("AAPL", market(1, Order.OrderSide.BUY, 20), 10500L);
+
+        assertEquals(1, result.getFills().size());
+        assertFalse(result.getFills().get(0).hasMaker());
+        assertEquals(10500L, result.getFills().get(0).getPrice());
+        assertEquals(0L, result.getRemainingQuantity());
+    }
+
+    @Test
+    void engine_RequiredFundsCoverLimitValueAndMarketSweep() {
+        matchingEngine.match("AAPL", limit(1, Order.OrderSide.SELL, 10000, 50), 0L);
+
+        assertEquals(10100L * 80, matchingEngine.requiredFunds("AAPL", limit(2, Order.OrderSide.BUY, 10100, 80), 0L));
+        assertEquals(10000L * 50 + 10500L * 30,
+                matchingEngine.requiredFunds("AAPL", market(3, Order.OrderSide.BUY, 80), 10500L));
+        assertEquals(0L, matchingEngine.requiredFunds("AAPL", limit(4, Order.OrderSide.SELL, 9000, 10), 0L));
+        assertTrue(matchingEngine.book("AAPL").contains(1L));
+    }
+
+    @Test
+    void prices_AveragePriceRoundsHalfUp() {
+        assertEquals(10067L, Prices.averagePrice(10000L * 100 + 10200L * 50, 150));
+        assertEquals(10001L, Prices.averagePrice(10000L + 10001L, 2));
+        assertEquals(10000L, Prices.averagePrice(10000L * 3 + 1, 3));
+    }
+
+    private BookOrder limit(long id, Order.OrderSide side, long price, long quantity) {
+        return new BookOrder(id, 100L + id, side, Order.OrderType.LIMIT, price, quantity, CREATED_AT);
+    }
+
+    private BookOrder market(long id, Order.OrderSide side, long quantity) {
+        return new BookOrder(id, 100L + id, side, Order.OrderType.MARKET, 0L, quantity, CREATED_AT);
+    }
+}
@@ -0,0 +1,39 @@
+package com.fizzexual.orderexecution.metrics;
+
+import com.fizzexual.orderexecution.entity.Order;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderMetrics metrics = new OrderMetrics(registry);
+
+    @Test
+    void recordOutcome_CountsPerSymbolSideAndStatus() {
+        metrics.recordOutcome("AAPL", Order.OrderSide.BUY, Order.OrderStatus.EXECUTED);
+        metrics.recordOutcome("AAPL", Order.OrderSide.BUY, Order.OrderStatus.EXECUTED);
+        metrics.recordOutcome("AAPL", Order.OrderSide.SELL, Order.OrderStatus.REJECTED);
+        metrics.recordOutcome("MSFT", Order.OrderSide.BUY, Order.OrderStatus.EXECUTED);
+
+        assertEquals(2.0, registry.get("orders")
+                .tags("symbol", "AAPL", "side", "BUY", "status", "EXECUTED").counter().count());
+        assertEquals(1.0, registry.get("orders")
+                .tags("symbol", "AAPL", "side", "SELL", "status", "REJECTED").counter().count());
+        assertEquals(3, registry.get("orders").counters().size());
+    }
+
+    @Test
+    void recordExecution_KeepsMicrosecondResolution() {
+        metrics.recordExecution(TimeUnit.MICROSECONDS.toNanos(5));
+
+        Timer timer = registry.get("orders.execution").timer();
+        assertEquals(1, timer.count());
+        assertEquals(5.0, timer.totalTime(TimeUnit.MICROSECONDS), 0.001);
+    }
+}
@@ -0,0 +1,149 @@
+package com.fizzexual.orderexecution.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdAllocatorTest {
+
+    /**
+     * In-memory stand-in for database sequences that start at 1 and increment by the block size.
+     */
+    private final Map<String, Long> sequences = new HashMap<>();
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private final Set<String> callerThreads = ConcurrentHashMap.newKeySet();
+
+    private synchronized long nextValue(String sequence) {
+        roundTrips.incrementAndGet();
+        callerThreads.add(Thread.currentThread().getName());
+        long value = sequences.getOrDefault(sequence, 1L);
+        sequences.put(sequence, value + IdAllocator.BLOCK_SIZE);
+        return value;
+    }
+
+    private void awaitRoundTrips(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (roundTrips.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(expected, roundTrips.get());
+    }
+
+    @Test
+    void nextOrderId_PrefetchesTheNextBlockOnceHalfIsUsed() throws Exception {
+        IdAllocator allocator = new IdAllocator(this::nextValue);
+
+        for (long expected = 1; expected <= IdAllocator.BLOCK_SIZE / 2; expected++) {
+            assertEquals(expected, allocator.nextOrderId());
+        }
+        assertEquals(1, roundTrips.get());
+
+        allocator.nextOrderId();
+        awaitRoundTrips(2);
+
+        for (long expected = IdAllocator.BLOCK_SIZE / 2 + 2; expected <= IdAllocator.BLOCK_SIZE + 1L; expected++) {
+            assertEquals(expected, allocator.nextOrderId());
+        }
+        assertEquals(2, roundTrips.get());
+    }
+
+    @Test
+    void nextOrderId_SeededAllocatorNeverFetchesOnTheCallersThread() throws Exception {
+        IdAllocator allocator = new IdAllocator(this::nextValue);
+        allocator.seed(0L, 0L);
+
+        for (long expected = 1; expected <= 3L * IdAllocator.BLOCK_SIZE; expected++) {
+            assertEquals(expected, allocator.nextOrderId());
+        }
+        assertEquals(1L, allocator.nextExecutionLogId());
+
+        // Three order blocks, the prefetched fourth and the first execution log block.
+        awaitRoundTrips(5);
+        assertEquals(Set.of("id-prefetcher"), callerThreads);
+    }
+
+    @Test
+    void orderIdIssued_SpansFromTheBlockInUseToTheNextOne() {
+        IdAllocator allocator = new IdAllocator(this::nextValue);
+        LocalDateTime before = LocalDateTime.now();
+        for (int i = 0; i <= IdAllocator.BLOCK_SIZE; i++) {
+            allocator.nextOrderId();
+        }
+        LocalDateTime after = LocalDateTime.now();
+
+        IdAllocator.Issued first = allocator.orderIdIssued(500L).orElseThrow();
+        IdAllocator.Issued second = allocator.orderIdIssued(IdAllocator.BLOCK_SIZE + 1L).orElseThrow();
+        assertFalse(first.from().isBefore(before));
+        assertEquals(second.from(), first.to());
+        assertFalse(second.to().isBefore(second.from()));
+        assertFalse(second.from().isAfter(after));
+
+        // Not handed out by this allocator: beyond its blocks, or an execution log id.
+        assertTrue(allocator.orderIdIssued(3 * IdAllocator.BLOCK_SIZE).isEmpty());
+        allocator.nextExecutionLogId();
+        assertTrue(allocator.orderIdIssued(0L).isEmpty());
+    }
+
+    @Test
+    void sequencesAreIndependent() {
+        IdAllocator allocator = new IdAllocator(this::nextValue);
+
+        assertEquals(1L, allocator.nextOrderId());
+        assertEquals(1L, allocator.nextExecutionLogId());
+        assertEquals(2L, allocator.nextOrderId());
+    }
+
+    @Test
+    void seed_SkipsIdsAlreadyInTheTable() {
+        IdAllocator allocator = new IdAllocator(this::nextValue);
+        allocator.seed(2_500L, 0L);
+
+        // Blocks starting at 1 and 1001 lie entirely below the floor; 2001 is cut to 2501.
+        assertEquals(2_501L, allocator.nextOrderId());
+        assertEquals(1L, allocator.nextExecutionLogId());
+        assertEquals(4, roundTrips.get());
+    }
+
+    @Test
+    void nextOrderId_ConcurrentCallers_NeverRepeat() throws Exception {
+        IdAllocator allocator = new IdAllocator(this::nextValue);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] ids = new long[5_000];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = allocator.nextOrderId();
+                    }
+                    return ids;
+                }));
+            }
+            Set<Long> seen = new HashSet<>();
+            for (Future<long[]> future : futures) {
+                for (long id : future.get()) {
+                    assertTrue(seen.add(id), "duplicate id " + id);
+                }
+            }
+            assertEquals(20_000, seen.size());
+            // Twenty blocks used and the one after them prefetched.
+            awaitRoundTrips(21);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
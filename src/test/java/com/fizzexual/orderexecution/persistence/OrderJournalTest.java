@@ -0,0 +1,160 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.config.PersistenceProperties;
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.ledger.LedgerBalance;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private PersistenceProperties.Journal properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PersistenceProperties.Journal();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setFsync(false);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void replay_ReturnsBatchesAfterCheckpoint() throws Exception {
+        OrderJournal journal = new OrderJournal(properties, meterRegistry);
+        journal.open(true);
+        long first = journal.append(batch(1L));
+        journal.append(batch(2L));
+        journal.checkpoint(first);
+        journal.close();
+
+        OrderJournal reopened = new OrderJournal(properties, meterRegistry);
+        reopened.open(false);
+        List<WriteBatch> unflushed = replay(reopened, reopened.getCheckpoint());
+        reopened.close();
+
+        assertTrue(reopened.isComplete());
+        assertEquals(1, unflushed.size());
+        WriteBatch batch = unflushed.get(0);
+        assertEquals(2L, batch.getSequence());
+        Order order = batch.getOrderInserts().get(0);
+        assertEquals(2L, order.getId());
+        assertEquals(new BigDecimal("150.25"), order.getLimitPrice());
+        assertEquals(Order.OrderStatus.PARTIALLY_FILLED, order.getStatus());
+        assertEquals(7L, order.getAccount().getId());
+        assertEquals(ExecutionLog.ExecutionStatus.PARTIAL, batch.getExecutionLogInserts().get(0).getStatus());
+        assertEquals(new LedgerBalance(9_849_750L, 50_000L, 5L), batch.getAccountBalances().get(7L));
+    }
+
+    @Test
+    void open_DropsCorruptTail() throws Exception {
+        OrderJournal journal = new OrderJournal(properties, meterRegistry);
+        journal.open(false);
+        journal.append(batch(1L));
+        journal.append(batch(2L));
+        journal.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(segments().get(0).toFile(), "rw")) {
+            file.seek(OrderJournal.SEGMENT_HEADER_BYTES);
+            int firstRecord = Integer.BYTES + Long.BYTES + file.readInt() + Integer.BYTES;
+            long payload = OrderJournal.SEGMENT_HEADER_BYTES + firstRecord + Integer.BYTES + Long.BYTES;
+            file.seek(payload);
+            int value = file.read();
+            file.seek(payload);
+            file.write(value ^ 0xFF);
+        }
+
+        OrderJournal reopened = new OrderJournal(properties, meterRegistry);
+        reopened.open(false);
+        List<WriteBatch> replayed = replay(reopened, 0L);
+        long next = reopened.append(batch(3L));
+        reopened.close();
+
+        assertFalse(reopened.isComplete());
+        assertEquals(1, replayed.size());
+        assertEquals(1L, replayed.get(0).getOrderInserts().get(0).getId());
+        assertEquals(2L, next);
+    }
+
+    @Test
+    void append_RollsSegmentsAndReplaySkipsAhead() throws Exception {
+        properties.setSegmentBytes(1024);
+        OrderJournal journal = new OrderJournal(properties, meterRegistry);
+        journal.open(true);
+        for (long id = 1; id <= 20; id++) {
+            journal.append(batch(id));
+        }
+
+        assertTrue(journal.segmentCount() > 1);
+        assertEquals(20.0, meterRegistry.get("journal.write.records").counter().count());
+        assertTrue(meterRegistry.get("journal.fsync").timer().count() > 0);
+
+        List<WriteBatch> tail = replay(journal, 15L);
+        assertEquals(5, tail.size());
+        assertEquals(16L, tail.get(0).getSequence());
+        assertEquals(20L, tail.get(4).getOrderInserts().get(0).getId());
+
+        int segmentsBefore = journal.segmentCount();
+        assertTrue(journal.deleteSegmentsBefore(15L) > 0);
+        assertEquals(journal.segmentCount(), segments().size());
+        assertTrue(journal.segmentCount() < segmentsBefore);
+        assertFalse(journal.isComplete());
+        assertEquals(5, replay(journal, 15L).size());
+        journal.close();
+    }
+
+    private List<WriteBatch> replay(OrderJournal journal, long afterSequence) throws Exception {
+        List<WriteBatch> batches = new ArrayList<>();
+        journal.replay(afterSequence, batches::add);
+        return batches;
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+
+    private WriteBatch batch(long orderId) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30);
+        WriteBatch batch = new WriteBatch();
+        batch.insertOrder(Order.builder()
+                .id(orderId)
+                .orderNumber("ORD-" + orderId)
+                .account(Account.builder().id(7L).build())
+                .symbol("AAPL")
+                .type(Order.OrderType.LIMIT)
+                .side(Order.OrderSide.BUY)
+                .quantity(100)
+                .limitPrice(new BigDecimal("150.25"))
+                .status(Order.OrderStatus.PARTIALLY_FILLED)
+                .executedPrice(new BigDecimal("150.25"))
+                .executedQuantity(10)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        batch.insertExecutionLog(new ExecutionLogRow(orderId, orderId, 10, 15_025L, 150_250L,
+                ExecutionLog.ExecutionStatus.PARTIAL, "Partially filled 10 of 100", now));
+        batch.updateAccountBalance(7L, new LedgerBalance(9_849_750L, 50_000L, 5L));
+        return batch;
+    }
+}
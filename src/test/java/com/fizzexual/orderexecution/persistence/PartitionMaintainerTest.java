@@ -0,0 +1,126 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.config.ArchiveProperties;
+import com.fizzexual.orderexecution.config.PartitionProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PartitionMaintainerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 3, 10);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PartitionProperties properties = new PartitionProperties();
+    private final ArchiveProperties archiveProperties = new ArchiveProperties();
+    private PartitionMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        properties.setPremakeDays(2);
+        properties.setIntervalMillis(3_600_000);
+        when(jdbcTemplate.queryForObject(PartitionMaintainer.SELECT_PARTITIONED, Integer.class, "orders"))
+                .thenReturn(1);
+        when(jdbcTemplate.queryForObject(PartitionMaintainer.SELECT_PARTITIONED, Integer.class, "execution_logs"))
+                .thenReturn(1);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class))).thenReturn(false);
+        when(jdbcTemplate.queryForList(PartitionMaintainer.SELECT_PARTITIONS, String.class, "orders"))
+                .thenReturn(List.of("orders_default", "orders_p20240301", "orders_p20240308", "orders_p20240310"));
+        when(jdbcTemplate.queryForList(PartitionMaintainer.SELECT_PARTITIONS, String.class, "execution_logs"))
+                .thenReturn(List.of("execution_logs_p20240301", "execution_logs_p20240310",
+                        "execution_logs_p20240311", "execution_logs_p20240312"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (maintainer != null) {
+            maintainer.stop();
+        }
+    }
+
+    @Test
+    void start_CreatesPartitionsForTodayAndThePremadeDays() {
+        maintainer().start();
+
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS orders_p20240311 PARTITION OF orders " +
+                "FOR VALUES FROM ('2024-03-11') TO ('2024-03-12')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS orders_p20240312 PARTITION OF orders " +
+                "FOR VALUES FROM ('2024-03-12') TO ('2024-03-13')");
+        verify(jdbcTemplate, never()).execute("CREATE TABLE IF NOT EXISTS orders_p20240310 PARTITION OF orders " +
+                "FOR VALUES FROM ('2024-03-10') TO ('2024-03-11')");
+        verify(jdbcTemplate, never()).execute(eq("DROP TABLE orders_p20240301"));
+    }
+
+    @Test
+    void maintain_DropsExpiredPartitionsUnlessTheyHoldOpenOrders() {
+        properties.setOrderRetentionDays(3);
+        when(jdbcTemplate.queryForObject(PartitionMaintainer.ORDERS_IN_USE.formatted("orders_p20240301"),
+                Boolean.class)).thenReturn(true);
+
+        maintainer().start();
+
+        // 2024-03-08 onwards are the three days kept.
+        verify(jdbcTemplate, never()).execute("DROP TABLE orders_p20240301");
+        verify(jdbcTemplate, never()).execute("DROP TABLE orders_p20240308");
+    }
+
+    @Test
+    void maintain_KeepsOrdersWhileTheirExecutionLogsAreInTheDatabase() {
+        properties.setOrderRetentionDays(1);
+        String query = PartitionMaintainer.ORDERS_IN_USE.formatted("orders_p20240301");
+        when(jdbcTemplate.queryForObject(query, Boolean.class)).thenReturn(true);
+
+        maintainer().start();
+
+        assertTrue(query.contains("FROM execution_logs e JOIN orders_p20240301 o ON o.id = e.order_id"));
+        verify(jdbcTemplate, never()).execute("DROP TABLE orders_p20240301");
+        verify(jdbcTemplate).execute("DROP TABLE orders_p20240308");
+    }
+
+    @Test
+    void maintain_KeepsExecutionLogsTheArchiverHasNotEmptied() {
+        properties.setOrderRetentionDays(1);
+        properties.setExecutionLogRetentionDays(1);
+        archiveProperties.setEnabled(true);
+        when(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM execution_logs_p20240301)", Boolean.class))
+                .thenReturn(true);
+
+        maintainer().start();
+
+        verify(jdbcTemplate).execute("DROP TABLE orders_p20240301");
+        verify(jdbcTemplate).execute("DROP TABLE orders_p20240308");
+        verify(jdbcTemplate, never()).execute("DROP TABLE execution_logs_p20240301");
+    }
+
+    @Test
+    void start_LeavesTablesThatAreNotPartitionedAlone() {
+        when(jdbcTemplate.queryForObject(PartitionMaintainer.SELECT_PARTITIONED, Integer.class, "execution_logs"))
+                .thenReturn(0);
+
+        maintainer().start();
+
+        verify(jdbcTemplate, never()).queryForList(PartitionMaintainer.SELECT_PARTITIONS, String.class,
+                "execution_logs");
+    }
+
+    private PartitionMaintainer maintainer() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        maintainer = new PartitionMaintainer(jdbcTemplate, properties, archiveProperties, clock);
+        return maintainer;
+    }
+}
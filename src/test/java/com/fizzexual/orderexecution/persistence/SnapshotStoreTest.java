@@ -0,0 +1,117 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.config.PersistenceProperties;
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.ledger.LedgerBalance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private SnapshotStore store;
+
+    @BeforeEach
+    void setUp() {
+        PersistenceProperties.Snapshot properties = new PersistenceProperties.Snapshot();
+        properties.setDirectory(directory.toString());
+        store = new SnapshotStore(properties);
+    }
+
+    @Test
+    void loadLatest_RestoresStateFoldedFromBatches() throws Exception {
+        WriteBatch first = new WriteBatch();
+        first.insertOrder(order(1L, Order.OrderStatus.PENDING, 0));
+        first.insertOrder(order(2L, Order.OrderStatus.PENDING, 0));
+        first.setSequence(1L);
+        WriteBatch second = new WriteBatch();
+        second.updateOrder(new OrderUpdate(1L, LocalDateTime.now(), Order.OrderStatus.EXECUTED, 10_150L, 100,
+                LocalDateTime.now()));
+        second.updateOrder(new OrderUpdate(2L, LocalDateTime.now(), Order.OrderStatus.PARTIALLY_FILLED, 10_150L, 40,
+                LocalDateTime.now()));
+        second.updateAccountBalance(7L, new LedgerBalance(8_985_000L, 0L, 3L));
+        second.setSequence(2L);
+
+        RecoveredState state = new RecoveredState();
+        state.apply(first);
+        state.apply(second);
+        store.write(state);
+
+        RecoveredState loaded = store.loadLatest().orElseThrow();
+        assertEquals(2L, loaded.getSequence());
+        assertEquals(List.of(2L), List.copyOf(loaded.getOpenOrders().keySet()));
+        Order order = loaded.getOpenOrders().get(2L);
+        assertEquals(Order.OrderStatus.PARTIALLY_FILLED, order.getStatus());
+        assertEquals(40, order.getExecutedQuantity());
+        assertEquals(new BigDecimal("101.50"), order.getExecutedPrice());
+        assertEquals(new LedgerBalance(8_985_000L, 0L, 3L), loaded.getAccountBalances().get(7L));
+    }
+
+    @Test
+    void loadLatest_FallsBackWhenNewestIsCorrupt() throws Exception {
+        store.write(state(10L));
+        store.write(state(20L));
+
+        Path newest = snapshots().get(1);
+        try (RandomAccessFile file = new RandomAccessFile(newest.toFile(), "rw")) {
+            file.seek(file.length() - 6);
+            file.write(0x7F);
+        }
+
+        assertEquals(10L, store.loadLatest().orElseThrow().getSequence());
+    }
+
+    @Test
+    void prune_KeepsNewestSnapshots() throws Exception {
+        store.write(state(10L));
+        store.write(state(20L));
+        store.write(state(30L));
+
+        assertEquals(20L, store.prune(2));
+        assertEquals(2, snapshots().size());
+    }
+
+    private RecoveredState state(long sequence) {
+        RecoveredState state = RecoveredState.fromOpenOrders(List.of(order(sequence, Order.OrderStatus.PENDING, 0)));
+        state.setSequence(sequence);
+        return state;
+    }
+
+    private Order order(long id, Order.OrderStatus status, int executedQuantity) {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30);
+        return Order.builder()
+                .id(id)
+                .orderNumber("ORD-" + id)
+                .account(Account.builder().id(7L).build())
+                .symbol("AAPL")
+                .type(Order.OrderType.LIMIT)
+                .side(Order.OrderSide.SELL)
+                .quantity(100)
+                .limitPrice(new BigDecimal("101.50"))
+                .status(status)
+                .executedQuantity(executedQuantity)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private List<Path> snapshots() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".snap")).sorted().toList();
+        }
+    }
+}
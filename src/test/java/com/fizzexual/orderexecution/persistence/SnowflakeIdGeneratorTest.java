@@ -0,0 +1,104 @@
+package com.fizzexual.orderexecution.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH_MILLIS + 1_000L;
+
+    @Test
+    void nextId_EncodesTimestampNodeAndSequence() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, () -> NOW);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        assertEquals(1_000L, first >>> 22);
+        assertEquals(5L, (first >>> 12) & SnowflakeIdGenerator.MAX_NODE_ID);
+        assertEquals(0L, first & 0xFFF);
+        assertEquals(first + 1, second);
+    }
+
+    @Test
+    void timestampMillis_ReadsBackTheGenerationTime() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID, () -> NOW);
+
+        assertEquals(NOW, SnowflakeIdGenerator.timestampMillis(generator.nextId()));
+    }
+
+    @Test
+    void nextId_SequenceExhausted_MovesToNextMillisecond() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, () -> NOW);
+
+        long last = 0L;
+        for (int i = 0; i < 4096; i++) {
+            last = generator.nextId();
+        }
+        long next = generator.nextId();
+
+        assertEquals(1_000L, last >>> 22);
+        assertEquals(4095L, last & 0xFFF);
+        assertEquals(1_001L, next >>> 22);
+        assertEquals(1L, (next >>> 12) & SnowflakeIdGenerator.MAX_NODE_ID);
+        assertEquals(0L, next & 0xFFF);
+        assertTrue(next > last);
+    }
+
+    @Test
+    void nextId_ClockStepsBack_KeepsIncreasing() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, clock::get);
+
+        long before = generator.nextId();
+        clock.set(NOW - 10_000L);
+        long after = generator.nextId();
+
+        assertEquals(before + 1, after);
+    }
+
+    @Test
+    void nextId_ConcurrentCallers_NeverRepeat() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, System::currentTimeMillis);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] ids = new long[20_000];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+            Set<Long> seen = new HashSet<>();
+            for (Future<long[]> future : futures) {
+                long previous = -1L;
+                for (long id : future.get()) {
+                    assertTrue(id > previous, "ids from one thread must increase");
+                    assertTrue(seen.add(id), "duplicate id " + id);
+                    previous = id;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructor_RejectsNodeIdOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024, () -> NOW));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1, () -> NOW));
+    }
+}
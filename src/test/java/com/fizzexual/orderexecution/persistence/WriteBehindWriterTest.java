@@ -0,0 +1,305 @@
+package com.fizzexual.orderexecution.persistence;
+
+import com.fizzexual.orderexecution.config.PersistenceProperties;
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.entity.User;
+import com.fizzexual.orderexecution.ledger.LedgerBalance;
+import com.fizzexual.orderexecution.metrics.OrderMetrics;
+import com.fizzexual.orderexecution.repository.AccountRepository;
+import com.fizzexual.orderexecution.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs the writer against H2 with the real {@link JdbcBatchWriter}. The writer itself is built by
+ * hand for each test, with its journal in a temporary directory; test-managed transactions are off
+ * because the flusher commits on its own thread.
+ */
+@DataJpaTest
+@Import(JdbcBatchWriter.class)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WriteBehindWriterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 2, 10, 0);
+
+    @TempDir
+    Path directory;
+
+    @SpyBean
+    private JdbcBatchWriter jdbcBatchWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private final AtomicLong nextId = new AtomicLong(1L);
+    private PersistenceProperties properties;
+    private Account account;
+    private WriteBehindWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new PersistenceProperties();
+        properties.setFlushIntervalMillis(1);
+        properties.getJournal().setEnabled(true);
+        properties.getJournal().setDirectory(directory.toString());
+        properties.getJournal().setFsync(false);
+        properties.getJournal().setSegmentBytes(1024 * 1024);
+
+        User user = userRepository.save(User.builder()
+                .name("Test User")
+                .email("writer@example.com")
+                .status(User.UserStatus.ACTIVE)
+                .build());
+        account = accountRepository.save(Account.builder()
+                .accountNumber("ACC-20001")
+                .user(user)
+                .balance(new BigDecimal("1000.00"))
+                .availableBalance(new BigDecimal("1000.00"))
+                .status(Account.AccountStatus.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null && writer.isRunning()) {
+            writer.stop();
+        }
+        jdbcTemplate.update("DELETE FROM execution_logs");
+        jdbcTemplate.update("DELETE FROM orders");
+        accountRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void submit_FlushesBatchesAndCheckpointsTheJournal() throws Exception {
+        start();
+
+        WriteBatch batch = batch(order(Order.OrderStatus.EXECUTED));
+        batch.insertExecutionLog(fill(batch.getOrderInserts().get(0).getId()));
+        submit(batch);
+        awaitFlushed();
+
+        assertEquals(1, count("orders"));
+        assertEquals(1, count("execution_logs"));
+        writer.stop();
+
+        OrderJournal journal = new OrderJournal(properties.getJournal(), new SimpleMeterRegistry());
+        journal.open(false);
+        assertEquals(batch.getSequence(), journal.getCheckpoint());
+        journal.close();
+    }
+
+    @Test
+    void flush_RetriesWithBackoffAndKeepsOrdersReadableUntilWritten() throws Exception {
+        CountDownLatch failed = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (failed.getCount() > 0) {
+                failed.countDown();
+                if (failed.getCount() == 0) {
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                throw new DataAccessResourceFailureException("Database unavailable");
+            }
+            return invocation.callRealMethod();
+        }).when(jdbcBatchWriter).write(anyList(), anyInt(), eq(false));
+        start();
+
+        Order order = order(Order.OrderStatus.PENDING);
+        submit(batch(order));
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, count("orders"));
+        assertEquals(Order.OrderStatus.PENDING, writer.findPendingOrder(order.getId()).orElseThrow().getStatus());
+        release.countDown();
+
+        awaitFlushed();
+        verify(jdbcBatchWriter, atLeast(3)).write(anyList(), anyInt(), eq(false));
+        assertEquals(1, count("orders"));
+        assertTrue(writer.findPendingOrder(order.getId()).isEmpty());
+    }
+
+    @Test
+    void pendingOrder_SeesLaterUpdatesUntilFlushedThenIsEvicted() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(jdbcBatchWriter).write(anyList(), anyInt(), eq(false));
+        start();
+
+        Order order = order(Order.OrderStatus.PENDING);
+        submit(batch(order));
+        // The insert is already being written when the cancel is queued, so they flush apart.
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        WriteBatch cancel = new WriteBatch();
+        cancel.updateOrder(new OrderUpdate(order.getId(), order.getCreatedAt(), Order.OrderStatus.CANCELLED, 0L, 0, NOW));
+        submit(cancel);
+
+        assertEquals(Order.OrderStatus.CANCELLED,
+                writer.findPendingOrder(order.getId()).orElseThrow().getStatus());
+        release.countDown();
+
+        awaitFlushed();
+        verify(jdbcBatchWriter, atLeast(2)).write(anyList(), anyInt(), eq(false));
+        assertTrue(writer.findPendingOrder(order.getId()).isEmpty());
+        assertEquals("CANCELLED", jdbcTemplate.queryForObject("SELECT status FROM orders WHERE id = ?",
+                String.class, order.getId()));
+    }
+
+    @Test
+    void flush_NeverOverwritesABalanceWithAnOlderVersion() throws Exception {
+        start();
+
+        WriteBatch newer = new WriteBatch();
+        newer.updateAccountBalance(account.getId(), new LedgerBalance(90_000L, 10_000L, 5L));
+        submit(newer);
+        awaitFlushed();
+
+        // Captured earlier on another shard, but reaches the writer later.
+        WriteBatch older = new WriteBatch();
+        older.updateAccountBalance(account.getId(), new LedgerBalance(95_000L, 0L, 4L));
+        submit(older);
+        awaitFlushed();
+
+        assertEquals(new BigDecimal("900.00"), balance("balance"));
+        assertEquals(new BigDecimal("800.00"), balance("available_balance"));
+    }
+
+    @Test
+    void start_WritesUnflushedJournalRecordsAndRebuildsTheState() throws Exception {
+        Order flushed = order(Order.OrderStatus.EXECUTED);
+        Order open = order(Order.OrderStatus.PENDING);
+        WriteBatch first = batch(flushed);
+        first.insertExecutionLog(fill(flushed.getId()));
+        WriteBatch second = batch(open);
+        second.updateAccountBalance(account.getId(), new LedgerBalance(100_000L, 20_000L, 3L));
+
+        OrderJournal journal = new OrderJournal(properties.getJournal(), new SimpleMeterRegistry());
+        journal.open(true);
+        journal.append(first);
+        journal.append(second);
+        journal.close();
+
+        start();
+
+        assertEquals(2, count("orders"));
+        assertEquals(1, count("execution_logs"));
+        RecoveredState state = writer.takeRecoveredState().orElseThrow();
+        assertEquals(2L, state.getSequence());
+        assertEquals(List.of(open.getId()), List.copyOf(state.getOpenOrders().keySet()));
+        assertEquals(new LedgerBalance(100_000L, 20_000L, 3L), state.getAccountBalances().get(account.getId()));
+        assertTrue(writer.takeRecoveredState().isEmpty());
+
+        // Restarting replays nothing: the records are below the checkpoint the first start wrote.
+        writer.stop();
+        start();
+        assertEquals(2, count("orders"));
+        verify(jdbcBatchWriter).write(anyList(), anyInt(), eq(true));
+    }
+
+    private void start() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AtomicLong sequence = new AtomicLong(1_000_000L);
+        writer = new WriteBehindWriter(properties, jdbcBatchWriter,
+                new IdAllocator(name -> sequence.getAndAdd(IdAllocator.BLOCK_SIZE)), meterRegistry,
+                new OrderMetrics(meterRegistry));
+        writer.start();
+    }
+
+    private void submit(WriteBatch batch) {
+        writer.reserve();
+        writer.submit(batch);
+    }
+
+    private void awaitFlushed() throws InterruptedException {
+        await(() -> writer.inFlight() == 0);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the flusher");
+            Thread.sleep(5);
+        }
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private BigDecimal balance(String column) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM accounts WHERE id = ?", BigDecimal.class,
+                account.getId());
+    }
+
+    private WriteBatch batch(Order order) {
+        WriteBatch batch = new WriteBatch();
+        batch.insertOrder(order);
+        return batch;
+    }
+
+    private Order order(Order.OrderStatus status) {
+        long id = nextId.getAndIncrement();
+        return Order.builder()
+                .id(id)
+                .orderNumber("ORD-W" + id)
+                .account(Account.builder().id(account.getId()).build())
+                .symbol("AAPL")
+                .type(Order.OrderType.LIMIT)
+                .side(Order.OrderSide.BUY)
+                .quantity(10)
+                .limitPrice(new BigDecimal("100.00"))
+                .status(status)
+                .executedQuantity(status == Order.OrderStatus.EXECUTED ? 10 : 0)
+                .executedPrice(status == Order.OrderStatus.EXECUTED ? new BigDecimal("100.00") : null)
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .build();
+    }
+
+    private ExecutionLogRow fill(long orderId) {
+        return new ExecutionLogRow(nextId.getAndIncrement(), orderId, 10, 10_000L, 100_000L,
+                ExecutionLog.ExecutionStatus.SUCCESS, "Order executed", NOW);
+    }
+}
@@ -0,0 +1,171 @@
+package com.fizzexual.orderexecution.position;
+
+import com.fizzexual.orderexecution.config.PositionProperties;
+import com.fizzexual.orderexecution.entity.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PositionBookTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 2, 10, 0);
+
+    private final PositionStore positionStore = mock(PositionStore.class);
+    private PositionBook positionBook;
+    private long executionLogId;
+
+    @BeforeEach
+    void setUp() {
+        positionBook = new PositionBook(positionStore, new PositionProperties());
+    }
+
+    @Test
+    void buys_AverageTheirCost() {
+        fill(1L, Order.OrderSide.BUY, 10, 10_000L);
+        fill(1L, Order.OrderSide.BUY, 30, 10_400L);
+
+        NetPosition position = position(1L, "AAPL");
+        assertEquals(40L, position.quantity());
+        assertEquals(412_000L, position.costBasis());
+        assertEquals(0L, position.realizedPnl());
+    }
+
+    @Test
+    void sellingPartOfALong_RealizesAgainstTheAverageCost() {
+        fill(1L, Order.OrderSide.BUY, 10, 10_000L);
+        fill(1L, Order.OrderSide.BUY, 10, 12_000L);
+        fill(1L, Order.OrderSide.SELL, 5, 13_000L);
+
+        NetPosition position = position(1L, "AAPL");
+        assertEquals(15L, position.quantity());
+        assertEquals(165_000L, position.costBasis());
+        assertEquals(10_000L, position.realizedPnl());
+    }
+
+    @Test
+    void sellingThroughFlat_OpensAShortAtTheFillPrice() {
+        fill(1L, Order.OrderSide.BUY, 10, 10_000L);
+        fill(1L, Order.OrderSide.SELL, 15, 9_000L);
+
+        NetPosition position = position(1L, "AAPL");
+        assertEquals(-5L, position.quantity());
+        assertEquals(-45_000L, position.costBasis());
+        assertEquals(-10_000L, position.realizedPnl());
+
+        fill(1L, Order.OrderSide.BUY, 5, 8_000L);
+        position = position(1L, "AAPL");
+        assertEquals(0L, position.quantity());
+        assertEquals(0L, position.costBasis());
+        assertEquals(-5_000L, position.realizedPnl());
+    }
+
+    @Test
+    void revalue_MarksEveryPositionInTheSymbolAndSumsPerAccount() {
+        fill(1L, Order.OrderSide.BUY, 10, 10_000L);
+        fill(2L, Order.OrderSide.SELL, 10, 10_000L);
+        positionBook.onFill(1L, "MSFT", Order.OrderSide.BUY, 5, 20_000L, ++executionLogId, NOW);
+        positionBook.revalue("MSFT", 21_000L);
+
+        positionBook.revalue("AAPL", 10_500L);
+
+        assertEquals(5_000L + 5_000L, positionBook.unrealizedPnl(1L));
+        assertEquals(-5_000L, positionBook.unrealizedPnl(2L));
+
+        // A fill is marked at the symbol's last price straight away.
+        fill(1L, Order.OrderSide.SELL, 10, 10_500L);
+        assertEquals(5_000L, positionBook.unrealizedPnl(1L));
+        assertEquals(0L, positionBook.unrealizedPnl(3L));
+    }
+
+    @Test
+    void checkpoint_InsertsNewPositionsThenUpdatesThem() {
+        fill(1L, Order.OrderSide.BUY, 10, 10_000L);
+        positionBook.checkpoint();
+        fill(1L, Order.OrderSide.SELL, 4, 10_000L);
+        positionBook.checkpoint();
+        positionBook.checkpoint();
+
+        ArgumentCaptor<Collection<NetPosition>> inserts = captor();
+        ArgumentCaptor<Collection<NetPosition>> updates = captor();
+        verify(positionStore, times(2)).write(inserts.capture(), updates.capture());
+        assertEquals(1, inserts.getAllValues().get(0).size());
+        assertTrue(updates.getAllValues().get(0).isEmpty());
+        assertTrue(inserts.getAllValues().get(1).isEmpty());
+        assertEquals(6L, updates.getAllValues().get(1).iterator().next().quantity());
+    }
+
+    @Test
+    void failedCheckpoint_IsRetried() {
+        fill(1L, Order.OrderSide.BUY, 10, 10_000L);
+        doThrow(new IllegalStateException("down")).doNothing().when(positionStore).write(anyCollection(), anyCollection());
+
+        positionBook.checkpoint();
+        positionBook.checkpoint();
+
+        ArgumentCaptor<Collection<NetPosition>> inserts = captor();
+        verify(positionStore, times(2)).write(inserts.capture(), anyCollection());
+        assertEquals(1, inserts.getAllValues().get(1).size());
+    }
+
+    @Test
+    void recover_SkipsFillsTheCheckpointAlreadyIncludes() {
+        when(positionStore.load()).thenReturn(List.of(
+                new NetPosition(1L, "AAPL", 10L, 100_000L, 0L, 7L, NOW)));
+        doAnswer(invocation -> {
+            PositionStore.FillHandler handler = invocation.getArgument(1);
+            handler.onFill(7L, 1L, "AAPL", Order.OrderSide.BUY, 10, 10_000L, NOW);
+            handler.onFill(8L, 1L, "AAPL", Order.OrderSide.SELL, 4, 11_000L, NOW.plusSeconds(1));
+            handler.onFill(9L, 2L, "MSFT", Order.OrderSide.BUY, 3, 20_000L, NOW.plusSeconds(2));
+            return null;
+        }).when(positionStore).forEachFillSince(any(), any());
+
+        positionBook.recover();
+
+        assertEquals(6L, position(1L, "AAPL").quantity());
+        assertEquals(4_000L, position(1L, "AAPL").realizedPnl());
+        assertEquals(3L, position(2L, "MSFT").quantity());
+        verify(positionStore).forEachFillSince(eq(NOW.minusMinutes(1)), any(PositionStore.FillHandler.class));
+    }
+
+    @Test
+    void recover_WithoutACheckpointReplaysEverything() {
+        when(positionStore.load()).thenReturn(List.of());
+
+        positionBook.recover();
+
+        verify(positionStore).forEachFillSince(eq(LocalDateTime.of(1970, 1, 1, 0, 0)),
+                any(PositionStore.FillHandler.class));
+        assertTrue(positionBook.positions(1L).isEmpty());
+    }
+
+    private void fill(long accountId, Order.OrderSide side, long quantity, long price) {
+        positionBook.onFill(accountId, "AAPL", side, quantity, price, ++executionLogId, NOW);
+    }
+
+    private NetPosition position(long accountId, String symbol) {
+        return positionBook.positions(accountId).stream()
+                .filter(position -> position.symbol().equals(symbol))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Collection<NetPosition>> captor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+}
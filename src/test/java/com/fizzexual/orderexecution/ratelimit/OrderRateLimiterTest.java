@@ -0,0 +1,142 @@
+package com.fizzexual.orderexecution.ratelimit;
+
+import com.fizzexual.orderexecution.config.BatchProperties;
+import com.fizzexual.orderexecution.config.RateLimitProperties;
+import com.fizzexual.orderexecution.dto.OrderRequest;
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.entity.User;
+import com.fizzexual.orderexecution.exception.RateLimitExceededException;
+import com.fizzexual.orderexecution.service.AccountStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final AccountStore accountStore = mock(AccountStore.class);
+    private RateLimitProperties properties;
+    private BatchProperties batchProperties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setOrdersPerSecond(2);
+        properties.setBurst(3);
+        batchProperties = new BatchProperties();
+        batchProperties.setChunkSize(2);
+    }
+
+    @Test
+    void acquire_AllowsBurstThenRefillsAtRate() {
+        OrderRateLimiter limiter = limiter();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(1L);
+        }
+        RateLimitExceededException ex = assertThrows(RateLimitExceededException.class, () -> limiter.acquire(1L));
+        assertEquals(1L, ex.getRetryAfterSeconds());
+
+        // Other accounts have their own bucket
+        limiter.acquire(2L);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        limiter.acquire(1L);
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(1L));
+    }
+
+    @Test
+    void acquireBasket_ChargesOneTokenPerChunkPerAccount() {
+        OrderRateLimiter limiter = limiter();
+
+        // Three orders fill two chunks of two for account 1, one order one chunk for account 2.
+        limiter.acquire(List.of(order(1L), order(1L), order(1L), order(2L)));
+
+        limiter.acquire(1L);
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(1L));
+        limiter.acquire(2L);
+        limiter.acquire(2L);
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(2L));
+    }
+
+    @Test
+    void acquireBasket_TakesNothingWhenAnyAccountIsShort() {
+        OrderRateLimiter limiter = limiter();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(2L);
+        }
+
+        assertThrows(RateLimitExceededException.class,
+                () -> limiter.acquire(List.of(order(1L), order(1L), order(2L), order(2L))));
+
+        // Account 1's token was given back.
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(1L);
+        }
+    }
+
+    @Test
+    void acquireBasket_ChargesAtMostTheBurst() {
+        OrderRateLimiter limiter = limiter();
+
+        // Five chunks, but a full bucket always lets the basket through.
+        limiter.acquire(Collections.nCopies(10, order(1L)));
+
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(1L));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        limiter.acquire(Collections.nCopies(10, order(1L)));
+    }
+
+    @Test
+    void acquire_SharesBucketAcrossAUsersAccounts() {
+        properties.setKey(RateLimitProperties.Key.USER);
+        User user = User.builder().id(7L).build();
+        when(accountStore.find(1L)).thenReturn(Optional.of(Account.builder().id(1L).user(user).build()));
+        when(accountStore.find(2L)).thenReturn(Optional.of(Account.builder().id(2L).user(user).build()));
+        OrderRateLimiter limiter = limiter();
+
+        limiter.acquire(1L);
+        limiter.acquire(2L);
+        limiter.acquire(1L);
+        assertThrows(RateLimitExceededException.class, () -> limiter.acquire(2L));
+    }
+
+    @Test
+    void acquire_KeepsBucketCountBounded() {
+        properties.setMaxBuckets(10);
+        OrderRateLimiter limiter = limiter();
+
+        limiter.acquire(1L);
+        limiter.acquire(1L);
+        for (long accountId = 100; accountId < 150; accountId++) {
+            limiter.acquire(accountId);
+            assertTrue(limiter.bucketCount() <= 10);
+        }
+    }
+
+    @Test
+    void acquire_DoesNothingWhenDisabled() {
+        properties.setEnabled(false);
+        OrderRateLimiter limiter = limiter();
+        for (int i = 0; i < 100; i++) {
+            limiter.acquire(1L);
+        }
+        assertEquals(0, limiter.bucketCount());
+    }
+
+    private static OrderRequest order(long accountId) {
+        return OrderRequest.builder().accountId(accountId).build();
+    }
+
+    private OrderRateLimiter limiter() {
+        return new OrderRateLimiter(properties, batchProperties, accountStore, clock::get);
+    }
+}
@@ -0,0 +1,102 @@
+package com.fizzexual.orderexecution.repository;
+
+import com.fizzexual.orderexecution.dto.ExecutionLogResponse;
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.entity.ExecutionLog;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class ExecutionLogRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExecutionLogRepository executionLogRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(User.builder()
+                .name("Test User")
+                .email("test@example.com")
+                .status(User.UserStatus.ACTIVE)
+                .build());
+        Account account = entityManager.persist(Account.builder()
+                .accountNumber("ACC-10001")
+                .user(user)
+                .balance(new BigDecimal("100000.00"))
+                .availableBalance(new BigDecimal("100000.00"))
+                .status(Account.AccountStatus.ACTIVE)
+                .build());
+
+        for (int i = 0; i < 5; i++) {
+            Order order = entityManager.persist(Order.builder()
+                    .orderNumber("ORD-00" + i)
+                    .account(account)
+                    .symbol("AAPL")
+                    .type(Order.OrderType.MARKET)
+                    .side(Order.OrderSide.BUY)
+                    .quantity(10)
+                    .status(Order.OrderStatus.EXECUTED)
+                    .executedQuantity(10)
+                    .build());
+            for (int fill = 0; fill < 2; fill++) {
+                entityManager.persist(ExecutionLog.builder()
+                        .order(order)
+                        .quantity(5)
+                        .price(new BigDecimal("100.00"))
+                        .totalAmount(new BigDecimal("500.00"))
+                        .status(ExecutionLog.ExecutionStatus.PARTIAL)
+                        .executedAt(LocalDateTime.now())
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findPageAfter_IssuesSingleStatement() {
+        List<ExecutionLogResponse> page = executionLogRepository.findPageAfter(
+                LocalDateTime.of(1970, 1, 1, 0, 0), 0L, PageRequest.of(0, 100));
+
+        assertEquals(10, page.size());
+        assertTrue(page.stream().allMatch(log -> log.getOrderId() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void streamAll_IssuesSingleStatement() {
+        try (Stream<ExecutionLogResponse> logs = executionLogRepository.streamAll()) {
+            assertEquals(10, logs.count());
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -1,24 +1,34 @@
 package com.fizzexual.orderexecution.repository;
 
+import com.fizzexual.orderexecution.dto.OrderResponse;
 import com.fizzexual.orderexecution.entity.Account;
 import com.fizzexual.orderexecution.entity.Order;
 import com.fizzexual.orderexecution.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @ActiveProfiles("test")
 class OrderRepositoryTest {
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @Autowired
     private OrderRepository orderRepository;
 
@@ -62,7 +72,8 @@ class OrderRepositoryTest {
                 .executedQuantity(0)
                 .build();
 
-        Order savedOrder = orderRepository.save(order);
+        // Sequence ids defer the INSERT (and the creation timestamp) to the flush.
+        Order savedOrder = orderRepository.saveAndFlush(order);
 
         assertNotNull(savedOrder.getId());
         assertEquals("ORD-12345678", savedOrder.getOrderNumber());
@@ -118,6 +129,80 @@ class OrderRepositoryTest {
         assertTrue(orders.stream().allMatch(o -> "AAPL".equals(o.getSymbol())));
     }
 
+    @Test
+    void findResponseByOrderNumberCreatedBetween_OnlyMatchesInsideTheWindow() {
+        Order order = orderRepository.saveAndFlush(createTestOrder("ORD-WINDOW", "AAPL"));
+        LocalDateTime createdAt = order.getCreatedAt();
+
+        assertTrue(orderRepository.findResponseByOrderNumberCreatedBetween("ORD-WINDOW",
+                createdAt.minusMinutes(1), createdAt.plusMinutes(1)).isPresent());
+        assertTrue(orderRepository.findResponseByOrderNumberCreatedBetween("ORD-WINDOW",
+                createdAt.plusSeconds(1), createdAt.plusMinutes(1)).isEmpty());
+    }
+
+    @Test
+    void findByIdCreatedBetween_OnlyMatchesInsideTheWindow() {
+        Order order = orderRepository.saveAndFlush(createTestOrder("ORD-ID-WINDOW", "AAPL"));
+        LocalDateTime createdAt = order.getCreatedAt();
+
+        assertTrue(orderRepository.findByIdCreatedBetween(order.getId(),
+                createdAt.minusMinutes(1), createdAt.plusMinutes(1)).isPresent());
+        assertTrue(orderRepository.findByIdCreatedBetween(order.getId(),
+                createdAt.plusSeconds(1), createdAt.plusMinutes(1)).isEmpty());
+    }
+
+    @Test
+    void findOrdersByDateRange_ExcludesTheEnd() {
+        Order order = orderRepository.saveAndFlush(createTestOrder("ORD-RANGE", "AAPL"));
+        LocalDateTime createdAt = order.getCreatedAt();
+
+        assertEquals(1, orderRepository.findOrdersByDateRange(createdAt, createdAt.plusDays(1)).size());
+        assertEquals(0, orderRepository.findOrdersByDateRange(createdAt.minusDays(1), createdAt).size());
+    }
+
+    @Test
+    void findPageAfter_WalksAllOrdersOnce() {
+        for (int i = 0; i < 5; i++) {
+            orderRepository.save(createTestOrder("ORD-00" + i, "AAPL"));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        LocalDateTime createdAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+        long id = 0L;
+        List<OrderResponse> page;
+        do {
+            page = orderRepository.findPageAfter(createdAt, id, PageRequest.of(0, 2));
+            for (OrderResponse order : page) {
+                seen.add(order.getId());
+                createdAt = order.getCreatedAt();
+                id = order.getId();
+            }
+        } while (page.size() == 2);
+
+        assertEquals(5, seen.size());
+        assertEquals(seen, seen.stream().sorted().toList());
+    }
+
+    @Test
+    void findPageAfter_IssuesSingleStatement() {
+        for (int i = 0; i < 10; i++) {
+            orderRepository.save(createTestOrder("ORD-00" + i, "AAPL"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<OrderResponse> page = orderRepository.findPageAfter(LocalDateTime.of(1970, 1, 1, 0, 0), 0L,
+                PageRequest.of(0, 100));
+
+        assertEquals(10, page.size());
+        assertEquals(testAccount.getId(), page.get(0).getAccountId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
     private Order createTestOrder(String orderNumber, String symbol) {
         return Order.builder()
                 .orderNumber(orderNumber)
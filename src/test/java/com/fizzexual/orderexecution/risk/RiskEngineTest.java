@@ -0,0 +1,153 @@
+package com.fizzexual.orderexecution.risk;
+
+import com.fizzexual.orderexecution.config.PositionProperties;
+import com.fizzexual.orderexecution.config.RiskProperties;
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.exception.BusinessException;
+import com.fizzexual.orderexecution.matching.Fill;
+import com.fizzexual.orderexecution.position.PositionBook;
+import com.fizzexual.orderexecution.position.PositionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class RiskEngineTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final AtomicLong executionLogIds = new AtomicLong(100L);
+    private PositionBook positionBook;
+    private ExposureTracker exposures;
+    private RiskEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        RiskProperties limits = new RiskProperties();
+        limits.setMaxOrderNotional(new BigDecimal("50000.00"));
+        limits.setMaxPosition(500);
+        limits.setMaxOrdersPerSecond(3);
+        limits.setPriceBandBasisPoints(1000);
+        limits.setMaxGrossExposure(new BigDecimal("75000.00"));
+
+        positionBook = new PositionBook(mock(PositionStore.class), new PositionProperties());
+        exposures = new ExposureTracker(positionBook);
+        engine = new RiskEngine(List.of(new AccountStatusCheck(), new OrderRateCheck(limits, clock::get),
+                new PriceBandCheck(limits, exposures), new OrderNotionalCheck(limits),
+                new PositionLimitCheck(limits, exposures), new GrossExposureCheck(limits, exposures)), exposures);
+    }
+
+    @Test
+    void check_RejectsInactiveAccountAndLargeNotional() {
+        BusinessException inactive = assertThrows(BusinessException.class, () -> engine.check(
+                new RiskOrder(1L, Account.AccountStatus.FROZEN, "AAPL", Order.OrderSide.BUY,
+                        Order.OrderType.LIMIT, 10_000L, 10)));
+        assertEquals("Account is not active", inactive.getMessage());
+
+        assertThrows(BusinessException.class, () -> engine.check(buy(1L, 10_000L, 501)));
+        engine.check(buy(1L, 10_000L, 500));
+    }
+
+    @Test
+    void check_LimitsOrdersPerSecondPerAccount() {
+        for (int i = 0; i < 3; i++) {
+            engine.check(buy(1L, 10_000L, 1));
+        }
+        assertThrows(BusinessException.class, () -> engine.check(buy(1L, 10_000L, 1)));
+        engine.check(buy(2L, 10_000L, 1));
+
+        clock.addAndGet(1_000L);
+        engine.check(buy(1L, 10_000L, 1));
+    }
+
+    @Test
+    void check_RejectsLimitPricesOutsideBandAroundLastTrade() {
+        engine.check(buy(1L, 50_000L, 1));
+
+        fill("AAPL", 1L, Order.OrderSide.BUY, new Fill(9L, 2L, null, 10_000L, 1, 1, 0, 10_000L));
+
+        engine.check(buy(3L, 11_000L, 1));
+        assertThrows(BusinessException.class, () -> engine.check(buy(4L, 11_001L, 1)));
+        assertThrows(BusinessException.class, () -> engine.check(buy(5L, 8_999L, 1)));
+    }
+
+    @Test
+    void onFill_TracksPositionsAndGrossExposureForBothSides() {
+        fill("AAPL", 1L, Order.OrderSide.BUY, new Fill(9L, 2L, null, 10_000L, 400, 400, 0, 4_000_000L));
+        fill("MSFT", 1L, Order.OrderSide.SELL, new Fill(0L, 0L, null, 10_000L, 300, 0, 0, 0L));
+
+        assertEquals(400, exposures.position(1L, "AAPL"));
+        assertEquals(-400, exposures.position(2L, "AAPL"));
+        assertEquals(-300, exposures.position(1L, "MSFT"));
+        assertEquals(7_000_000L, exposures.grossExposure(1L));
+        assertEquals(0L, exposures.lastPrice("MSFT"));
+
+        BusinessException position = assertThrows(BusinessException.class,
+                () -> engine.check(buy(1L, 10_000L, 101)));
+        assertTrue(position.getMessage().contains("position limit"));
+        BusinessException gross = assertThrows(BusinessException.class,
+                () -> engine.check(buy(1L, 10_000L, 100)));
+        assertTrue(gross.getMessage().contains("gross exposure"));
+
+        // Reducing orders are allowed even over the limits
+        engine.check(new RiskOrder(1L, Account.AccountStatus.ACTIVE, "AAPL", Order.OrderSide.SELL,
+                Order.OrderType.LIMIT, 10_000L, 400));
+    }
+
+    @Test
+    void position_IsReadFromThePositionBook() {
+        positionBook.onFill(1L, "AAPL", Order.OrderSide.BUY, 250, 10_000L, 1L, LocalDateTime.now());
+
+        assertEquals(250, exposures.position(1L, "AAPL"));
+        assertEquals(0L, exposures.grossExposure(1L));
+        assertThrows(BusinessException.class, () -> engine.check(buy(1L, 10_000L, 251)));
+    }
+
+    @Test
+    void start_SeedsOpenPositionsFromThePositionBook() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 2, 10, 0);
+        positionBook.onFill(1L, "AAPL", Order.OrderSide.BUY, 400, 10_000L, 1L, now);
+        positionBook.onFill(1L, "MSFT", Order.OrderSide.SELL, 300, 10_000L, 2L, now);
+        positionBook.onFill(2L, "AAPL", Order.OrderSide.BUY, 10, 10_000L, 3L, now);
+        positionBook.onFill(2L, "AAPL", Order.OrderSide.SELL, 10, 11_000L, 4L, now);
+
+        exposures.start();
+
+        assertEquals(400, exposures.position(1L, "AAPL"));
+        assertEquals(-300, exposures.position(1L, "MSFT"));
+        assertEquals(7_000_000L, exposures.grossExposure(1L));
+        assertEquals(0, exposures.position(2L, "AAPL"));
+        assertEquals(0L, exposures.grossExposure(2L));
+        assertThrows(BusinessException.class, () -> engine.check(buy(1L, 10_000L, 101)));
+
+        fill("AAPL", 1L, Order.OrderSide.SELL, new Fill(0L, 0L, null, 12_000L, 100, 0, 0, 0L));
+        assertEquals(300, exposures.position(1L, "AAPL"));
+        assertEquals(3_600_000L + 3_000_000L, exposures.grossExposure(1L));
+    }
+
+    /**
+     * Applies a fill to the position book first, the way the execution service does.
+     */
+    private void fill(String symbol, long takerAccountId, Order.OrderSide takerSide, Fill fill) {
+        LocalDateTime now = LocalDateTime.now();
+        positionBook.onFill(takerAccountId, symbol, takerSide, fill.getQuantity(), fill.getPrice(),
+                executionLogIds.incrementAndGet(), now);
+        if (fill.hasMaker()) {
+            positionBook.onFill(fill.getMakerAccountId(), symbol,
+                    takerSide == Order.OrderSide.BUY ? Order.OrderSide.SELL : Order.OrderSide.BUY,
+                    fill.getQuantity(), fill.getPrice(), executionLogIds.incrementAndGet(), now);
+        }
+        engine.onFill(symbol, takerAccountId, fill);
+    }
+
+    private static RiskOrder buy(long accountId, long price, long quantity) {
+        return new RiskOrder(accountId, Account.AccountStatus.ACTIVE, "AAPL", Order.OrderSide.BUY,
+                Order.OrderType.LIMIT, price, quantity);
+    }
+}
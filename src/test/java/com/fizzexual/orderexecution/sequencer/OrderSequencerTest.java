@@ -0,0 +1,102 @@
+package com.fizzexual.orderexecution.sequencer;
+
+import com.fizzexual.orderexecution.config.SequencerProperties;
+import com.fizzexual.orderexecution.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderSequencerTest {
+
+    private OrderSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        SequencerProperties properties = new SequencerProperties();
+        properties.setShards(4);
+        properties.setRingBufferSize(1024);
+        sequencer = new OrderSequencer(properties);
+        sequencer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sequencer.stop();
+    }
+
+    @Test
+    void ringBuffer_RejectsWhenFullAndDrainsInOrder() {
+        RingBuffer<Integer> ring = new RingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        assertFalse(ring.offer(4));
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, ring.poll());
+        }
+        assertNull(ring.poll());
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(3));
+    }
+
+    @Test
+    void execute_RunsTasksForSameKeySeriallyOnOneThread() throws Exception {
+        int producers = 8;
+        int perProducer = 2_000;
+        List<Integer> seen = new ArrayList<>();
+        List<String> threads = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        for (int p = 0; p < producers; p++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    int value = i;
+                    sequencer.execute("AAPL", () -> {
+                        seen.add(value);
+                        threads.add(Thread.currentThread().getName());
+                        return null;
+                    });
+                }
+            }, pool));
+        }
+        start.countDown();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(producers * perProducer, seen.size());
+        assertEquals(1, threads.stream().distinct().count());
+        assertTrue(threads.get(0).startsWith("sequencer-shard-"));
+    }
+
+    @Test
+    void execute_RethrowsTaskExceptionUnchanged() {
+        BusinessException thrown = assertThrows(BusinessException.class,
+                () -> sequencer.execute("MSFT", () -> {
+                    throw new BusinessException("rejected");
+                }));
+        assertEquals("rejected", thrown.getMessage());
+    }
+
+    @Test
+    void shardOf_IsStableForKey() {
+        assertEquals(sequencer.shardOf("GOOGL"), sequencer.shardOf("GOOGL"));
+        assertTrue(sequencer.shardOf("GOOGL") < sequencer.shardCount());
+    }
+}
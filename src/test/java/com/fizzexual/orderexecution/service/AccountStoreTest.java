@@ -0,0 +1,108 @@
+package com.fizzexual.orderexecution.service;
+
+import com.fizzexual.orderexecution.config.AccountCacheProperties;
+import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.ledger.AccountLedger;
+import com.fizzexual.orderexecution.repository.AccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountStoreTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AccountRepository accountRepository = mock(AccountRepository.class);
+    private final AccountLedger accountLedger = new AccountLedger();
+    private AccountStore accountStore;
+
+    @BeforeEach
+    void setUp() {
+        AccountCacheProperties properties = new AccountCacheProperties();
+        properties.setExpireAfterWriteMillis(1_000);
+        accountStore = new AccountStore(accountRepository, accountLedger, properties, clock::get);
+        when(accountRepository.findById(1L)).thenReturn(Optional.of(account(1L, "ACC-1", "1000.00")));
+        when(accountRepository.findByAccountNumber("ACC-1")).thenReturn(Optional.of(account(1L, "ACC-1", "1000.00")));
+    }
+
+    @Test
+    void find_ReadsTheDatabaseOnce() {
+        Account first = accountStore.find(1L).orElseThrow();
+        Account second = accountStore.find(1L).orElseThrow();
+
+        assertSame(first, second);
+        verify(accountRepository, times(1)).findById(1L);
+        assertEquals(100_000L, accountLedger.balance(1L).balance());
+    }
+
+    @Test
+    void findByNumber_SharesTheEntryLoadedById() {
+        Account byId = accountStore.find(1L).orElseThrow();
+
+        assertSame(byId, accountStore.findByNumber("ACC-1").orElseThrow());
+        verify(accountRepository, never()).findByAccountNumber("ACC-1");
+        assertTrue(accountStore.findByNumber("ACC-2").isEmpty());
+    }
+
+    @Test
+    void findAll_LoadsOnlyMissingAccounts() {
+        accountStore.find(1L);
+        when(accountRepository.findAllById(List.of(2L))).thenReturn(List.of(account(2L, "ACC-2", "500.00")));
+
+        Map<Long, Account> found = accountStore.findAll(List.of(1L, 2L));
+
+        assertEquals(2, found.size());
+        verify(accountRepository).findAllById(List.of(2L));
+    }
+
+    @Test
+    void expiredEntry_IsReloadedWithoutResettingTheLedger() {
+        accountStore.find(1L);
+        accountLedger.commit(1L, 25_000L, 0L);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        accountStore.find(1L);
+
+        // The row still says 1000.00; the ledger keeps what the execution path did since.
+        verify(accountRepository, times(2)).findById(1L);
+        assertEquals(75_000L, accountLedger.balance(1L).balance());
+    }
+
+    @Test
+    void bindTo_ExportsHitsAndMisses() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        accountStore.bindTo(registry);
+
+        accountStore.find(1L);
+        accountStore.find(1L);
+        accountStore.find(1L);
+
+        assertEquals(2.0, registry.get("cache.gets").tags("cache", "accounts", "result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "accounts", "result", "miss")
+                .functionCounter().count());
+    }
+
+    private static Account account(long id, String accountNumber, String balance) {
+        return Account.builder()
+                .id(id)
+                .accountNumber(accountNumber)
+                .balance(new BigDecimal(balance))
+                .availableBalance(new BigDecimal(balance))
+                .status(Account.AccountStatus.ACTIVE)
+                .build();
+    }
+}
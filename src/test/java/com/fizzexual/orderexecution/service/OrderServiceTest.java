@@ -1,27 +1,66 @@
 package com.fizzexual.orderexecution.service;
 
+import com.fizzexual.orderexecution.config.BarProperties;
+import com.fizzexual.orderexecution.config.BatchProperties;
+import com.fizzexual.orderexecution.config.PositionProperties;
+import com.fizzexual.orderexecution.config.RiskProperties;
+import com.fizzexual.orderexecution.dto.BatchOrderResponse;
 import com.fizzexual.orderexecution.dto.OrderRequest;
 import com.fizzexual.orderexecution.dto.OrderResponse;
 import com.fizzexual.orderexecution.entity.Account;
+import com.fizzexual.orderexecution.entity.ExecutionLog;
 import com.fizzexual.orderexecution.entity.Order;
 import com.fizzexual.orderexecution.entity.User;
 import com.fizzexual.orderexecution.exception.BusinessException;
 import com.fizzexual.orderexecution.exception.ResourceNotFoundException;
+import com.fizzexual.orderexecution.ledger.AccountLedger;
+import com.fizzexual.orderexecution.ledger.LedgerBalance;
 import com.fizzexual.orderexecution.mapper.OrderMapper;
-import com.fizzexual.orderexecution.repository.AccountRepository;
+import com.fizzexual.orderexecution.marketdata.BarAggregator;
+import com.fizzexual.orderexecution.marketdata.MarketDataCache;
+import com.fizzexual.orderexecution.marketdata.Quote;
+import com.fizzexual.orderexecution.matching.BookOrder;
+import com.fizzexual.orderexecution.matching.MatchingEngine;
+import com.fizzexual.orderexecution.metrics.OrderMetrics;
+import com.fizzexual.orderexecution.persistence.ExecutionLogRow;
+import com.fizzexual.orderexecution.persistence.IdAllocator;
+import com.fizzexual.orderexecution.persistence.SnowflakeIdGenerator;
+import com.fizzexual.orderexecution.persistence.WriteBatch;
+import com.fizzexual.orderexecution.persistence.WriteBehindWriter;
+import com.fizzexual.orderexecution.position.PositionBook;
 import com.fizzexual.orderexecution.repository.OrderRepository;
+import com.fizzexual.orderexecution.risk.AccountStatusCheck;
+import com.fizzexual.orderexecution.risk.ExposureTracker;
+import com.fizzexual.orderexecution.risk.GrossExposureCheck;
+import com.fizzexual.orderexecution.risk.OrderNotionalCheck;
+import com.fizzexual.orderexecution.risk.PositionLimitCheck;
+import com.fizzexual.orderexecution.risk.RiskEngine;
+import com.fizzexual.orderexecution.sequencer.OrderSequencer;
+import com.fizzexual.orderexecution.stream.OrderEventBus;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,7 +70,10 @@ class OrderServiceTest {
     private OrderRepository orderRepository;
 
     @Mock
-    private AccountRepository accountRepository;
+    private AccountStore accountStore;
+
+    @Mock
+    private AccountLedger accountLedger;
 
     @Mock
     private OrderExecutionService orderExecutionService;
@@ -39,6 +81,33 @@ class OrderServiceTest {
     @Mock
     private OrderMapper orderMapper;
 
+    @Mock
+    private MatchingEngine matchingEngine;
+
+    @Mock
+    private OrderSequencer orderSequencer;
+
+    @Mock
+    private IdAllocator idAllocator;
+
+    @Mock
+    private SnowflakeIdGenerator orderNumbers;
+
+    @Mock
+    private WriteBehindWriter writeBehindWriter;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties();
+
+    @Mock
+    private OrderMetrics orderMetrics;
+
+    @Mock
+    private OrderEventBus orderEventBus;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -71,55 +140,129 @@ class OrderServiceTest {
                 .side(Order.OrderSide.BUY)
                 .quantity(100)
                 .build();
+
+        lenient().when(orderSequencer.execute(any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
     }
 
     @Test
     void createOrder_Success() {
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
-        
-        Order savedOrder = Order.builder()
-                .id(1L)
-                .orderNumber("ORD-12345678")
-                .account(testAccount)
-                .symbol("AAPL")
-                .type(Order.OrderType.MARKET)
-                .side(Order.OrderSide.BUY)
-                .quantity(100)
-                .status(Order.OrderStatus.PENDING)
-                .build();
-        
-        when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
-        
+        when(accountStore.find(1L)).thenReturn(Optional.of(testAccount));
+        when(idAllocator.nextOrderId()).thenReturn(1L);
+
         OrderResponse expectedResponse = OrderResponse.builder()
                 .id(1L)
                 .orderNumber("ORD-12345678")
                 .build();
-        
+
         when(orderMapper.toResponse(any(Order.class))).thenReturn(expectedResponse);
 
         OrderResponse result = orderService.createOrder(orderRequest);
 
         assertNotNull(result);
-        verify(accountRepository).findById(1L);
-        verify(orderRepository, atLeastOnce()).save(any(Order.class));
-        verify(orderExecutionService).executeOrder(any(Order.class), any(Account.class));
+        verify(writeBehindWriter).reserve();
+        verify(orderSequencer).execute(eq("AAPL"), any());
+        verify(accountStore).find(1L);
+        verify(orderExecutionService).executeOrder(any(Order.class), any(Account.class), any(WriteBatch.class));
+        verify(writeBehindWriter).submit(any(WriteBatch.class));
+        verify(writeBehindWriter, never()).release();
     }
 
     @Test
     void createOrder_AccountNotFound() {
-        when(accountRepository.findById(1L)).thenReturn(Optional.empty());
+        when(accountStore.find(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> orderService.createOrder(orderRequest));
-        verify(orderRepository, never()).save(any(Order.class));
+        // Resolved before the order reaches its shard, so nothing was reserved or sequenced.
+        verify(orderSequencer, never()).execute(any(), any());
+        verify(writeBehindWriter, never()).reserve();
+        verify(writeBehindWriter, never()).submit(any(WriteBatch.class));
     }
 
     @Test
-    void createOrder_InactiveAccount() {
+    void createOrder_InactiveAccount_RecordedAsRejected() {
         testAccount.setStatus(Account.AccountStatus.FROZEN);
-        when(accountRepository.findById(1L)).thenReturn(Optional.of(testAccount));
+        when(accountStore.find(1L)).thenReturn(Optional.of(testAccount));
+        when(idAllocator.nextOrderId()).thenReturn(1L);
+        OrderExecutionService execution = realExecutionService();
+        doAnswer(invocation -> {
+            execution.executeOrder(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(orderExecutionService).executeOrder(any(Order.class), any(Account.class), any(WriteBatch.class));
+
+        orderService.createOrder(orderRequest);
+
+        // The risk pipeline rejects the order during execution; it is still persisted
+        ArgumentCaptor<WriteBatch> batch = ArgumentCaptor.forClass(WriteBatch.class);
+        verify(writeBehindWriter).submit(batch.capture());
+        verify(writeBehindWriter, never()).release();
+        Order rejected = batch.getValue().getOrderInserts().get(0);
+        assertEquals(Order.OrderStatus.REJECTED, rejected.getStatus());
+        ExecutionLogRow log = batch.getValue().getExecutionLogInserts().get(0);
+        assertEquals(ExecutionLog.ExecutionStatus.FAILED, log.getStatus());
+        assertEquals("Account is not active", log.getMessage());
+        verify(orderMapper).toResponse(argThat(order -> order.getStatus() == Order.OrderStatus.REJECTED));
+    }
+
+    @Test
+    void createOrder_RejectedAfterReserving_RecordsTheReleasedBalance() {
+        when(accountStore.find(1L)).thenReturn(Optional.of(testAccount));
+        when(idAllocator.nextOrderId()).thenReturn(1L);
+        AccountLedger ledger = new AccountLedger();
+        ledger.open(1L, 10_000_000L);
+        when(matchingEngine.requiredFunds(eq("AAPL"), any(BookOrder.class), eq(15_001L))).thenReturn(1_500_100L);
+        when(matchingEngine.match(eq("AAPL"), any(BookOrder.class), eq(15_001L)))
+                .thenThrow(new BusinessException("Symbol AAPL is halted"));
+        OrderExecutionService execution = realExecutionService(matchingEngine, ledger);
+        doAnswer(invocation -> {
+            execution.executeOrder(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(orderExecutionService).executeOrder(any(Order.class), any(Account.class), any(WriteBatch.class));
 
-        assertThrows(BusinessException.class, () -> orderService.createOrder(orderRequest));
-        verify(orderRepository, never()).save(any(Order.class));
+        orderService.createOrder(orderRequest);
+
+        // The reservation is released and the batch carries the balance after the release.
+        ArgumentCaptor<WriteBatch> batch = ArgumentCaptor.forClass(WriteBatch.class);
+        verify(writeBehindWriter).submit(batch.capture());
+        assertEquals(Order.OrderStatus.REJECTED, batch.getValue().getOrderInserts().get(0).getStatus());
+        assertEquals(0L, ledger.balance(1L).reserved());
+        assertEquals(ledger.balance(1L), batch.getValue().getAccountBalances().get(1L));
+    }
+
+    @Test
+    void createOrders_ReportsResultPerOrder() {
+        OrderRequest unknownAccount = OrderRequest.builder()
+                .accountId(99L)
+                .symbol("AAPL")
+                .type(Order.OrderType.MARKET)
+                .side(Order.OrderSide.BUY)
+                .quantity(10)
+                .build();
+        OrderRequest missingSymbol = OrderRequest.builder()
+                .accountId(1L)
+                .type(Order.OrderType.MARKET)
+                .side(Order.OrderSide.BUY)
+                .quantity(10)
+                .build();
+
+        when(accountStore.findAll(any())).thenReturn(Map.of(1L, testAccount));
+        when(idAllocator.nextOrderId()).thenReturn(1L);
+        when(orderMapper.toResponse(any(Order.class))).thenReturn(OrderResponse.builder().id(1L).build());
+        when(orderSequencer.submit(eq("AAPL"), any()))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(
+                        invocation.<Supplier<?>>getArgument(1).get()));
+
+        BatchOrderResponse response = orderService.createOrders(List.of(orderRequest, unknownAccount, missingSymbol));
+
+        assertEquals(3, response.getTotal());
+        assertEquals(1, response.getAccepted());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertFalse(response.getResults().get(1).isSuccess());
+        assertEquals("Symbol is required", response.getResults().get(2).getValidationErrors().get("symbol"));
+        verify(accountStore).findAll(any());
+        verify(orderSequencer).submit(eq("AAPL"), any());
+        verify(writeBehindWriter).reserve();
+        verify(writeBehindWriter).submit(any(WriteBatch.class));
     }
 
     @Test
@@ -127,18 +270,30 @@ class OrderServiceTest {
         Order order = Order.builder()
                 .id(1L)
                 .orderNumber("ORD-12345678")
+                .account(testAccount)
+                .symbol("AAPL")
+                .type(Order.OrderType.LIMIT)
+                .side(Order.OrderSide.BUY)
+                .quantity(100)
+                .limitPrice(new BigDecimal("150.00"))
                 .status(Order.OrderStatus.PENDING)
+                .executedQuantity(0)
                 .build();
 
+        when(writeBehindWriter.findPendingOrder(1L)).thenReturn(Optional.empty());
         when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
-        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(matchingEngine.cancel("AAPL", 1L)).thenReturn(BookOrder.from(order));
+        when(accountLedger.release(1L, 15000L * 100)).thenReturn(new LedgerBalance(10_000_000L, 0L, 2L));
         when(orderMapper.toResponse(any(Order.class))).thenReturn(new OrderResponse());
 
         OrderResponse result = orderService.cancelOrder(1L);
 
         assertNotNull(result);
         assertEquals(Order.OrderStatus.CANCELLED, order.getStatus());
-        verify(orderRepository).save(order);
+        verify(orderSequencer).execute(eq("AAPL"), any());
+        verify(matchingEngine).cancel("AAPL", 1L);
+        verify(accountLedger).release(1L, 15000L * 100);
+        verify(writeBehindWriter).submit(any(WriteBatch.class));
     }
 
     @Test
@@ -148,8 +303,68 @@ class OrderServiceTest {
                 .status(Order.OrderStatus.EXECUTED)
                 .build();
 
+        when(writeBehindWriter.findPendingOrder(1L)).thenReturn(Optional.empty());
         when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
 
         assertThrows(BusinessException.class, () -> orderService.cancelOrder(1L));
+        verify(writeBehindWriter, never()).submit(any(WriteBatch.class));
+        verify(writeBehindWriter).release();
+    }
+
+    @Test
+    void getOrderById_SearchesTheWindowTheIdWasIssuedIn() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 2, 9, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 1, 2, 9, 5);
+        Order order = Order.builder().id(1L).build();
+        when(writeBehindWriter.findPendingOrder(1L)).thenReturn(Optional.empty());
+        when(idAllocator.orderIdIssued(1L)).thenReturn(Optional.of(new IdAllocator.Issued(from, to)));
+        when(orderRepository.findByIdCreatedBetween(1L, from.minusMinutes(1), to.plusMinutes(1)))
+                .thenReturn(Optional.of(order));
+        when(orderMapper.toResponse(order)).thenReturn(new OrderResponse());
+
+        assertNotNull(orderService.getOrderById(1L));
+        verify(orderRepository, never()).findById(any());
+    }
+
+    @Test
+    void getOrderByNumber_SearchesTheCreationWindowFirst() {
+        long snowflake = 123_456_789L << 22;
+        String orderNumber = "ORD-" + Long.toString(snowflake, 36).toUpperCase();
+        LocalDateTime created = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(SnowflakeIdGenerator.timestampMillis(snowflake)), ZoneId.systemDefault());
+        OrderResponse response = OrderResponse.builder().orderNumber(orderNumber).build();
+        when(orderRepository.findResponseByOrderNumberCreatedBetween(orderNumber, created.minusMinutes(1),
+                created.plusMinutes(1))).thenReturn(Optional.of(response));
+
+        assertSame(response, orderService.getOrderByNumber(orderNumber));
+        verify(orderRepository, never()).findResponseByOrderNumber(any());
+    }
+
+    @Test
+    void getOrderByNumber_FallsBackToTheUnboundedLookup() {
+        OrderResponse response = OrderResponse.builder().orderNumber("LEGACY-1").build();
+        when(orderRepository.findResponseByOrderNumber("LEGACY-1")).thenReturn(Optional.of(response));
+
+        assertSame(response, orderService.getOrderByNumber("LEGACY-1"));
+        verify(orderRepository, never()).findResponseByOrderNumberCreatedBetween(any(), any(), any());
+    }
+
+    /**
+     * Execution with the real risk pipeline and an AAPL quote, for tests that need its decisions.
+     */
+    private OrderExecutionService realExecutionService() {
+        return realExecutionService(new MatchingEngine(), new AccountLedger());
+    }
+
+    private OrderExecutionService realExecutionService(MatchingEngine matching, AccountLedger ledger) {
+        RiskProperties limits = new RiskProperties();
+        PositionBook positionBook = new PositionBook(null, new PositionProperties());
+        ExposureTracker exposures = new ExposureTracker(positionBook);
+        RiskEngine riskEngine = new RiskEngine(List.of(new AccountStatusCheck(), new OrderNotionalCheck(limits),
+                new PositionLimitCheck(limits, exposures), new GrossExposureCheck(limits, exposures)), exposures);
+        MarketDataCache marketData = new MarketDataCache(List.of(), List.of());
+        marketData.update(new Quote("AAPL", 15_000L, 14_999L, 15_001L, System.currentTimeMillis()));
+        return new OrderExecutionService(matching, ledger, idAllocator, riskEngine,
+                orderMetrics, positionBook, marketData, new BarAggregator(null, new BarProperties()));
     }
 }
@@ -0,0 +1,200 @@
+package com.fizzexual.orderexecution.stream;
+
+import com.fizzexual.orderexecution.config.StreamProperties;
+import com.fizzexual.orderexecution.dto.OrderEvent;
+import com.fizzexual.orderexecution.entity.Order;
+import com.fizzexual.orderexecution.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderEventBusTest {
+
+    private static final long FIRST_SEQUENCE = 1000L;
+
+    private OrderEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        StreamProperties properties = new StreamProperties();
+        properties.setReplayCapacity(8);
+        properties.setBufferSize(4);
+        properties.setMaxSubscribers(2);
+        properties.setHeartbeatMillis(0);
+        bus = new OrderEventBus(properties, FIRST_SEQUENCE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.stop();
+    }
+
+    @Test
+    void publish_DeliversMatchingEventsInSequence() throws InterruptedException {
+        RecordingSink all = new RecordingSink();
+        RecordingSink account2 = new RecordingSink();
+        bus.subscribe(new OrderEventFilter(null, null), null, all);
+        bus.subscribe(new OrderEventFilter(2L, "aapl"), null, account2);
+
+        bus.publish(List.of(event(1L, "AAPL"), event(2L, "AAPL"), event(2L, "MSFT")));
+
+        assertEquals(List.of(1001L, 1002L, 1003L), all.sequences(3));
+        assertEquals(List.of(1002L), account2.sequences(1));
+    }
+
+    @Test
+    void publish_FromManyThreadsIsSequencedContiguously() throws InterruptedException {
+        StreamProperties properties = new StreamProperties();
+        properties.setHeartbeatMillis(0);
+        OrderEventBus wide = new OrderEventBus(properties, FIRST_SEQUENCE);
+        try {
+            RecordingSink sink = new RecordingSink();
+            wide.subscribe(new OrderEventFilter(null, null), null, sink);
+
+            List<Thread> publishers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                Thread publisher = new Thread(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        wide.publish(List.of(event(1L, "AAPL"), event(2L, "MSFT")));
+                    }
+                });
+                publisher.start();
+                publishers.add(publisher);
+            }
+            for (Thread publisher : publishers) {
+                publisher.join();
+            }
+
+            List<Long> sequences = sink.sequences(800);
+            for (int i = 0; i < sequences.size(); i++) {
+                assertEquals(FIRST_SEQUENCE + 1 + i, sequences.get(i));
+            }
+        } finally {
+            wide.stop();
+        }
+    }
+
+    @Test
+    void subscribe_ResumesAfterTheLastSequenceReceived() throws InterruptedException {
+        bus.publish(List.of(event(1L, "AAPL"), event(1L, "AAPL"), event(1L, "AAPL")));
+
+        RecordingSink sink = new RecordingSink();
+        bus.subscribe(new OrderEventFilter(1L, null), 1001L, sink);
+        bus.publish(List.of(event(1L, "AAPL")));
+
+        assertEquals(List.of(1002L, 1003L, 1004L), sink.sequences(3));
+    }
+
+    @Test
+    void subscribe_TooFarBehindGetsReset() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            bus.publish(List.of(event(1L, "AAPL")));
+        }
+
+        RecordingSink sink = new RecordingSink();
+        bus.subscribe(new OrderEventFilter(null, null), 1001L, sink);
+
+        OrderEvent reset = sink.events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(reset);
+        assertEquals(OrderEvent.Type.RESET, reset.getType());
+        assertEquals(1010L, reset.getSequence());
+
+        // A sequence this bus never handed out, e.g. from before a restart.
+        RecordingSink stale = new RecordingSink();
+        bus.subscribe(new OrderEventFilter(null, null), 5000L, stale);
+        assertEquals(OrderEvent.Type.RESET, stale.events.poll(5, TimeUnit.SECONDS).getType());
+    }
+
+    @Test
+    void slowSubscriber_GetsWhatWasBufferedThenIsDisconnected() throws InterruptedException {
+        RecordingSink sink = new RecordingSink();
+        sink.blocked = new CountDownLatch(1);
+        bus.subscribe(new OrderEventFilter(null, null), null, sink);
+
+        for (int i = 0; i < 20; i++) {
+            bus.publish(List.of(event(1L, "AAPL")));
+        }
+        sink.blocked.countDown();
+
+        assertTrue(sink.closed.await(5, TimeUnit.SECONDS));
+        List<Long> received = new ArrayList<>();
+        sink.events.forEach(event -> received.add(event.getSequence()));
+        // Contiguous from the first event, so resuming from the last one loses nothing.
+        assertFalse(received.isEmpty());
+        assertTrue(received.size() < 20);
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(FIRST_SEQUENCE + 1 + i, received.get(i));
+        }
+        assertEquals(0, bus.subscriberCount());
+    }
+
+    @Test
+    void subscribe_RejectsBeyondMaxSubscribers() {
+        bus.subscribe(new OrderEventFilter(null, null), null, new RecordingSink());
+        OrderEventBus.Subscription second = bus.subscribe(new OrderEventFilter(null, null), null, new RecordingSink());
+
+        assertThrows(ServiceBusyException.class,
+                () -> bus.subscribe(new OrderEventFilter(null, null), null, new RecordingSink()));
+
+        second.cancel();
+        assertDoesNotThrow(() -> bus.subscribe(new OrderEventFilter(null, null), null, new RecordingSink()));
+    }
+
+    private static OrderEvent event(long accountId, String symbol) {
+        return OrderEvent.builder()
+                .type(OrderEvent.Type.ORDER)
+                .orderId(1L)
+                .accountId(accountId)
+                .symbol(symbol)
+                .status(Order.OrderStatus.EXECUTED)
+                .build();
+    }
+
+    private static final class RecordingSink implements OrderEventSink {
+
+        private final BlockingQueue<OrderEvent> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private volatile CountDownLatch blocked;
+
+        @Override
+        public void send(OrderEvent event) {
+            if (blocked != null) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close(String reason) {
+            closed.countDown();
+        }
+
+        private List<Long> sequences(int count) throws InterruptedException {
+            List<Long> sequences = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                OrderEvent event = events.poll(5, TimeUnit.SECONDS);
+                assertNotNull(event, "Expected " + count + " events, got " + sequences);
+                sequences.add(event.getSequence());
+            }
+            assertNull(events.poll(50, TimeUnit.MILLISECONDS));
+            return sequences;
+        }
+    }
+}